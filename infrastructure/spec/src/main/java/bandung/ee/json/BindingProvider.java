@@ -23,6 +23,16 @@ public class BindingProvider extends JsonbProvider {
 
     public static final String JSONB_DESERIALIZER_CACHE = "jsonb.deserializer-cache";
 
+    /**
+     * 是否使用编译期生成的序列化器/反序列化器({@link CompiledBinding})，默认true
+     */
+    public static final String JSONB_GENERATED_BINDINGS = "jsonb.generated-bindings";
+
+    /**
+     * 按投影缓存的反序列化器条目数上限，默认256，达到上限后不再缓存新的投影
+     */
+    public static final String JSONB_PROJECTION_CACHE_SIZE = "jsonb.projection-cache-size";
+
     @Override
     public JsonbBuilder create() {
         return new BindingBuilder();
@@ -0,0 +1,23 @@
+package bandung.ee.json;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 标记java bean在编译期生成序列化器/反序列化器，需启用{@link CompiledBindingProcessor}注解处理器：
+ * <pre>javac -processor bandung.ee.json.CompiledBindingProcessor ...</pre>
+ * 生成的类为{@link GeneratedBinding}实现，通过ServiceLoader注册，配置不影响其输出时{@link ObjectJsonMapper}优先使用，
+ * 避免首次序列化时反射分析类型。
+ * 仅支持JsonbProperty、JsonbPropertyOrder、JsonbTransient注解，使用其他JSON-B注解时编译失败。
+ *
+ * @author iMinusMinus
+ * @date 2026-10-18
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface CompiledBinding {
+}
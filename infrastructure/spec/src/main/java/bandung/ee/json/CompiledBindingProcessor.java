@@ -0,0 +1,649 @@
+package bandung.ee.json;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 为{@link CompiledBinding}标记的java bean生成{@link GeneratedBinding}实现，并登记到META-INF/services。
+ * 生成代码遵循与反射相同的默认映射规则：
+ * <ul>
+ *     <li>优先使用public getter/setter，其次使用public字段；static、transient字段不参与，final字段不反序列化</li>
+ *     <li>属性名可由JsonbProperty指定，JsonbTransient忽略属性</li>
+ *     <li>父类属性先序列化；同一类型内先按JsonbPropertyOrder，其余按json属性名字典序</li>
+ *     <li>子类重写父类的属性时合并为一个属性，保留父类中的位置，以子类的声明为准</li>
+ * </ul>
+ * 其他JSON-B注解、泛型类型、无可访问无参构造函数等情况编译报错，而不是生成与反射结果不一致的代码。
+ *
+ * @author iMinusMinus
+ * @date 2026-10-18
+ */
+@SupportedAnnotationTypes("bandung.ee.json.CompiledBinding")
+public class CompiledBindingProcessor extends AbstractProcessor {
+
+    static final String SUFFIX = "_CompiledBinding";
+
+    private static final String SERVICE = "META-INF/services/" + GeneratedBinding.class.getName();
+
+    private static final String JSONB_ANNOTATION = "javax.json.bind.annotation.";
+
+    private static final String PROPERTY = JSONB_ANNOTATION + "JsonbProperty";
+
+    private static final String PROPERTY_ORDER = JSONB_ANNOTATION + "JsonbPropertyOrder";
+
+    private static final String TRANSIENT = JSONB_ANNOTATION + "JsonbTransient";
+
+    private static final Set<String> SUPPORTED_ANNOTATIONS = new HashSet<>(Arrays.asList(PROPERTY, PROPERTY_ORDER, TRANSIENT));
+
+    private static final String PARSER = "javax.json.stream.JsonParser";
+
+    private static final String EVENT = PARSER + ".Event";
+
+    private final Set<String> generated = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getElementsAnnotatedWith(CompiledBinding.class)) {
+            try {
+                generated.add(generate(element));
+            } catch (IllegalArgumentException iae) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, iae.getMessage(), element);
+            } catch (IOException ioe) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "fail to write generated binding: " + ioe.getMessage(), element);
+            }
+        }
+        if (roundEnv.processingOver() && !generated.isEmpty()) {
+            try {
+                registerServices();
+            } catch (IOException ioe) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "fail to write " + SERVICE + ": " + ioe.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 增量编译时保留已登记的其他生成类
+     */
+    private void registerServices() throws IOException {
+        Set<String> services = new TreeSet<>(generated);
+        try {
+            FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", SERVICE);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (!line.trim().isEmpty()) {
+                        services.add(line.trim());
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException ignore) {
+            // first build
+        }
+        FileObject file = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", SERVICE);
+        try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(file.openOutputStream(), StandardCharsets.UTF_8))) {
+            for (String service : services) {
+                writer.println(service);
+            }
+        }
+    }
+
+    private String generate(Element element) throws IOException {
+        if (element.getKind() != ElementKind.CLASS) {
+            throw new IllegalArgumentException("@CompiledBinding only applies to class");
+        }
+        TypeElement bean = (TypeElement) element;
+        checkDeclaration(bean);
+        List<Property> readable = new ArrayList<>();
+        Map<String, Property> writable = new LinkedHashMap<>();
+        LinkedList<TypeElement> hierarchy = new LinkedList<>();
+        for (TypeElement current = bean; current != null && !current.getQualifiedName().contentEquals(Object.class.getName());
+             current = superclass(current)) {
+            checkAnnotations(current);
+            hierarchy.addFirst(current); // 父类属性先序列化
+        }
+        List<List<Property>> declared = new ArrayList<>(hierarchy.size());
+        Map<String, Integer> readIndexes = new HashMap<>(); // java属性名 -> readable下标
+        Map<String, Property> overriding = new HashMap<>(); // java属性名 -> 最下层子类声明的可写属性
+        for (TypeElement current : hierarchy) {
+            List<Property> properties = introspect(current);
+            declared.add(properties);
+            for (Property property : order(current, properties)) {
+                Integer index = readIndexes.putIfAbsent(property.javaName, readable.size());
+                if (index == null) {
+                    readable.add(property);
+                } else {
+                    readable.set(index, property); // 子类重写父类属性(如getter)：保留父类属性的位置，以子类的声明为准
+                }
+            }
+            for (Property property : properties) {
+                if (property.writeName != null) {
+                    overriding.put(property.javaName, property);
+                }
+            }
+        }
+        Set<String> names = new HashSet<>();
+        for (Property property : readable) {
+            if (!names.add(property.readName)) {
+                throw new IllegalArgumentException("MUST NOT produce JSON documents with members with duplicate names: " + property.readName);
+            }
+        }
+        for (int i = hierarchy.size() - 1; i >= 0; i--) { // 与反射一致：子类先登记，不同java属性同名时父类覆盖
+            for (Property property : declared.get(i)) {
+                if (property.writeName != null && overriding.get(property.javaName) == property) {
+                    writable.remove(property.writeName);
+                    writable.put(property.writeName, property);
+                }
+            }
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(bean).getQualifiedName().toString();
+        String simpleName = flatName(bean) + SUFFIX;
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, bean).openWriter()) {
+            writer.write(new SourceWriter(bean, packageName, simpleName, readable, writable.values()).write());
+        }
+        return qualifiedName;
+    }
+
+    private void checkDeclaration(TypeElement bean) {
+        Set<Modifier> modifiers = bean.getModifiers();
+        if (modifiers.contains(Modifier.ABSTRACT)) {
+            throw new IllegalArgumentException("@CompiledBinding class must not be abstract");
+        }
+        if (!bean.getTypeParameters().isEmpty()) {
+            throw new IllegalArgumentException("@CompiledBinding class must not be generic");
+        }
+        for (Element current = bean; current instanceof TypeElement; current = current.getEnclosingElement()) {
+            TypeElement type = (TypeElement) current;
+            if (type.getModifiers().contains(Modifier.PRIVATE)) {
+                throw new IllegalArgumentException("@CompiledBinding class and its enclosing classes must not be private");
+            }
+            if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+                throw new IllegalArgumentException("@CompiledBinding class must not be local or anonymous");
+            }
+            if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+                throw new IllegalArgumentException("@CompiledBinding class must not be non-static inner class");
+            }
+        }
+        boolean constructible = false;
+        for (ExecutableElement ctor : ElementFilter.constructorsIn(bean.getEnclosedElements())) {
+            if (ctor.getParameters().isEmpty() && !ctor.getModifiers().contains(Modifier.PRIVATE)) {
+                constructible = true;
+            }
+        }
+        if (!constructible) {
+            throw new IllegalArgumentException("@CompiledBinding class must have non-private no-args constructor");
+        }
+    }
+
+    /**
+     * 生成代码只实现默认映射规则，使用其他JSON-B注解时应使用反射
+     */
+    private void checkAnnotations(TypeElement type) {
+        List<Element> elements = new ArrayList<>(type.getEnclosedElements());
+        elements.add(type);
+        elements.add(processingEnv.getElementUtils().getPackageOf(type)); // 包上的JsonbNillable等注解同样影响映射
+        for (Element element : elements) {
+            List<Element> annotated = new ArrayList<>();
+            annotated.add(element);
+            if (element instanceof ExecutableElement) {
+                annotated.addAll(((ExecutableElement) element).getParameters());
+            }
+            for (Element target : annotated) {
+                for (AnnotationMirror annotation : target.getAnnotationMirrors()) {
+                    String name = ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+                    if (name.startsWith(JSONB_ANNOTATION) && !SUPPORTED_ANNOTATIONS.contains(name)) {
+                        throw new IllegalArgumentException("@" + name.substring(JSONB_ANNOTATION.length()) +
+                                " on " + target + " is not supported by @CompiledBinding");
+                    }
+                }
+            }
+        }
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror parent = type.getSuperclass();
+        return parent.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) parent).asElement() : null;
+    }
+
+    private static String flatName(TypeElement type) {
+        StringBuilder sb = new StringBuilder(type.getSimpleName());
+        for (Element current = type.getEnclosingElement(); current instanceof TypeElement; current = current.getEnclosingElement()) {
+            sb.insert(0, '_').insert(0, current.getSimpleName());
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 与JavaBean.introspect一致：字段与同名同类型的public getter/setter组成属性，仅有public字段或仅有getter/setter也是属性
+     */
+    private List<Property> introspect(TypeElement type) {
+        Map<String, VariableElement> fields = new LinkedHashMap<>();
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (!field.getModifiers().contains(Modifier.STATIC)) {
+                fields.put(field.getSimpleName().toString(), field);
+            }
+        }
+        Map<String, Property> properties = new LinkedHashMap<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            Set<Modifier> modifiers = method.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.ABSTRACT)) {
+                continue;
+            }
+            String methodName = method.getSimpleName().toString();
+            boolean boolType = method.getReturnType().getKind() == TypeKind.BOOLEAN;
+            if (method.getParameters().isEmpty() && (methodName.startsWith("get") || methodName.startsWith("is"))) {
+                if (boolType != methodName.startsWith("is")) {
+                    throw new IllegalArgumentException("use 'is' prefix for and only for primitive boolean getter: " + method);
+                }
+                String name = propertyName(methodName, boolType ? 2 : 3);
+                if (name == null || !sameType(fields.get(name), method.getReturnType())) {
+                    continue;
+                }
+                properties.computeIfAbsent(name, n -> new Property(n, fields.get(n))).getter = method;
+            } else if (method.getParameters().size() == 1 && methodName.startsWith("set")) {
+                String name = propertyName(methodName, 3);
+                if (name == null || !sameType(fields.get(name), method.getParameters().get(0).asType())) {
+                    continue;
+                }
+                properties.computeIfAbsent(name, n -> new Property(n, fields.get(n))).setter = method;
+            }
+        }
+        for (Map.Entry<String, VariableElement> entry : fields.entrySet()) {
+            if (!properties.containsKey(entry.getKey()) && entry.getValue().getModifiers().contains(Modifier.PUBLIC)) {
+                properties.put(entry.getKey(), new Property(entry.getKey(), entry.getValue()));
+            }
+        }
+        List<Property> result = new ArrayList<>(properties.size());
+        for (Property property : properties.values()) {
+            if (property.resolve()) {
+                result.add(property);
+            }
+        }
+        return result;
+    }
+
+    private static String propertyName(String methodName, int prefix) {
+        if (methodName.length() < prefix + 1) {
+            return null;
+        }
+        return Character.toLowerCase(methodName.charAt(prefix)) + methodName.substring(prefix + 1);
+    }
+
+    private boolean sameType(VariableElement field, TypeMirror type) {
+        return field == null || processingEnv.getTypeUtils().isSameType(field.asType(), type);
+    }
+
+    /**
+     * 同一类型内先按JsonbPropertyOrder(java属性名)，其余按json属性名字典序
+     */
+    private List<Property> order(TypeElement type, List<Property> properties) {
+        List<String> ordered = new ArrayList<>();
+        for (AnnotationMirror annotation : type.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(PROPERTY_ORDER)) {
+                for (AnnotationValue value : annotation.getElementValues().values()) {
+                    for (Object item : (List<?>) value.getValue()) {
+                        ordered.add((String) ((AnnotationValue) item).getValue());
+                    }
+                }
+            }
+        }
+        List<Property> head = new ArrayList<>();
+        List<Property> tail = new ArrayList<>();
+        for (String name : ordered) {
+            for (Property property : properties) {
+                if (property.javaName.equals(name) && property.readName != null) {
+                    head.add(property);
+                }
+            }
+        }
+        for (Property property : properties) {
+            if (property.readName != null && !head.contains(property)) {
+                tail.add(property);
+            }
+        }
+        tail.sort((a, b) -> a.readName.compareTo(b.readName));
+        head.addAll(tail);
+        return head;
+    }
+
+    private static String annotatedName(Element element) {
+        if (element == null) {
+            return null;
+        }
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(PROPERTY)) {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+                    if (entry.getKey().getSimpleName().contentEquals("value") && !((String) entry.getValue().getValue()).isEmpty()) {
+                        return (String) entry.getValue().getValue();
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 与{@link AnnotationIntrospector}一致：有JsonbProperty注解时以其nillable(默认false)为准
+     */
+    private static Boolean annotatedNillable(Element element) {
+        if (element == null) {
+            return null;
+        }
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(PROPERTY)) {
+                for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+                    if (entry.getKey().getSimpleName().contentEquals("nillable")) {
+                        return (Boolean) entry.getValue().getValue();
+                    }
+                }
+                return Boolean.FALSE;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isTransient(Element element) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(TRANSIENT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Property {
+
+        final String javaName;
+
+        final VariableElement field;
+
+        ExecutableElement getter;
+
+        ExecutableElement setter;
+
+        Element reader; // getter or field
+
+        Element writer; // setter or field
+
+        String readName;
+
+        String writeName;
+
+        Boolean nillable; // null: 按全局配置
+
+        Property(String javaName, VariableElement field) {
+            this.javaName = javaName;
+            this.field = field;
+        }
+
+        TypeMirror readType() {
+            return reader instanceof ExecutableElement ? ((ExecutableElement) reader).getReturnType() : reader.asType();
+        }
+
+        TypeMirror writeType() {
+            return writer instanceof ExecutableElement ? ((ExecutableElement) writer).getParameters().get(0).asType() : writer.asType();
+        }
+
+        /**
+         * 按默认可见性决定读写方式及json属性名：字段上的名称可被所使用的getter/setter上的名称覆盖
+         * @return 是否可序列化或反序列化
+         */
+        boolean resolve() {
+            boolean publicField = field != null && field.getModifiers().contains(Modifier.PUBLIC);
+            boolean transientField = field != null && field.getModifiers().contains(Modifier.TRANSIENT);
+            String fieldName = annotatedName(field);
+            if (!transientField) {
+                reader = getter != null ? getter : (publicField ? field : null);
+                if (reader != null && !isTransient(reader)) {
+                    String name = annotatedName(reader);
+                    readName = name != null ? name : (fieldName != null ? fieldName : javaName);
+                    Boolean readerNillable = annotatedNillable(reader);
+                    nillable = readerNillable != null ? readerNillable : annotatedNillable(field);
+                }
+            }
+            if (!transientField && (field == null || !field.getModifiers().contains(Modifier.FINAL))) {
+                writer = setter != null ? setter : (publicField ? field : null);
+                if (writer != null && !isTransient(writer)) {
+                    String name = annotatedName(writer);
+                    writeName = name != null ? name : (fieldName != null ? fieldName : javaName);
+                }
+            }
+            return readName != null || writeName != null;
+        }
+    }
+
+    /**
+     * 生成源码，类型均使用全限定名，避免与java bean所在包的类型冲突
+     */
+    private final class SourceWriter {
+
+        private final TypeElement bean;
+
+        private final String packageName;
+
+        private final String simpleName;
+
+        private final List<Property> readable;
+
+        private final Iterable<Property> writable;
+
+        private final StringBuilder types = new StringBuilder();
+
+        private int typeIndex;
+
+        SourceWriter(TypeElement bean, String packageName, String simpleName, List<Property> readable, Iterable<Property> writable) {
+            this.bean = bean;
+            this.packageName = packageName;
+            this.simpleName = simpleName;
+            this.readable = readable;
+            this.writable = writable;
+        }
+
+        String write() {
+            String beanType = bean.getQualifiedName().toString();
+            StringBuilder serialize = new StringBuilder();
+            for (Property property : readable) {
+                writeProperty(serialize, property);
+            }
+            StringBuilder deserialize = new StringBuilder();
+            for (Property property : writable) {
+                readProperty(deserialize, property);
+            }
+
+            StringBuilder sb = new StringBuilder();
+            if (!packageName.isEmpty()) {
+                sb.append("package ").append(packageName).append(";\n\n");
+            }
+            sb.append("/**\n * generated by ").append(CompiledBindingProcessor.class.getName()).append(", do not edit\n */\n");
+            sb.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+            sb.append("public final class ").append(simpleName).append(" implements ")
+                    .append(GeneratedBinding.class.getName()).append('<').append(beanType).append("> {\n\n");
+            sb.append(types);
+            sb.append("    @Override\n");
+            sb.append("    public java.lang.Class<").append(beanType).append("> type() {\n");
+            sb.append("        return ").append(beanType).append(".class;\n");
+            sb.append("    }\n\n");
+            sb.append("    @Override\n");
+            sb.append("    public void serialize(").append(beanType).append(" obj, javax.json.stream.JsonGenerator generator, javax.json.bind.serializer.SerializationContext ctx) {\n");
+            sb.append("        generator.writeStartObject();\n");
+            sb.append(serialize);
+            sb.append("        generator.writeEnd();\n");
+            sb.append("    }\n\n");
+            sb.append("    @Override\n");
+            sb.append("    public ").append(beanType).append(" deserialize(").append(PARSER).append(" parser, javax.json.bind.serializer.DeserializationContext ctx, java.lang.reflect.Type rtType) {\n");
+            sb.append("        ").append(EVENT).append(" event = parser.next();\n");
+            sb.append("        if (event == ").append(EVENT).append(".VALUE_NULL) {\n");
+            sb.append("            return null;\n");
+            sb.append("        }\n");
+            sb.append("        if (event != ").append(EVENT).append(".START_OBJECT) {\n");
+            sb.append("            throw ").append(GeneratedBinding.class.getName()).append(".unexpected(").append(EVENT).append(".START_OBJECT, event);\n");
+            sb.append("        }\n");
+            sb.append("        ").append(beanType).append(" bean = new ").append(beanType).append("();\n");
+            sb.append("        while ((event = parser.next()) != ").append(EVENT).append(".END_OBJECT) {\n");
+            sb.append("            if (event != ").append(EVENT).append(".KEY_NAME) {\n");
+            sb.append("                throw ").append(GeneratedBinding.class.getName()).append(".unexpected(").append(EVENT).append(".KEY_NAME, event);\n");
+            sb.append("            }\n");
+            sb.append("            switch (parser.getString()) {\n");
+            sb.append(deserialize);
+            sb.append("                default:\n");
+            sb.append("                    ").append(GeneratedBinding.class.getName()).append(".skipValue(parser);\n");
+            sb.append("            }\n");
+            sb.append("        }\n");
+            sb.append("        return bean;\n");
+            sb.append("    }\n");
+            sb.append("}\n");
+            return sb.toString();
+        }
+
+        private String read(Property property) {
+            return property.reader instanceof ExecutableElement ?
+                    "obj." + property.reader.getSimpleName() + "()" :
+                    "obj." + property.reader.getSimpleName();
+        }
+
+        private void writeProperty(StringBuilder sb, Property property) {
+            TypeMirror type = property.readType();
+            String key = literal(property.readName);
+            if (type.getKind().isPrimitive()) {
+                if (type.getKind() == TypeKind.INT || type.getKind() == TypeKind.LONG || type.getKind() == TypeKind.BOOLEAN) {
+                    sb.append("        generator.write(").append(key).append(", ").append(read(property)).append(");\n");
+                } else {
+                    sb.append("        ctx.serialize(").append(key).append(", ").append(read(property)).append(", generator);\n");
+                }
+                return;
+            }
+            String erasure = processingEnv.getTypeUtils().erasure(type).toString();
+            String variable = "v" + property.javaName;
+            String nullValue;
+            if (property.nillable == null) {
+                nullValue = "ctx.serialize(" + key + ", null, generator);";
+            } else if (property.nillable) {
+                nullValue = "generator.writeNull(" + key + ");";
+            } else {
+                nullValue = null;
+            }
+            sb.append("        {\n");
+            sb.append("            ").append(erasure).append(' ').append(variable).append(" = ").append(read(property)).append(";\n");
+            if (String.class.getName().equals(erasure)) {
+                sb.append("            if (").append(variable).append(" != null) {\n");
+                sb.append("                generator.write(").append(key).append(", ").append(variable).append(");\n");
+            } else if (erasure.startsWith("java.util.Optional")) { // 与反射一致：空Optional按null处理
+                sb.append("            if (").append(variable).append(" != null && ").append(variable).append(".isPresent()) {\n");
+                sb.append("                ctx.serialize(").append(key).append(", ").append(variable).append(", generator);\n");
+            } else {
+                sb.append("            if (").append(variable).append(" != null) {\n");
+                sb.append("                ctx.serialize(").append(key).append(", ").append(variable).append(", generator);\n");
+            }
+            if (nullValue != null) {
+                sb.append("            } else {\n");
+                sb.append("                ").append(nullValue).append("\n");
+            }
+            sb.append("            }\n");
+            sb.append("        }\n");
+        }
+
+        private void readProperty(StringBuilder sb, Property property) {
+            TypeMirror type = property.writeType();
+            String value;
+            if (type.getKind() == TypeKind.DECLARED && String.class.getName().equals(type.toString())) {
+                value = GeneratedBinding.class.getName() + ".readString(parser)";
+            } else {
+                String cast = type.getKind().isPrimitive() ?
+                        processingEnv.getTypeUtils().boxedClass((javax.lang.model.type.PrimitiveType) type).getQualifiedName().toString() :
+                        type.toString();
+                value = "(" + cast + ") ctx.deserialize(" + typeLiteral(property, type) + ", parser)";
+            }
+            sb.append("                case ").append(literal(property.writeName)).append(":\n");
+            if (property.writer instanceof ExecutableElement) {
+                sb.append("                    bean.").append(property.writer.getSimpleName()).append('(').append(value).append(");\n");
+            } else {
+                sb.append("                    bean.").append(property.writer.getSimpleName()).append(" = ").append(value).append(";\n");
+            }
+            sb.append("                    break;\n");
+        }
+
+        /**
+         * 非泛型类型直接使用类字面量，泛型类型在生成类加载时读取一次
+         */
+        private String typeLiteral(Property property, TypeMirror type) {
+            if (type.getKind().isPrimitive()) {
+                return type.toString() + ".class";
+            }
+            TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+            if (processingEnv.getTypeUtils().isSameType(erasure, type)) {
+                return erasure + ".class";
+            }
+            if (type.getKind() == TypeKind.TYPEVAR || type.getKind() == TypeKind.WILDCARD) {
+                throw new IllegalArgumentException("type variable is not supported by @CompiledBinding: " + property.writer);
+            }
+            String name = "TYPE_" + (typeIndex++);
+            String owner = ((TypeElement) property.writer.getEnclosingElement()).getQualifiedName() + ".class";
+            types.append("    private static final java.lang.reflect.Type ").append(name).append(" = ")
+                    .append(GeneratedBinding.class.getName());
+            if (property.writer instanceof ExecutableElement) {
+                types.append(".parameterType(").append(owner).append(", ").append(literal(property.writer.getSimpleName().toString()))
+                        .append(", ").append(erasure).append(".class);\n\n");
+            } else {
+                types.append(".fieldType(").append(owner).append(", ").append(literal(property.writer.getSimpleName().toString()))
+                        .append(");\n\n");
+            }
+            return name;
+        }
+    }
+
+    static String literal(String value) {
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20 || c > 0x7e) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,84 @@
+package bandung.ee.json;
+
+import javax.json.bind.JsonbException;
+import javax.json.bind.serializer.JsonbDeserializer;
+import javax.json.bind.serializer.JsonbSerializer;
+import javax.json.stream.JsonParser;
+import java.lang.reflect.Type;
+
+/**
+ * 编译期为{@link CompiledBinding}标记的java bean生成的序列化器/反序列化器，
+ * 由{@link CompiledBindingProcessor}生成并登记到META-INF/services，{@link ObjectJsonMapper}通过ServiceLoader发现。
+ * 实现类直接调用getter/setter和无参构造函数，按属性名switch分派，不需要运行时反射分析类型
+ *
+ * @param <T> java bean类型
+ * @author iMinusMinus
+ * @date 2026-10-18
+ */
+public interface GeneratedBinding<T> extends JsonbSerializer<T>, JsonbDeserializer<T> {
+
+    /**
+     * @return 可处理的java bean类型，精确匹配，不含子类
+     */
+    Class<T> type();
+
+    /**
+     * 跳过json中java bean不存在的属性值
+     * @param parser 读取了属性名的解析器
+     */
+    static void skipValue(JsonParser parser) {
+        JsonParser.Event event = parser.next();
+        if (event == JsonParser.Event.START_OBJECT) {
+            parser.skipObject();
+        } else if (event == JsonParser.Event.START_ARRAY) {
+            parser.skipArray();
+        }
+    }
+
+    /**
+     * 与内置String反序列化器一致：null或字符串
+     */
+    static String readString(JsonParser parser) {
+        JsonParser.Event event = parser.next();
+        if (event == JsonParser.Event.VALUE_NULL) {
+            return null;
+        }
+        if (event != JsonParser.Event.VALUE_STRING) {
+            throw new JsonbException("expect json event VALUE_STRING");
+        }
+        return parser.getString();
+    }
+
+    static JsonbException unexpected(JsonParser.Event expected, JsonParser.Event actual) {
+        return new JsonbException("expected json event [" + expected + "], but actual is [" + actual + "]");
+    }
+
+    /**
+     * 泛型属性的完整类型，类加载时读取一次
+     * @param owner 声明setter的类型
+     * @param setter setter方法名
+     * @param raw setter参数的原始类型
+     * @return setter参数的泛型类型
+     */
+    static Type parameterType(Class<?> owner, String setter, Class<?> raw) {
+        try {
+            return owner.getDeclaredMethod(setter, raw).getGenericParameterTypes()[0];
+        } catch (NoSuchMethodException e) {
+            throw new JsonbException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 泛型属性的完整类型，类加载时读取一次
+     * @param owner 声明字段的类型
+     * @param field 字段名
+     * @return 字段的泛型类型
+     */
+    static Type fieldType(Class<?> owner, String field) {
+        try {
+            return owner.getDeclaredField(field).getGenericType();
+        } catch (NoSuchFieldException e) {
+            throw new JsonbException(e.getMessage(), e);
+        }
+    }
+}
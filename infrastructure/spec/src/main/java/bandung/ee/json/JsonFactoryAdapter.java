@@ -1,5 +1,6 @@
 package bandung.ee.json;
 
+import bandung.se.io.ByteBufferInputStream;
 import bandung.se.io.UnicodeDetectingInputStream;
 
 import javax.json.JsonArray;
@@ -28,22 +29,41 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -63,8 +83,26 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
 
     static final String WRITE_NUMBER_AS_STRING_KEY = JSONP_CONFIG_PREFIX + "generator.writeNumberAsString";
 
+    static final String SYMBOL_TABLE_SIZE_KEY = JSONP_CONFIG_PREFIX + "parser.symbolTableSize";
+
+    static final String VALUE_SEQUENCE_KEY = JSONP_CONFIG_PREFIX + "parser.valueSequence"; // NDJSON: whitespace separated top-level values
+
+    static final String ARRAY_ELEMENTS_KEY = JSONP_CONFIG_PREFIX + "parser.arrayElements"; // top-level array read element by element
+
+    static final String BUFFER_RECYCLER_SIZE_KEY = JSONP_CONFIG_PREFIX + "bufferRecycler.maxRetainedBytes"; // 0 to disable
+
+    static final String LAZY_READER_KEY = JSONP_CONFIG_PREFIX + "reader.lazy"; // UTF-8 input only
+
+    static final String TRACK_LOCATION_KEY = JSONP_CONFIG_PREFIX + "parser.trackLocation"; // false: line and column computed on demand
+
     private Map<String, ?> config;
 
+    private BufferRecycler bufferRecycler;
+
+    private boolean lazyReader;
+
+    private SymbolTable symbolTable;
+
     static final char QUOTATION_MARK = '"';
 
     static final char REVERSE_SOLIDUS = '\\';
@@ -111,12 +149,63 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
 
     static final char[] NULL = {'n', 'u', 'l', 'l'};
 
+    /**
+     * ASCII字符转义表：0表示无需转义，'u'表示输出为4位十六进制形式，其余为反斜杠后的字符
+     */
+    static final char[] ESCAPES = new char[0x80];
+
+    static final char[] HEX_DIGITS = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+
+    static {
+        for (char c = 0; c < SPACE; c++) {
+            ESCAPES[c] = 'u';
+        }
+        ESCAPES[QUOTATION_MARK] = QUOTATION_MARK;
+        ESCAPES[REVERSE_SOLIDUS] = REVERSE_SOLIDUS;
+        ESCAPES[BACKSPACE] = 'b';
+        ESCAPES[FORM_FEED] = 'f';
+        ESCAPES[LINE_FEED] = 'n';
+        ESCAPES[CARRIAGE_RETURN] = 'r';
+        ESCAPES[HORIZONTAL_TAB] = 't';
+    }
+
+    /**
+     * 将需转义的字符c写入buf
+     *
+     * @return 写入后的位置
+     */
+    static int escape(char c, char[] buf, int pos) {
+        char escaped = ESCAPES[c];
+        buf[pos++] = REVERSE_SOLIDUS;
+        buf[pos++] = escaped;
+        if (escaped == 'u') {
+            buf[pos++] = '0';
+            buf[pos++] = '0';
+            buf[pos++] = HEX_DIGITS[c >> 4];
+            buf[pos++] = HEX_DIGITS[c & 0xF];
+        }
+        return pos;
+    }
+
     public JsonFactoryAdapter(Map<String, ?> config) {
-        this.config = config;
+        setConfig(config);
     }
 
     void setConfig(Map<String, ?> config) {
         this.config = config;
+        Number symbolTableSize = (Number) config.get(SYMBOL_TABLE_SIZE_KEY);
+        int size = symbolTableSize != null ? symbolTableSize.intValue() : SymbolTable.DEFAULT_SIZE;
+        this.symbolTable = size > 0 ? new SymbolTable(size) : null;
+        Number maxRetained = (Number) config.get(BUFFER_RECYCLER_SIZE_KEY);
+        this.bufferRecycler = new BufferRecycler(maxRetained != null ? maxRetained.longValue() : BufferRecycler.DEFAULT_MAX_RETAINED);
+        this.lazyReader = Boolean.TRUE.equals(config.get(LAZY_READER_KEY));
+    }
+
+    /**
+     * @return 本工厂创建的解析器、生成器共用的缓冲区回收池，可查看命中率
+     */
+    BufferRecycler getBufferRecycler() {
+        return bufferRecycler;
     }
 
     @Override
@@ -126,38 +215,85 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
 
     @Override
     public JsonGenerator createGenerator(OutputStream out) {
-        return new JsonTokenEmitter(config, out); //  rewrite bytecode
+        return new Utf8TokenEmitter(config, bufferRecycler, out); //  rewrite bytecode
     }
 
     @Override
     public JsonGenerator createGenerator(OutputStream out, Charset charset) {
-        return new JsonTokenEmitter(config, out, charset); //  rewrite bytecode
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return new Utf8TokenEmitter(config, bufferRecycler, out);
+        }
+        return new JsonTokenEmitter(config, bufferRecycler, out, charset); //  rewrite bytecode
     }
 
 
     @Override
     public JsonParser createParser(Reader reader) {
-        return new JsonTokenParser(config, reader); //  rewrite bytecode
+        return new JsonTokenParser(config, symbolTable, bufferRecycler, reader); //  rewrite bytecode
     }
 
     @Override
     public JsonParser createParser(InputStream in) { // detect encoding: UTF-8, UTF-16, UTF-32
-        return new JsonTokenParser(config, in); //  rewrite bytecode
+        UnicodeDetectingInputStream fis = new UnicodeDetectingInputStream(in);
+        return createParser(fis, fis.getCharset());
     }
 
     @Override
     public JsonParser createParser(InputStream in, Charset charset) {
-        return new JsonTokenParser(config, in, charset); //  rewrite bytecode
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return new Utf8TokenParser(config, symbolTable, bufferRecycler, in); // no decoding, tokenize on bytes
+        }
+        return new JsonTokenParser(config, symbolTable, bufferRecycler, in, charset); //  rewrite bytecode
+    }
+
+    /**
+     * @return 非阻塞解析器，输入须为UTF-8
+     */
+    public NonBlockingJsonParser createNonBlockingParser() {
+        return new NonBlockingTokenParser(config, symbolTable, bufferRecycler);
+    }
+
+    /**
+     * 解析ByteBuffer中position到limit之间的json，不修改其position
+     *
+     * @param input json bytes, heap or direct(e.g. {@link java.nio.MappedByteBuffer})
+     * @param charset charset of json bytes
+     * @return json parser
+     */
+    public JsonParser createParser(ByteBuffer input, Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset)) {
+            return new Utf8TokenParser(config, symbolTable, bufferRecycler, input);
+        }
+        return new JsonTokenParser(config, symbolTable, bufferRecycler, new ByteBufferInputStream(input), charset);
+    }
+
+    /**
+     * 文件映射到内存后直接分词，不经过InputStream/Reader的中间缓冲
+     *
+     * @param path json file
+     * @param charset charset of json file
+     * @return json parser
+     */
+    public JsonParser createParser(Path path, Charset charset) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) { // too large to map as one buffer
+                return createParser(Files.newInputStream(path), charset);
+            }
+            return createParser(channel.map(FileChannel.MapMode.READ_ONLY, 0, size), charset); // mapping remains valid after channel closed
+        } catch (IOException ioe) {
+            throw new JsonException(ioe.getMessage(), ioe);
+        }
     }
 
     @Override
     public JsonParser createParser(JsonObject obj) {
-        throw new UnsupportedOperationException();
+        return new JsonStructureParser(obj);
     }
 
     @Override
     public JsonParser createParser(JsonArray array) {
-        throw new UnsupportedOperationException();
+        return new JsonStructureParser(array);
     }
 
 
@@ -168,11 +304,18 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
 
     @Override
     public JsonReader createReader(InputStream in) {
+        if (lazyReader) {
+            UnicodeDetectingInputStream fis = new UnicodeDetectingInputStream(in);
+            return createReader(fis, fis.getCharset());
+        }
         return new JsonReaderDelegate(createParser(in));
     }
 
     @Override
     public JsonReader createReader(InputStream in, Charset charset) {
+        if (lazyReader && StandardCharsets.UTF_8.equals(charset)) {
+            return new JsonReaderDelegate(new Utf8TokenParser(config, symbolTable, BufferRecycler.UNPOOLED, in), config, symbolTable);
+        }
         return new JsonReaderDelegate(createParser(in, charset));
     }
 
@@ -228,7 +371,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
     }
 
     public JsonPointer createPointer(String jsonPointer) {
-        throw new UnsupportedOperationException(); //  rewrite bytecode
+        return new TokenPointer(jsonPointer);
     }
 
     public JsonString createValue(String value) {
@@ -236,7 +379,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
     }
 
     public JsonNumber createValue(int value) {
-        return new Int32Value(value); // rewrite bytecode?
+        return Int32Value.valueOf(value); // rewrite bytecode?
     }
 
     public JsonNumber createValue(long value) {
@@ -244,7 +387,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
     }
 
     public JsonNumber createValue(double value) {
-        return new NumberValue(BigDecimal.valueOf(value)); // rewrite bytecode?
+        return new DoubleValue(value); // rewrite bytecode?
     }
 
     public JsonNumber createValue(BigDecimal value) {
@@ -361,65 +504,166 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
     }
 
     /**
-     * json parser
+     * 数值访问：直接从解析缓冲区解码，不创建中间String
+     *
+     * @see org.eclipse.parsson.JsonTokenizer
+     */
+    interface NumberAccessor {
+
+        /**
+         * @return 当前数值为整数且位数保证不超出int范围
+         */
+        boolean isDefinitelyInt();
+
+        /**
+         * @return 当前数值为整数且位数保证不超出long范围
+         */
+        boolean isDefinitelyLong();
+
+        double getDouble();
+
+        /**
+         * @return 当前数值正确舍入到float的结果，不经过double二次舍入
+         */
+        float getFloat();
+    }
+
+    /**
+     * 解析器直接在缓冲区上匹配当前属性名，不构造String
+     */
+    interface KeyAccessor {
+
+        /**
+         * @param matcher 预编译的属性名表
+         * @return 当前KEY_NAME对应的槽位，或{@link PropertyNameMatcher#UNKNOWN}、{@link PropertyNameMatcher#AMBIGUOUS}
+         */
+        int matchKey(PropertyNameMatcher matcher);
+    }
+
+    /**
+     * 预编码的属性名称：转义并加上引号的字符及其UTF-8字节只在创建时计算一次，序列化时整块拷贝
+     */
+    static final class PreEncodedName {
+
+        private final String value;
+
+        private final char[] quoted;
+
+        private final byte[] utf8;
+
+        PreEncodedName(String value) {
+            this.value = value;
+            StringBuilder sb = new StringBuilder(value.length() + 2).append(QUOTATION_MARK);
+            char[] escaped = new char[6];
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c < ESCAPES.length && ESCAPES[c] != 0) {
+                    sb.append(escaped, 0, escape(c, escaped, 0));
+                } else {
+                    sb.append(c);
+                }
+            }
+            String str = sb.append(QUOTATION_MARK).toString();
+            this.quoted = str.toCharArray();
+            this.utf8 = str.getBytes(StandardCharsets.UTF_8);
+        }
+
+        String getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return value;
+        }
+    }
+
+    /**
+     * 可直接写出预编码名称的生成器
+     */
+    interface PreEncodedKeyWriter {
+
+        JsonGenerator writeKey(PreEncodedName name);
+    }
+
+    static JsonGenerator writeKey(JsonGenerator generator, PreEncodedName name) {
+        if (generator instanceof PreEncodedKeyWriter) {
+            return ((PreEncodedKeyWriter) generator).writeKey(name);
+        }
+        return generator.writeKey(name.getValue());
+    }
+
+    /**
+     * 解析器公共部分：限制参数、上下文校验、位置及结构化取值
      *
-     * @see org.eclipse.parsson.JsonParserImpl
      * @author iMinusMinus
      * @date 2024-11-24
      */
-    static class JsonTokenParser extends Contextual implements JsonParser {
+    abstract static class AbstractTokenParser extends Contextual implements JsonParser, NumberAccessor, KeyAccessor {
 
         // JS的浮点数字符串长度不大于24个，整数不大于17个字符
         // BigInt没有限制，其Number.MAX_VALUE为2^1024 - 2^971，Number.MIN_VALUE为2^-1074
-        private static final int INITIAL_SIZE = Byte.SIZE * Integer.SIZE;
+        protected static final int INITIAL_SIZE = Byte.SIZE * Integer.SIZE;
 
-        private final Reader reader;
+        // 2^53以内的整数及10^22以内的10的幂均可用double精确表示，此时一次乘除即得到正确舍入的结果
+        private static final double[] POWERS_OF_TEN = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+                1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+        };
 
-        private /*final*/ short maxNestingDepth; // jackson: 1000
+        // 2^24以内的整数及10^10以内的10的幂均可用float精确表示
+        private static final float[] FLOAT_POWERS_OF_TEN = {
+                1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+        };
 
-        private /*final*/ short maxIdentifierLength; // jackson: 50000
+        protected final short maxNestingDepth; // jackson: 1000
 
-        private /*final*/ int maxStringLength; // jackson: 20000000
+        protected final short maxIdentifierLength; // jackson: 50000
 
-        private /*final*/ int maxNumberLength; // jackson: 1000
+        protected final int maxStringLength; // jackson: 20000000
 
-        private /*final*/ long maxTokenCount; // jackson: unlimited
+        protected final int maxNumberLength; // jackson: 1000
 
-        private Event currentEvent;
+        protected final long maxTokenCount; // jackson: unlimited
 
-        private boolean fracOrExp;
+        protected Event currentEvent;
 
-        private long line;
+        protected boolean fracOrExp;
 
-        private long column;
+        protected long line;
 
-        private long offset; // An implementation may set limits on the size of texts that it accepts
+        protected long column;
 
-        private char[] buffer;
+        protected long offset; // An implementation may set limits on the size of texts that it accepts
 
-        private int mark;
+        protected boolean closed;
 
-        private int writeMark;
+        protected final SymbolTable symbols; // nullable
 
-        private int readMark;
+        protected final boolean valueSequence;
+
+        protected final boolean arrayElements;
+
+        protected long valueStartOffset;
+
+        protected final boolean trackLocation;
 
-        private boolean closed;
+        protected long discarded; // 不跟踪位置时：压缩缓冲区丢弃的字符数，buffer[i]的绝对位置为discarded + i
+
+        private long scannedTo; // 不跟踪位置时：已统计换行的绝对位置
+
+        private long scannedLines;
+
+        private long scannedLineStart; // 最后一个换行之后的绝对位置
 
         /**
-         * <a href="https://www.rfc-editor.org/rfc/rfc7159">RFC 7159</a>禁止生成json时添加BOM，但解析时遇到BOM应忽略而不是出错。
          * <a href="https://www.rfc-editor.org/rfc/rfc8259">RFC 8259</a>允许解析器限制接受的流大小、对象深度、数字精度及字符串长度。
          *
          * @param config parser config
-         * @param is input stream
+         * @param symbols property name symbol table shared by parsers from the same factory
          */
-        JsonTokenParser(Map<String, ?> config, InputStream is) {
-            UnicodeDetectingInputStream fis = new UnicodeDetectingInputStream(is);
-            Charset charset = fis.getCharset();
-            this.reader = new InputStreamReader(fis, charset);
-            init(config);
-        }
-
-        private void init(Map<String, ?> config) {
+        AbstractTokenParser(Map<String, ?> config, SymbolTable symbols) {
+            this.symbols = symbols;
             Number maxNestingDepth = (Number) config.get(JSONP_CONFIG_PREFIX + "parser.maxNestingDepth");
             this.maxNestingDepth = maxNestingDepth != null && maxNestingDepth.shortValue() > 0 ?
                     (short) Math.min(maxNestingDepth.shortValue(), MAX_DEPTH) :
@@ -432,74 +676,85 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
             this.maxNumberLength = maxNumberLength != null ? Math.max(INITIAL_SIZE, maxNumberLength) : (Integer.SIZE * Integer.SIZE);
             Integer maxTokenCount = (Integer) config.get(JSONP_CONFIG_PREFIX + "parser.maxTokenCount");
             this.maxTokenCount = maxTokenCount != null ? maxTokenCount : (Short.MAX_VALUE * Short.SIZE);
-            buffer = new char[INITIAL_SIZE];
+            this.valueSequence = Boolean.TRUE.equals(config.get(VALUE_SEQUENCE_KEY));
+            this.arrayElements = Boolean.TRUE.equals(config.get(ARRAY_ELEMENTS_KEY));
+            this.trackLocation = !Boolean.FALSE.equals(config.get(TRACK_LOCATION_KEY));
         }
 
-        JsonTokenParser(Map<String, ?> config, InputStream is, Charset charset) {
-            this(config, new InputStreamReader(is, charset));
-        }
+        /**
+         * @return 当前读取位置在缓冲区中的下标
+         */
+        protected abstract int position();
 
-        JsonTokenParser(Map<String, ?> config, Reader reader) {
-            this.reader = reader;
-            init(config);
-        }
+        /**
+         * @param index 缓冲区下标
+         * @return 缓冲区中的字符(字节)
+         */
+        protected abstract int unitAt(int index);
 
-        private int readMoreTokens(int atMost) {
-            if (writeMark + atMost >= readMark) {
-                try {
-                    int real = reader.read(buffer, readMark, buffer.length - readMark);
-                    readMark += Math.max(real, 0);
-                } catch (IOException ioe) {
-                    throw new JsonException(ioe.getMessage(), ioe);
+        /**
+         * 不跟踪位置时，在丢弃缓冲区内容前或获取位置时统计尚未扫描的换行，扫描只前进不回退
+         *
+         * @param to 缓冲区下标(不含)
+         */
+        protected void scanLines(int to) {
+            long end = discarded + to;
+            for (long i = scannedTo; i < end; i++) {
+                int c = unitAt((int) (i - discarded));
+                if (c == LINE_FEED || c == FORM_FEED) {
+                    scannedLines++;
+                    scannedLineStart = i + 1;
                 }
             }
-            if (maxTokenCount > 0 && offset + readMark - writeMark > maxTokenCount) {
-                throw new JsonException("too many character");
-            }
-            return readMark - writeMark;
+            scannedTo = Math.max(scannedTo, end);
         }
 
-        private void skipWhiteSpace() {
-            while(true) {
-                switch (buffer[writeMark]) {
-                    case LINE_FEED: // pass through
-                    case FORM_FEED:
-                        line++;
-                        column = 0;
-                        break;
-                    case CARRIAGE_RETURN: // pass through
-                    case HORIZONTAL_TAB: // pass through
-                    case SPACE:
-                        column++;
-                        break;
-                    default:
-                        mark = writeMark;
-                        return;
-                }
-                offset++;
-                writeMark++;
-                if (readMoreTokens(buffer.length - readMark) <= 0) {
-                    moveToHead(0);
-                }
+        /**
+         * 丢弃缓冲区中前count个字符(字节)前调用
+         */
+        protected void discard(int count) {
+            if (!trackLocation) {
+                scanLines(count);
+                discarded += count;
             }
         }
 
-        private void moveToHead(int guaranteeSize) {
-            if (writeMark + guaranteeSize >= readMark) {
-                if (guaranteeSize > buffer.length) {
-                    char[] buffer = new char[guaranteeSize];
-                    System.arraycopy(this.buffer, mark, buffer, 0, readMark - mark);
-                    this.buffer = buffer;
-                } else if (mark > 0){
-                    System.arraycopy(buffer, mark, buffer, 0, readMark - mark);
-                }
-                readMark -= mark;
-                writeMark -= mark;
-                mark = 0;
-                readMoreTokens(guaranteeSize);
+        private static final long WHITE_SPACES = 1L << SPACE | 1L << LINE_FEED | 1L << CARRIAGE_RETURN | 1L << HORIZONTAL_TAB | 1L << FORM_FEED;
+
+        protected static boolean isWhiteSpace(int c) {
+            return c >= 0 && c <= SPACE && (WHITE_SPACES & (1L << c)) != 0;
+        }
+
+        /**
+         * @param columnDelta 相对当前列的偏移
+         * @param offsetDelta 相对当前偏移量的偏移
+         * @return 位置，不跟踪位置时行列号由已读内容计算
+         */
+        protected JsonLocation location(long columnDelta, long offsetDelta) {
+            if (trackLocation) {
+                return new TokenLocation(line, column + columnDelta, offset + offsetDelta);
             }
+            int position = position();
+            scanLines(position);
+            return new TokenLocation(scannedLines, discarded + position - scannedLineStart + columnDelta, offset + offsetDelta);
         }
 
+        /**
+         * @return 当前token在缓冲区中所占长度，字符串包含首尾引号
+         */
+        protected abstract int tokenLength();
+
+        /**
+         * @param index 相对当前token起始位置的下标
+         * @return 当前token中的字符，数值token仅含ASCII字符
+         */
+        protected abstract int charAt(int index);
+
+        /**
+         * @return 当前数值token转换的BigDecimal
+         */
+        protected abstract BigDecimal decodeBigDecimal();
+
         @Override
         protected void startChild(Context context) {
             // legal: "{}", "[{}]", "[true, {}]";illegal: "{}[]", "{},{}", "true{}"
@@ -520,74 +775,1224 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
             return closed;
         }
 
-        private void ensureTopLevelAtMostOneJsonValue(Context context) {
+        protected void ensureTopLevelAtMostOneJsonValue(Context context) {
             if (depth == 0 && (context != Context.NOT_STARTED || currentEvent != null)) {
-                throw new JsonParsingException("json value appear multi times in json root", new TokenLocation(line, column - 1, offset));
+                if (!valueSequence) {
+                    throw new JsonParsingException("json value appear multi times in json root", location(-1, 0));
+                }
+                valueStartOffset = offset - 1; // limit applies to each value of sequence
+            } else if (arrayElements && depth == 1 && context == Context.ARRAY) {
+                valueStartOffset = offset - 1; // limit applies to each element of top-level array
             }
         }
 
-        private Event nextEvent() {
-//            skipWhiteSpace();
-            Context context = currentContext();
-            // skip colon and comma
-            if (context != Context.NOT_STARTED && !isFirstMember()) {
-                char c = buffer[writeMark];
-                if (context == Context.FIELD && c != COLON) {
-                    throw new JsonParsingException("expect ':' follow object name", new TokenLocation(line, column, offset));
-                } else if (context == Context.OBJECT && c != COMMA && c != RIGHT_CURLY_BRACKET) {
-                    throw new JsonParsingException("expect ',' follow json value", new TokenLocation(line, column, offset));
-                } else if (context == Context.ARRAY && c != COMMA && c != RIGHT_SQUARE_BRACKET) {
-                    throw new JsonParsingException("expect ',' follow json value", new TokenLocation(line, column, offset));
+        protected String composeExceptionMsg() {
+            switch (currentEvent) {
+                case START_OBJECT:
+                    return "expect key name, but EOF";
+                case START_ARRAY:
+                    return "expect json value, but EOF";
+                case KEY_NAME:
+                    return "expect colon, BUT EOF";
+                case END_OBJECT: // pass through
+                case END_ARRAY:
+                    return "expect end json structure, but EOF";
+                default:
+                    return "expect comma, but EOF";
+            }
+        }
+
+        @Override
+        public boolean isIntegralNumber() {
+            if (currentEvent != Event.VALUE_NUMBER) {
+                throw new IllegalStateException("please call isIntegralNumber after receive VALUE_NUMBER event");
+            }
+            return !fracOrExp || scale() == 0;
+        }
+
+        /**
+         * 等价于getBigDecimal().scale()：小数位数减去指数，但不创建BigDecimal
+         */
+        private long scale() {
+            int len = tokenLength();
+            int i = 0;
+            long fraction = 0;
+            boolean inFraction = false;
+            for (; i < len; i++) {
+                int c = charAt(i);
+                if (c == LOWER_EXPONENT || c == UPPER_EXPONENT) {
+                    break;
+                } else if (c == DOT) {
+                    inFraction = true;
+                } else if (inFraction) {
+                    fraction++;
                 }
-                if (c == COLON || c == COMMA) {
-                    column++;
-                    offset++;
-                    writeMark++;
-                    mark = writeMark;
-                    moveToHead(0);
-                    skipWhiteSpace();
+            }
+            long exponent = 0;
+            if (i++ < len) {
+                boolean negative = charAt(i) == NEGATIVE;
+                if (negative || charAt(i) == POSITIVE) {
+                    i++;
                 }
-                if (c == COMMA && (buffer[writeMark] == RIGHT_CURLY_BRACKET || buffer[writeMark] == RIGHT_SQUARE_BRACKET)) {
-                    throw new JsonParsingException("redundant comma", new TokenLocation(line, column, offset));
+                for (; i < len && exponent < Integer.MAX_VALUE; i++) {
+                    exponent = exponent * 10 + (charAt(i) - '0');
                 }
+                exponent = negative ? -exponent : exponent;
             }
+            return fraction - exponent;
+        }
 
-            column++;
-            offset++;
-            switch (buffer[writeMark++]) {
-                case LEFT_CURLY_BRACKET:
-                    ensureTopLevelAtMostOneJsonValue(context);
-                    if (context == Context.OBJECT) {
-                        throw new JsonParsingException("object cannot be object name", new TokenLocation(line, column - 1, offset - 1));
-                    }
-                    startChild(Context.OBJECT);
-                    return Event.START_OBJECT;
-                case LEFT_SQUARE_BRACKET:
-                    ensureTopLevelAtMostOneJsonValue(context);
-                    if (context == Context.OBJECT) {
-                        throw new JsonParsingException("array cannot be object name", new TokenLocation(line, column - 1, offset - 1));
-                    }
-                    startChild(Context.ARRAY);
-                    return Event.START_ARRAY;
-                case RIGHT_CURLY_BRACKET:
-                    if (context != Context.OBJECT) {
-                        throw new JsonParsingException("not in object context, but got '}'", new TokenLocation(line, column - 1, offset - 1));
-                    }
-                    closeCurrentContext();
-                    return Event.END_OBJECT;
-                case RIGHT_SQUARE_BRACKET:
-                    if (context != Context.ARRAY) {
-                        throw new JsonParsingException("not in array context, but got ']'", new TokenLocation(line, column - 1, offset - 1));
-                    }
-                    closeCurrentContext();
-                    return Event.END_ARRAY;
-                case 't':
-                    return readLiteral(context, TRUE, Event.VALUE_TRUE);
+        private int digitCount() {
+            return charAt(0) == NEGATIVE ? tokenLength() - 1 : tokenLength();
+        }
+
+        @Override
+        public boolean isDefinitelyInt() {
+            return currentEvent == Event.VALUE_NUMBER && !fracOrExp && digitCount() < String.valueOf(Integer.MAX_VALUE).length();
+        }
+
+        @Override
+        public boolean isDefinitelyLong() {
+            return currentEvent == Event.VALUE_NUMBER && !fracOrExp && digitCount() < String.valueOf(Long.MAX_VALUE).length();
+        }
+
+        /**
+         * 仅在{@link #isDefinitelyLong()}时调用，逐位累加不会溢出
+         */
+        private long decodeLong() {
+            int len = tokenLength();
+            boolean negative = charAt(0) == NEGATIVE;
+            long value = 0;
+            for (int i = negative ? 1 : 0; i < len; i++) {
+                value = value * 10 + (charAt(i) - '0');
+            }
+            return negative ? -value : value;
+        }
+
+        @Override
+        public int getInt() {
+            if (currentEvent != Event.VALUE_NUMBER) {
+                throw new IllegalStateException("please call getInt after receive VALUE_NUMBER event");
+            }
+            return isDefinitelyInt() ? (int) decodeLong() : getBigDecimal().intValue();
+        }
+
+        @Override
+        public long getLong() {
+            if (currentEvent != Event.VALUE_NUMBER) {
+                throw new IllegalStateException("please call getLong after receive VALUE_NUMBER event");
+            }
+            return isDefinitelyLong() ? decodeLong() : getBigDecimal().longValue();
+        }
+
+        /**
+         * 有效数字不超过15位且10的指数不超过22时，尾数和10的幂都能精确表示为double，直接乘除即可(Clinger fast path)，
+         * 否则回退到{@link Double#parseDouble(String)}。
+         *
+         * @return double value of current number
+         */
+        @Override
+        public double getDouble() {
+            if (currentEvent != Event.VALUE_NUMBER) {
+                throw new IllegalStateException("please call getDouble after receive VALUE_NUMBER event");
+            }
+            return decodeDecimal(false);
+        }
+
+        /**
+         * 同{@link #getDouble()}，有效数字不超过7位且10的指数不超过10时以float运算，否则回退到{@link Float#parseFloat(String)}
+         *
+         * @return float value of current number
+         */
+        @Override
+        public float getFloat() {
+            if (currentEvent != Event.VALUE_NUMBER) {
+                throw new IllegalStateException("please call getFloat after receive VALUE_NUMBER event");
+            }
+            return (float) decodeDecimal(true);
+        }
+
+        private double decodeDecimal(boolean single) {
+            int maxSignificant = single ? 7 : 15;
+            int powers = single ? FLOAT_POWERS_OF_TEN.length : POWERS_OF_TEN.length;
+            int len = tokenLength();
+            boolean negative = charAt(0) == NEGATIVE;
+            int i = negative ? 1 : 0;
+            long mantissa = 0;
+            int significant = 0;
+            long exponent = 0;
+            boolean inFraction = false;
+            for (; i < len; i++) {
+                int c = charAt(i);
+                if (c == DOT) {
+                    inFraction = true;
+                    continue;
+                } else if (c == LOWER_EXPONENT || c == UPPER_EXPONENT) {
+                    break;
+                }
+                if (inFraction) {
+                    exponent--;
+                }
+                if (mantissa == 0 && c == '0') { // leading zero
+                    continue;
+                }
+                if (++significant > maxSignificant) {
+                    return single ? Float.parseFloat(getString()) : Double.parseDouble(getString());
+                }
+                mantissa = mantissa * 10 + (c - '0');
+            }
+            if (i++ < len) {
+                boolean negativeExponent = charAt(i) == NEGATIVE;
+                if (negativeExponent || charAt(i) == POSITIVE) {
+                    i++;
+                }
+                long value = 0;
+                for (; i < len && value < powers; i++) {
+                    value = value * 10 + (charAt(i) - '0');
+                }
+                if (i < len) {
+                    return single ? Float.parseFloat(getString()) : Double.parseDouble(getString());
+                }
+                exponent += negativeExponent ? -value : value;
+            }
+            double value;
+            if (mantissa == 0) {
+                value = 0D;
+            } else if (exponent <= -powers || exponent >= powers) {
+                return single ? Float.parseFloat(getString()) : Double.parseDouble(getString());
+            } else if (single) { // float运算一次舍入，不可先算出double再转换
+                value = exponent >= 0 ?
+                        (float) mantissa * FLOAT_POWERS_OF_TEN[(int) exponent] :
+                        (float) mantissa / FLOAT_POWERS_OF_TEN[(int) -exponent];
+            } else if (exponent >= 0) {
+                value = mantissa * POWERS_OF_TEN[(int) exponent];
+            } else {
+                value = mantissa / POWERS_OF_TEN[(int) -exponent];
+            }
+            return negative ? -value : value;
+        }
+
+        @Override
+        public BigDecimal getBigDecimal() {
+            if (currentEvent != Event.VALUE_NUMBER) {
+                throw new IllegalStateException("please call getBigDecimal after receive VALUE_NUMBER event");
+            }
+            return isDefinitelyLong() ? BigDecimal.valueOf(decodeLong()) : decodeBigDecimal();
+        }
+
+        @Override
+        public JsonLocation getLocation() {
+            return location(0, 0);
+        }
+
+        @Override
+        public JsonObject getObject() {
+            if (currentEvent != Event.START_OBJECT) {
+                throw new IllegalStateException("please call getObject after receive START_OBJECT event");
+            }
+            ObjectBuilder builder = new ObjectBuilder();
+            Event event;
+            while (hasNext() && (event = next()) != Event.END_OBJECT) {
+                if (event != Event.KEY_NAME) {
+                    throw new JsonParsingException("expect name after '{'", getLocation());
+                }
+                String name = getString();
+                next();
+                JsonValue value = getValue();
+                builder.add(name, value);
+            }
+            return builder.build();
+        }
+
+        @Override
+        public JsonValue getValue() {
+            switch (currentEvent) {
+                case START_ARRAY: return getArray();
+                case START_OBJECT: return getObject();
+                case VALUE_FALSE: return JsonValue.FALSE;
+                case VALUE_TRUE: return JsonValue.TRUE;
+                case VALUE_NUMBER:
+                    if (isIntegralNumber() && tokenLength() < String.valueOf(Long.MAX_VALUE).length()) {
+                        return tokenLength() >= String.valueOf(Integer.MAX_VALUE).length() ?
+                                new Int64Value(getLong()) : Int32Value.valueOf(getInt());
+                    }
+                    return new NumberValue(getBigDecimal());
+                case VALUE_STRING: return new StringValue(getString());
+                case VALUE_NULL: return JsonValue.NULL;
+                case END_OBJECT: // pass through
+                case END_ARRAY:
+                    throw new IllegalStateException("please call getValue in object/array/value context");
+                default:
+                    throw new JsonParsingException("wrong event", getLocation());
+            }
+        }
+
+        @Override
+        public JsonArray getArray() {
+            if (currentEvent != Event.START_ARRAY) {
+                throw new IllegalStateException("please call getArray after receive start array event");
+            }
+            ArrayBuilder builder = new ArrayBuilder();
+            while (hasNext() && next() != Event.END_ARRAY) {
+                builder.add(getValue());
+            }
+            return builder.build();
+        }
+
+        // getArrayStream, getObjectStream, getValueStream
+
+        /**
+         * 从当前位置扫描到与之匹配的右括号之后：只识别括号、引号及转义以维护深度，
+         * 不校验token、不更新行列号(仅offset准确)、不经过上下文栈，被跳过的内容不产生事件。
+         */
+        protected abstract void skipStructure();
+
+        @Override
+        public void skipArray() {
+            if (currentEvent != Event.START_ARRAY) {
+                return;
+            }
+            skipStructure();
+            closeCurrentContext();
+            currentEvent = Event.END_ARRAY;
+        }
+
+        @Override
+        public void skipObject() {
+            if (currentEvent != Event.START_OBJECT) {
+                return;
+            }
+            skipStructure();
+            closeCurrentContext();
+            currentEvent = Event.END_OBJECT;
+        }
+    }
+
+    /**
+     * json parser
+     *
+     * @see org.eclipse.parsson.JsonParserImpl
+     * @author iMinusMinus
+     * @date 2024-11-24
+     */
+    static class JsonTokenParser extends AbstractTokenParser {
+
+        private final Reader reader;
+
+        private final BufferRecycler recycler;
+
+        private char[] buffer;
+
+        private int mark;
+
+        private int writeMark;
+
+        private int readMark;
+
+        JsonTokenParser(Map<String, ?> config, SymbolTable symbols, BufferRecycler recycler, InputStream is, Charset charset) {
+            this(config, symbols, recycler, new InputStreamReader(is, charset));
+        }
+
+        JsonTokenParser(Map<String, ?> config, SymbolTable symbols, BufferRecycler recycler, Reader reader) {
+            super(config, symbols);
+            this.reader = reader;
+            this.recycler = recycler;
+            buffer = recycler.allocChars(INITIAL_SIZE);
+        }
+
+        private int readMoreTokens(int atMost) {
+            if (writeMark + atMost >= readMark) {
+                try {
+                    int real = reader.read(buffer, readMark, buffer.length - readMark);
+                    readMark += Math.max(real, 0);
+                } catch (IOException ioe) {
+                    throw new JsonException(ioe.getMessage(), ioe);
+                }
+            }
+            if (maxTokenCount > 0 && offset - valueStartOffset + readMark - writeMark > maxTokenCount) {
+                throw new JsonException("too many character");
+            }
+            return readMark - writeMark;
+        }
+
+        private void skipWhiteSpace() {
+            if (!trackLocation) {
+                skipWhiteSpaceOnly();
+                return;
+            }
+            while(true) {
+                switch (buffer[writeMark]) {
+                    case LINE_FEED: // pass through
+                    case FORM_FEED:
+                        line++;
+                        column = 0;
+                        break;
+                    case CARRIAGE_RETURN: // pass through
+                    case HORIZONTAL_TAB: // pass through
+                    case SPACE:
+                        column++;
+                        break;
+                    default:
+                        mark = writeMark;
+                        return;
+                }
+                offset++;
+                writeMark++;
+                if (readMoreTokens(buffer.length - readMark) <= 0) {
+                    moveToHead(0);
+                }
+            }
+        }
+
+        /**
+         * 不跟踪行列号时只累计偏移量，成段跳过空白
+         */
+        private void skipWhiteSpaceOnly() {
+            while (true) {
+                char[] buffer = this.buffer;
+                int start = writeMark;
+                int end = readMark;
+                int pos = start;
+                while (pos < end && isWhiteSpace(buffer[pos])) {
+                    pos++;
+                }
+                offset += pos - start;
+                writeMark = pos;
+                if (pos < end) {
+                    mark = pos;
+                    return;
+                }
+                if (readMoreTokens(this.buffer.length - readMark) <= 0) {
+                    moveToHead(0);
+                }
+                if (writeMark >= readMark) {
+                    mark = writeMark;
+                    return;
+                }
+            }
+        }
+
+        @Override
+        protected int position() {
+            return writeMark;
+        }
+
+        @Override
+        protected int unitAt(int index) {
+            return buffer[index];
+        }
+
+        private void moveToHead(int guaranteeSize) {
+            if (writeMark + guaranteeSize >= readMark) {
+                discard(mark);
+                if (guaranteeSize > buffer.length) {
+                    char[] buffer = recycler.allocChars(guaranteeSize);
+                    System.arraycopy(this.buffer, mark, buffer, 0, readMark - mark);
+                    recycler.releaseChars(this.buffer);
+                    this.buffer = buffer;
+                } else if (mark > 0){
+                    System.arraycopy(buffer, mark, buffer, 0, readMark - mark);
+                }
+                readMark -= mark;
+                writeMark -= mark;
+                mark = 0;
+                readMoreTokens(guaranteeSize);
+            }
+        }
+
+        private Event nextEvent() {
+//            skipWhiteSpace();
+            Context context = currentContext();
+            // skip colon and comma
+            if (context != Context.NOT_STARTED && !isFirstMember()) {
+                char c = buffer[writeMark];
+                if (context == Context.FIELD && c != COLON) {
+                    throw new JsonParsingException("expect ':' follow object name", location(0, 0));
+                } else if (context == Context.OBJECT && c != COMMA && c != RIGHT_CURLY_BRACKET) {
+                    throw new JsonParsingException("expect ',' follow json value", location(0, 0));
+                } else if (context == Context.ARRAY && c != COMMA && c != RIGHT_SQUARE_BRACKET) {
+                    throw new JsonParsingException("expect ',' follow json value", location(0, 0));
+                }
+                if (c == COLON || c == COMMA) {
+                    column++;
+                    offset++;
+                    writeMark++;
+                    mark = writeMark;
+                    moveToHead(0);
+                    skipWhiteSpace();
+                }
+                if (c == COMMA && (buffer[writeMark] == RIGHT_CURLY_BRACKET || buffer[writeMark] == RIGHT_SQUARE_BRACKET)) {
+                    throw new JsonParsingException("redundant comma", location(0, 0));
+                }
+            }
+
+            column++;
+            offset++;
+            switch (buffer[writeMark++]) {
+                case LEFT_CURLY_BRACKET:
+                    ensureTopLevelAtMostOneJsonValue(context);
+                    if (context == Context.OBJECT) {
+                        throw new JsonParsingException("object cannot be object name", location(-1, -1));
+                    }
+                    startChild(Context.OBJECT);
+                    return Event.START_OBJECT;
+                case LEFT_SQUARE_BRACKET:
+                    ensureTopLevelAtMostOneJsonValue(context);
+                    if (context == Context.OBJECT) {
+                        throw new JsonParsingException("array cannot be object name", location(-1, -1));
+                    }
+                    startChild(Context.ARRAY);
+                    return Event.START_ARRAY;
+                case RIGHT_CURLY_BRACKET:
+                    if (context != Context.OBJECT) {
+                        throw new JsonParsingException("not in object context, but got '}'", location(-1, -1));
+                    }
+                    closeCurrentContext();
+                    return Event.END_OBJECT;
+                case RIGHT_SQUARE_BRACKET:
+                    if (context != Context.ARRAY) {
+                        throw new JsonParsingException("not in array context, but got ']'", location(-1, -1));
+                    }
+                    closeCurrentContext();
+                    return Event.END_ARRAY;
+                case 't':
+                    return readLiteral(context, TRUE, Event.VALUE_TRUE);
+                case 'f':
+                    return readLiteral(context, FALSE, Event.VALUE_FALSE);
+                case 'n':
+                    return readLiteral(context, NULL, Event.VALUE_NULL);
+                case QUOTATION_MARK: // 1. '{"key"'; 2. '{"key":"value","k.e.y"'
+                    ensureTopLevelAtMostOneJsonValue(context);
+                    readString(context == Context.OBJECT ? maxIdentifierLength : maxStringLength);
+                    markFirstMemberVisited();
+                    Event event = Event.VALUE_STRING;
+                    if (context == Context.OBJECT) {
+                        event = Event.KEY_NAME;
+                        startChild(Context.FIELD);
+                    } else if (context == Context.FIELD){
+                        restore();
+                    }
+                    return event;
+                case NEGATIVE: // pass through, should we accept '+' as leading sign?
+                case '0': // pass through
+                case '1': // pass through
+                case '2': // pass through
+                case '3': // pass through
+                case '4': // pass through
+                case '5': // pass through
+                case '6': // pass through
+                case '7': // pass through
+                case '8': // pass through
+                case '9':
+                    ensureTopLevelAtMostOneJsonValue(context);
+                    if (context == Context.OBJECT) {
+                        throw new JsonParsingException("unquoted number cannot be object name", location(0, 0));
+                    }
+                    readNumber();
+                    markFirstMemberVisited();
+                    if (context == Context.FIELD) {
+                        restore();
+                    }
+                    return Event.VALUE_NUMBER;
+                default:
+                    throw new JsonParsingException("unknown state", location(-1, 0));
+            }
+        }
+
+        private Event readLiteral(Context ctx, char[] expected, Event value) {
+            //  "[]null", "{},false", "true:[]"
+            ensureTopLevelAtMostOneJsonValue(ctx);
+            if (ctx == Context.OBJECT) {
+                throw new JsonParsingException("true/false/null cannot be object name", location(-1, -1));
+            }
+
+
+            if (mark + expected.length - 1 >= readMark) {
+                moveToHead(expected.length);
+            }
+            int readable = readMark - mark;
+            if (readable < expected.length) {
+                throw new JsonParsingException("missing character for " + new String(expected), location(readable, readable));
+            }
+            for (int i = 1; i < expected.length; i++) {
+                if (buffer[mark + i] != expected[i]) {
+                    throw new JsonParsingException("expected " + new String(expected) + "but got" + new String(buffer, mark, i), location(i - 1, i));
+                }
+            }
+            writeMark += expected.length - 1;
+            column += expected.length - 1;
+            offset += expected.length - 1;
+            if (ctx == Context.FIELD) {
+                restore();
+            }
+            markFirstMemberVisited();
+            return value;
+        }
+
+        private void replaceControlCharacter(int offset, char controlCharacter) {
+            buffer[writeMark - offset] = controlCharacter;
+            System.arraycopy(buffer, writeMark, buffer, writeMark - (offset - 1), readMark - writeMark);
+            writeMark -= (offset - 1);
+            readMark -= (offset - 1);
+        }
+
+        private void readString(int maxValueLength) {
+            if (readMoreTokens(buffer.length - readMark) <= 0) {
+                moveToHead(0);
+            }
+            int unicodeMarkPosition = -1;
+            boolean escape = false;
+            while (true) {
+                switch (buffer[writeMark++]) {
+                    case REVERSE_SOLIDUS:
+                        if (escape) {
+                            replaceControlCharacter(2, REVERSE_SOLIDUS);
+                        }
+                        escape = !escape;
+                        break;
+                    case QUOTATION_MARK:
+                        if (!escape) {
+//                            escape = false;
+                            offset++;
+                            column++;
+                            return;
+                        }
+                        break;
+                    case SOLIDUS:
+                        if (escape) {
+                            escape = false;
+                        }
+                        break;
+                    case 'b':
+                        if (escape) {
+                            replaceControlCharacter(2, BACKSPACE);
+                            escape = false;
+                        } // else unicode character, op in default branch
+                        break;
+                    case 'r':
+                        if (escape) {
+                            replaceControlCharacter(2, CARRIAGE_RETURN);
+                            escape = false;
+                        }
+                        break;
+                    case 't':
+                        if (escape) {
+                            replaceControlCharacter(2, HORIZONTAL_TAB);
+                            escape = false;
+                        }
+                        break;
+                    case 'n':
+                        if (escape) {
+                            line++;
+                            column = 0;
+                            replaceControlCharacter(2, LINE_FEED);
+                            escape = false;
+                        }
+                        break;
+                    case 'f': // what if \u0085(Next Line), \u2028(Line Separator), \u2029(Paragraph Separator)
+                        if (escape) {
+                            line++;
+                            column = 0;
+                            replaceControlCharacter(2, FORM_FEED);
+                            escape = false;
+                        } // else unicode character, op in default branch
+                        break;
+                    case 'u':
+                        if (escape) {
+                            unicodeMarkPosition = writeMark;
+                            escape = false;
+                        }
+                        break;
+                    default:
+                        if (escape) {
+                            throw new JsonParsingException("only control character can follow reverse solidus", getLocation());
+                        }
+                        if (unicodeMarkPosition >= 0 && writeMark - unicodeMarkPosition == 4) {
+                            int unicode = 0;
+                            for (int i = 0; i < 4; i++) {
+                                if (!(buffer[unicodeMarkPosition + i] >= 'a' && buffer[unicodeMarkPosition + i] <= 'f') &&
+                                        !(buffer[unicodeMarkPosition + i] >= 'A' && buffer[unicodeMarkPosition + i] <= 'F') &&
+                                        !(buffer[unicodeMarkPosition + i] >= '0' && buffer[unicodeMarkPosition + i] <= '9')) {
+                                    throw new JsonParsingException("unexpected char follow unicode symbol", getLocation());
+                                }
+                                int digit = Character.digit(buffer[unicodeMarkPosition + i], 16);
+                                unicode = (unicode << 4) | digit;
+                            }
+                            replaceControlCharacter(6, (char) unicode);
+                            unicodeMarkPosition = -1; // reset
+                        }
+                        break;
+                }
+                offset++;
+                column++;
+                if (writeMark - mark - 1 > maxValueLength) {
+                    throw new JsonException("string length exceed max size: " + maxValueLength);
+                }
+                if (writeMark >= readMark) {
+                    if (mark > 0 && readMark <= buffer.length) {
+                        moveToHead(0);
+                    }  else if (buffer.length < maxValueLength) {
+                        moveToHead(Math.min((int) (buffer.length * 1.5), maxValueLength));
+                    } else {
+                        throw new JsonException("string length exceed max size: " + maxValueLength);
+                    }
+                }
+            }
+        }
+
+        private void readNumber() {
+            if (readMoreTokens(buffer.length - readMark) <= 0) {
+                moveToHead(0);
+            }
+            boolean exponentFound = false;
+            while (true) {
+                switch (buffer[writeMark++]) {
+                    case LOWER_EXPONENT: // pass through
+                    case UPPER_EXPONENT: // pass through
+                        if (buffer[writeMark - 2] == DOT) {
+                            throw new JsonParsingException("e/E cannot direct go after dot", getLocation());
+                        }
+                        if (exponentFound) {
+                            throw new JsonParsingException("e/E cannot appear multi times!", getLocation());
+                        }
+                        exponentFound = true;
+                        fracOrExp = true;
+                        break;
+                    case DOT:
+                        if (fracOrExp) {
+                            throw new JsonParsingException("dot/E/e cannot appear multi times", getLocation());
+                        }
+                        fracOrExp = true;
+                        break;
+                    case NEGATIVE:
+                        if (writeMark - 2 != mark &&
+                                buffer[writeMark - 2] != LOWER_EXPONENT &&
+                                buffer[writeMark - 2] != UPPER_EXPONENT) {
+                            throw new JsonParsingException("'-' should be leading sign or go after e/E", getLocation());
+                        }
+                        break;
+                    case POSITIVE:
+                        if (buffer[writeMark - 2] != LOWER_EXPONENT && buffer[writeMark - 2] != UPPER_EXPONENT) {
+                            throw new JsonParsingException("'+' should go after e/E", getLocation());
+                        }
+                        break;
+                    case '0': // pass through
+                    case '1': // pass through
+                    case '2': // pass through
+                    case '3': // pass through
+                    case '4': // pass through
+                    case '5': // pass through
+                    case '6': // pass through
+                    case '7': // pass through
+                    case '8': // pass through
+                    case '9':
+                        break;
+                    case COMMA: // pass through
+                    case RIGHT_SQUARE_BRACKET: // pass through
+                    case RIGHT_CURLY_BRACKET: // pass through
+                    case SPACE: // WS, pass through
+                    case LINE_FEED: // WS, pass through
+                    case CARRIAGE_RETURN: // WS, pass through
+                    case HORIZONTAL_TAB: // WS
+                        writeMark -= 1;
+                        if (buffer[writeMark - 1] < '0' || buffer[writeMark - 1] > '9') {
+                            throw new JsonParsingException("number should end with 0-9", getLocation());
+                        }
+                        return;
+                    default:
+                        throw new JsonParsingException("valid number characters: -0.1eE+23456789", getLocation());
+                }
+                column++;
+                offset++;
+
+                if (writeMark >= readMark) {
+                    if (mark > 0 && readMark <= buffer.length) {
+                        moveToHead(0);
+                    } else if (buffer.length < maxNumberLength) {
+                        moveToHead(Math.min((int) (buffer.length * 1.5), maxNumberLength));
+                    } else {
+                        throw new JsonException("number length exceed max size: " + maxNumberLength);
+                    }
+                }
+            }
+        }
+
+        /**
+         * 字符缓冲区读完时丢弃已跳过的内容再填充
+         */
+        @Override
+        protected void skipStructure() {
+            int level = 1;
+            boolean inString = false;
+            boolean escape = false;
+            while (true) {
+                if (writeMark >= readMark) {
+                    mark = writeMark; // skipped chars can be discarded
+                    moveToHead(0);
+                    if (writeMark >= readMark) {
+                        throw new JsonParsingException("expect end json structure, but EOF", getLocation());
+                    }
+                }
+                char[] buffer = this.buffer;
+                int start = writeMark;
+                int end = readMark;
+                for (int i = start; i < end; i++) {
+                    char c = buffer[i];
+                    if (inString) {
+                        if (escape) {
+                            escape = false;
+                        } else if (c == REVERSE_SOLIDUS) {
+                            escape = true;
+                        } else if (c == QUOTATION_MARK) {
+                            inString = false;
+                        }
+                    } else if (c == QUOTATION_MARK) {
+                        inString = true;
+                    } else if (c == LEFT_CURLY_BRACKET || c == LEFT_SQUARE_BRACKET) {
+                        level++;
+                    } else if ((c == RIGHT_CURLY_BRACKET || c == RIGHT_SQUARE_BRACKET) && --level == 0) {
+                        mark = i;
+                        writeMark = i + 1;
+                        offset += writeMark - start;
+                        return;
+                    }
+                }
+                writeMark = end;
+                offset += end - start;
+            }
+        }
+
+        /**
+         * 当json结果已完成，但输入流仍有非空字符，则视为JsonException。
+         *
+         * @return has next event
+         */
+        @Override
+        public boolean hasNext() {
+            if (closed) {
+                return false;
+            }
+            if (readMoreTokens(buffer.length - readMark) <= 0) {
+                moveToHead(0);
+            }
+            skipWhiteSpace();
+            if (depth > 0 && writeMark >= readMark) {
+                // currentEvent --> array: next may be 'value', ',value' or ']', or JsonParsingException
+                throw new JsonParsingException(composeExceptionMsg(), getLocation());
+            }
+            return writeMark < readMark;
+        }
+
+        @Override
+        public Event next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            mark = writeMark;
+            fracOrExp = false;
+            return currentEvent = nextEvent();
+        }
+
+        @Override
+        public int matchKey(PropertyNameMatcher matcher) {
+            if (currentEvent != Event.KEY_NAME) {
+                throw new IllegalStateException("please call matchKey after receive KEY_NAME event");
+            }
+            return matcher.match(buffer, mark + 1, writeMark - 1 - (mark + 1));
+        }
+
+        @Override
+        public String getString() {
+            if (currentEvent == Event.KEY_NAME && symbols != null) {
+                return symbols.lookup(buffer, mark + 1, writeMark - 1 - (mark + 1));
+            } else if (currentEvent == Event.KEY_NAME ||
+                    currentEvent == Event.VALUE_STRING) {
+                return new String(buffer, mark + 1, writeMark - 1 - (mark + 1));
+            } else if (currentEvent == Event.VALUE_NUMBER) {
+                return new String(buffer, mark, writeMark - mark);
+            } else {
+                throw new IllegalStateException("please call getString after receive KEY_NAME/VALUE_STRING/VALUE_NUMBER event");
+            }
+        }
+
+        @Override
+        protected int tokenLength() {
+            return writeMark - mark;
+        }
+
+        @Override
+        protected int charAt(int index) {
+            return buffer[mark + index];
+        }
+
+        @Override
+        protected BigDecimal decodeBigDecimal() {
+            return new BigDecimal(buffer, mark, writeMark - mark);
+        }
+
+        @Override
+        public void close() {
+            if (buffer != null) {
+                recycler.releaseChars(buffer);
+            }
+            closed = true;
+            buffer = null;
+            try {
+                reader.close();
+            } catch (IOException ioe) {
+                throw new JsonException(ioe.getMessage(), ioe);
+            }
+        }
+    }
+
+    /**
+     * UTF-8 json parser：直接在字节上识别token，仅在读取key/字符串值时才解码为String，省去InputStreamReader的逐字符解码。
+     * json结构字符均为ASCII，而UTF-8多字节序列的每个字节最高位均为1，故按字节扫描不会误判。
+     *
+     * @author iMinusMinus
+     * @date 2026-10-18
+     */
+    static class Utf8TokenParser extends AbstractTokenParser {
+
+        private static final byte[] BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+        private static final int DIRECT_WINDOW = 1 << 16;
+
+        private final InputStream in;
+
+        protected final BufferRecycler recycler; // null if buffer belongs to caller
+
+        protected byte[] buffer;
+
+        protected int mark;
+
+        protected int writeMark;
+
+        protected int readMark;
+
+        protected boolean eof;
+
+        protected boolean escaped; // 当前字符串是否包含转义字符，不包含则可直接解码
+
+        // 扫描续点，仅非阻塞解析使用
+        private ScanPoint stringPoint;
+
+        private ScanPoint skipPoint;
+
+        private ScanPoint[] spacePoints; // whitespace before and after separator
+
+        private int nextSpacePoint;
+
+        /**
+         * 扫描续点：从from开始的扫描已推进到to，其后的行列号、偏移量及扫描状态。
+         * 非阻塞解析输入不足时回退到事件开始前，推送更多数据后重新扫描到from时直接跳到to，每个字节只扫描一次。
+         */
+        private static final class ScanPoint {
+
+            private int from = -1;
+
+            private int to;
+
+            private long line;
+
+            private long column;
+
+            private long offset;
+
+            private int count; // string length, or structure level
+
+            private boolean escaped; // string contains escape, or skip stopped after reverse solidus
+
+            private boolean inString; // skip stopped inside string
+
+            void save(int from, int to, long line, long column, long offset, int count, boolean escaped, boolean inString) {
+                this.from = from;
+                this.to = to;
+                this.line = line;
+                this.column = column;
+                this.offset = offset;
+                this.count = count;
+                this.escaped = escaped;
+                this.inString = inString;
+            }
+
+            void shift(int delta) {
+                if (from < delta) {
+                    from = -1;
+                } else {
+                    from -= delta;
+                    to -= delta;
+                }
+            }
+        }
+
+        Utf8TokenParser(Map<String, ?> config, SymbolTable symbols, BufferRecycler recycler, InputStream in) {
+            super(config, symbols);
+            this.in = in;
+            this.recycler = recycler;
+            buffer = recycler.allocBytes(INITIAL_SIZE);
+        }
+
+        /**
+         * 堆内ByteBuffer直接在其底层数组上分词，不复制；直接内存(如内存映射文件)按窗口批量读取
+         *
+         * @param config parser config
+         * @param symbols property name symbol table
+         * @param recycler buffer recycler, used by direct buffer only
+         * @param input UTF-8 encoded json, from position to limit
+         */
+        Utf8TokenParser(Map<String, ?> config, SymbolTable symbols, BufferRecycler recycler, ByteBuffer input) {
+            super(config, symbols);
+            if (input.hasArray()) {
+                if (maxTokenCount > 0 && !valueSequence && !arrayElements && input.remaining() > maxTokenCount) {
+                    throw new JsonException("too many character");
+                }
+                this.in = null;
+                this.recycler = null;
+                this.buffer = input.array();
+                this.mark = this.writeMark = input.arrayOffset() + input.position();
+                this.readMark = input.arrayOffset() + input.limit();
+                this.discarded = -writeMark;
+                this.eof = true; // never compact or grow caller's array
+            } else {
+                this.in = new ByteBufferInputStream(input);
+                this.recycler = recycler;
+                this.buffer = recycler.allocBytes(Math.max(INITIAL_SIZE, Math.min(input.remaining(), DIRECT_WINDOW)));
+            }
+        }
+
+        /**
+         * 保证writeMark之后至少有size个字节可读：缓冲区写满时丢弃mark之前的数据，仍不足则扩容
+         *
+         * @param size bytes required
+         * @return false if EOF reached before enough bytes read
+         */
+        protected boolean ensureReadable(int size) {
+            while (writeMark + size > readMark) {
+                if (eof) {
+                    return false;
+                }
+                if (readMark == buffer.length) {
+                    if (mark > 0) {
+                        discard(mark);
+                        System.arraycopy(buffer, mark, buffer, 0, readMark - mark);
+                        readMark -= mark;
+                        writeMark -= mark;
+                        mark = 0;
+                    } else {
+                        byte[] target = recycler.allocBytes(buffer.length + (buffer.length >> 1));
+                        System.arraycopy(buffer, 0, target, 0, readMark);
+                        recycler.releaseBytes(buffer);
+                        buffer = target;
+                    }
+                }
+                try {
+                    int real = in.read(buffer, readMark, buffer.length - readMark);
+                    if (real < 0) {
+                        eof = true;
+                    } else {
+                        readMark += real;
+                    }
+                } catch (IOException ioe) {
+                    throw new JsonException(ioe.getMessage(), ioe);
+                }
+                if (maxTokenCount > 0 && offset - valueStartOffset + readMark - writeMark > maxTokenCount) {
+                    throw new JsonException("too many character");
+                }
+            }
+            return true;
+        }
+
+        /**
+         * 读入全部输入，此后缓冲区不再压缩，token位置在整个解析期间有效
+         */
+        protected void loadAll() {
+            while (!eof) {
+                ensureReadable(readMark - writeMark + 1); // maxTokenCount still applies
+            }
+        }
+
+        /**
+         * 记录字符串、空白及跳过结构的扫描续点，供回退后继续扫描
+         */
+        protected void trackScanPoints() {
+            stringPoint = new ScanPoint();
+            skipPoint = new ScanPoint();
+            spacePoints = new ScanPoint[] {new ScanPoint(), new ScanPoint()};
+        }
+
+        protected void clearScanPoints() {
+            stringPoint.from = skipPoint.from = spacePoints[0].from = spacePoints[1].from = -1;
+        }
+
+        /**
+         * @param delta 缓冲区内容前移的字节数
+         */
+        protected void shiftScanPoints(int delta) {
+            stringPoint.shift(delta);
+            skipPoint.shift(delta);
+            spacePoints[0].shift(delta);
+            spacePoints[1].shift(delta);
+        }
+
+        /**
+         * <a href="https://www.rfc-editor.org/rfc/rfc7159">RFC 7159</a>禁止生成json时添加BOM，但解析时遇到BOM应忽略而不是出错。
+         */
+        private void skipByteOrderMark() {
+            if (ensureReadable(BOM.length) &&
+                    buffer[writeMark] == BOM[0] && buffer[writeMark + 1] == BOM[1] && buffer[writeMark + 2] == BOM[2]) {
+                writeMark += BOM.length;
+            }
+        }
+
+        private void skipWhiteSpace() {
+            if (spacePoints == null) {
+                scanWhiteSpace();
+                return;
+            }
+            int from = writeMark;
+            ScanPoint point = null;
+            for (ScanPoint candidate : spacePoints) {
+                if (candidate.from == from) {
+                    point = candidate;
+                    writeMark = point.to;
+                    line = point.line;
+                    column = point.column;
+                    offset = point.offset;
+                }
+            }
+            try {
+                scanWhiteSpace();
+            } finally {
+                if (point == null && writeMark > from) {
+                    point = spacePoints[nextSpacePoint ^= 1];
+                }
+                if (point != null) {
+                    point.save(from, writeMark, line, column, offset, 0, false, false);
+                }
+            }
+        }
+
+        private void scanWhiteSpace() {
+            if (!trackLocation) {
+                skipWhiteSpaceOnly();
+                return;
+            }
+            while (writeMark < readMark || ensureReadable(1)) {
+                switch (buffer[writeMark]) {
+                    case LINE_FEED: // pass through
+                    case FORM_FEED:
+                        line++;
+                        column = 0;
+                        break;
+                    case CARRIAGE_RETURN: // pass through
+                    case HORIZONTAL_TAB: // pass through
+                    case SPACE:
+                        column++;
+                        break;
+                    default:
+                        mark = writeMark;
+                        return;
+                }
+                offset++;
+                writeMark++;
+            }
+            mark = writeMark;
+        }
+
+        /**
+         * 不跟踪行列号时只累计偏移量，成段跳过空白
+         */
+        private void skipWhiteSpaceOnly() {
+            while (writeMark < readMark || ensureReadable(1)) {
+                byte[] buffer = this.buffer;
+                int start = writeMark;
+                int end = readMark;
+                int pos = start;
+                while (pos < end && isWhiteSpace(buffer[pos])) {
+                    pos++;
+                }
+                offset += pos - start;
+                writeMark = pos;
+                if (pos < end) {
+                    break;
+                }
+            }
+            mark = writeMark;
+        }
+
+        @Override
+        protected int position() {
+            return writeMark;
+        }
+
+        @Override
+        protected int unitAt(int index) {
+            return buffer[index];
+        }
+
+        private Event nextEvent() {
+            Context context = currentContext();
+            // skip colon and comma
+            if (context != Context.NOT_STARTED && !isFirstMember()) {
+                byte c = buffer[writeMark];
+                if (context == Context.FIELD && c != COLON) {
+                    throw new JsonParsingException("expect ':' follow object name", getLocation());
+                } else if (context == Context.OBJECT && c != COMMA && c != RIGHT_CURLY_BRACKET) {
+                    throw new JsonParsingException("expect ',' follow json value", getLocation());
+                } else if (context == Context.ARRAY && c != COMMA && c != RIGHT_SQUARE_BRACKET) {
+                    throw new JsonParsingException("expect ',' follow json value", getLocation());
+                }
+                if (c == COLON || c == COMMA) {
+                    column++;
+                    offset++;
+                    writeMark++;
+                    skipWhiteSpace();
+                    if (writeMark >= readMark) {
+                        throw new JsonParsingException("expect json value follow '" + (char) c + "', but EOF", getLocation());
+                    }
+                }
+                if (c == COMMA && (buffer[writeMark] == RIGHT_CURLY_BRACKET || buffer[writeMark] == RIGHT_SQUARE_BRACKET)) {
+                    throw new JsonParsingException("redundant comma", getLocation());
+                }
+            }
+
+            column++;
+            offset++;
+            switch (buffer[writeMark++]) {
+                case LEFT_CURLY_BRACKET:
+                    ensureTopLevelAtMostOneJsonValue(context);
+                    if (context == Context.OBJECT) {
+                        throw new JsonParsingException("object cannot be object name", location(-1, -1));
+                    }
+                    startChild(Context.OBJECT);
+                    return Event.START_OBJECT;
+                case LEFT_SQUARE_BRACKET:
+                    ensureTopLevelAtMostOneJsonValue(context);
+                    if (context == Context.OBJECT) {
+                        throw new JsonParsingException("array cannot be object name", location(-1, -1));
+                    }
+                    startChild(Context.ARRAY);
+                    return Event.START_ARRAY;
+                case RIGHT_CURLY_BRACKET:
+                    if (context != Context.OBJECT) {
+                        throw new JsonParsingException("not in object context, but got '}'", location(-1, -1));
+                    }
+                    closeCurrentContext();
+                    return Event.END_OBJECT;
+                case RIGHT_SQUARE_BRACKET:
+                    if (context != Context.ARRAY) {
+                        throw new JsonParsingException("not in array context, but got ']'", location(-1, -1));
+                    }
+                    closeCurrentContext();
+                    return Event.END_ARRAY;
+                case 't':
+                    return readLiteral(context, TRUE, Event.VALUE_TRUE);
                 case 'f':
                     return readLiteral(context, FALSE, Event.VALUE_FALSE);
                 case 'n':
                     return readLiteral(context, NULL, Event.VALUE_NULL);
-                case QUOTATION_MARK: // 1. '{"key"'; 2. '{"key":"value","k.e.y"'
+                case QUOTATION_MARK:
                     ensureTopLevelAtMostOneJsonValue(context);
                     readString(context == Context.OBJECT ? maxIdentifierLength : maxStringLength);
                     markFirstMemberVisited();
@@ -595,11 +2000,11 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
                     if (context == Context.OBJECT) {
                         event = Event.KEY_NAME;
                         startChild(Context.FIELD);
-                    } else if (context == Context.FIELD){
+                    } else if (context == Context.FIELD) {
                         restore();
                     }
                     return event;
-                case NEGATIVE: // pass through, should we accept '+' as leading sign?
+                case NEGATIVE: // pass through
                 case '0': // pass through
                 case '1': // pass through
                 case '2': // pass through
@@ -612,425 +2017,1806 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
                 case '9':
                     ensureTopLevelAtMostOneJsonValue(context);
                     if (context == Context.OBJECT) {
-                        throw new JsonParsingException("unquoted number cannot be object name", new TokenLocation(line, column, offset));
+                        throw new JsonParsingException("unquoted number cannot be object name", getLocation());
+                    }
+                    readNumber();
+                    markFirstMemberVisited();
+                    if (context == Context.FIELD) {
+                        restore();
+                    }
+                    return Event.VALUE_NUMBER;
+                default:
+                    throw new JsonParsingException("unknown state", location(-1, 0));
+            }
+        }
+
+        private Event readLiteral(Context ctx, char[] expected, Event value) {
+            ensureTopLevelAtMostOneJsonValue(ctx);
+            if (ctx == Context.OBJECT) {
+                throw new JsonParsingException("true/false/null cannot be object name", location(-1, -1));
+            }
+            if (!ensureReadable(expected.length - 1)) {
+                int readable = readMark - mark;
+                throw new JsonParsingException("missing character for " + new String(expected), location(readable, readable));
+            }
+            for (int i = 1; i < expected.length; i++) {
+                if (buffer[mark + i] != expected[i]) {
+                    throw new JsonParsingException("expected " + new String(expected) + " but got " + new String(buffer, mark, i + 1, StandardCharsets.UTF_8), location(i - 1, i));
+                }
+            }
+            writeMark += expected.length - 1;
+            column += expected.length - 1;
+            offset += expected.length - 1;
+            if (ctx == Context.FIELD) {
+                restore();
+            }
+            markFirstMemberVisited();
+            return value;
+        }
+
+        /**
+         * 扫描字符串直到未转义的引号，只校验转义序列而不解码，解码延迟到{@link #getString()}
+         *
+         * @param maxValueLength max characters(UTF-16 code unit) allowed
+         */
+        private void readString(int maxValueLength) {
+            escaped = false;
+            int length = 0;
+            int from = writeMark;
+            if (stringPoint != null && stringPoint.from == from) {
+                writeMark = stringPoint.to;
+                column = stringPoint.column;
+                offset = stringPoint.offset;
+                length = stringPoint.count;
+                escaped = stringPoint.escaped;
+            }
+            while (true) {
+                if (writeMark >= readMark) {
+                    if (stringPoint != null) {
+                        stringPoint.save(from, writeMark, line, column, offset, length, escaped, false);
+                    }
+                    if (!ensureReadable(1)) {
+                        throw new JsonParsingException("expect '\"' to close string, but EOF", getLocation());
+                    }
+                }
+                byte[] buffer = this.buffer;
+                int start = writeMark;
+                int end = readMark;
+                int chars = 0;
+                int i = start;
+                byte b = 0;
+                for (; i < end; i++) {
+                    b = buffer[i];
+                    if (b == QUOTATION_MARK || b == REVERSE_SOLIDUS) {
+                        break;
+                    }
+                    if ((b & 0xC0) != 0x80) { // not continuation byte
+                        chars += (b & 0xF8) == 0xF0 ? 2 : 1; // 4 bytes sequence decode to surrogate pair
+                    }
+                }
+                writeMark = i;
+                offset += i - start;
+                column += chars;
+                length += chars;
+                if (length > maxValueLength) {
+                    throw new JsonException("string length exceed max size: " + maxValueLength);
+                }
+                if (i == end) {
+                    continue;
+                }
+                writeMark++;
+                offset++;
+                column++;
+                if (b == QUOTATION_MARK) {
+                    return;
+                }
+                readEscape();
+                length++;
+            }
+        }
+
+        private void readEscape() {
+            if (writeMark >= readMark && !ensureReadable(1)) {
+                throw new JsonParsingException("expect control character follow reverse solidus, but EOF", getLocation());
+            }
+            switch (buffer[writeMark]) {
+                case QUOTATION_MARK: // pass through
+                case REVERSE_SOLIDUS: // pass through
+                case SOLIDUS: // pass through
+                case 'b': // pass through
+                case 'f': // pass through
+                case 'n': // pass through
+                case 'r': // pass through
+                case 't':
+                    break;
+                case 'u':
+                    if (!ensureReadable(5)) {
+                        throw new JsonParsingException("expect 4 hex digits follow unicode symbol, but EOF", getLocation());
+                    }
+                    for (int i = 1; i <= 4; i++) {
+                        if (hexDigit(buffer[writeMark + i]) < 0) {
+                            throw new JsonParsingException("unexpected char follow unicode symbol", getLocation());
+                        }
+                    }
+                    writeMark += 4;
+                    offset += 4;
+                    column += 4;
+                    break;
+                default:
+                    throw new JsonParsingException("only control character can follow reverse solidus", getLocation());
+            }
+            writeMark++;
+            offset++;
+            column++;
+            escaped = true;
+        }
+
+        private static int hexDigit(int b) {
+            if (b >= '0' && b <= '9') {
+                return b - '0';
+            }
+            int lower = b | 0x20;
+            return lower >= 'a' && lower <= 'f' ? lower - 'a' + 10 : -1;
+        }
+
+        /**
+         * 解码含转义字符的字符串：ASCII逐字节转换，连续的多字节序列交由JDK解码
+         */
+        private String unescape(int from, int to) {
+            char[] chars = new char[to - from]; // 解码后UTF-16长度不会超过UTF-8字节数
+            int length = 0;
+            int i = from;
+            while (i < to) {
+                byte b = buffer[i];
+                if (b == REVERSE_SOLIDUS) {
+                    byte c = buffer[i + 1];
+                    i += 2;
+                    switch (c) {
+                        case 'b':
+                            chars[length++] = BACKSPACE;
+                            break;
+                        case 'f':
+                            chars[length++] = FORM_FEED;
+                            break;
+                        case 'n':
+                            chars[length++] = LINE_FEED;
+                            break;
+                        case 'r':
+                            chars[length++] = CARRIAGE_RETURN;
+                            break;
+                        case 't':
+                            chars[length++] = HORIZONTAL_TAB;
+                            break;
+                        case 'u':
+                            chars[length++] = (char) (hexDigit(buffer[i]) << 12 | hexDigit(buffer[i + 1]) << 8 |
+                                    hexDigit(buffer[i + 2]) << 4 | hexDigit(buffer[i + 3]));
+                            i += 4;
+                            break;
+                        default: // '"', '\\', '/'
+                            chars[length++] = (char) c;
+                    }
+                } else if (b >= 0) {
+                    chars[length++] = (char) b;
+                    i++;
+                } else {
+                    int start = i;
+                    while (i < to && buffer[i] < 0) {
+                        i++;
+                    }
+                    String multiBytes = new String(buffer, start, i - start, StandardCharsets.UTF_8);
+                    multiBytes.getChars(0, multiBytes.length(), chars, length);
+                    length += multiBytes.length();
+                }
+            }
+            return new String(chars, 0, length);
+        }
+
+        private void readNumber() {
+            while (writeMark < readMark || ensureReadable(1)) {
+                switch (buffer[writeMark]) {
+                    case LOWER_EXPONENT: // pass through
+                    case UPPER_EXPONENT: // pass through
+                    case DOT: // pass through
+                    case NEGATIVE: // pass through
+                    case POSITIVE: // pass through
+                    case '0': // pass through
+                    case '1': // pass through
+                    case '2': // pass through
+                    case '3': // pass through
+                    case '4': // pass through
+                    case '5': // pass through
+                    case '6': // pass through
+                    case '7': // pass through
+                    case '8': // pass through
+                    case '9':
+                        break;
+                    case COMMA: // pass through
+                    case RIGHT_SQUARE_BRACKET: // pass through
+                    case RIGHT_CURLY_BRACKET: // pass through
+                    case SPACE: // WS, pass through
+                    case LINE_FEED: // WS, pass through
+                    case CARRIAGE_RETURN: // WS, pass through
+                    case HORIZONTAL_TAB: // WS
+                        validateNumber();
+                        return;
+                    default:
+                        throw new JsonParsingException("valid number characters: -0.1eE+23456789", getLocation());
+                }
+                writeMark++;
+                column++;
+                offset++;
+                if (writeMark - mark > maxNumberLength) {
+                    throw new JsonException("number length exceed max size: " + maxNumberLength);
+                }
+            }
+            validateNumber(); // top level number end with EOF
+        }
+
+        /**
+         * number = [ minus ] int [ frac ] [ exp ]
+         */
+        private void validateNumber() {
+            int i = mark;
+            if (buffer[i] == NEGATIVE) {
+                i++;
+            }
+            if (i < writeMark && buffer[i] == '0') {
+                i++;
+                if (i < writeMark && isDigit(buffer[i])) {
+                    throw new JsonParsingException("leading zero is not allowed", getLocation());
+                }
+            } else {
+                i = skipDigits(i, "'-' should be leading sign or go after e/E");
+            }
+            if (i < writeMark && buffer[i] == DOT) {
+                fracOrExp = true;
+                i = skipDigits(i + 1, "0-9 should go after dot");
+            }
+            if (i < writeMark && (buffer[i] == LOWER_EXPONENT || buffer[i] == UPPER_EXPONENT)) {
+                fracOrExp = true;
+                i++;
+                if (i < writeMark && (buffer[i] == POSITIVE || buffer[i] == NEGATIVE)) {
+                    i++;
+                }
+                i = skipDigits(i, "0-9 should go after e/E");
+            }
+            if (i != writeMark) {
+                throw new JsonParsingException("dot/E/e cannot appear multi times, '+'/'-' should be leading sign or go after e/E", getLocation());
+            }
+        }
+
+        private int skipDigits(int from, String msg) {
+            int i = from;
+            while (i < writeMark && isDigit(buffer[i])) {
+                i++;
+            }
+            if (i == from) {
+                throw new JsonParsingException(msg, getLocation());
+            }
+            return i;
+        }
+
+        private static boolean isDigit(byte b) {
+            return b >= '0' && b <= '9';
+        }
+
+        /**
+         * 字节缓冲区读完时丢弃已跳过的内容再填充
+         */
+        @Override
+        protected void skipStructure() {
+            int level = 1;
+            boolean inString = false;
+            boolean escape = false;
+            int from = writeMark;
+            if (skipPoint != null && skipPoint.from == from) {
+                writeMark = skipPoint.to;
+                offset = skipPoint.offset;
+                level = skipPoint.count;
+                escape = skipPoint.escaped;
+                inString = skipPoint.inString;
+            }
+            while (true) {
+                if (writeMark >= readMark) {
+                    mark = writeMark; // skipped bytes can be discarded
+                    if (skipPoint != null) {
+                        skipPoint.save(from, writeMark, line, column, offset, level, escape, inString);
+                    }
+                    if (!ensureReadable(1)) {
+                        throw new JsonParsingException("expect end json structure, but EOF", getLocation());
+                    }
+                }
+                byte[] buffer = this.buffer;
+                int start = writeMark;
+                int end = readMark;
+                for (int i = start; i < end; i++) {
+                    byte b = buffer[i];
+                    if (inString) {
+                        if (escape) {
+                            escape = false;
+                        } else if (b == REVERSE_SOLIDUS) {
+                            escape = true;
+                        } else if (b == QUOTATION_MARK) {
+                            inString = false;
+                        }
+                    } else if (b == QUOTATION_MARK) {
+                        inString = true;
+                    } else if (b == LEFT_CURLY_BRACKET || b == LEFT_SQUARE_BRACKET) {
+                        level++;
+                    } else if ((b == RIGHT_CURLY_BRACKET || b == RIGHT_SQUARE_BRACKET) && --level == 0) {
+                        mark = i;
+                        writeMark = i + 1;
+                        offset += writeMark - start;
+                        return;
+                    }
+                }
+                writeMark = end;
+                offset += end - start;
+            }
+        }
+
+        /**
+         * 当json结果已完成，但输入流仍有非空字符，则视为JsonException。
+         *
+         * @return has next event
+         */
+        @Override
+        public boolean hasNext() {
+            return hasMoreInput();
+        }
+
+        protected boolean hasMoreInput() {
+            if (closed) {
+                return false;
+            }
+            if (currentEvent == null && offset == 0) {
+                skipByteOrderMark();
+            }
+            skipWhiteSpace();
+            if (writeMark >= readMark) {
+                if (depth > 0) {
+                    throw new JsonParsingException(composeExceptionMsg(), getLocation());
+                }
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public Event next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return advance();
+        }
+
+        protected Event advance() {
+            mark = writeMark;
+            fracOrExp = false;
+            return currentEvent = nextEvent();
+        }
+
+        @Override
+        public int matchKey(PropertyNameMatcher matcher) {
+            if (currentEvent != Event.KEY_NAME) {
+                throw new IllegalStateException("please call matchKey after receive KEY_NAME event");
+            }
+            return escaped ?
+                    matcher.match(unescape(mark + 1, writeMark - 1)) :
+                    matcher.matchUtf8(buffer, mark + 1, writeMark - 1 - (mark + 1));
+        }
+
+        @Override
+        public String getString() {
+            if (currentEvent == Event.KEY_NAME && symbols != null && !escaped) {
+                return symbols.lookup(buffer, mark + 1, writeMark - 1 - (mark + 1));
+            } else if (currentEvent == Event.KEY_NAME ||
+                    currentEvent == Event.VALUE_STRING) {
+                return escaped ?
+                        unescape(mark + 1, writeMark - 1) :
+                        new String(buffer, mark + 1, writeMark - 1 - (mark + 1), StandardCharsets.UTF_8);
+            } else if (currentEvent == Event.VALUE_NUMBER) {
+                return numberText();
+            } else {
+                throw new IllegalStateException("please call getString after receive KEY_NAME/VALUE_STRING/VALUE_NUMBER event");
+            }
+        }
+
+        private String numberText() {
+            return new String(buffer, mark, writeMark - mark, StandardCharsets.ISO_8859_1);
+        }
+
+        @Override
+        protected int tokenLength() {
+            return writeMark - mark;
+        }
+
+        @Override
+        protected int charAt(int index) {
+            return buffer[mark + index];
+        }
+
+        @Override
+        protected BigDecimal decodeBigDecimal() {
+            return new BigDecimal(numberText());
+        }
+
+        @Override
+        public void close() {
+            if (recycler != null && buffer != null) {
+                recycler.releaseBytes(buffer);
+            }
+            closed = true;
+            buffer = null;
+            if (in == null) {
+                return;
+            }
+            try {
+                in.close();
+            } catch (IOException ioe) {
+                throw new JsonException(ioe.getMessage(), ioe);
+            }
+        }
+    }
+
+    /**
+     * 非阻塞UTF-8解析器：字节由调用方推送，输入在token中途耗尽时抛出内部信号并回退到事件开始前的快照，
+     * 因而无需为字符串、数字等每种token保存中间状态，推送更多数据后重新扫描该token即可。
+     * 字符串、空白及跳过的结构长度不受限，回退时保留其扫描续点，重新扫描时从续点继续，总扫描量与输入长度成线性。
+     *
+     * @see com.fasterxml.jackson.core.json.async.NonBlockingJsonParser
+     * @author iMinusMinus
+     * @date 2026-10-18
+     */
+    static class NonBlockingTokenParser extends Utf8TokenParser implements NonBlockingJsonParser {
+
+        private static final RuntimeException STARVATION = new RuntimeException("more input required", null, false, false) {};
+
+        private boolean finished;
+
+        // snapshot before each event
+        private short savedDepth;
+
+        private long savedObjectContext;
+
+        private long savedArrayContext;
+
+        private long savedFieldContext;
+
+        private long savedFirstKeyFlag;
+
+        private Event savedEvent;
+
+        private boolean savedFracOrExp;
+
+        private long savedLine;
+
+        private long savedColumn;
+
+        private long savedOffset;
+
+        private long savedValueStartOffset;
+
+        private int savedMark;
+
+        private int savedWriteMark;
+
+        private boolean savedEscaped;
+
+        NonBlockingTokenParser(Map<String, ?> config, SymbolTable symbols, BufferRecycler recycler) {
+            super(config, symbols, recycler, (InputStream) null);
+            trackScanPoints();
+        }
+
+        @Override
+        protected boolean ensureReadable(int size) {
+            if (writeMark + size <= readMark) {
+                return true;
+            }
+            if (eof) {
+                return false;
+            }
+            throw STARVATION;
+        }
+
+        @Override
+        public void feedInput(ByteBuffer chunk) {
+            if (eof || closed) {
+                throw new IllegalStateException("input already ended");
+            }
+            int size = chunk.remaining();
+            if (readMark + size > buffer.length) { // keep current token for getString/getValue
+                int keep = readMark - mark;
+                discard(mark);
+                byte[] target = keep + size > buffer.length ?
+                        recycler.allocBytes(Math.max(keep + size, buffer.length + (buffer.length >> 1))) :
+                        buffer;
+                System.arraycopy(buffer, mark, target, 0, keep);
+                if (target != buffer) {
+                    recycler.releaseBytes(buffer);
+                }
+                buffer = target;
+                shiftScanPoints(mark);
+                writeMark -= mark;
+                readMark -= mark;
+                mark = 0;
+            }
+            chunk.get(buffer, readMark, size);
+            readMark += size;
+            if (maxTokenCount > 0 && offset - valueStartOffset + readMark - writeMark > maxTokenCount) {
+                throw new JsonException("too many character");
+            }
+        }
+
+        @Override
+        public void endOfInput() {
+            eof = true;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        private void snapshot() {
+            savedDepth = depth;
+            savedObjectContext = objectContext;
+            savedArrayContext = arrayContext;
+            savedFieldContext = fieldContext;
+            savedFirstKeyFlag = firstKeyFlag;
+            savedEvent = currentEvent;
+            savedFracOrExp = fracOrExp;
+            savedLine = line;
+            savedColumn = column;
+            savedOffset = offset;
+            savedValueStartOffset = valueStartOffset;
+            savedMark = mark;
+            savedWriteMark = writeMark;
+            savedEscaped = escaped;
+        }
+
+        private void rollback() {
+            depth = savedDepth;
+            objectContext = savedObjectContext;
+            arrayContext = savedArrayContext;
+            fieldContext = savedFieldContext;
+            firstKeyFlag = savedFirstKeyFlag;
+            currentEvent = savedEvent;
+            fracOrExp = savedFracOrExp;
+            line = savedLine;
+            column = savedColumn;
+            offset = savedOffset;
+            valueStartOffset = savedValueStartOffset;
+            mark = savedMark;
+            writeMark = savedWriteMark;
+            escaped = savedEscaped;
+        }
+
+        @Override
+        public Event nextAvailable() {
+            if (finished) {
+                return NOT_AVAILABLE;
+            }
+            snapshot();
+            try {
+                if (!hasMoreInput()) {
+                    finished = true;
+                    return NOT_AVAILABLE;
+                }
+                Event event = advance();
+                clearScanPoints();
+                return event;
+            } catch (RuntimeException e) {
+                if (e != STARVATION) {
+                    throw e;
+                }
+                rollback();
+                return NOT_AVAILABLE;
+            }
+        }
+
+        /**
+         * @return 当前已推送的输入可以产生下一个事件
+         */
+        @Override
+        public boolean hasNext() {
+            if (finished) {
+                return false;
+            }
+            snapshot();
+            try {
+                return hasMoreInput();
+            } catch (RuntimeException e) {
+                if (e != STARVATION) {
+                    throw e;
+                }
+                rollback();
+                return false;
+            }
+        }
+
+        @Override
+        public Event next() {
+            Event event = nextAvailable();
+            if (event == NOT_AVAILABLE) {
+                if (finished) {
+                    throw new NoSuchElementException();
+                }
+                throw new IllegalStateException("more input required, feed and call nextAvailable");
+            }
+            return event;
+        }
+
+        @Override
+        protected void skipStructure() {
+            snapshot();
+            try {
+                super.skipStructure();
+                clearScanPoints();
+            } catch (RuntimeException e) {
+                if (e != STARVATION) {
+                    throw e;
+                }
+                rollback();
+                throw new IllegalStateException("more input required to skip structure, feed and retry");
+            }
+        }
+    }
+
+    /**
+     * 树形解析器：直接遍历已构建的JsonObject/JsonArray产生事件，不经过文本序列化和再次分词，
+     * getObject/getArray/getValue直接返回树中的节点而不复制。
+     *
+     * @see org.eclipse.parsson.JsonStructureParser
+     * @author iMinusMinus
+     * @date 2026-10-18
+     */
+    static class JsonStructureParser implements JsonParser, NumberAccessor {
+
+        private final Deque<Frame> frames = new ArrayDeque<>();
+
+        private JsonValue root;
+
+        private Event currentEvent;
+
+        private String currentKey;
+
+        private JsonValue currentValue;
+
+        private JsonValue pendingValue; // value following KEY_NAME
+
+        JsonStructureParser(JsonStructure root) {
+            this.root = Objects.requireNonNull(root);
+        }
+
+        private static final class Frame {
+
+            private final JsonStructure structure;
+
+            private final Iterator<?> iterator; // Map.Entry for object, JsonValue for array
+
+            Frame(JsonStructure structure) {
+                this.structure = structure;
+                this.iterator = structure.getValueType() == JsonValue.ValueType.OBJECT ?
+                        ((JsonObject) structure).entrySet().iterator() :
+                        ((JsonArray) structure).iterator();
+            }
+
+            boolean isObject() {
+                return structure.getValueType() == JsonValue.ValueType.OBJECT;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return root != null || pendingValue != null || !frames.isEmpty();
+        }
+
+        @Override
+        public Event next() {
+            if (root != null) {
+                JsonValue value = root;
+                root = null;
+                return currentEvent = enter(value);
+            }
+            if (pendingValue != null) {
+                JsonValue value = pendingValue;
+                pendingValue = null;
+                return currentEvent = enter(value);
+            }
+            Frame frame = frames.peek();
+            if (frame == null) {
+                throw new NoSuchElementException();
+            }
+            if (!frame.iterator.hasNext()) {
+                frames.pop();
+                currentValue = frame.structure;
+                return currentEvent = frame.isObject() ? Event.END_OBJECT : Event.END_ARRAY;
+            }
+            if (frame.isObject()) {
+                Map.Entry<?, ?> entry = (Map.Entry<?, ?>) frame.iterator.next();
+                currentKey = (String) entry.getKey();
+                pendingValue = (JsonValue) entry.getValue();
+                return currentEvent = Event.KEY_NAME;
+            }
+            return currentEvent = enter((JsonValue) frame.iterator.next());
+        }
+
+        private Event enter(JsonValue value) {
+            currentValue = value;
+            switch (value.getValueType()) {
+                case OBJECT:
+                    frames.push(new Frame((JsonStructure) value));
+                    return Event.START_OBJECT;
+                case ARRAY:
+                    frames.push(new Frame((JsonStructure) value));
+                    return Event.START_ARRAY;
+                case STRING: return Event.VALUE_STRING;
+                case NUMBER: return Event.VALUE_NUMBER;
+                case TRUE: return Event.VALUE_TRUE;
+                case FALSE: return Event.VALUE_FALSE;
+                case NULL: return Event.VALUE_NULL;
+                default:
+                    throw new JsonException("unknown value type: " + value.getValueType());
+            }
+        }
+
+        @Override
+        public String getString() {
+            switch (currentEvent) {
+                case KEY_NAME: return currentKey;
+                case VALUE_STRING: return ((JsonString) currentValue).getString();
+                case VALUE_NUMBER: return currentValue.toString();
+                default:
+                    throw new IllegalStateException("please call getString after receive KEY_NAME/VALUE_STRING/VALUE_NUMBER event");
+            }
+        }
+
+        private JsonNumber number() {
+            if (currentEvent != Event.VALUE_NUMBER) {
+                throw new IllegalStateException("please call number getter after receive VALUE_NUMBER event");
+            }
+            return (JsonNumber) currentValue;
+        }
+
+        @Override
+        public boolean isIntegralNumber() {
+            return number().isIntegral();
+        }
+
+        @Override
+        public boolean isDefinitelyInt() {
+            return number() instanceof Int32Value;
+        }
+
+        @Override
+        public boolean isDefinitelyLong() {
+            JsonNumber number = number();
+            return number instanceof Int32Value || number instanceof Int64Value;
+        }
+
+        @Override
+        public int getInt() {
+            return number().intValue();
+        }
+
+        @Override
+        public long getLong() {
+            return number().longValue();
+        }
+
+        @Override
+        public double getDouble() {
+            return number().doubleValue();
+        }
+
+        @Override
+        public float getFloat() {
+            return number().bigDecimalValue().floatValue();
+        }
+
+        @Override
+        public BigDecimal getBigDecimal() {
+            return number().bigDecimalValue();
+        }
+
+        @Override
+        public JsonLocation getLocation() {
+            return new TokenLocation(-1, -1, -1); // no text behind a tree
+        }
+
+        @Override
+        public JsonObject getObject() {
+            if (currentEvent != Event.START_OBJECT) {
+                throw new IllegalStateException("please call getObject after receive START_OBJECT event");
+            }
+            frames.pop();
+            currentEvent = Event.END_OBJECT;
+            return (JsonObject) currentValue;
+        }
+
+        @Override
+        public JsonArray getArray() {
+            if (currentEvent != Event.START_ARRAY) {
+                throw new IllegalStateException("please call getArray after receive start array event");
+            }
+            frames.pop();
+            currentEvent = Event.END_ARRAY;
+            return (JsonArray) currentValue;
+        }
+
+        @Override
+        public JsonValue getValue() {
+            switch (currentEvent) {
+                case START_OBJECT: return getObject();
+                case START_ARRAY: return getArray();
+                case KEY_NAME: return new StringValue(currentKey);
+                case END_OBJECT: // pass through
+                case END_ARRAY:
+                    throw new IllegalStateException("please call getValue in object/array/value context");
+                default:
+                    return currentValue;
+            }
+        }
+
+        @Override
+        public void skipObject() {
+            if (currentEvent == Event.START_OBJECT) {
+                getObject();
+            }
+        }
+
+        @Override
+        public void skipArray() {
+            if (currentEvent == Event.START_ARRAY) {
+                getArray();
+            }
+        }
+
+        @Override
+        public void close() {
+            root = null;
+            pendingValue = null;
+            frames.clear();
+        }
+    }
+
+    /**
+     * 属性名符号表：以key的原始字节或字符为键，命中时直接返回已驻留的String，
+     * 相同结构的json反复解析时不再为key分配String，String的hash也已缓存。
+     * 容量固定，写满后不再收录新名字，以免恶意输入撑大常量池；
+     * 并发读写不加锁，Symbol不可变，最坏情况只是重复收录或漏收录，不影响正确性。
+     *
+     * @author iMinusMinus
+     * @date 2026-10-18
+     */
+    static final class SymbolTable {
+
+        static final int DEFAULT_SIZE = 1 << 10;
+
+        private static final int MAX_PROBE = 4;
+
+        private final Symbol[] byteSymbols;
+
+        private final String[] charSymbols;
+
+        private final int mask;
+
+        SymbolTable(int size) {
+            int capacity = Integer.highestOneBit(Math.max(size, MAX_PROBE) - 1) << 1;
+            this.byteSymbols = new Symbol[capacity];
+            this.charSymbols = new String[capacity];
+            this.mask = capacity - 1;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        /**
+         * @param buffer UTF-8 bytes without escape character
+         * @param offset name start
+         * @param length name length in bytes
+         * @return canonical name
+         */
+        String lookup(byte[] buffer, int offset, int length) {
+            int hash = 0;
+            for (int i = offset; i < offset + length; i++) {
+                hash = 31 * hash + buffer[i];
+            }
+            int index = spread(hash);
+            for (int probe = 0; probe < MAX_PROBE; probe++, index++) {
+                Symbol symbol = byteSymbols[index & mask];
+                if (symbol == null) {
+                    String name = new String(buffer, offset, length, StandardCharsets.UTF_8).intern();
+                    byteSymbols[index & mask] = new Symbol(hash, Arrays.copyOfRange(buffer, offset, offset + length), name);
+                    return name;
+                } else if (symbol.hash == hash && symbol.matches(buffer, offset, length)) {
+                    return symbol.name;
+                }
+            }
+            return new String(buffer, offset, length, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * @param buffer unescaped characters
+         * @param offset name start
+         * @param length name length
+         * @return canonical name
+         */
+        String lookup(char[] buffer, int offset, int length) {
+            int hash = 0;
+            for (int i = offset; i < offset + length; i++) {
+                hash = 31 * hash + buffer[i]; // same as String.hashCode
+            }
+            int index = spread(hash);
+            for (int probe = 0; probe < MAX_PROBE; probe++, index++) {
+                String symbol = charSymbols[index & mask];
+                if (symbol == null) {
+                    String name = new String(buffer, offset, length).intern();
+                    charSymbols[index & mask] = name;
+                    return name;
+                } else if (symbol.hashCode() == hash && matches(symbol, buffer, offset, length)) {
+                    return symbol;
+                }
+            }
+            return new String(buffer, offset, length);
+        }
+
+        private static boolean matches(String symbol, char[] buffer, int offset, int length) {
+            if (symbol.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (symbol.charAt(i) != buffer[offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static final class Symbol {
+
+            private final int hash;
+
+            private final byte[] bytes;
+
+            private final String name;
+
+            Symbol(int hash, byte[] bytes, String name) {
+                this.hash = hash;
+                this.bytes = bytes;
+                this.name = name;
+            }
+
+            boolean matches(byte[] buffer, int offset, int length) {
+                if (bytes.length != length) {
+                    return false;
+                }
+                for (int i = 0; i < length; i++) {
+                    if (bytes[i] != buffer[offset + i]) {
+                        return false;
                     }
-                    readNumber();
-                    markFirstMemberVisited();
-                    if (context == Context.FIELD) {
-                        restore();
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 反序列化java bean时按属性名查找槽位：创建时为属性名预先计算char/UTF-8字节两种形式的hash并建开放寻址表，
+     * 解析器直接以缓冲区中的字符或字节查表，不构造String；大小写不敏感时另建按{@link #fold(int)}折叠后的表。
+     *
+     * @author iMinusMinus
+     * @date 2026-10-18
+     */
+    static final class PropertyNameMatcher {
+
+        static final int UNKNOWN = -1;
+
+        static final int AMBIGUOUS = -2; // 大小写不敏感时有多个属性名匹配
+
+        private final String[] names;
+
+        private final byte[][] utf8Names;
+
+        private final int[] charHashes;
+
+        private final int[] byteHashes;
+
+        private final int[] charTable; // 槽位+1，0为空
+
+        private final int[] byteTable;
+
+        private final String[] foldedNames; // null if case-sensitive
+
+        private final int[] foldedHashes;
+
+        private final int[] foldedTable;
+
+        private final boolean[] ambiguous;
+
+        private final int mask;
+
+        /**
+         * @param names 属性名，下标即槽位，不可重复
+         * @param caseInsensitive 是否忽略大小写，多个属性名忽略大小写相同时只接受精确匹配
+         */
+        PropertyNameMatcher(String[] names, boolean caseInsensitive) {
+            int size = names.length;
+            int capacity = Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1; // 装载因子不超过1/2
+            this.names = names.clone();
+            this.utf8Names = new byte[size][];
+            this.charHashes = new int[size];
+            this.byteHashes = new int[size];
+            this.charTable = new int[capacity];
+            this.byteTable = new int[capacity];
+            this.mask = capacity - 1;
+            for (int slot = 0; slot < size; slot++) {
+                utf8Names[slot] = names[slot].getBytes(StandardCharsets.UTF_8);
+                charHashes[slot] = names[slot].hashCode();
+                byteHashes[slot] = hash(utf8Names[slot], 0, utf8Names[slot].length);
+                put(charTable, charHashes[slot], slot);
+                put(byteTable, byteHashes[slot], slot);
+            }
+            if (caseInsensitive) {
+                this.foldedNames = new String[size];
+                this.foldedHashes = new int[size];
+                this.foldedTable = new int[capacity];
+                this.ambiguous = new boolean[size];
+                for (int slot = 0; slot < size; slot++) {
+                    char[] folded = names[slot].toCharArray();
+                    for (int i = 0; i < folded.length; i++) {
+                        folded[i] = fold(folded[i]);
                     }
-                    return Event.VALUE_NUMBER;
-                default:
-                    throw new JsonParsingException("unknown state", new TokenLocation(line, column - 1, offset));
+                    foldedNames[slot] = new String(folded);
+                    foldedHashes[slot] = foldedNames[slot].hashCode();
+                    int existing = find(foldedTable, foldedHashes, foldedNames, foldedHashes[slot], foldedNames[slot]);
+                    if (existing >= 0) {
+                        ambiguous[existing] = true;
+                    } else {
+                        put(foldedTable, foldedHashes[slot], slot);
+                    }
+                }
+            } else {
+                this.foldedNames = null;
+                this.foldedHashes = null;
+                this.foldedTable = null;
+                this.ambiguous = null;
             }
         }
 
-        private Event readLiteral(Context ctx, char[] expected, Event value) {
-            //  "[]null", "{},false", "true:[]"
-            ensureTopLevelAtMostOneJsonValue(ctx);
-            if (ctx == Context.OBJECT) {
-                throw new JsonParsingException("true/false/null cannot be object name", new TokenLocation(line, column - 1, offset - 1));
+        private void put(int[] table, int hash, int slot) {
+            int index = SymbolTable.spread(hash) & mask;
+            while (table[index] != 0) {
+                index = (index + 1) & mask;
             }
+            table[index] = slot + 1;
+        }
 
+        private int find(int[] table, int[] hashes, String[] keys, int hash, String name) {
+            for (int index = SymbolTable.spread(hash) & mask; table[index] != 0; index = (index + 1) & mask) {
+                int slot = table[index] - 1;
+                if (hashes[slot] == hash && keys[slot].equals(name)) {
+                    return slot;
+                }
+            }
+            return UNKNOWN;
+        }
 
-            if (mark + expected.length - 1 >= readMark) {
-                moveToHead(expected.length);
+        /**
+         * 与{@link String#equalsIgnoreCase(String)}逐字符比较的规则等价
+         */
+        static char fold(int c) {
+            if (c < 0x80) { // ASCII只有大写字母需要折叠
+                return (char) (c >= 'A' && c <= 'Z' ? c + ('a' - 'A') : c);
             }
-            int readable = readMark - mark;
-            if (readable < expected.length) {
-                throw new JsonParsingException("missing character for " + new String(expected), new TokenLocation(line, column + readable, offset + readable));
+            return Character.toLowerCase(Character.toUpperCase((char) c));
+        }
+
+        private static int hash(byte[] buffer, int offset, int length) {
+            int hash = 0;
+            for (int i = offset; i < offset + length; i++) {
+                hash = 31 * hash + buffer[i];
             }
-            for (int i = 1; i < expected.length; i++) {
-                if (buffer[mark + i] != expected[i]) {
-                    throw new JsonParsingException("expected " + new String(expected) + "but got" + new String(buffer, mark, i), new TokenLocation(line, column + i - 1, offset + i));
-                }
+            return hash;
+        }
+
+        /**
+         * 大小写不敏感时先查折叠表：唯一匹配即为结果(精确匹配必然也折叠匹配)，多个匹配时精确匹配优先
+         */
+        private static int preferExact(int exact) {
+            return exact >= 0 ? exact : AMBIGUOUS;
+        }
+
+        int match(String key) {
+            if (foldedTable == null) {
+                return find(charTable, charHashes, names, key.hashCode(), key);
             }
-            writeMark += expected.length - 1;
-            column += expected.length - 1;
-            offset += expected.length - 1;
-            if (ctx == Context.FIELD) {
-                restore();
+            char[] folded = key.toCharArray();
+            for (int i = 0; i < folded.length; i++) {
+                folded[i] = fold(folded[i]);
             }
-            markFirstMemberVisited();
-            return value;
+            String foldedKey = new String(folded);
+            int slot = find(foldedTable, foldedHashes, foldedNames, foldedKey.hashCode(), foldedKey);
+            return slot >= 0 && ambiguous[slot] ?
+                    preferExact(find(charTable, charHashes, names, key.hashCode(), key)) :
+                    slot;
         }
 
-        private void replaceControlCharacter(int offset, char controlCharacter) {
-            buffer[writeMark - offset] = controlCharacter;
-            System.arraycopy(buffer, writeMark, buffer, writeMark - (offset - 1), readMark - writeMark);
-            writeMark -= (offset - 1);
-            readMark -= (offset - 1);
+        /**
+         * @param buffer unescaped characters
+         */
+        int match(char[] buffer, int offset, int length) {
+            if (foldedTable != null) {
+                int hash = 0;
+                for (int i = offset; i < offset + length; i++) {
+                    hash = 31 * hash + fold(buffer[i]);
+                }
+                for (int index = SymbolTable.spread(hash) & mask; foldedTable[index] != 0; index = (index + 1) & mask) {
+                    int slot = foldedTable[index] - 1;
+                    if (foldedHashes[slot] == hash && matchesFolded(foldedNames[slot], buffer, offset, length)) {
+                        return ambiguous[slot] ? preferExact(matchExact(buffer, offset, length)) : slot;
+                    }
+                }
+                return UNKNOWN;
+            }
+            return matchExact(buffer, offset, length);
         }
 
-        private void readString(int maxValueLength) {
-            if (readMoreTokens(buffer.length - readMark) <= 0) {
-                moveToHead(0);
+        private int matchExact(char[] buffer, int offset, int length) {
+            int hash = 0;
+            for (int i = offset; i < offset + length; i++) {
+                hash = 31 * hash + buffer[i]; // same as String.hashCode
             }
-            int unicodeMarkPosition = -1;
-            boolean escape = false;
-            while (true) {
-                switch (buffer[writeMark++]) {
-                    case REVERSE_SOLIDUS:
-                        if (escape) {
-                            replaceControlCharacter(2, REVERSE_SOLIDUS);
-                        }
-                        escape = !escape;
-                        break;
-                    case QUOTATION_MARK:
-                        if (!escape) {
-//                            escape = false;
-                            offset++;
-                            column++;
-                            return;
-                        }
-                        break;
-                    case SOLIDUS:
-                        if (escape) {
-                            escape = false;
-                        }
-                        break;
-                    case 'b':
-                        if (escape) {
-                            replaceControlCharacter(2, BACKSPACE);
-                            escape = false;
-                        } // else unicode character, op in default branch
-                        break;
-                    case 'r':
-                        if (escape) {
-                            replaceControlCharacter(2, CARRIAGE_RETURN);
-                            escape = false;
-                        }
-                        break;
-                    case 't':
-                        if (escape) {
-                            replaceControlCharacter(2, HORIZONTAL_TAB);
-                            escape = false;
-                        }
-                        break;
-                    case 'n':
-                        if (escape) {
-                            line++;
-                            column = 0;
-                            replaceControlCharacter(2, LINE_FEED);
-                            escape = false;
-                        }
-                        break;
-                    case 'f': // what if \u0085(Next Line), \u2028(Line Separator), \u2029(Paragraph Separator)
-                        if (escape) {
-                            line++;
-                            column = 0;
-                            replaceControlCharacter(2, FORM_FEED);
-                            escape = false;
-                        } // else unicode character, op in default branch
-                        break;
-                    case 'u':
-                        if (escape) {
-                            unicodeMarkPosition = writeMark;
-                            escape = false;
-                        }
-                        break;
-                    default:
-                        if (escape) {
-                            throw new JsonParsingException("only control character can follow reverse solidus", getLocation());
-                        }
-                        if (unicodeMarkPosition >= 0 && writeMark - unicodeMarkPosition == 4) {
-                            int unicode = 0;
-                            for (int i = 0; i < 4; i++) {
-                                if (!(buffer[unicodeMarkPosition + i] >= 'a' && buffer[unicodeMarkPosition + i] <= 'f') &&
-                                        !(buffer[unicodeMarkPosition + i] >= 'A' && buffer[unicodeMarkPosition + i] <= 'F') &&
-                                        !(buffer[unicodeMarkPosition + i] >= '0' && buffer[unicodeMarkPosition + i] <= '9')) {
-                                    throw new JsonParsingException("unexpected char follow unicode symbol", getLocation());
-                                }
-                                int digit = Character.digit(buffer[unicodeMarkPosition + i], 16);
-                                unicode = (unicode << 4) | digit;
-                            }
-                            replaceControlCharacter(6, (char) unicode);
-                            unicodeMarkPosition = -1; // reset
-                        }
-                        break;
+            for (int index = SymbolTable.spread(hash) & mask; charTable[index] != 0; index = (index + 1) & mask) {
+                int slot = charTable[index] - 1;
+                if (charHashes[slot] == hash && matches(names[slot], buffer, offset, length)) {
+                    return slot;
                 }
-                offset++;
-                column++;
-                if (writeMark - mark - 1 > maxValueLength) {
-                    throw new JsonException("string length exceed max size: " + maxValueLength);
+            }
+            return UNKNOWN;
+        }
+
+        /**
+         * @param buffer UTF-8 bytes without escape character
+         */
+        int matchUtf8(byte[] buffer, int offset, int length) {
+            if (foldedTable != null) {
+                int hash = 0;
+                for (int i = offset; i < offset + length; i++) {
+                    if (buffer[i] < 0) { // 多字节字符的大小写折叠按解码后的字符进行
+                        return match(new String(buffer, offset, length, StandardCharsets.UTF_8));
+                    }
+                    hash = 31 * hash + fold(buffer[i]);
                 }
-                if (writeMark >= readMark) {
-                    if (mark > 0 && readMark <= buffer.length) {
-                        moveToHead(0);
-                    }  else if (buffer.length < maxValueLength) {
-                        moveToHead(Math.min((int) (buffer.length * 1.5), maxValueLength));
-                    } else {
-                        throw new JsonException("string length exceed max size: " + maxValueLength);
+                for (int index = SymbolTable.spread(hash) & mask; foldedTable[index] != 0; index = (index + 1) & mask) {
+                    int slot = foldedTable[index] - 1;
+                    if (foldedHashes[slot] == hash && matchesFolded(foldedNames[slot], buffer, offset, length)) {
+                        return ambiguous[slot] ? preferExact(matchExactUtf8(buffer, offset, length)) : slot;
                     }
                 }
+                return UNKNOWN;
             }
+            return matchExactUtf8(buffer, offset, length);
         }
 
-        private void readNumber() {
-            if (readMoreTokens(buffer.length - readMark) <= 0) {
-                moveToHead(0);
+        private int matchExactUtf8(byte[] buffer, int offset, int length) {
+            int hash = hash(buffer, offset, length);
+            for (int index = SymbolTable.spread(hash) & mask; byteTable[index] != 0; index = (index + 1) & mask) {
+                int slot = byteTable[index] - 1;
+                if (byteHashes[slot] == hash && matches(utf8Names[slot], buffer, offset, length)) {
+                    return slot;
+                }
             }
-            boolean exponentFound = false;
-            while (true) {
-                switch (buffer[writeMark++]) {
-                    case LOWER_EXPONENT: // pass through
-                    case UPPER_EXPONENT: // pass through
-                        if (buffer[writeMark - 2] == DOT) {
-                            throw new JsonParsingException("e/E cannot direct go after dot", getLocation());
-                        }
-                        if (exponentFound) {
-                            throw new JsonParsingException("e/E cannot appear multi times!", getLocation());
-                        }
-                        exponentFound = true;
-                        break;
-                    case DOT:
-                        if (fracOrExp) {
-                            throw new JsonParsingException("dot/E/e cannot appear multi times", getLocation());
-                        }
-                        fracOrExp = true;
-                        break;
-                    case NEGATIVE:
-                        if (writeMark - 2 != mark &&
-                                buffer[writeMark - 2] != LOWER_EXPONENT &&
-                                buffer[writeMark - 2] != UPPER_EXPONENT) {
-                            throw new JsonParsingException("'-' should be leading sign or go after e/E", getLocation());
-                        }
-                        break;
-                    case POSITIVE:
-                        if (buffer[writeMark - 2] != LOWER_EXPONENT && buffer[writeMark - 2] != UPPER_EXPONENT) {
-                            throw new JsonParsingException("'+' should go after e/E", getLocation());
-                        }
-                        break;
-                    case '0': // pass through
-                    case '1': // pass through
-                    case '2': // pass through
-                    case '3': // pass through
-                    case '4': // pass through
-                    case '5': // pass through
-                    case '6': // pass through
-                    case '7': // pass through
-                    case '8': // pass through
-                    case '9':
-                        break;
-                    case COMMA: // pass through
-                    case RIGHT_SQUARE_BRACKET: // pass through
-                    case RIGHT_CURLY_BRACKET: // pass through
-                    case SPACE: // WS, pass through
-                    case LINE_FEED: // WS, pass through
-                    case CARRIAGE_RETURN: // WS, pass through
-                    case HORIZONTAL_TAB: // WS
-                        writeMark -= 1;
-                        if (buffer[writeMark - 1] < '0' || buffer[writeMark - 1] > '9') {
-                            throw new JsonParsingException("number should end with 0-9", getLocation());
-                        }
-                        return;
-                    default:
-                        throw new JsonParsingException("valid number characters: -0.1eE+23456789", getLocation());
+            return UNKNOWN;
+        }
+
+        private static boolean matches(byte[] name, byte[] buffer, int offset, int length) {
+            if (name.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (name[i] != buffer[offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean matches(String name, char[] buffer, int offset, int length) {
+            if (name.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (name.charAt(i) != buffer[offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean matchesFolded(String folded, char[] buffer, int offset, int length) {
+            if (folded.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (folded.charAt(i) != fold(buffer[offset + i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean matchesFolded(String folded, byte[] ascii, int offset, int length) {
+            if (folded.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (folded.charAt(i) != fold(ascii[offset + i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 缓冲区回收池：容量按4倍分级(256至64K)，按线程id分条带以减少竞争，每条带每级最多保留{@link #SLOTS}个缓冲区，
+     * 池中保留的总字节数不超过上限，超出或更大的缓冲区交给GC。
+     * 不使用ThreadLocal，线程池扩缩容或虚拟线程下不会因线程数量增长而滞留内存；借出与归还可在不同线程。
+     *
+     * @author iMinusMinus
+     * @date 2026-10-18
+     */
+    static final class BufferRecycler {
+
+        static final long DEFAULT_MAX_RETAINED = 1 << 20;
+
+        static final BufferRecycler UNPOOLED = new BufferRecycler(0); // for buffers outliving their parser
+
+        private static final int MIN_CAPACITY = AbstractTokenParser.INITIAL_SIZE;
+
+        private static final int SIZE_CLASSES = 5;
+
+        private static final int SLOTS = 4;
+
+        private final int stripeMask;
+
+        private final AtomicReferenceArray<char[]> chars;
+
+        private final AtomicReferenceArray<byte[]> bytes;
+
+        private final long maxRetained;
+
+        private final AtomicLong retained = new AtomicLong();
+
+        private final LongAdder hits = new LongAdder();
+
+        private final LongAdder misses = new LongAdder();
+
+        BufferRecycler(long maxRetained) {
+            int stripes = Integer.highestOneBit(Math.max(2, Runtime.getRuntime().availableProcessors()) - 1) << 1;
+            this.stripeMask = stripes - 1;
+            this.chars = new AtomicReferenceArray<>(stripes * SIZE_CLASSES * SLOTS);
+            this.bytes = new AtomicReferenceArray<>(stripes * SIZE_CLASSES * SLOTS);
+            this.maxRetained = maxRetained;
+        }
+
+        /**
+         * @return 容纳size所需的最小级别，超出最大级别返回-1
+         */
+        private static int sizeClass(int size) {
+            int sizeClass = 0;
+            for (int capacity = MIN_CAPACITY; capacity < size; capacity <<= 2) {
+                if (++sizeClass == SIZE_CLASSES) {
+                    return -1;
                 }
-                column++;
-                offset++;
+            }
+            return sizeClass;
+        }
 
-                if (writeMark >= readMark) {
-                    if (mark > 0 && readMark <= buffer.length) {
-                        moveToHead(0);
-                    } else if (buffer.length < maxNumberLength) {
-                        moveToHead(Math.min((int) (buffer.length * 1.5), maxNumberLength));
-                    } else {
-                        throw new JsonException("number length exceed max size: " + maxNumberLength);
+        private static int capacity(int sizeClass) {
+            return MIN_CAPACITY << (sizeClass << 1);
+        }
+
+        private int slotBase(int sizeClass) {
+            int stripe = (int) Thread.currentThread().getId() & stripeMask;
+            return (stripe * SIZE_CLASSES + sizeClass) * SLOTS;
+        }
+
+        private <T> T take(AtomicReferenceArray<T> pool, int sizeClass) {
+            if (sizeClass >= 0) {
+                int base = slotBase(sizeClass);
+                for (int i = base; i < base + SLOTS; i++) {
+                    T buffer = pool.get(i);
+                    if (buffer != null && pool.compareAndSet(i, buffer, null)) {
+                        hits.increment();
+                        return buffer;
                     }
                 }
             }
+            misses.increment();
+            return null;
         }
 
-        private String composeExceptionMsg() {
-            switch (currentEvent) {
-                case START_OBJECT:
-                    return "expect key name, but EOF";
-                case START_ARRAY:
-                    return "expect json value, but EOF";
-                case KEY_NAME:
-                    return "expect colon, BUT EOF";
-                case END_OBJECT: // pass through
-                case END_ARRAY:
-                    return "expect end json structure, but EOF";
-                default:
-                    return "expect comma, but EOF";
+        private <T> void give(AtomicReferenceArray<T> pool, T buffer, int length, int elementBytes) {
+            int sizeClass = sizeClass(length);
+            if (sizeClass < 0 || capacity(sizeClass) != length) { // not allocated by recycler
+                return;
+            }
+            long size = (long) length * elementBytes;
+            if (retained.addAndGet(size) > maxRetained) {
+                retained.addAndGet(-size);
+                return;
+            }
+            int base = slotBase(sizeClass);
+            for (int i = base; i < base + SLOTS; i++) {
+                if (pool.get(i) == null && pool.compareAndSet(i, null, buffer)) {
+                    return;
+                }
             }
+            retained.addAndGet(-size);
         }
 
         /**
-         * 当json结果已完成，但输入流仍有非空字符，则视为JsonException。
-         *
-         * @return has next event
+         * @param minSize 最小容量
+         * @return 容量不小于minSize的缓冲区，内容未清零
          */
-        @Override
-        public boolean hasNext() {
-            if (closed) {
-                return false;
-            }
-            if (readMoreTokens(buffer.length - readMark) <= 0) {
-                moveToHead(0);
-            }
-            skipWhiteSpace();
-            if (depth > 0 && writeMark >= readMark) {
-                // currentEvent --> array: next may be 'value', ',value' or ']', or JsonParsingException
-                throw new JsonParsingException(composeExceptionMsg(), getLocation());
+        char[] allocChars(int minSize) {
+            int sizeClass = sizeClass(minSize);
+            char[] buffer = take(chars, sizeClass);
+            if (buffer == null) {
+                return new char[sizeClass < 0 ? minSize : capacity(sizeClass)];
             }
-            return writeMark < readMark;
+            retained.addAndGet(-(long) buffer.length * Character.BYTES);
+            return buffer;
         }
 
-        @Override
-        public Event next() {
-            if (!hasNext()) {
-                throw new NoSuchElementException();
+        void releaseChars(char[] buffer) {
+            give(chars, buffer, buffer.length, Character.BYTES);
+        }
+
+        byte[] allocBytes(int minSize) {
+            int sizeClass = sizeClass(minSize);
+            byte[] buffer = take(bytes, sizeClass);
+            if (buffer == null) {
+                return new byte[sizeClass < 0 ? minSize : capacity(sizeClass)];
             }
-            mark = writeMark;
-            fracOrExp = false;
-            return currentEvent = nextEvent();
+            retained.addAndGet(-(long) buffer.length);
+            return buffer;
+        }
+
+        void releaseBytes(byte[] buffer) {
+            give(bytes, buffer, buffer.length, Byte.BYTES);
+        }
+
+        long getHitCount() {
+            return hits.sum();
+        }
+
+        long getMissCount() {
+            return misses.sum();
+        }
+
+        long getRetainedBytes() {
+            return retained.get();
         }
 
         @Override
-        public String getString() {
-            if (currentEvent == Event.KEY_NAME ||
-                    currentEvent == Event.VALUE_STRING) {
-                return new String(buffer, mark + 1, writeMark - 1 - (mark + 1));
-            } else if (currentEvent == Event.VALUE_NUMBER) {
-                return new String(buffer, mark, writeMark - mark);
-            } else {
-                throw new IllegalStateException("please call getString after receive KEY_NAME/VALUE_STRING/VALUE_NUMBER event");
+        public String toString() {
+            return "BufferRecycler{hits=" + getHitCount() + ", misses=" + getMissCount() +
+                    ", retained=" + getRetainedBytes() + "/" + maxRetained + "}";
+        }
+    }
+
+    /**
+     * 替代OutputStreamWriter：字符缓冲区与编码后的字节缓冲区均借自回收池，关闭时归还
+     */
+    private static final class RecyclingWriter extends Writer {
+
+        private final OutputStream out;
+
+        private final CharsetEncoder encoder;
+
+        private final BufferRecycler recycler;
+
+        private char[] chars;
+
+        private byte[] bytes;
+
+        private int count;
+
+        RecyclingWriter(OutputStream out, Charset charset, BufferRecycler recycler) {
+            this.out = out;
+            this.encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.recycler = recycler;
+            this.chars = recycler.allocChars(Short.MAX_VALUE >> 3);
+            this.bytes = recycler.allocBytes(Short.MAX_VALUE >> 1);
+        }
+
+        private void ensureOpen() throws IOException {
+            if (chars == null) {
+                throw new IOException("Stream closed");
             }
         }
 
         @Override
-        public boolean isIntegralNumber() {
-            if (currentEvent != Event.VALUE_NUMBER) {
-                throw new IllegalStateException("please call isIntegralNumber after receive VALUE_NUMBER event");
+        public void write(int c) throws IOException {
+            ensureOpen();
+            if (count == chars.length) {
+                encode(false);
             }
-            return !fracOrExp || getBigDecimal().scale() == 0;
+            chars[count++] = (char) c;
         }
 
         @Override
-        public int getInt() {
-            if (currentEvent != Event.VALUE_NUMBER) {
-                throw new IllegalStateException("please call getInt after receive VALUE_NUMBER event");
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            ensureOpen();
+            while (len > 0) {
+                if (count == chars.length) {
+                    encode(false);
+                }
+                int n = Math.min(len, chars.length - count);
+                System.arraycopy(cbuf, off, chars, count, n);
+                count += n;
+                off += n;
+                len -= n;
             }
-            return Integer.parseInt(new String(buffer, mark, writeMark - mark));
         }
 
         @Override
-        public long getLong() {
-            if (currentEvent != Event.VALUE_NUMBER) {
-                throw new IllegalStateException("please call getLong after receive VALUE_NUMBER event");
+        public void write(String str, int off, int len) throws IOException {
+            ensureOpen();
+            while (len > 0) {
+                if (count == chars.length) {
+                    encode(false);
+                }
+                int n = Math.min(len, chars.length - count);
+                str.getChars(off, off + n, chars, count);
+                count += n;
+                off += n;
+                len -= n;
             }
-            return Long.parseLong(new String(buffer, mark, writeMark - mark));
         }
 
-        @Override
-        public BigDecimal getBigDecimal() {
-            if (currentEvent != Event.VALUE_NUMBER) {
-                throw new IllegalStateException("please call getBigDecimal after receive VALUE_NUMBER event");
+        /**
+         * 编码缓冲区中的字符并写出，末尾不完整的代理对留待下次
+         */
+        private void encode(boolean endOfInput) throws IOException {
+            CharBuffer in = CharBuffer.wrap(chars, 0, count);
+            ByteBuffer dst = ByteBuffer.wrap(bytes);
+            while (encoder.encode(in, dst, endOfInput).isOverflow()) { // malformed and unmappable are replaced
+                drain(dst);
+            }
+            if (endOfInput) {
+                while (encoder.flush(dst).isOverflow()) {
+                    drain(dst);
+                }
             }
-            return new BigDecimal(new String(buffer, mark, writeMark - mark));
+            drain(dst);
+            count = in.remaining();
+            System.arraycopy(chars, in.position(), chars, 0, count);
+        }
+
+        private void drain(ByteBuffer dst) throws IOException {
+            out.write(bytes, 0, dst.position());
+            dst.clear();
         }
 
         @Override
-        public JsonLocation getLocation() {
-            return new TokenLocation(line, column, offset);
+        public void flush() throws IOException {
+            ensureOpen();
+            encode(false);
+            out.flush();
         }
 
         @Override
-        public JsonObject getObject() {
-            if (currentEvent != Event.START_OBJECT) {
-                throw new IllegalStateException("please call getObject after receive START_OBJECT event");
+        public void close() throws IOException {
+            if (chars == null) {
+                return;
             }
-            ObjectBuilder builder = new ObjectBuilder();
-            Event event;
-            while (hasNext() && (event = next()) != Event.END_OBJECT) {
-                if (event != Event.KEY_NAME) {
-                    throw new JsonParsingException("expect name after '{'", getLocation());
+            try {
+                encode(true);
+                out.close();
+            } finally {
+                recycler.releaseChars(chars);
+                recycler.releaseBytes(bytes);
+                chars = null;
+                bytes = null;
+            }
+        }
+    }
+
+    /**
+     * <a href="https://www.rfc-editor.org/rfc/rfc6901">RFC 6901</a> json pointer。
+     * 除对json树取值及增删改外，还支持流式定位：驱动解析器前进，不匹配的子树直接skipObject/skipArray，
+     * 定位到目标值即停止，目标之后的文本不再分词。
+     *
+     * @see org.eclipse.parsson.JsonPointerImpl
+     * @author iMinusMinus
+     * @date 2026-10-18
+     */
+    static class TokenPointer implements JsonPointer {
+
+        private static final String APPEND = "-";
+
+        private final String pointer;
+
+        private final String[] tokens;
+
+        TokenPointer(String pointer) {
+            this.pointer = Objects.requireNonNull(pointer);
+            if (pointer.isEmpty()) {
+                this.tokens = new String[0];
+                return;
+            }
+            if (pointer.charAt(0) != '/') {
+                throw new JsonException("json pointer must be empty or start with '/': " + pointer);
+            }
+            String[] parts = pointer.substring(1).split("/", -1);
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = unescape(parts[i]);
+            }
+            this.tokens = parts;
+        }
+
+        /**
+         * @return 已解码的reference token
+         */
+        String[] tokens() {
+            return tokens.clone();
+        }
+
+        private String unescape(String token) {
+            int tilde = token.indexOf('~');
+            if (tilde < 0) {
+                return token;
+            }
+            StringBuilder sb = new StringBuilder(token.length());
+            sb.append(token, 0, tilde);
+            for (int i = tilde; i < token.length(); i++) {
+                char c = token.charAt(i);
+                if (c != '~') {
+                    sb.append(c);
+                } else if (i + 1 < token.length() && token.charAt(i + 1) == '0') {
+                    sb.append('~');
+                    i++;
+                } else if (i + 1 < token.length() && token.charAt(i + 1) == '1') {
+                    sb.append('/');
+                    i++;
+                } else {
+                    throw new JsonException("illegal escape sequence in json pointer: " + pointer);
                 }
-                String name = getString();
-                next();
-                JsonValue value = getValue();
-                builder.add(name, value);
             }
-            return builder.build();
+            return sb.toString();
+        }
+
+        /**
+         * @param token reference token
+         * @return 数组下标，非法下标返回-1
+         */
+        private static int index(String token) {
+            int len = token.length();
+            if (len == 0 || len > 1 && token.charAt(0) == '0' || len > String.valueOf(Integer.MAX_VALUE).length()) {
+                return -1;
+            }
+            long value = 0;
+            for (int i = 0; i < len; i++) {
+                char c = token.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                value = value * 10 + (c - '0');
+            }
+            return value > Integer.MAX_VALUE ? -1 : (int) value;
+        }
+
+        private JsonException notFound() {
+            return new JsonException("json pointer '" + pointer + "' references a nonexistent value");
+        }
+
+        private JsonValue child(JsonValue node, String token) {
+            if (node instanceof JsonObject) {
+                JsonValue value = ((JsonObject) node).get(token);
+                if (value == null) {
+                    throw notFound();
+                }
+                return value;
+            } else if (node instanceof JsonArray) {
+                int index = index(token);
+                if (index < 0 || index >= ((JsonArray) node).size()) {
+                    throw notFound();
+                }
+                return ((JsonArray) node).get(index);
+            }
+            throw notFound();
         }
 
         @Override
-        public JsonValue getValue() {
-            switch (currentEvent) {
-                case START_ARRAY: return getArray();
-                case START_OBJECT: return getObject();
-                case VALUE_FALSE: return JsonValue.FALSE;
-                case VALUE_TRUE: return JsonValue.TRUE;
-                case VALUE_NUMBER:
-                    if (isIntegralNumber() && writeMark - mark < String.valueOf(Long.MAX_VALUE).length()) {
-                        return writeMark - mark >= String.valueOf(Integer.MAX_VALUE).length() ?
-                                new Int64Value(getLong()) : new Int32Value(getInt());
-                    }
-                    return new NumberValue(getBigDecimal());
-                case VALUE_STRING: return new StringValue(getString());
-                case VALUE_NULL: return JsonValue.NULL;
-                case END_OBJECT: // pass through
-                case END_ARRAY:
-                    throw new IllegalStateException("please call getValue in object/array/value context");
-                default:
-                    throw new JsonParsingException("wrong event", getLocation());
+        public <T extends JsonStructure> T add(T target, JsonValue value) {
+            Objects.requireNonNull(value);
+            if (tokens.length == 0) {
+                if (!(value instanceof JsonStructure)) {
+                    throw new JsonException("cannot replace whole document with non-structure value");
+                }
+                return (T) value;
             }
+            return (T) modify(target, 0, Operation.ADD, value);
         }
 
         @Override
-        public JsonArray getArray() {
-            if (currentEvent != Event.START_ARRAY) {
-                throw new IllegalStateException("please call getArray after receive start array event");
+        public <T extends JsonStructure> T remove(T target) {
+            if (tokens.length == 0) {
+                throw new JsonException("cannot remove whole document");
             }
-            ArrayBuilder builder = new ArrayBuilder();
-            while (hasNext() && next() != Event.END_ARRAY) {
-                builder.add(getValue());
+            return (T) modify(target, 0, Operation.REMOVE, null);
+        }
+
+        @Override
+        public <T extends JsonStructure> T replace(T target, JsonValue value) {
+            Objects.requireNonNull(value);
+            if (tokens.length == 0) {
+                if (!(value instanceof JsonStructure)) {
+                    throw new JsonException("cannot replace whole document with non-structure value");
+                }
+                return (T) value;
             }
-            return builder.build();
+            return (T) modify(target, 0, Operation.REPLACE, value);
         }
 
-        // getArrayStream, getObjectStream, getValueStream
+        private enum Operation { ADD, REMOVE, REPLACE }
 
-        @Override
-        public void skipArray() {
-            if (currentEvent != Event.START_ARRAY) {
-                return;
+        /**
+         * json树不可变，沿路径复制修改节点
+         */
+        private JsonStructure modify(JsonValue node, int i, Operation op, JsonValue value) {
+            String token = tokens[i];
+            boolean last = i == tokens.length - 1;
+            if (node instanceof JsonObject) {
+                JsonObject object = (JsonObject) node;
+                ObjectStructure copy = new ObjectStructure();
+                copy.putAll(object);
+                if (!last) {
+                    copy.put(token, modify(child(object, token), i + 1, op, value));
+                } else if (op == Operation.ADD) {
+                    copy.put(token, value);
+                } else if (!object.containsKey(token)) {
+                    throw notFound();
+                } else if (op == Operation.REPLACE) {
+                    copy.put(token, value);
+                } else {
+                    copy.remove(token);
+                }
+                return copy;
+            } else if (node instanceof JsonArray) {
+                JsonArray array = (JsonArray) node;
+                ArrayStructure copy = new ArrayStructure();
+                copy.addAll(array);
+                if (!last) {
+                    copy.set(index(token), modify(child(array, token), i + 1, op, value));
+                    return copy;
+                }
+                int index = op == Operation.ADD && APPEND.equals(token) ? array.size() : index(token);
+                int bound = op == Operation.ADD ? array.size() : array.size() - 1;
+                if (index < 0 || index > bound) {
+                    throw notFound();
+                }
+                if (op == Operation.ADD) {
+                    copy.add(index, value);
+                } else if (op == Operation.REPLACE) {
+                    copy.set(index, value);
+                } else {
+                    copy.remove(index);
+                }
+                return copy;
             }
-            int currentDepth = depth;
-            while (true) {
-                Event next = next();
-                if (next == Event.END_ARRAY && currentDepth - 1 == depth) {
-                    break;
+            throw notFound();
+        }
+
+        @Override
+        public boolean containsValue(JsonStructure target) {
+            JsonValue node = target;
+            for (String token : tokens) {
+                if (node instanceof JsonObject) {
+                    node = ((JsonObject) node).get(token);
+                } else if (node instanceof JsonArray) {
+                    int index = index(token);
+                    node = index >= 0 && index < ((JsonArray) node).size() ? ((JsonArray) node).get(index) : null;
+                } else {
+                    return false;
+                }
+                if (node == null) {
+                    return false;
                 }
             }
+            return true;
         }
 
         @Override
-        public void skipObject() {
-            if (currentEvent != Event.START_OBJECT) {
-                return;
+        public JsonValue getValue(JsonStructure target) {
+            JsonValue node = Objects.requireNonNull(target);
+            for (String token : tokens) {
+                node = child(node, token);
             }
-            int currentDepth = depth;
-            while (true) {
-                Event next = next();
-                if (next == Event.END_OBJECT && currentDepth - 1 == depth) {
-                    break;
+            return node;
+        }
+
+        /**
+         * 流式取值：仅构建目标值，解析器停在目标值之后
+         *
+         * @param parser parser not started yet
+         * @return referenced value
+         */
+        JsonValue getValue(JsonParser parser) {
+            if (seek(parser) == null) {
+                throw notFound();
+            }
+            return parser.getValue();
+        }
+
+        /**
+         * 驱动解析器前进直到目标值的首个事件，不匹配的属性值和数组元素整体跳过
+         *
+         * @param parser parser not started yet
+         * @return 目标值的首个事件，不存在时返回null
+         */
+        JsonParser.Event seek(JsonParser parser) {
+            if (!parser.hasNext()) {
+                return null;
+            }
+            JsonParser.Event event = parser.next();
+            for (String token : tokens) {
+                if (event == JsonParser.Event.START_OBJECT) {
+                    event = seekName(parser, token);
+                } else if (event == JsonParser.Event.START_ARRAY) {
+                    event = seekIndex(parser, token);
+                } else {
+                    return null;
+                }
+                if (event == null) {
+                    return null;
                 }
             }
+            return event;
         }
 
-        @Override
-        public void close() {
-            closed = true;
-            buffer = null;
-            try {
-                reader.close();
-            } catch (IOException ioe) {
-                throw new JsonException(ioe.getMessage(), ioe);
+        private static JsonParser.Event seekName(JsonParser parser, String name) {
+            while (parser.next() == JsonParser.Event.KEY_NAME) {
+                if (name.equals(parser.getString())) {
+                    return parser.next();
+                }
+                skipValue(parser, parser.next());
             }
+            return null; // END_OBJECT
+        }
+
+        private static JsonParser.Event seekIndex(JsonParser parser, String token) {
+            int index = index(token);
+            if (index < 0) {
+                return null;
+            }
+            JsonParser.Event event = parser.next();
+            for (int i = 0; i < index && event != JsonParser.Event.END_ARRAY; i++) {
+                skipValue(parser, event);
+                event = parser.next();
+            }
+            return event == JsonParser.Event.END_ARRAY ? null : event;
+        }
+
+        private static void skipValue(JsonParser parser, JsonParser.Event event) {
+            if (event == JsonParser.Event.START_OBJECT) {
+                parser.skipObject();
+            } else if (event == JsonParser.Event.START_ARRAY) {
+                parser.skipArray();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return pointer;
         }
     }
 
@@ -1078,7 +3864,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
      * @author iMinusMinus
      * @date 2024-10-27
      */
-    private static class JsonTokenEmitter extends Contextual implements JsonGenerator {
+    private static class JsonTokenEmitter extends Contextual implements JsonGenerator, PreEncodedKeyWriter {
 
         private final boolean prettyPrint;
 
@@ -1088,18 +3874,17 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
 
         private final Boolean writeNumberAsString;
 
-        JsonTokenEmitter(Map<String, ?> config, OutputStream os) {
-            this(config, os, StandardCharsets.UTF_8);
-        }
+        private final char[] scratch = new char[32]; // sign, digits, dot and quotes of long/double
 
         /**
          *
          * @param config generator config
+         * @param recycler buffer recycler
          * @param os output stream
          * @param charset JSON text SHALL be encoded in UTF-8, UTF-16, or UTF-32.
          */
-        JsonTokenEmitter(Map<String, ?> config, OutputStream os, Charset charset) {
-            this(config, new OutputStreamWriter(os, charset));
+        JsonTokenEmitter(Map<String, ?> config, BufferRecycler recycler, OutputStream os, Charset charset) {
+            this(config, new RecyclingWriter(os, charset, recycler));
         }
 
         JsonTokenEmitter(Map<String, ?> config, Writer writer) {
@@ -1201,9 +3986,17 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
             }
         }
 
-        private void writeChar(char c) {
+        protected void writeChar(char c) {
+            try {
+                writer.write(c);
+            } catch (IOException ioe) {
+                throw new JsonException(ioe.getMessage(), ioe);
+            }
+        }
+
+        protected void writeChars(char[] cs) {
             try {
-                writer.write(c);
+                writer.write(cs);
             } catch (IOException ioe) {
                 throw new JsonException(ioe.getMessage(), ioe);
             }
@@ -1250,64 +4043,168 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
             return this;
         }
 
+        @Override
+        public JsonGenerator writeKey(PreEncodedName name) {
+            Context context = currentContext();
+            if (context != Context.OBJECT) {
+                throw new JsonGenerationException("please call writeKey in json object context");
+            }
+            writeComma(context);
+            writeEncoded(name);
+            writeColon();
+            startChild(Context.FIELD);
+            return this;
+        }
+
+        protected void writeEncoded(PreEncodedName name) {
+            writeChars(name.quoted);
+        }
+
         private void writeEscapedString(String str) {
             writeString(str, true);
         }
 
-        private void writeString(String str, boolean escape) {
-            if (escape) {
-                writeChar(QUOTATION_MARK);
+        /**
+         * 查表找出无需转义的连续字符，整段写出
+         */
+        protected void writeString(String str, boolean escape) {
+            try {
+                if (escape) {
+                    writer.write(QUOTATION_MARK);
+                }
+                int length = str.length();
+                int start = 0;
+                for (int i = 0; i < length; i++) {
+                    char c = str.charAt(i);
+                    if (c < ESCAPES.length && ESCAPES[c] != 0) {
+                        if (i > start) {
+                            writer.write(str, start, i - start);
+                        }
+                        writer.write(scratch, 0, escape(c, scratch, 0));
+                        start = i + 1;
+                    }
+                }
+                if (start < length) {
+                    writer.write(str, start, length - start);
+                }
+                if (escape) {
+                    writer.write(QUOTATION_MARK);
+                }
+            } catch (IOException ioe) {
+                throw new JsonException(ioe.getMessage(), ioe);
             }
-            char[] cs = str.toCharArray();
-            for (char c : cs) {
-                switch (c) {
-                    case QUOTATION_MARK: // pass through
-                    case REVERSE_SOLIDUS:
-                        writeChar(REVERSE_SOLIDUS);
-                        writeChar(c);
-                        break;
-//                    case SOLIDUS:
-//                        writeChar(REVERSE_SOLIDUS);
-//                        writeChar(SOLIDUS);
-//                        break;
-                    case BACKSPACE:
-                        writeChar(REVERSE_SOLIDUS);
-                        writeChar('b');
-                        break;
-                    case FORM_FEED:
-                        writeChar(REVERSE_SOLIDUS);
-                        writeChar('f');
-                        break;
-                    case LINE_FEED:
-                        writeChar(REVERSE_SOLIDUS);
-                        writeChar('n');
-                        break;
-                    case CARRIAGE_RETURN:
-                        writeChar(REVERSE_SOLIDUS);
-                        writeChar('r');
-                        break;
-                    case HORIZONTAL_TAB:
-                        writeChar(REVERSE_SOLIDUS);
-                        writeChar('t');
-                        break;
-                    default:
-                        assert c >= 0x20; // 0x9, 0xA, 0xD, 0x20 took as white space
-//                        if (c <= 0x7F) {
-                            writeChar(c);
-//                        } else {
-//                            String hex = "0000" + Integer.toHexString(c);
-//                            writeChar(REVERSE_SOLIDUS);
-//                            writeChar('u');
-//                            writeChar(hex.charAt(hex.length() - 4));
-//                            writeChar(hex.charAt(hex.length() - 3));
-//                            writeChar(hex.charAt(hex.length() - 2));
-//                            writeChar(hex.charAt(hex.length() - 1));
-//                        }
+        }
+
+        protected void writeAscii(char[] cs, int off, int len) {
+            try {
+                writer.write(cs, off, len);
+            } catch (IOException ioe) {
+                throw new JsonException(ioe.getMessage(), ioe);
+            }
+        }
+
+        private void writeLong(long value, boolean quoted) {
+            char[] buf = scratch;
+            int end = buf.length;
+            if (quoted) {
+                buf[--end] = QUOTATION_MARK;
+            }
+            int start = fillDigits(value, buf, end);
+            if (quoted) {
+                buf[--start] = QUOTATION_MARK;
+            }
+            writeAscii(buf, start, buf.length - start);
+        }
+
+        private void writeDouble(double value, boolean quoted) {
+            char[] buf = scratch;
+            int end = buf.length;
+            if (quoted) {
+                buf[--end] = QUOTATION_MARK;
+            }
+            int start = fillDecimal(value, buf, end);
+            if (start < 0) {
+                writeString(Double.toString(value), quoted);
+                return;
+            }
+            if (quoted) {
+                buf[--start] = QUOTATION_MARK;
+            }
+            writeAscii(buf, start, buf.length - start);
+        }
+
+        /**
+         * 从end往前写入十进制数字，不创建中间String
+         *
+         * @return 首个字符位置
+         */
+        static int fillDigits(long value, char[] buf, int end) {
+            boolean negative = value < 0;
+            long remaining = negative ? value : -value; // Long.MIN_VALUE has no positive counterpart
+            do {
+                long quotient = remaining / 10;
+                buf[--end] = (char) ('0' + (quotient * 10 - remaining));
+                remaining = quotient;
+            } while (remaining != 0);
+            if (negative) {
+                buf[--end] = NEGATIVE;
+            }
+            return end;
+        }
+
+        private static final double[] POWERS_OF_TEN = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9,
+                1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18,
+        };
+
+        private static final double TWO_POW_53 = 0x1p53;
+
+        /**
+         * 按Double.toString的普通记数格式(10^-3 <= |value| < 10^7，至少一位小数)从end往前写入最短的小数表示。
+         * 找到最小的k使m = value * 10^k为整数且m / 10^k还原为value，m和10^k均可精确表示，除法正确舍入保证结果可往返；
+         * 超出范围或有效数字超过2^53时返回-1，由Double.toString处理
+         *
+         * @return 首个字符位置，或-1
+         */
+        static int fillDecimal(double value, char[] buf, int end) {
+            double abs = Math.abs(value);
+            if (abs == 0) {
+                buf[--end] = '0';
+                buf[--end] = DOT;
+                buf[--end] = '0';
+                if (Double.doubleToRawLongBits(value) < 0) {
+                    buf[--end] = NEGATIVE;
                 }
+                return end;
             }
-            if (escape) {
-                writeChar(QUOTATION_MARK);
+            if (!(abs >= 1e-3 && abs < 1e7)) {
+                return -1;
+            }
+            for (int k = 0; k < POWERS_OF_TEN.length; k++) {
+                double scaled = Math.rint(abs * POWERS_OF_TEN[k]);
+                if (scaled >= TWO_POW_53) {
+                    return -1;
+                }
+                if (scaled / POWERS_OF_TEN[k] != abs) {
+                    continue;
+                }
+                long digits = (long) scaled;
+                if (k == 0) {
+                    buf[--end] = '0';
+                }
+                for (int i = 0; i < k; i++) {
+                    long quotient = digits / 10;
+                    buf[--end] = (char) ('0' + (digits - quotient * 10));
+                    digits = quotient;
+                }
+                buf[--end] = DOT;
+                end = fillDigits(digits, buf, end);
+                if (value < 0) {
+                    buf[--end] = NEGATIVE;
+                }
+                return end;
             }
+            return -1;
         }
 
         @Override
@@ -1376,7 +4273,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
             writeComma(current);
             writeEscapedString(name);
             writeColon();
-            writeString(String.valueOf(value), false);
+            writeLong(value, false);
             return this;
         }
 
@@ -1387,7 +4284,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
             writeComma(current);
             writeEscapedString(name);
             writeColon();
-            writeString(String.valueOf(value), writeNumberAsString(value));
+            writeLong(value, writeNumberAsString(value));
             return this;
         }
 
@@ -1398,7 +4295,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
             writeComma(current);
             writeEscapedString(name);
             writeColon();
-            writeString(String.valueOf(value), writeNumberAsString(value));
+            writeDouble(value, writeNumberAsString(value));
             return this;
         }
 
@@ -1409,10 +4306,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
             writeComma(current);
             writeEscapedString(name);
             writeColon();
-            char[] cs = value ? TRUE : FALSE;
-            for (char c : cs) {
-                writeChar(c);
-            }
+            writeChars(value ? TRUE : FALSE);
             return this;
         }
 
@@ -1423,9 +4317,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
             writeComma(current);
             writeEscapedString(name);
             writeColon();
-            for (char c : NULL) {
-                writeChar(c);
-            }
+            writeChars(NULL);
             return this;
         }
 
@@ -1518,7 +4410,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
         @Override
         public JsonGenerator write(int value) {
             writeComma();
-            writeString(String.valueOf(value), false);
+            writeLong(value, false);
             if (currentContext() == Context.FIELD) {
                 restore();
             }
@@ -1528,7 +4420,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
         @Override
         public JsonGenerator write(long value) {
             writeComma();
-            writeString(String.valueOf(value), writeNumberAsString(value));
+            writeLong(value, writeNumberAsString(value));
             if (currentContext() == Context.FIELD) {
                 restore();
             }
@@ -1541,7 +4433,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
                 throw new NumberFormatException("cannot write Infinite or NaN");
             }
             writeComma();
-            writeString(String.valueOf(value), writeNumberAsString(value));
+            writeDouble(value, writeNumberAsString(value));
             if (currentContext() == Context.FIELD) {
                 restore();
             }
@@ -1555,10 +4447,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
                 throw new JsonGenerationException("please call write(String) in root/array/field context");
             }
             writeComma(ctx);
-            char[] cs = value ? TRUE : FALSE;
-            for (char c : cs) {
-                writeChar(c);
-            }
+            writeChars(value ? TRUE : FALSE);
 
             if (ctx == Context.FIELD) {
                 restore();
@@ -1574,9 +4463,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
                 throw new JsonGenerationException("please call write(String) in root/array/field context");
             }
             writeComma(ctx);
-            for (char c : NULL) {
-                writeChar(c);
-            }
+            writeChars(NULL);
 
             if (ctx == Context.FIELD) {
                 restore();
@@ -1596,7 +4483,8 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
             if (writeNumberAsString != null) {
                 return writeNumberAsString;
             }
-            return value > JS_MAX_NUMBER.doubleValue() || value < JS_MIN_NUMBER.doubleValue();
+            double magnitude = Math.abs(value); // JS_MAX_NUMBER, JS_MIN_NUMBER: Number.MIN_VALUE是最小的正数，比较绝对值
+            return magnitude > Double.MAX_VALUE || magnitude != 0 && magnitude < Double.MIN_VALUE;
         }
 
         private boolean writeNumberAsString(BigInteger value) {
@@ -1611,9 +4499,13 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
                 return writeNumberAsString;
             }
             if (value.scale() == 0) {
+                if (value.precision() < 16) { // |value| < 10^15 < 2^53
+                    return false;
+                }
                 return value.compareTo(JS_MAX_SAFE_DECIMAL) > 0  || value.compareTo(JS_MIN_SAFE_DECIMAL) < 0;
             } else {
-                return value.compareTo(JS_MAX_NUMBER) > 0 || value.compareTo(JS_MIN_NUMBER) < 0;
+                BigDecimal magnitude = value.abs();
+                return magnitude.compareTo(JS_MAX_NUMBER) > 0 || magnitude.signum() != 0 && magnitude.compareTo(JS_MIN_NUMBER) < 0;
             }
         }
 
@@ -1623,7 +4515,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
                 throw new JsonGenerationException("incomplete json");
             }
             try {
-                writer.close();
+                closeOutput();
             } catch (IOException e) {
                 throw new JsonException(e.getMessage(), e);
             }
@@ -1632,24 +4524,231 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
         @Override
         public void flush() {
             try {
-                writer.flush();
+                flushOutput();
             } catch (IOException e) {
                 throw new JsonException(e.getMessage(), e);
             }
         }
+
+        protected void closeOutput() throws IOException {
+            writer.close();
+        }
+
+        protected void flushOutput() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * UTF-8字节生成器：直接编码到内部字节缓冲区，仅在缓冲区满或flush/close时写出到输出流，
+     * 避免经过Writer逐字符写入和CharsetEncoder的二次拷贝
+     */
+    private static final class Utf8TokenEmitter extends JsonTokenEmitter {
+
+        private static final int ESCAPE_RESERVED = 6; // 单个字符转义后最多6字节
+
+        private final OutputStream out;
+
+        private final BufferRecycler recycler;
+
+        private byte[] buffer;
+
+        private int count;
+
+        Utf8TokenEmitter(Map<String, ?> config, BufferRecycler recycler, OutputStream out) {
+            super(config, null);
+            this.out = out;
+            this.recycler = recycler;
+            this.buffer = recycler.allocBytes(Short.MAX_VALUE >> 2);
+        }
+
+        private void ensureCapacity(int required) {
+            if (buffer == null) {
+                throw new JsonException("Stream closed");
+            }
+            if (count + required > buffer.length) {
+                try {
+                    flushBuffer();
+                } catch (IOException ioe) {
+                    throw new JsonException(ioe.getMessage(), ioe);
+                }
+            }
+        }
+
+        private void flushBuffer() throws IOException {
+            if (count > 0) {
+                out.write(buffer, 0, count);
+                count = 0;
+            }
+        }
+
+        @Override
+        protected void writeChar(char c) {
+            ensureCapacity(3);
+            if (c < 0x80) {
+                buffer[count++] = (byte) c;
+            } else {
+                count = encode(c, buffer, count);
+            }
+        }
+
+        @Override
+        protected void writeAscii(char[] cs, int off, int len) {
+            ensureCapacity(len);
+            byte[] buf = buffer;
+            int pos = count;
+            for (int i = off, end = off + len; i < end; i++) {
+                buf[pos++] = (byte) cs[i];
+            }
+            count = pos;
+        }
+
+        @Override
+        protected void writeChars(char[] cs) { // literals: true, false, null
+            ensureCapacity(cs.length);
+            for (char c : cs) {
+                buffer[count++] = (byte) c;
+            }
+        }
+
+        @Override
+        protected void writeEncoded(PreEncodedName name) {
+            byte[] bytes = name.utf8;
+            ensureCapacity(bytes.length);
+            if (bytes.length > buffer.length) {
+                try {
+                    out.write(bytes);
+                } catch (IOException ioe) {
+                    throw new JsonException(ioe.getMessage(), ioe);
+                }
+                return;
+            }
+            System.arraycopy(bytes, 0, buffer, count, bytes.length);
+            count += bytes.length;
+        }
+
+        @Override
+        protected void writeString(String str, boolean escape) {
+            ensureCapacity(ESCAPE_RESERVED + 1);
+            if (escape) {
+                buffer[count++] = QUOTATION_MARK;
+            }
+            byte[] buf = buffer;
+            int pos = count;
+            int limit = buf.length - ESCAPE_RESERVED;
+            int length = str.length();
+            for (int i = 0; i < length; i++) {
+                if (pos > limit) {
+                    count = pos;
+                    ensureCapacity(ESCAPE_RESERVED);
+                    pos = count;
+                }
+                char c = str.charAt(i);
+                if (c < 0x80) {
+                    char escaped = ESCAPES[c];
+                    if (escaped == 0) {
+                        buf[pos++] = (byte) c;
+                    } else {
+                        buf[pos++] = REVERSE_SOLIDUS;
+                        buf[pos++] = (byte) escaped;
+                        if (escaped == 'u') {
+                            buf[pos++] = '0';
+                            buf[pos++] = '0';
+                            buf[pos++] = (byte) HEX_DIGITS[c >> 4];
+                            buf[pos++] = (byte) HEX_DIGITS[c & 0xF];
+                        }
+                    }
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(str.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, str.charAt(++i));
+                    buf[pos++] = (byte) (0xF0 | (cp >> 18));
+                    buf[pos++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    buf[pos++] = (byte) (0x80 | (cp & 0x3F));
+                } else {
+                    pos = encode(c, buf, pos);
+                }
+            }
+            count = pos;
+            if (escape) {
+                writeChar(QUOTATION_MARK);
+            }
+        }
+
+        /**
+         * 编码BMP字符，孤立代理项按CharsetEncoder的REPLACE行为输出'?'
+         */
+        private static int encode(char c, byte[] buf, int pos) {
+            if (c < 0x800) {
+                buf[pos++] = (byte) (0xC0 | (c >> 6));
+            } else if (Character.isSurrogate(c)) {
+                buf[pos++] = '?';
+                return pos;
+            } else {
+                buf[pos++] = (byte) (0xE0 | (c >> 12));
+                buf[pos++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            }
+            buf[pos++] = (byte) (0x80 | (c & 0x3F));
+            return pos;
+        }
+
+        @Override
+        protected void flushOutput() throws IOException {
+            if (buffer == null) {
+                throw new IOException("Stream closed");
+            }
+            flushBuffer();
+            out.flush();
+        }
+
+        @Override
+        protected void closeOutput() throws IOException {
+            if (buffer == null) {
+                return;
+            }
+            try {
+                flushBuffer();
+                out.close();
+            } finally {
+                recycler.releaseBytes(buffer);
+                buffer = null;
+            }
+        }
     }
 
     private static class JsonReaderDelegate implements JsonReader {
 
         private final JsonParser jsonParser;
 
+        private final Map<String, ?> lazyConfig; // non-null to read lazily
+
+        private final SymbolTable symbols;
+
         private boolean done;
 
         JsonReaderDelegate(JsonParser jsonParser) {
+            this(jsonParser, null, null);
+        }
+
+        /**
+         * @param jsonParser parser of json text
+         * @param lazyConfig config for lazy tree, parser must be {@link Utf8TokenParser} with unpooled buffer
+         * @param symbols property name symbol table
+         */
+        JsonReaderDelegate(JsonParser jsonParser, Map<String, ?> lazyConfig, SymbolTable symbols) {
             this.jsonParser = jsonParser;
+            this.lazyConfig = lazyConfig;
+            this.symbols = symbols;
             done = false;
         }
 
+        private <T extends JsonValue> T readLazily(Class<T> expected) {
+            JsonValue value = new LazyDocument(lazyConfig, symbols, (Utf8TokenParser) jsonParser).root();
+            if (!expected.isInstance(value)) {
+                throw new JsonParsingException("expect " + expected.getSimpleName() + " but got " + value.getValueType(), jsonParser.getLocation());
+            }
+            return expected.cast(value);
+        }
+
         @Override
         public JsonStructure read() {
             if (done) {
@@ -1659,6 +4758,9 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
             if (!jsonParser.hasNext()) {
                 throw new JsonException("nothing to read");
             }
+            if (lazyConfig != null) {
+                return readLazily(JsonStructure.class);
+            }
             try {
                 JsonParser.Event event = jsonParser.next();
                 return event == JsonParser.Event.START_ARRAY ? jsonParser.getArray() : jsonParser.getObject();
@@ -1676,6 +4778,9 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
             if (!jsonParser.hasNext()) {
                 throw new JsonException("nothing to read");
             }
+            if (lazyConfig != null) {
+                return readLazily(JsonObject.class);
+            }
             try {
                 jsonParser.next();
                 return jsonParser.getObject();
@@ -1693,6 +4798,9 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
             if (!jsonParser.hasNext()) {
                 throw new JsonException("nothing to read");
             }
+            if (lazyConfig != null) {
+                return readLazily(JsonArray.class);
+            }
             try {
                 jsonParser.next();
                 return jsonParser.getArray();
@@ -1710,6 +4818,9 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
             if (!jsonParser.hasNext()) {
                 throw new JsonException("nothing to read");
             }
+            if (lazyConfig != null) {
+                return readLazily(JsonValue.class);
+            }
             try {
                 jsonParser.next();
                 return jsonParser.getValue();
@@ -1818,13 +4929,13 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
         } else if (jobject instanceof Boolean) {
             return ((Boolean) jobject) ? JsonValue.TRUE : JsonValue.FALSE;
         } else if (jobject instanceof Integer) {
-            return new Int32Value((Integer) jobject);
+            return Int32Value.valueOf((Integer) jobject);
         } else if (jobject instanceof Long) {
             return new Int64Value((Long) jobject);
         } else if (jobject instanceof Float) {
-            return new NumberValue(BigDecimal.valueOf((Float) jobject));
+            return new DoubleValue((Float) jobject);
         } else if (jobject instanceof Double) {
-            return new NumberValue(BigDecimal.valueOf((Double) jobject));
+            return new DoubleValue((Double) jobject);
         } else if (jobject instanceof BigInteger) {
             return new NumberValue(new BigDecimal((BigInteger) jobject));
         } else if (jobject instanceof BigDecimal) {
@@ -1897,31 +5008,62 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
 
     private static class ObjectBuilder implements JsonObjectBuilder {
 
-        private final ObjectStructure object;
+        private String[] names = new String[SmallObject.MAX_SIZE];
+
+        private JsonValue[] values = new JsonValue[SmallObject.MAX_SIZE];
+
+        private int size;
+
+        private ObjectStructure object; // members exceed SmallObject.MAX_SIZE
 
         public ObjectBuilder() {
             this(JsonValue.EMPTY_JSON_OBJECT);
         }
 
         public ObjectBuilder(JsonObject object) {
-            this.object = new ObjectStructure();
             if (object != null && !object.isEmpty()) {
-                this.object.putAll(object);
+                for (Map.Entry<String, JsonValue> entry : object.entrySet()) {
+                    put(entry.getKey(), entry.getValue());
+                }
             }
         }
 
         public ObjectBuilder(Map<String, Object> map) {
-            this.object = new ObjectStructure();
             for (Map.Entry<String, Object> entry : map.entrySet()) {
-                object.put(entry.getKey(), convert(entry.getValue()));
+                put(entry.getKey(), convert(entry.getValue()));
             }
         }
 
+        private void put(String name, JsonValue value) {
+            if (object != null) {
+                object.put(name, value);
+                return;
+            }
+            for (int i = 0; i < size; i++) {
+                if (names[i].equals(name)) {
+                    values[i] = value;
+                    return;
+                }
+            }
+            if (size == SmallObject.MAX_SIZE) {
+                object = new ObjectStructure();
+                for (int i = 0; i < size; i++) {
+                    object.put(names[i], values[i]);
+                }
+                object.put(name, value);
+                names = null;
+                values = null;
+                return;
+            }
+            names[size] = name;
+            values[size++] = value;
+        }
+
         @Override
         public JsonObjectBuilder add(String name, JsonValue value) {
             Objects.requireNonNull(name);
             Objects.requireNonNull(value);
-            object.put(name, value);
+            put(name, value);
             return this;
         }
 
@@ -1929,7 +5071,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
         public JsonObjectBuilder add(String name, String value) {
             Objects.requireNonNull(name);
             Objects.requireNonNull(value);
-            object.put(name, new StringValue(value));
+            put(name, new StringValue(value));
             return this;
         }
 
@@ -1937,7 +5079,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
         public JsonObjectBuilder add(String name, BigInteger value) {
             Objects.requireNonNull(name);
             Objects.requireNonNull(value);
-            object.put(name, new NumberValue(new BigDecimal(value)));
+            put(name, new NumberValue(new BigDecimal(value)));
             return this;
         }
 
@@ -1945,42 +5087,42 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
         public JsonObjectBuilder add(String name, BigDecimal value) {
             Objects.requireNonNull(name);
             Objects.requireNonNull(value);
-            object.put(name, new NumberValue(value));
+            put(name, new NumberValue(value));
             return this;
         }
 
         @Override
         public JsonObjectBuilder add(String name, int value) {
             Objects.requireNonNull(name);
-            object.put(name, new Int32Value(value));
+            put(name, Int32Value.valueOf(value));
             return this;
         }
 
         @Override
         public JsonObjectBuilder add(String name, long value) {
             Objects.requireNonNull(name);
-            object.put(name, new Int64Value(value));
+            put(name, new Int64Value(value));
             return this;
         }
 
         @Override
         public JsonObjectBuilder add(String name, double value) {
             Objects.requireNonNull(name);
-            object.put(name, new NumberValue(BigDecimal.valueOf(value)));
+            put(name, new DoubleValue(value));
             return this;
         }
 
         @Override
         public JsonObjectBuilder add(String name, boolean value) {
             Objects.requireNonNull(name);
-            object.put(name, value ? JsonValue.TRUE : JsonValue.FALSE);
+            put(name, value ? JsonValue.TRUE : JsonValue.FALSE);
             return this;
         }
 
         @Override
         public JsonObjectBuilder addNull(String name) {
             Objects.requireNonNull(name);
-            object.put(name, JsonValue.NULL);
+            put(name, JsonValue.NULL);
             return this;
         }
 
@@ -1988,7 +5130,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
         public JsonObjectBuilder add(String name, JsonObjectBuilder builder) {
             Objects.requireNonNull(name);
             Objects.requireNonNull(builder);
-            object.put(name, builder.build());
+            put(name, builder.build());
             return this;
         }
 
@@ -1996,64 +5138,70 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
         public JsonObjectBuilder add(String name, JsonArrayBuilder builder) {
             Objects.requireNonNull(name);
             Objects.requireNonNull(builder);
-            object.put(name, builder.build());
+            put(name, builder.build());
             return this;
         }
 
         @Override
         public JsonObject build() {
-            return object.isEmpty() ? JsonValue.EMPTY_JSON_OBJECT : object;
+            if (object != null) {
+                return object;
+            }
+            return size == 0 ?
+                    JsonValue.EMPTY_JSON_OBJECT :
+                    new SmallObject(Arrays.copyOf(names, size), Arrays.copyOf(values, size));
         }
 
     }
 
     /**
-     * An object is an unordered collection of zero or more name/value pairs
+     * JsonObject的便捷取值方法只依赖{@link #get(Object)}，由HashMap实现与延迟解码实现共用
      */
-    private static class ObjectStructure extends HashMap<String, JsonValue> implements JsonObject {
+    private interface ObjectAccessor extends JsonObject {
+
 
         @Override
-        public JsonArray getJsonArray(String name) {
+        default JsonArray getJsonArray(String name) {
             return Optional.ofNullable(get(name)).map(JsonValue::asJsonArray).orElse(null);
         }
 
         @Override
-        public JsonObject getJsonObject(String name) {
+        default JsonObject getJsonObject(String name) {
             return Optional.ofNullable(get(name)).map(JsonValue::asJsonObject).orElse(null);
         }
 
         @Override
-        public JsonNumber getJsonNumber(String name) {
+        default JsonNumber getJsonNumber(String name) {
             return (JsonNumber) get(name);
         }
 
         @Override
-        public JsonString getJsonString(String name) {
+        default JsonString getJsonString(String name) {
             return (JsonString) get(name);
         }
 
         @Override
-        public String getString(String name) {
+        default String getString(String name) {
             return getJsonString(name).getString();
         }
 
         @Override
-        public String getString(String name, String defaultValue) {
+        default String getString(String name, String defaultValue) {
             return Optional.ofNullable(getJsonString(name)).map(JsonString::getString).orElse(defaultValue);
         }
 
         @Override
-        public int getInt(String name) {
+        default int getInt(String name) {
             return getJsonNumber(name).intValue();
         }
 
         @Override
-        public int getInt(String name, int defaultValue) {
+        default int getInt(String name, int defaultValue) {
             return Optional.of(getJsonNumber(name)).map(JsonNumber::intValue).orElse(defaultValue);
         }
 
         @Override
-        public boolean getBoolean(String name) {
+        default boolean getBoolean(String name) {
             JsonValue value = get(name);
             if (value == JsonValue.TRUE) {
                 return true;
@@ -2067,7 +5215,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
         }
 
         @Override
-        public boolean getBoolean(String name, boolean defaultValue) {
+        default boolean getBoolean(String name, boolean defaultValue) {
             JsonValue value = get(name);
             if (value == JsonValue.TRUE) {
                 return true;
@@ -2081,36 +5229,128 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
         }
 
         @Override
-        public boolean isNull(String name) {
-            JsonValue value = get(name);
-            if (value == null) {
-                throw new NullPointerException("no mapping for name: " + name);
-            }
-            return value == JsonValue.NULL;
+        default boolean isNull(String name) {
+            JsonValue value = get(name);
+            if (value == null) {
+                throw new NullPointerException("no mapping for name: " + name);
+            }
+            return value == JsonValue.NULL;
+        }
+
+        @Override
+        default ValueType getValueType() {
+            return ValueType.OBJECT;
+        }
+
+        @Override
+        default JsonObject asJsonObject() {
+            return this;
+        }
+
+        static String format(Map<String, JsonValue> object) {
+            StringBuilder sb = new StringBuilder();
+            sb.append(LEFT_CURLY_BRACKET);
+            for (Map.Entry<String, JsonValue> entry : object.entrySet()) {
+                sb.append(new StringValue(entry.getKey()))
+                        .append(':')
+                        .append(entry.getValue().toString())
+                        .append(',');
+            }
+            if (object.isEmpty()) {
+                sb.append(RIGHT_CURLY_BRACKET);
+            } else {
+                sb.setCharAt(sb.length() - 1, RIGHT_CURLY_BRACKET);
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * An object is an unordered collection of zero or more name/value pairs
+     */
+    private static class ObjectStructure extends HashMap<String, JsonValue> implements ObjectAccessor {
+
+        @Override
+        public String toString() {
+            return ObjectAccessor.format(this);
+        }
+    }
+
+    /**
+     * 成员不多于{@link #MAX_SIZE}个的不可变对象：名字和值存放在两个数组中，按加入顺序迭代，线性查找比哈希更快也更省内存
+     */
+    private static final class SmallObject extends AbstractMap<String, JsonValue> implements ObjectAccessor {
+
+        static final int MAX_SIZE = 8;
+
+        private final String[] names;
+
+        private final JsonValue[] values;
+
+        SmallObject(String[] names, JsonValue[] values) {
+            this.names = names;
+            this.values = values;
+        }
+
+        private int indexOf(Object name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public JsonValue get(Object key) {
+            int i = indexOf(key);
+            return i < 0 ? null : values[i];
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return indexOf(key) >= 0;
         }
 
         @Override
-        public ValueType getValueType() {
-            return ValueType.OBJECT;
+        public int size() {
+            return names.length;
         }
 
         @Override
-        public JsonObject asJsonObject() {
-            return this;
+        public Set<Entry<String, JsonValue>> entrySet() {
+            return new AbstractSet<Entry<String, JsonValue>>() {
+                @Override
+                public Iterator<Entry<String, JsonValue>> iterator() {
+                    return new Iterator<Entry<String, JsonValue>>() {
+                        private int cursor;
+
+                        @Override
+                        public boolean hasNext() {
+                            return cursor < names.length;
+                        }
+
+                        @Override
+                        public Entry<String, JsonValue> next() {
+                            if (cursor >= names.length) {
+                                throw new NoSuchElementException();
+                            }
+                            int i = cursor++;
+                            return new SimpleImmutableEntry<>(names[i], values[i]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return names.length;
+                }
+            };
         }
 
         @Override
         public String toString() {
-            StringBuilder sb = new StringBuilder();
-            sb.append(LEFT_CURLY_BRACKET);
-            for (Map.Entry<String, JsonValue> entry : entrySet()) {
-                sb.append(new StringValue(entry.getKey()))
-                        .append(':')
-                        .append(entry.getValue().toString())
-                        .append(',');
-            }
-            sb.setCharAt(sb.length() - 1, RIGHT_CURLY_BRACKET);
-            return sb.toString();
+            return ObjectAccessor.format(this);
         }
     }
 
@@ -2168,7 +5408,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
 
         @Override
         public JsonArrayBuilder add(int value) {
-            array.add(new Int32Value(value));
+            array.add(Int32Value.valueOf(value));
             return this;
         }
 
@@ -2180,7 +5420,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
 
         @Override
         public JsonArrayBuilder add(double value) {
-            array.add(new NumberValue(BigDecimal.valueOf(value)));
+            array.add(new DoubleValue(value));
             return this;
         }
 
@@ -2221,66 +5461,66 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
     }
 
     /**
-     * An array is an ordered sequence of zero or more values.
-     * There is no requirement that the values in an array be of the same type.
+     * JsonArray的便捷取值方法只依赖{@link #get(int)}，由ArrayList实现与延迟解码实现共用
      */
-    private static class ArrayStructure extends ArrayList<JsonValue> implements JsonArray {
+    private interface ArrayAccessor extends JsonArray {
+
 
         @Override
-        public JsonObject getJsonObject(int index) {
+        default JsonObject getJsonObject(int index) {
             JsonValue value = get(index);
             return value == null ? null : value.asJsonObject();
         }
 
         @Override
-        public JsonArray getJsonArray(int index) {
+        default JsonArray getJsonArray(int index) {
             JsonValue value = get(index);
             return value == null ? null : value.asJsonArray();
         }
 
         @Override
-        public JsonNumber getJsonNumber(int index) {
+        default JsonNumber getJsonNumber(int index) {
             JsonValue value = get(index);
             return (JsonNumber) value;
         }
 
         @Override
-        public JsonString getJsonString(int index) {
+        default JsonString getJsonString(int index) {
             JsonValue value = get(index);
             return (JsonString) value;
         }
 
         @Override
-        public <T extends JsonValue> List<T> getValuesAs(Class<T> clazz) {
+        default <T extends JsonValue> List<T> getValuesAs(Class<T> clazz) {
             return stream().map(clazz::cast).collect(Collectors.toList());
         }
 
         @Override
-        public String getString(int index) {
+        default String getString(int index) {
             JsonValue value = get(index);
             return value == null ? null : ((JsonString) value).getString();
         }
 
         @Override
-        public String getString(int index, String defaultValue) {
+        default String getString(int index, String defaultValue) {
             JsonValue value = get(index);
             return value == null ? defaultValue : ((JsonString) value).getString();
         }
 
         @Override
-        public int getInt(int index) {
+        default int getInt(int index) {
             JsonValue value = get(index);
             return ((JsonNumber) value).intValue();
         }
 
         @Override
-        public int getInt(int index, int defaultValue) {
+        default int getInt(int index, int defaultValue) {
             JsonValue value = get(index);
             return value == null ? defaultValue : ((JsonNumber) value).intValue();
         }
 
         @Override
-        public boolean getBoolean(int index) {
+        default boolean getBoolean(int index) {
             JsonValue value = get(index);
             if (value == JsonValue.TRUE) {
                 return true;
@@ -2292,7 +5532,7 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
         }
 
         @Override
-        public boolean getBoolean(int index, boolean defaultValue) {
+        default boolean getBoolean(int index, boolean defaultValue) {
             JsonValue value = get(index);
             if (value == JsonValue.TRUE) {
                 return true;
@@ -2304,42 +5544,389 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
         }
 
         @Override
-        public boolean isNull(int index) {
+        default boolean isNull(int index) {
             JsonValue value = get(index);
             return value == JsonValue.NULL;
         }
 
         @Override
-        public ValueType getValueType() {
+        default ValueType getValueType() {
             return ValueType.ARRAY;
         }
 
         @Override
-        public JsonArray asJsonArray() {
+        default JsonArray asJsonArray() {
             return this;
         }
 
-        @Override
-        public String toString() {
+        static String format(List<JsonValue> array) {
             StringBuilder sb = new StringBuilder();
             sb.append(LEFT_SQUARE_BRACKET);
-            for (JsonValue next : this) {
+            for (JsonValue next : array) {
                 sb.append(next.toString());
                 sb.append(',');
             }
-            sb.setCharAt(sb.length() - 1, RIGHT_SQUARE_BRACKET);
+            if (array.isEmpty()) {
+                sb.append(RIGHT_SQUARE_BRACKET);
+            } else {
+                sb.setCharAt(sb.length() - 1, RIGHT_SQUARE_BRACKET);
+            }
             return sb.toString();
         }
     }
 
+    /**
+     * An array is an ordered sequence of zero or more values.
+     * There is no requirement that the values in an array be of the same type.
+     */
+    private static class ArrayStructure extends ArrayList<JsonValue> implements ArrayAccessor {
+
+        @Override
+        public String toString() {
+            return ArrayAccessor.format(this);
+        }
+    }
+
+    /**
+     * 延迟解码的json树：读取时照常校验，但只记录每个token的事件及其在字节数组中的起止位置，
+     * 对象、数组视图在首次访问时才建立成员索引，成员值在get时才解码并缓存。
+     * 视图在JsonReader关闭后仍可使用，多线程访问时以文档为锁。
+     *
+     * @author iMinusMinus
+     * @date 2026-10-18
+     */
+    private static final class LazyDocument {
+
+        private static final JsonParser.Event[] EVENTS = JsonParser.Event.values();
+
+        private static final int EVENT_MASK = 0xFF;
+
+        private static final int ESCAPED = 1 << 8;
+
+        private static final int FRAC_OR_EXP = 1 << 9;
+
+        // flags(event, escaped, fracOrExp), start, end, index of next sibling token
+        private static final int STRIDE = 4;
+
+        private final Utf8TokenParser decoder;
+
+        private final int[] tokens;
+
+        /**
+         * @param config parser config
+         * @param symbols property name symbol table
+         * @param reader parser whose buffer must not be recycled
+         */
+        LazyDocument(Map<String, ?> config, SymbolTable symbols, Utf8TokenParser reader) {
+            reader.loadAll(); // offsets stay valid only if buffer never compacted
+            int[] tokens = new int[STRIDE * AbstractTokenParser.INITIAL_SIZE];
+            int[] opens = new int[Long.SIZE];
+            int top = 0;
+            int count = 0;
+            while (reader.hasNext()) {
+                JsonParser.Event event = reader.next();
+                if ((count + 1) * STRIDE > tokens.length) {
+                    tokens = Arrays.copyOf(tokens, tokens.length + (tokens.length >> 1));
+                }
+                int base = count * STRIDE;
+                tokens[base] = event.ordinal() | (reader.escaped ? ESCAPED : 0) | (reader.fracOrExp ? FRAC_OR_EXP : 0);
+                tokens[base + 1] = reader.mark;
+                tokens[base + 2] = reader.writeMark;
+                tokens[base + 3] = count + 1;
+                if (event == JsonParser.Event.START_OBJECT || event == JsonParser.Event.START_ARRAY) {
+                    opens[top++] = count;
+                } else if (event == JsonParser.Event.END_OBJECT || event == JsonParser.Event.END_ARRAY) {
+                    tokens[opens[--top] * STRIDE + 3] = count + 1;
+                }
+                count++;
+                if (top == 0) {
+                    break; // root value closed, trailing content ignored like eager reader
+                }
+            }
+            this.tokens = tokens;
+            this.decoder = new Utf8TokenParser(config, symbols, null, ByteBuffer.wrap(reader.buffer, 0, reader.readMark));
+        }
+
+        JsonValue root() {
+            synchronized (this) {
+                return value(0);
+            }
+        }
+
+        JsonParser.Event event(int token) {
+            return EVENTS[tokens[token * STRIDE] & EVENT_MASK];
+        }
+
+        /**
+         * @return 同级的下一个token，对象、数组跳过其全部成员
+         */
+        int next(int token) {
+            return tokens[token * STRIDE + 3];
+        }
+
+        private void position(int token) {
+            int base = token * STRIDE;
+            int flags = tokens[base];
+            decoder.currentEvent = EVENTS[flags & EVENT_MASK];
+            decoder.escaped = (flags & ESCAPED) != 0;
+            decoder.fracOrExp = (flags & FRAC_OR_EXP) != 0;
+            decoder.mark = tokens[base + 1];
+            decoder.writeMark = tokens[base + 2];
+        }
+
+        String name(int token) {
+            position(token);
+            return decoder.getString();
+        }
+
+        JsonValue value(int token) {
+            switch (event(token)) {
+                case START_OBJECT:
+                    return new LazyObject(this, token);
+                case START_ARRAY:
+                    return new LazyArray(this, token);
+                default:
+                    position(token);
+                    return decoder.getValue();
+            }
+        }
+    }
+
+    private static final class LazyObject extends AbstractMap<String, JsonValue> implements ObjectAccessor {
+
+        private static final int LINEAR_SEARCH_LIMIT = 8;
+
+        private final LazyDocument document;
+
+        private final int token;
+
+        private int size = -1;
+
+        private String[] names;
+
+        private int[] members; // token of each value
+
+        private JsonValue[] values;
+
+        private Map<String, Integer> lookup; // only for objects with many members
+
+        LazyObject(LazyDocument document, int token) {
+            this.document = document;
+            this.token = token;
+        }
+
+        /**
+         * 只解码成员名；重复的名字保留首次出现的位置，值取最后一次
+         */
+        private void index() {
+            if (size >= 0) {
+                return;
+            }
+            String[] names = new String[LINEAR_SEARCH_LIMIT];
+            int[] members = new int[LINEAR_SEARCH_LIMIT];
+            int size = 0;
+            for (int t = token + 1; document.event(t) != JsonParser.Event.END_OBJECT; t = document.next(t + 1)) {
+                String name = document.name(t);
+                int i = indexOf(name, names, size);
+                if (i >= 0) {
+                    members[i] = t + 1;
+                    continue;
+                }
+                if (size == names.length) {
+                    names = Arrays.copyOf(names, size << 1);
+                    members = Arrays.copyOf(members, size << 1);
+                }
+                names[size] = name;
+                members[size] = t + 1;
+                if (lookup != null) {
+                    lookup.put(name, size);
+                } else if (size == LINEAR_SEARCH_LIMIT) {
+                    lookup = new HashMap<>();
+                    for (int j = 0; j <= size; j++) {
+                        lookup.put(names[j], j);
+                    }
+                }
+                size++;
+            }
+            this.names = names;
+            this.members = members;
+            this.values = new JsonValue[size];
+            this.size = size;
+        }
+
+        private int indexOf(Object name, String[] names, int size) {
+            if (lookup != null) {
+                Integer i = lookup.get(name);
+                return i == null ? -1 : i;
+            }
+            for (int i = 0; i < size; i++) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private JsonValue valueAt(int i) {
+            JsonValue value = values[i];
+            if (value == null) {
+                values[i] = value = document.value(members[i]);
+            }
+            return value;
+        }
+
+        @Override
+        public JsonValue get(Object key) {
+            synchronized (document) {
+                index();
+                int i = indexOf(key, names, size);
+                return i < 0 ? null : valueAt(i);
+            }
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            synchronized (document) {
+                index();
+                return indexOf(key, names, size) >= 0;
+            }
+        }
+
+        @Override
+        public int size() {
+            synchronized (document) {
+                index();
+                return size;
+            }
+        }
+
+        @Override
+        public Set<Entry<String, JsonValue>> entrySet() {
+            return new AbstractSet<Entry<String, JsonValue>>() {
+                @Override
+                public Iterator<Entry<String, JsonValue>> iterator() {
+                    int size = size();
+                    return new Iterator<Entry<String, JsonValue>>() {
+                        private int cursor;
+
+                        @Override
+                        public boolean hasNext() {
+                            return cursor < size;
+                        }
+
+                        @Override
+                        public Entry<String, JsonValue> next() {
+                            if (cursor >= size) {
+                                throw new NoSuchElementException();
+                            }
+                            synchronized (document) {
+                                int i = cursor++;
+                                return new SimpleImmutableEntry<>(names[i], valueAt(i));
+                            }
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return LazyObject.this.size();
+                }
+            };
+        }
+
+        @Override
+        public String toString() {
+            return ObjectAccessor.format(this);
+        }
+    }
+
+    private static final class LazyArray extends AbstractList<JsonValue> implements ArrayAccessor, RandomAccess {
+
+        private final LazyDocument document;
+
+        private final int token;
+
+        private int[] elements; // token of each element
+
+        private JsonValue[] values;
+
+        LazyArray(LazyDocument document, int token) {
+            this.document = document;
+            this.token = token;
+        }
+
+        private void index() {
+            if (elements != null) {
+                return;
+            }
+            int[] elements = new int[Byte.SIZE];
+            int size = 0;
+            for (int t = token + 1; document.event(t) != JsonParser.Event.END_ARRAY; t = document.next(t)) {
+                if (size == elements.length) {
+                    elements = Arrays.copyOf(elements, size << 1);
+                }
+                elements[size++] = t;
+            }
+            this.elements = Arrays.copyOf(elements, size);
+            this.values = new JsonValue[size];
+        }
+
+        @Override
+        public JsonValue get(int index) {
+            synchronized (document) {
+                index();
+                JsonValue value = values[index];
+                if (value == null) {
+                    values[index] = value = document.value(elements[index]);
+                }
+                return value;
+            }
+        }
+
+        @Override
+        public int size() {
+            synchronized (document) {
+                index();
+                return elements.length;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return ArrayAccessor.format(this);
+        }
+    }
+
     private static class Int32Value implements JsonNumber {
 
+        private static final int CACHE_LOW = 128;
+
+        private static final int CACHE_HIGH = 1024;
+
+        private static final class Cache {
+
+            static final Int32Value[] VALUES = new Int32Value[CACHE_LOW + CACHE_HIGH];
+
+            static {
+                for (int i = 0; i < VALUES.length; i++) {
+                    VALUES[i] = new Int32Value(i - CACHE_LOW);
+                }
+            }
+        }
+
         private final int value;
 
-        Int32Value(int value) {
+        private Int32Value(int value) {
             this.value = value;
         }
 
+        /**
+         * @return 小整数共享同一实例
+         */
+        static Int32Value valueOf(int value) {
+            return value >= -CACHE_LOW && value < CACHE_HIGH ? Cache.VALUES[value + CACHE_LOW] : new Int32Value(value);
+        }
+
         @Override
         public boolean isIntegral() {
             return true;
@@ -2496,6 +6083,97 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
         }
     }
 
+    /**
+     * double不装箱为BigDecimal，需要时再转换；与等值的NumberValue相等，输出格式一致
+     */
+    private static final class DoubleValue implements JsonNumber {
+
+        private final double value;
+
+        DoubleValue(double value) {
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                throw new NumberFormatException("JSON number cannot be NaN or Infinity: " + value);
+            }
+            this.value = value;
+        }
+
+        @Override
+        public boolean isIntegral() {
+            return bigDecimalValue().scale() == 0;
+        }
+
+        /**
+         * 与{@link BigDecimal#intValue()}一致取低32位，而不是像(int)强转那样饱和；2^53以上按bigDecimalValue()计算
+         */
+        @Override
+        public int intValue() {
+            return Math.abs(value) < 0x1p53 ? (int) (long) value : bigDecimalValue().intValue();
+        }
+
+        @Override
+        public int intValueExact() {
+            return bigDecimalValue().intValueExact();
+        }
+
+        @Override
+        public long longValue() {
+            return Math.abs(value) < 0x1p53 ? (long) value : bigDecimalValue().longValue();
+        }
+
+        @Override
+        public long longValueExact() {
+            return bigDecimalValue().longValueExact();
+        }
+
+        @Override
+        public BigInteger bigIntegerValue() {
+            return bigDecimalValue().toBigInteger();
+        }
+
+        @Override
+        public BigInteger bigIntegerValueExact() {
+            return bigDecimalValue().toBigIntegerExact();
+        }
+
+        @Override
+        public double doubleValue() {
+            return value;
+        }
+
+        @Override
+        public BigDecimal bigDecimalValue() {
+            return BigDecimal.valueOf(value);
+        }
+
+        @Override
+        public ValueType getValueType() {
+            return ValueType.NUMBER;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (other instanceof DoubleValue) {
+                return value == ((DoubleValue) other).value; // 0.0 equals -0.0 as BigDecimal does
+            } else if (other instanceof NumberValue) {
+                return other.equals(this);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return bigDecimalValue().hashCode(); // consistent with NumberValue
+        }
+
+        @Override
+        public String toString() {
+            return QUOTATION_MARK + bigDecimalValue().toString() + QUOTATION_MARK;
+        }
+    }
+
     private static class NumberValue implements JsonNumber {
 
         private final BigDecimal value;
@@ -2561,6 +6239,8 @@ class JsonFactoryAdapter implements JsonGeneratorFactory, JsonParserFactory, Jso
             }
             if (other instanceof NumberValue) {
                 return value.equals(((NumberValue) other).value);
+            } else if (other instanceof DoubleValue) {
+                return value.equals(((DoubleValue) other).bigDecimalValue());
             }
             return false;
         }
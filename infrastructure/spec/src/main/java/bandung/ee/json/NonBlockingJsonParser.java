@@ -0,0 +1,41 @@
+package bandung.ee.json;
+
+import javax.json.stream.JsonParser;
+import java.nio.ByteBuffer;
+
+/**
+ * 非阻塞(推模式)json解析器：调用方在数据到达时推送UTF-8字节块，解析器从不阻塞读取。
+ * 输入在token中途耗尽时返回{@link #NOT_AVAILABLE}，解析状态回退到该token之前，推送更多数据后可继续。
+ *
+ * @author iMinusMinus
+ * @date 2026-10-18
+ */
+public interface NonBlockingJsonParser extends JsonParser {
+
+    /**
+     * 当前输入不足以产生下一个事件
+     */
+    Event NOT_AVAILABLE = null;
+
+    /**
+     * 追加输入，字节被复制到解析器内部缓冲区，chunk可立即复用
+     *
+     * @param chunk bytes from position to limit
+     */
+    void feedInput(ByteBuffer chunk);
+
+    /**
+     * 通知输入已结束，此后不可再推送
+     */
+    void endOfInput();
+
+    /**
+     * @return 下一个事件；输入不足时返回{@link #NOT_AVAILABLE}
+     */
+    Event nextAvailable();
+
+    /**
+     * @return 输入已结束且所有事件均已返回
+     */
+    boolean isFinished();
+}
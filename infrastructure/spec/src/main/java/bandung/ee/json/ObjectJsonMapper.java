@@ -11,7 +11,9 @@ import lombok.RequiredArgsConstructor;
 import lombok.Setter;
 
 import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
 import javax.json.JsonBuilderFactory;
+import javax.json.JsonException;
 import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
 import javax.json.JsonValue;
@@ -36,12 +38,19 @@ import javax.json.stream.JsonParser;
 import javax.json.stream.JsonParserFactory;
 import javax.json.stream.JsonParsingException;
 
+import java.io.BufferedWriter;
+import java.io.FilterWriter;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
@@ -58,8 +67,11 @@ import java.math.BigInteger;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.NumberFormat;
 import java.text.ParseException;
 import java.time.DateTimeException;
@@ -98,6 +110,7 @@ import java.util.Deque;
 import java.util.GregorianCalendar;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -106,6 +119,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.NavigableSet;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalDouble;
@@ -113,22 +127,40 @@ import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.PriorityQueue;
 import java.util.Queue;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.SimpleTimeZone;
 import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.Stack;
 import java.util.TimeZone;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <ul>Default Mapping
@@ -280,16 +312,28 @@ public class ObjectJsonMapper implements Jsonb {
 
     private static final int PROPERTY = 6;
 
+    private static final int PARALLEL_SLICE_BYTES = 1 << 16; // 并行反序列化时每个片段的最小字节数
+
+    private static final int PARALLEL_CHUNK_ELEMENTS = 1 << 8; // 并行序列化时每块的最少元素数
+
     private final JsonParserFactory jsonParserFactory;
 
+    private final JsonParserFactory sequenceParserFactory; // accept whitespace separated top-level values
+
+    private final JsonParserFactory arrayParserFactory; // limits apply to each element of top-level array
+
     private final JsonGeneratorFactory jsonGeneratorFactory;
 
+    private final JsonGeneratorFactory lineGeneratorFactory; // NDJSON: one value per line, never pretty printed
+
     private final JsonBuilderFactory jsonBuilderFactory;
 
     private final Charset encoding;
 
     private final JsonbConfig config;
 
+    private final JsonbSettings settings;
+
     private final Map<Class<?>, JsonbSerializer<?>> builtInSerializers = new HashMap<>();
 
     private final Map<Class<?>, JsonbDeserializer<?>> builtInDeserializers = new HashMap<>();
@@ -307,10 +351,24 @@ public class ObjectJsonMapper implements Jsonb {
         }
         this.config = config;
         this.jsonParserFactory = jsonpProvider.createParserFactory(configInUse);
+        Map<String, Object> sequenceConfig = new HashMap<>(configInUse);
+        sequenceConfig.put(JsonFactoryAdapter.VALUE_SEQUENCE_KEY, true);
+        this.sequenceParserFactory = jsonpProvider.createParserFactory(sequenceConfig);
+        Map<String, Object> arrayConfig = new HashMap<>(configInUse);
+        arrayConfig.put(JsonFactoryAdapter.ARRAY_ELEMENTS_KEY, true);
+        this.arrayParserFactory = jsonpProvider.createParserFactory(arrayConfig);
         this.jsonGeneratorFactory = jsonpProvider.createGeneratorFactory(configInUse);
+        if (formatting) {
+            Map<String, Object> lineConfig = new HashMap<>(configInUse);
+            lineConfig.remove(JsonGenerator.PRETTY_PRINTING);
+            this.lineGeneratorFactory = jsonpProvider.createGeneratorFactory(lineConfig);
+        } else {
+            this.lineGeneratorFactory = jsonGeneratorFactory;
+        }
         this.jsonBuilderFactory = jsonpProvider.createBuilderFactory(configInUse);
         Optional<Object> enc = config.getProperty(JsonbConfig.ENCODING);
         this.encoding = enc.map(o -> Charset.forName((String) o)).orElse(StandardCharsets.UTF_8);
+        this.settings = new JsonbSettings(config);
         initBuiltIn();
     }
 
@@ -458,29 +516,29 @@ public class ObjectJsonMapper implements Jsonb {
 
         builtInDeserializers.put(String.class, STR_MAPPING);
         builtInDeserializers.put(Character.class, characterMapping);
-        builtInDeserializers.put(Byte.class, new NumberDeserializer<>(Byte::parseByte));
-        builtInDeserializers.put(Short.class, new NumberDeserializer<>(Short::parseShort));
-        builtInDeserializers.put(Integer.class, new NumberDeserializer<>(Integer::parseInt));
-        builtInDeserializers.put(Long.class, new NumberDeserializer<>(Long::parseLong));
-        builtInDeserializers.put(Float.class, new NumberDeserializer<>(Float::parseFloat));
-        builtInDeserializers.put(Double.class, new NumberDeserializer<>(Double::parseDouble));
-        builtInDeserializers.put(Number.class, new NumberDeserializer<Number>(BigDecimal::new));
+        builtInDeserializers.put(Byte.class, new NumberDeserializer<>(Byte::parseByte, NumberDeserializer.P2B));
+        builtInDeserializers.put(Short.class, new NumberDeserializer<>(Short::parseShort, NumberDeserializer.P2S));
+        builtInDeserializers.put(Integer.class, new NumberDeserializer<>(Integer::parseInt, NumberDeserializer.P2I));
+        builtInDeserializers.put(Long.class, new NumberDeserializer<>(Long::parseLong, NumberDeserializer.P2J));
+        builtInDeserializers.put(Float.class, new NumberDeserializer<>(Float::parseFloat, NumberDeserializer.P2F));
+        builtInDeserializers.put(Double.class, new NumberDeserializer<>(Double::parseDouble, NumberDeserializer.P2D));
+        builtInDeserializers.put(Number.class, new NumberDeserializer<Number>(BigDecimal::new, JsonParser::getBigDecimal));
         builtInDeserializers.put(Boolean.class, booleanMapping);
-        builtInDeserializers.put(BigInteger.class, new NumberDeserializer<>(BigInteger::new));
-        builtInDeserializers.put(BigDecimal.class, new NumberDeserializer<>(BigDecimal::new));
+        builtInDeserializers.put(BigInteger.class, new NumberDeserializer<>(BigInteger::new, p -> p.getBigDecimal().toBigIntegerExact()));
+        builtInDeserializers.put(BigDecimal.class, new NumberDeserializer<>(BigDecimal::new, JsonParser::getBigDecimal));
         builtInDeserializers.put(URL.class, urlMapping);
         builtInDeserializers.put(URI.class, uriMapping);
-        builtInDeserializers.put(Byte.TYPE, new NumberDeserializer<>(Byte::parseByte, Conventions.B));
-        builtInDeserializers.put(Short.TYPE, new NumberDeserializer<>(Short::parseShort, Conventions.S));
-        builtInDeserializers.put(Integer.TYPE, new NumberDeserializer<>(Integer::parseInt, Conventions.I));
-        builtInDeserializers.put(Long.TYPE, new NumberDeserializer<>(Long::parseLong, Conventions.J));
-        builtInDeserializers.put(Float.TYPE, new NumberDeserializer<>(Float::parseFloat, Conventions.F));
-        builtInDeserializers.put(Double.TYPE, new NumberDeserializer<>(Double::parseDouble, Conventions.D));
+        builtInDeserializers.put(Byte.TYPE, new NumberDeserializer<>(Byte::parseByte, NumberDeserializer.P2B, Conventions.B));
+        builtInDeserializers.put(Short.TYPE, new NumberDeserializer<>(Short::parseShort, NumberDeserializer.P2S, Conventions.S));
+        builtInDeserializers.put(Integer.TYPE, new NumberDeserializer<>(Integer::parseInt, NumberDeserializer.P2I, Conventions.I));
+        builtInDeserializers.put(Long.TYPE, new NumberDeserializer<>(Long::parseLong, NumberDeserializer.P2J, Conventions.J));
+        builtInDeserializers.put(Float.TYPE, new NumberDeserializer<>(Float::parseFloat, NumberDeserializer.P2F, Conventions.F));
+        builtInDeserializers.put(Double.TYPE, new NumberDeserializer<>(Double::parseDouble, NumberDeserializer.P2D, Conventions.D));
         builtInDeserializers.put(Boolean.TYPE, boolMapping);
         builtInDeserializers.put(Character.TYPE, charMapping);
-        builtInDeserializers.put(OptionalInt.class, new NumberDeserializer<>(Conventions.S2I.andThen(Conventions.I2O), OptionalInt::empty));
-        builtInDeserializers.put(OptionalLong.class, new NumberDeserializer<>(Conventions.S2J.andThen(Conventions.J2O), OptionalLong::empty));
-        builtInDeserializers.put(OptionalDouble.class, new NumberDeserializer<>(Conventions.S2D.andThen(Conventions.D2O), OptionalDouble::empty));
+        builtInDeserializers.put(OptionalInt.class, new NumberDeserializer<>(Conventions.S2I.andThen(Conventions.I2O), NumberDeserializer.P2I.andThen(Conventions.I2O), OptionalInt::empty));
+        builtInDeserializers.put(OptionalLong.class, new NumberDeserializer<>(Conventions.S2J.andThen(Conventions.J2O), NumberDeserializer.P2J.andThen(Conventions.J2O), OptionalLong::empty));
+        builtInDeserializers.put(OptionalDouble.class, new NumberDeserializer<>(Conventions.S2D.andThen(Conventions.D2O), NumberDeserializer.P2D.andThen(Conventions.D2O), OptionalDouble::empty));
         builtInDeserializers.put(Date.class, dateDeserializer);
         builtInDeserializers.put(Calendar.class, calendarDeserializer);
         builtInDeserializers.put(GregorianCalendar.class, calendarDeserializer);
@@ -527,28 +585,856 @@ public class ObjectJsonMapper implements Jsonb {
     @Override
     public <T> T fromJson(Reader reader, Class<T> type) throws JsonbException {
         try (JsonParser jsonParser = jsonParserFactory.createParser(reader)) {
-            return new JsonbDeserializationContext(config, jsonBuilderFactory, builtInDeserializers).deserialize(type, jsonParser);
+            return new JsonbDeserializationContext(settings, jsonBuilderFactory, builtInDeserializers).deserialize(type, jsonParser);
         }
     }
 
     @Override
     public <T> T fromJson(Reader reader, Type runtimeType) throws JsonbException {
         try (JsonParser jsonParser = jsonParserFactory.createParser(reader)) {
-            return new JsonbDeserializationContext(config, jsonBuilderFactory, builtInDeserializers).deserialize(runtimeType, jsonParser);
+            return new JsonbDeserializationContext(settings, jsonBuilderFactory, builtInDeserializers).deserialize(runtimeType, jsonParser);
         }
     }
 
     @Override
     public <T> T fromJson(InputStream stream, Class<T> type) throws JsonbException {
         try (JsonParser jsonParser = jsonParserFactory.createParser(stream, encoding)) {
-            return new JsonbDeserializationContext(config, jsonBuilderFactory, builtInDeserializers).deserialize(type, jsonParser);
+            return new JsonbDeserializationContext(settings, jsonBuilderFactory, builtInDeserializers).deserialize(type, jsonParser);
         }
     }
 
     @Override
     public <T> T fromJson(InputStream stream, Type runtimeType) throws JsonbException {
         try (JsonParser jsonParser = jsonParserFactory.createParser(stream, encoding)) {
-            return new JsonbDeserializationContext(config, jsonBuilderFactory, builtInDeserializers).deserialize(runtimeType, jsonParser);
+            return new JsonbDeserializationContext(settings, jsonBuilderFactory, builtInDeserializers).deserialize(runtimeType, jsonParser);
+        }
+    }
+
+    /**
+     * 反序列化json文件：文件映射到内存后直接分词
+     *
+     * @param path json file
+     * @param runtimeType target type
+     * @return java object
+     * @param <T> java type
+     * @throws JsonbException conversion failed
+     */
+    public <T> T fromJson(Path path, Type runtimeType) throws JsonbException {
+        JsonParser parser;
+        if (jsonParserFactory instanceof JsonFactoryAdapter) {
+            parser = ((JsonFactoryAdapter) jsonParserFactory).createParser(path, encoding);
+        } else {
+            try {
+                parser = jsonParserFactory.createParser(Files.newInputStream(path), encoding);
+            } catch (IOException ioe) {
+                throw new JsonbException(ioe.getMessage(), ioe);
+            }
+        }
+        try (JsonParser jsonParser = parser) {
+            return new JsonbDeserializationContext(settings, jsonBuilderFactory, builtInDeserializers).deserialize(runtimeType, jsonParser);
+        }
+    }
+
+    /**
+     * 仅反序列化json pointer指向的部分：不匹配的子树直接跳过，目标值之后的文本不再解析
+     *
+     * @param stream json stream
+     * @param pointer <a href="https://www.rfc-editor.org/rfc/rfc6901">RFC 6901</a> json pointer, such as "/items/0/id"
+     * @param runtimeType target type
+     * @return java object, or null if pointer references a nonexistent value
+     * @param <T> java type
+     * @throws JsonbException conversion failed
+     */
+    public <T> T fromJson(InputStream stream, String pointer, Type runtimeType) throws JsonbException {
+        JsonFactoryAdapter.TokenPointer jsonPointer = new JsonFactoryAdapter.TokenPointer(pointer);
+        try (JsonParser jsonParser = jsonParserFactory.createParser(stream, encoding)) {
+            JsonParser.Event current = jsonPointer.seek(jsonParser);
+            if (current == null) {
+                return null;
+            }
+            return new JsonbDeserializationContext(settings, jsonBuilderFactory, builtInDeserializers).deserialize(current, runtimeType, jsonParser);
+        }
+    }
+
+    /**
+     * 部分反序列化：只为投影中的属性创建反序列化器，其余属性直接跳过，不转换为java对象
+     *
+     * @param str json string
+     * @param runtimeType target type
+     * @param projection properties to deserialize
+     * @return java object
+     * @param <T> java type
+     * @throws JsonbException conversion failed
+     * @see Projection
+     */
+    public <T> T fromJson(String str, Type runtimeType, Projection projection) throws JsonbException {
+        try (JsonParser jsonParser = jsonParserFactory.createParser(new StringReader(str))) {
+            return new JsonbDeserializationContext(settings, jsonBuilderFactory, builtInDeserializers).deserialize(runtimeType, jsonParser, projection);
+        }
+    }
+
+    /**
+     * @see #fromJson(String, Type, Projection)
+     */
+    public <T> T fromJson(InputStream stream, Type runtimeType, Projection projection) throws JsonbException {
+        try (JsonParser jsonParser = jsonParserFactory.createParser(stream, encoding)) {
+            return new JsonbDeserializationContext(settings, jsonBuilderFactory, builtInDeserializers).deserialize(runtimeType, jsonParser, projection);
+        }
+    }
+
+    /**
+     * 将已解析的json树转换为java对象，直接遍历树产生事件，不序列化为文本再解析
+     *
+     * @param value json tree
+     * @param runtimeType target type
+     * @return java object
+     * @param <T> java type
+     * @throws JsonbException conversion failed
+     */
+    public <T> T fromJsonValue(JsonValue value, Type runtimeType) throws JsonbException {
+        JsonParser jsonParser;
+        if (value instanceof JsonObject) {
+            jsonParser = jsonParserFactory.createParser((JsonObject) value);
+        } else if (value instanceof JsonArray) {
+            jsonParser = jsonParserFactory.createParser((JsonArray) value);
+        } else { // scalar: parser only accepts structure, wrap then step into it
+            jsonParser = jsonParserFactory.createParser(jsonBuilderFactory.createArrayBuilder()
+                    .add(value == null ? JsonValue.NULL : value).build());
+            jsonParser.next();
+        }
+        try (JsonParser parser = jsonParser) {
+            return new JsonbDeserializationContext(settings, jsonBuilderFactory, builtInDeserializers).deserialize(runtimeType, parser);
+        }
+    }
+
+    /**
+     * 逐行反序列化<a href="https://github.com/ndjson/ndjson-spec">NDJSON</a>：每次只解析一个值，已返回的元素不被持有。
+     * 值之间可以是任意空白，流关闭时关闭输入流。
+     *
+     * @param stream newline delimited json
+     * @param elementType type of each value
+     * @return lazy stream, should be closed after use
+     * @param <T> java type
+     */
+    public <T> Stream<T> fromJsonLines(InputStream stream, Type elementType) {
+        JsonParser parser = sequenceParserFactory.createParser(stream, encoding);
+        return toStream(new ValueIterator<>(parser, new JsonbDeserializationContext(settings, jsonBuilderFactory, builtInDeserializers), elementType, false), parser);
+    }
+
+    /**
+     * 逐个反序列化顶层数组的元素，不构建整个数组。解析限制(如maxTokenCount)作用于每个元素而非整个数组，
+     * 右方括号之后只允许空白。
+     *
+     * @param stream json array
+     * @param elementType type of array element
+     * @return lazy stream, should be closed after use
+     * @param <T> java type
+     * @throws JsonbException top-level value is not json array
+     */
+    public <T> Stream<T> fromJsonArray(InputStream stream, Type elementType) throws JsonbException {
+        JsonParser parser = arrayParserFactory.createParser(stream, encoding);
+        if (!parser.hasNext() || parser.next() != JsonParser.Event.START_ARRAY) {
+            parser.close();
+            throw new JsonbException("top-level json value is not array");
+        }
+        return toStream(new ValueIterator<>(parser, new JsonbDeserializationContext(settings, jsonBuilderFactory, builtInDeserializers), elementType, true), parser);
+    }
+
+    /**
+     * 在{@link ForkJoinPool#commonPool()}上并行反序列化顶层数组
+     *
+     * @see #fromJsonArrayInParallel(InputStream, Type, Executor)
+     */
+    public <T> List<T> fromJsonArrayInParallel(InputStream stream, Type elementType) throws JsonbException {
+        return fromJsonArrayInParallel(stream, elementType, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 并行反序列化大型顶层数组：读入全部字节后扫描元素边界，按元素切分为若干片段，
+     * 各片段在executor上用独立的反序列化上下文(不共享配置的根缓存)逐个解析元素，每个元素必须恰好是一个json值，结果保持元素顺序。
+     * 非UTF-8编码或解析器非本实现时顺序反序列化。
+     *
+     * @param stream json array
+     * @param elementType type of array element
+     * @param executor executor to run slices
+     * @return elements in document order
+     * @param <T> java type
+     * @throws JsonbException top-level json value is not array, or conversion failed
+     */
+    public <T> List<T> fromJsonArrayInParallel(InputStream stream, Type elementType, Executor executor) throws JsonbException {
+        if (!(sequenceParserFactory instanceof JsonFactoryAdapter) || !StandardCharsets.UTF_8.equals(encoding)) {
+            try (Stream<T> elements = fromJsonArray(stream, elementType)) {
+                return elements.collect(Collectors.toList());
+            }
+        }
+        byte[] bytes;
+        int length = 0;
+        try (InputStream in = stream) {
+            bytes = new byte[Math.max(PARALLEL_SLICE_BYTES, in.available())];
+            for (int n; (n = in.read(bytes, length, bytes.length - length)) >= 0; ) {
+                length += n;
+                if (length == bytes.length) {
+                    bytes = Arrays.copyOf(bytes, bytes.length << 1);
+                }
+            }
+        } catch (IOException ioe) {
+            throw new JsonbException(ioe.getMessage(), ioe);
+        }
+        byte[] input = bytes;
+        int[] bounds = splitTopLevelArray(input, length);
+        int elements = bounds.length - 1;
+        if (elements == 0) {
+            return new ArrayList<>(0);
+        }
+        int slices = (int) Math.min(elements, Math.max(1, Math.min((long) length / PARALLEL_SLICE_BYTES,
+                Runtime.getRuntime().availableProcessors() * 4L)));
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>(slices);
+        JsonFactoryAdapter adapter = (JsonFactoryAdapter) sequenceParserFactory;
+        for (int i = 0; i < slices; i++) {
+            int first = (int) ((long) elements * i / slices);
+            int last = (int) ((long) elements * (i + 1) / slices);
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                List<T> values = new ArrayList<>(last - first);
+                JsonbDeserializationContext context = new JsonbDeserializationContext(settings, jsonBuilderFactory, builtInDeserializers, false);
+                for (int element = first; element < last; element++) {
+                    int from = bounds[element] + 1;
+                    int to = bounds[element + 1];
+                    try (JsonParser parser = adapter.createParser(ByteBuffer.wrap(input, from, to - from), StandardCharsets.UTF_8)) {
+                        values.add(context.deserialize(parser.next(), elementType, parser));
+                        if (parser.hasNext()) { // such as "[1 2]"
+                            throw new JsonbException("malformed json array element between offset " + from + " and " + to);
+                        }
+                    } catch (JsonException e) {
+                        throw new JsonbException(e.getMessage(), e);
+                    }
+                }
+                return values;
+            }, executor));
+        }
+        List<T> result = new ArrayList<>(elements);
+        try {
+            for (CompletableFuture<List<T>> future : futures) {
+                result.addAll(future.join());
+            }
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(false));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new JsonbException(e.getCause().getMessage(), e.getCause());
+        }
+        return result;
+    }
+
+    /**
+     * 扫描顶层数组中深度为1的逗号，得到各元素的边界；元素只含空白(如"[1,,2]"、"[,1]"、"[1,]")时报错
+     *
+     * @return 左方括号、各逗号及右方括号的下标，元素i位于bounds[i]与bounds[i + 1]之间
+     */
+    static int[] splitTopLevelArray(byte[] bytes, int length) {
+        int i = 0;
+        if (length >= 3 && bytes[0] == (byte) 0xEF && bytes[1] == (byte) 0xBB && bytes[2] == (byte) 0xBF) { // BOM
+            i = 3;
+        }
+        while (i < length && bytes[i] <= ' ' && bytes[i] >= 0) {
+            i++;
+        }
+        if (i >= length || bytes[i] != '[') {
+            throw new JsonbException("top-level json value is not array");
+        }
+        int[] bounds = new int[Math.max(16, length >> 6)];
+        int count = 0;
+        bounds[count++] = i;
+        int depth = 1;
+        boolean inString = false;
+        boolean escape = false;
+        boolean content = false; // 当前元素已出现非空白字符
+        int close = -1;
+        for (i++; i < length; i++) {
+            byte c = bytes[i];
+            if (inString) {
+                if (escape) {
+                    escape = false;
+                } else if (c == '\\') {
+                    escape = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+                content = true;
+            } else if (c == '[' || c == '{') {
+                depth++;
+                content = true;
+            } else if ((c == ']' || c == '}') && --depth == 0) {
+                close = i;
+                break;
+            } else if (c == ',' && depth == 1) {
+                if (!content) {
+                    throw new JsonbException("empty json array element at offset " + i);
+                }
+                if (count + 1 >= bounds.length) {
+                    bounds = Arrays.copyOf(bounds, bounds.length << 1);
+                }
+                bounds[count++] = i;
+                content = false;
+            } else if (c > ' ' || c < 0) {
+                content = true;
+            }
+        }
+        if (close < 0 || bytes[close] != ']') {
+            throw new JsonbException("top-level json array is not closed");
+        }
+        for (int j = close + 1; j < length; j++) {
+            if (bytes[j] > ' ' || bytes[j] < 0) {
+                throw new JsonbException("json value appear multi times in json root");
+            }
+        }
+        if (!content) {
+            if (count == 1) { // "[]" or "[ ]"
+                return new int[] {bounds[0]};
+            }
+            throw new JsonbException("empty json array element at offset " + close);
+        }
+        bounds[count++] = close;
+        return Arrays.copyOf(bounds, count);
+    }
+
+    private static <T> Stream<T> toStream(Iterator<T> iterator, JsonParser parser) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(parser::close);
+    }
+
+    /**
+     * 逐个序列化为NDJSON，每个值一行(忽略格式化输出配置)。不关闭输出流，以便继续追加。
+     *
+     * @param values values to write
+     * @param stream output
+     * @param flushInterval flush after so many values, non-positive means only flush at end
+     * @throws JsonbException serialization failed
+     */
+    public void toJsonLines(Stream<?> values, OutputStream stream, int flushInterval) throws JsonbException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(Objects.requireNonNull(stream), encoding));
+        Writer shield = new NonClosingWriter(writer);
+        JsonbSerializationContext context = new JsonbSerializationContext(settings, builtInSerializers);
+        try {
+            int count = 0;
+            for (Iterator<?> it = values.iterator(); it.hasNext(); ) {
+                Object value = it.next();
+                try (JsonGenerator jsonGenerator = lineGeneratorFactory.createGenerator(shield)) {
+                    if (value == null) {
+                        jsonGenerator.writeNull();
+                    } else {
+                        context.serialize(value, jsonGenerator);
+                    }
+                }
+                writer.write('\n');
+                if (flushInterval > 0 && ++count % flushInterval == 0) {
+                    writer.flush();
+                }
+            }
+            writer.flush();
+        } catch (IOException ioe) {
+            throw new JsonbException(ioe.getMessage(), ioe);
+        }
+    }
+
+    /**
+     * 逐个序列化为顶层json数组的元素。不关闭输出流。
+     *
+     * @param values values to write
+     * @param stream output
+     * @param flushInterval flush after so many values, non-positive means only flush at end
+     * @throws JsonbException serialization failed
+     */
+    public void toJsonArray(Stream<?> values, OutputStream stream, int flushInterval) throws JsonbException {
+        Writer shield = new NonClosingWriter(new BufferedWriter(new OutputStreamWriter(Objects.requireNonNull(stream), encoding)));
+        JsonbSerializationContext context = new JsonbSerializationContext(settings, builtInSerializers);
+        try (JsonGenerator jsonGenerator = jsonGeneratorFactory.createGenerator(shield)) {
+            jsonGenerator.writeStartArray();
+            int count = 0;
+            for (Iterator<?> it = values.iterator(); it.hasNext(); ) {
+                Object value = it.next();
+                if (value == null) {
+                    jsonGenerator.writeNull();
+                } else {
+                    context.serialize(value, jsonGenerator);
+                }
+                if (flushInterval > 0 && ++count % flushInterval == 0) {
+                    jsonGenerator.flush();
+                }
+            }
+            jsonGenerator.writeEnd();
+        }
+    }
+
+    /**
+     * 在{@link ForkJoinPool#commonPool()}上分块并行序列化
+     *
+     * @see #toJsonInParallel(Object, OutputStream, Executor)
+     */
+    public void toJsonInParallel(Object object, OutputStream stream) throws JsonbException {
+        toJsonInParallel(object, stream, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 分块并行序列化大型集合或对象数组：各块在executor上用独立的序列化上下文写入各自借自回收池的字节缓冲区，
+     * 再按顺序去掉各块的方括号、以逗号拼接写入输出流，null值、属性顺序及格式化均与顺序序列化一致。
+     * 元素较少、非UTF-8编码或生成器非本实现时顺序序列化。不关闭输出流。
+     *
+     * @param object collection or object array
+     * @param stream output
+     * @param executor executor to run chunks
+     * @throws JsonbException serialization failed
+     */
+    public void toJsonInParallel(Object object, OutputStream stream, Executor executor) throws JsonbException {
+        Objects.requireNonNull(stream);
+        List<?> elements = null;
+        if (object instanceof List && object instanceof java.util.RandomAccess) {
+            elements = (List<?>) object;
+        } else if (object instanceof Collection) {
+            elements = new ArrayList<>((Collection<?>) object);
+        } else if (object instanceof Object[]) {
+            elements = Arrays.asList((Object[]) object);
+        }
+        int size = elements == null ? 0 : elements.size();
+        int chunks = (int) Math.min(size / PARALLEL_CHUNK_ELEMENTS, Runtime.getRuntime().availableProcessors() * 4L);
+        if (chunks < 2 || !(jsonGeneratorFactory instanceof JsonFactoryAdapter) || !StandardCharsets.UTF_8.equals(encoding)) {
+            Writer shield = new NonClosingWriter(new BufferedWriter(new OutputStreamWriter(stream, encoding)));
+            try (JsonGenerator jsonGenerator = jsonGeneratorFactory.createGenerator(shield)) {
+                new JsonbSerializationContext(settings, builtInSerializers).serialize(object, jsonGenerator);
+            }
+            return;
+        }
+        JsonFactoryAdapter adapter = (JsonFactoryAdapter) jsonGeneratorFactory;
+        List<CompletableFuture<ChunkOutputStream>> futures = new ArrayList<>(chunks);
+        for (int i = 0; i < chunks; i++) {
+            List<?> chunk = elements.subList((int) ((long) size * i / chunks), (int) ((long) size * (i + 1) / chunks));
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                ChunkOutputStream buffer = new ChunkOutputStream(adapter.getBufferRecycler());
+                try (JsonGenerator jsonGenerator = adapter.createGenerator(buffer)) {
+                    new JsonbSerializationContext(settings, builtInSerializers, null, true, false).serialize(chunk, jsonGenerator);
+                }
+                return buffer;
+            }, executor));
+        }
+        try {
+            stream.write('[');
+            for (int i = 0; i < chunks; i++) {
+                ChunkOutputStream chunk = futures.get(i).join();
+                try {
+                    chunk.writeElementsTo(stream, i == chunks - 1);
+                } finally {
+                    chunk.release();
+                }
+                if (i < chunks - 1) {
+                    stream.write(',');
+                }
+            }
+            stream.flush();
+        } catch (IOException ioe) {
+            futures.forEach(future -> future.cancel(false));
+            throw new JsonbException(ioe.getMessage(), ioe);
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(false));
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new JsonbException(e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    /**
+     * 并行序列化时每块的输出：字节缓冲区借自回收池，容量不足时换用更大的缓冲区，{@link #release()}后归还
+     */
+    private static final class ChunkOutputStream extends OutputStream {
+
+        private final JsonFactoryAdapter.BufferRecycler recycler;
+
+        private byte[] buffer;
+
+        private int count;
+
+        ChunkOutputStream(JsonFactoryAdapter.BufferRecycler recycler) {
+            this.recycler = recycler;
+            this.buffer = recycler.allocBytes(PARALLEL_SLICE_BYTES);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (count + extra > buffer.length) {
+                byte[] target = recycler.allocBytes(Math.max(count + extra, buffer.length << 1));
+                System.arraycopy(buffer, 0, target, 0, count);
+                recycler.releaseBytes(buffer);
+                buffer = target;
+            }
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(1);
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(len);
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+        }
+
+        /**
+         * 写出数组内的元素：去掉左方括号，非末块还去掉右方括号及其前的格式化空白
+         */
+        void writeElementsTo(OutputStream out, boolean last) throws IOException {
+            int end = count;
+            if (!last) {
+                end--; // ']'
+                while (end > 1 && buffer[end - 1] <= ' ') {
+                    end--;
+                }
+            }
+            out.write(buffer, 1, end - 1);
+        }
+
+        void release() {
+            recycler.releaseBytes(buffer);
+            buffer = null;
+        }
+    }
+
+    /**
+     * 可恢复的反序列化：数据到达时推送，不阻塞线程，适用于NIO事件循环
+     *
+     * @param runtimeType target type
+     * @return deserialization fed by caller
+     * @param <T> java type
+     */
+    public <T> ResumableDeserialization<T> fromJsonIncrementally(Type runtimeType) {
+        if (!(jsonParserFactory instanceof JsonFactoryAdapter)) {
+            throw new JsonbException("non-blocking parsing is not supported by " + jsonParserFactory.getClass().getName());
+        }
+        return new ResumableDeserialization<>(this, ((JsonFactoryAdapter) jsonParserFactory).createNonBlockingParser(), runtimeType);
+    }
+
+    /**
+     * 部分反序列化的投影：只为列出的属性创建反序列化器，其余属性按未知属性直接skipObject/skipArray，
+     * 其中的嵌套对象、日期、集合都不会被转换为java对象。
+     * 集合、数组、Optional及Map的值透明传递投影，如"/items/id"表示每个item只保留id；构造参数总是被反序列化。
+     * 投影按结构判等，ObjectJsonMapper按投影和类型缓存反序列化器(条目数上限见{@link BindingProvider#JSONB_PROJECTION_CACHE_SIZE})，宜作为常量复用。
+     */
+    public static final class Projection {
+
+        private static final Projection ALL = new Projection(null, false);
+
+        private final Map<String, Projection> children; // null表示整个子树
+
+        private final boolean javaNames; // true: 按java属性名(视图类)匹配，false: 按json属性名匹配
+
+        private Projection(Map<String, Projection> children, boolean javaNames) {
+            this.children = children;
+            this.javaNames = javaNames;
+        }
+
+        /**
+         * @param pointers json pointer形式的属性路径，如"/id"、"/customer/name"，路径中不含数组下标；空字符串表示整个文档
+         * @return projection by json property names
+         */
+        public static Projection of(String... pointers) {
+            Map<String, Object> tree = new HashMap<>();
+            for (String pointer : pointers) {
+                String[] tokens = new JsonFactoryAdapter.TokenPointer(pointer).tokens();
+                if (tokens.length == 0) {
+                    return ALL;
+                }
+                Map<String, Object> node = tree;
+                for (int i = 0; i < tokens.length; i++) {
+                    Object child = node.get(tokens[i]);
+                    if (child == ALL) {
+                        break;
+                    } else if (i == tokens.length - 1) {
+                        node.put(tokens[i], ALL); // 父路径覆盖子路径
+                    } else {
+                        if (child == null) {
+                            child = new HashMap<String, Object>();
+                            node.put(tokens[i], child);
+                        }
+                        node = (Map<String, Object>) child;
+                    }
+                }
+            }
+            return freeze(tree);
+        }
+
+        private static Projection freeze(Map<String, Object> tree) {
+            Map<String, Projection> children = new HashMap<>(tree.size());
+            for (Map.Entry<String, Object> entry : tree.entrySet()) {
+                children.put(entry.getKey(), entry.getValue() == ALL ? ALL : freeze((Map<String, Object>) entry.getValue()));
+            }
+            return new Projection(Collections.unmodifiableMap(children), false);
+        }
+
+        /**
+         * @param view 视图类，其java属性(含父类)即需要反序列化的属性，属性类型为自定义类型时递归投影
+         * @return projection by java property names
+         */
+        public static Projection of(Class<?> view) {
+            return view(view, new HashSet<>());
+        }
+
+        private static Projection view(Class<?> view, Set<Class<?>> visiting) {
+            if (!visiting.add(view)) {
+                return ALL; // 递归引用的视图不再限制
+            }
+            Map<String, Projection> children = new HashMap<>();
+            for (Class<?> current = view; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (JavaProperty<?, ?> property : JavaBean.introspect(current).getProperties()) {
+                    Type type = property.getProperty() != null ? property.getProperty().getGenericType() :
+                            property.getGetter() != null ? property.getGetter().getGenericReturnType() :
+                                    property.getSetter().getGenericParameterTypes()[0];
+                    Class<?> element = elementClass(type);
+                    children.putIfAbsent(property.getName(), element == null ? ALL : view(element, visiting));
+                }
+            }
+            visiting.remove(view);
+            return new Projection(Collections.unmodifiableMap(children), true);
+        }
+
+        /**
+         * @return 需继续投影的自定义类型，JDK类型、枚举、原生类型等返回null
+         */
+        private static Class<?> elementClass(Type type) {
+            if (type instanceof GenericArrayType) {
+                return elementClass(((GenericArrayType) type).getGenericComponentType());
+            } else if (type instanceof ParameterizedType) {
+                ParameterizedType parameterizedType = (ParameterizedType) type;
+                Class<?> raw = (Class<?>) parameterizedType.getRawType();
+                if (Map.class.isAssignableFrom(raw)) {
+                    return elementClass(parameterizedType.getActualTypeArguments()[1]);
+                } else if (Collection.class.isAssignableFrom(raw) || Optional.class.equals(raw)) {
+                    return elementClass(parameterizedType.getActualTypeArguments()[0]);
+                }
+                return elementClass(raw);
+            } else if (!(type instanceof Class)) { // TypeVariable, WildcardType
+                return null;
+            }
+            Class<?> klazz = (Class<?>) type;
+            if (klazz.isArray()) {
+                return elementClass(klazz.getComponentType());
+            }
+            return klazz.isPrimitive() || klazz.isEnum() || klazz.getName().startsWith("java.") || klazz.getName().startsWith("javax.") ?
+                    null :
+                    klazz;
+        }
+
+        /**
+         * @param jsonName json属性名
+         * @param javaName java属性名
+         * @return 属性对应的投影，不在投影中时返回null
+         */
+        Projection child(String jsonName, String javaName) {
+            return children == null ? ALL : children.get(javaNames ? javaName : jsonName);
+        }
+
+        boolean isAll() {
+            return children == null;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Projection)) {
+                return false;
+            }
+            Projection that = (Projection) o;
+            return javaNames == that.javaNames && Objects.equals(children, that.children);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(children, javaNames);
+        }
+
+        @Override
+        public String toString() {
+            return children == null ? "*" : (javaNames ? "view" : "pointer") + children;
+        }
+    }
+
+    /**
+     * 推送输入的反序列化过程：每次推送后尽可能多地消费已到达的事件并增量构建json树，
+     * 顶层值完整后直接遍历该树转换为java对象，不回退到文本。
+     *
+     * @param <T> java type
+     */
+    public static final class ResumableDeserialization<T> {
+
+        private final ObjectJsonMapper mapper;
+
+        private final NonBlockingJsonParser parser;
+
+        private final Type type;
+
+        private final Deque<Object> builders = new ArrayDeque<>(); // JsonObjectBuilder or JsonArrayBuilder
+
+        private final Deque<String> keys = new ArrayDeque<>();
+
+        private boolean done;
+
+        private T result;
+
+        ResumableDeserialization(ObjectJsonMapper mapper, NonBlockingJsonParser parser, Type type) {
+            this.mapper = mapper;
+            this.parser = parser;
+            this.type = type;
+        }
+
+        /**
+         * @param chunk bytes arrived, copied before return
+         * @return 顶层值已完整并完成转换
+         */
+        public boolean feed(ByteBuffer chunk) {
+            if (!done) {
+                parser.feedInput(chunk);
+                drain();
+            }
+            return done;
+        }
+
+        /**
+         * @return 顶层值已完整并完成转换
+         * @throws JsonbException 输入结束时json不完整
+         */
+        public boolean endOfInput() {
+            if (!done) {
+                parser.endOfInput();
+                drain();
+                if (!done) {
+                    throw new JsonbException("json incomplete");
+                }
+            }
+            return true;
+        }
+
+        public boolean isDone() {
+            return done;
+        }
+
+        public T getResult() {
+            if (!done) {
+                throw new IllegalStateException("json incomplete, feed more input");
+            }
+            return result;
+        }
+
+        private void drain() {
+            JsonParser.Event event;
+            while (!done && (event = parser.nextAvailable()) != NonBlockingJsonParser.NOT_AVAILABLE) {
+                switch (event) {
+                    case START_OBJECT:
+                        builders.push(mapper.jsonBuilderFactory.createObjectBuilder());
+                        break;
+                    case START_ARRAY:
+                        builders.push(mapper.jsonBuilderFactory.createArrayBuilder());
+                        break;
+                    case KEY_NAME:
+                        keys.push(parser.getString());
+                        break;
+                    case END_OBJECT:
+                        complete(((JsonObjectBuilder) builders.pop()).build());
+                        break;
+                    case END_ARRAY:
+                        complete(((JsonArrayBuilder) builders.pop()).build());
+                        break;
+                    default:
+                        complete(parser.getValue());
+                }
+            }
+        }
+
+        private void complete(JsonValue value) {
+            Object parent = builders.peek();
+            if (parent instanceof JsonObjectBuilder) {
+                ((JsonObjectBuilder) parent).add(keys.pop(), value);
+            } else if (parent instanceof JsonArrayBuilder) {
+                ((JsonArrayBuilder) parent).add(value);
+            } else {
+                result = mapper.fromJsonValue(value, type);
+                done = true;
+                parser.close();
+            }
+        }
+    }
+
+    /**
+     * 生成器关闭时只刷新，不关闭底层输出
+     */
+    private static class NonClosingWriter extends FilterWriter {
+
+        NonClosingWriter(Writer out) {
+            super(out);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+
+    /**
+     * 每次hasNext只前进一个事件，next时从该事件开始反序列化一个完整的值
+     */
+    private static class ValueIterator<T> implements Iterator<T> {
+
+        private final JsonParser parser;
+
+        private final JsonbDeserializationContext context;
+
+        private final Type type;
+
+        private final boolean inArray;
+
+        private JsonParser.Event pending;
+
+        private boolean done;
+
+        ValueIterator(JsonParser parser, JsonbDeserializationContext context, Type type, boolean inArray) {
+            this.parser = parser;
+            this.context = context;
+            this.type = type;
+            this.inArray = inArray;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (pending != null) {
+                return true;
+            }
+            if (done || !inArray && !parser.hasNext()) {
+                done = true;
+                return false;
+            }
+            JsonParser.Event event = parser.next();
+            if (inArray && event == JsonParser.Event.END_ARRAY) {
+                done = true;
+                if (parser.hasNext()) { // "[1] 2"
+                    throw new JsonbException("json value appear multi times in json root");
+                }
+                return false;
+            }
+            pending = event;
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            JsonParser.Event current = pending;
+            pending = null;
+            return context.deserialize(current, type, parser);
         }
     }
 
@@ -570,7 +1456,7 @@ public class ObjectJsonMapper implements Jsonb {
     public void toJson(Object object, Writer writer) throws JsonbException {
         Objects.requireNonNull(writer);
         try (JsonGenerator jsonGenerator = jsonGeneratorFactory.createGenerator(writer)) { // close writer not required
-            new JsonbSerializationContext(config, builtInSerializers).serialize(object, jsonGenerator);
+            new JsonbSerializationContext(settings, builtInSerializers).serialize(object, jsonGenerator);
         }
     }
 
@@ -578,7 +1464,7 @@ public class ObjectJsonMapper implements Jsonb {
     public void toJson(Object object, Type runtimeType, Writer writer) throws JsonbException {
         Objects.requireNonNull(writer);
         try (JsonGenerator jsonGenerator = jsonGeneratorFactory.createGenerator(writer)) { // close writer not required
-            new JsonbSerializationContext(config, builtInSerializers, runtimeType).serialize(object, jsonGenerator);
+            new JsonbSerializationContext(settings, builtInSerializers, runtimeType).serialize(object, jsonGenerator);
         }
     }
 
@@ -586,7 +1472,7 @@ public class ObjectJsonMapper implements Jsonb {
     public void toJson(Object object, OutputStream stream) throws JsonbException {
         Objects.requireNonNull(stream);
         try (JsonGenerator jsonGenerator = jsonGeneratorFactory.createGenerator(stream, encoding)) {
-            new JsonbSerializationContext(config, builtInSerializers).serialize(object, jsonGenerator);
+            new JsonbSerializationContext(settings, builtInSerializers).serialize(object, jsonGenerator);
         }
     }
 
@@ -594,16 +1480,37 @@ public class ObjectJsonMapper implements Jsonb {
     public void toJson(Object object, Type runtimeType, OutputStream stream) throws JsonbException {
         Objects.requireNonNull(stream);
         try (JsonGenerator jsonGenerator = jsonGeneratorFactory.createGenerator(stream, encoding)) {
-            new JsonbSerializationContext(config, builtInSerializers, runtimeType).serialize(object, jsonGenerator);
+            new JsonbSerializationContext(settings, builtInSerializers, runtimeType).serialize(object, jsonGenerator);
         }
     }
 
+    /**
+     * @return 实例级序列化器缓存的命中、未命中次数及条目数
+     */
+    public CacheStatistics getSerializerCacheStatistics() {
+        return settings.serializerCache.snapshot();
+    }
+
+    /**
+     * @return 实例级反序列化器缓存的命中、未命中次数及条目数
+     */
+    public CacheStatistics getDeserializerCacheStatistics() {
+        return settings.deserializerCache.snapshot();
+    }
+
+    /**
+     * @return 按投影缓存的反序列化器的命中、未命中次数及条目数
+     */
+    public CacheStatistics getProjectionCacheStatistics() {
+        return settings.projectionCache.snapshot();
+    }
+
     @Override
     public void close() throws Exception {
         //  rewrite bytecode
     }
 
-    private static class PrefetchEventJsonParser implements JsonParser {
+    private static class PrefetchEventJsonParser implements JsonParser, JsonFactoryAdapter.NumberAccessor, JsonFactoryAdapter.KeyAccessor {
 
         private final JsonParser delegate;
 
@@ -646,6 +1553,29 @@ public class ObjectJsonMapper implements Jsonb {
         @Override
         public BigDecimal getBigDecimal() { return delegate.getBigDecimal(); }
 
+        @Override
+        public boolean isDefinitelyInt() {
+            return delegate instanceof JsonFactoryAdapter.NumberAccessor && ((JsonFactoryAdapter.NumberAccessor) delegate).isDefinitelyInt();
+        }
+
+        @Override
+        public boolean isDefinitelyLong() {
+            return delegate instanceof JsonFactoryAdapter.NumberAccessor && ((JsonFactoryAdapter.NumberAccessor) delegate).isDefinitelyLong();
+        }
+
+        @Override
+        public double getDouble() { return NumberDeserializer.doubleValue(delegate); }
+
+        @Override
+        public float getFloat() { return NumberDeserializer.floatValue(delegate); }
+
+        @Override
+        public int matchKey(JsonFactoryAdapter.PropertyNameMatcher matcher) {
+            return delegate instanceof JsonFactoryAdapter.KeyAccessor ?
+                    ((JsonFactoryAdapter.KeyAccessor) delegate).matchKey(matcher) :
+                    matcher.match(delegate.getString());
+        }
+
         @Override
         public JsonLocation getLocation() { return delegate.getLocation(); }
 
@@ -668,29 +1598,344 @@ public class ObjectJsonMapper implements Jsonb {
             return delegate.getObject();
         }
 
-        @Override
-        public JsonValue getValue() { return delegate.getValue(); }
+        @Override
+        public JsonValue getValue() { return delegate.getValue(); }
+
+        @Override
+        public JsonArray getArray() { return delegate.getArray(); }
+
+        @Override
+        public Stream<JsonValue> getArrayStream() { return delegate.getArrayStream(); }
+
+        @Override
+        public Stream<Map.Entry<String, JsonValue>> getObjectStream() { return delegate.getObjectStream(); }
+
+        @Override
+        public Stream<JsonValue> getValueStream() { return delegate.getValueStream(); }
+
+        @Override
+        public void skipArray() { delegate.skipArray(); }
+
+        @Override
+        public void skipObject() { delegate.skipObject(); }
+
+        @Override
+        public void close() { delegate.close(); }
+    }
+
+    /**
+     * 创建ObjectJsonMapper时一次性解析的JsonbConfig，此后不可变；连同实例级的序列化器/反序列化器缓存由该实例的所有上下文共享
+     */
+    static final class JsonbSettings {
+
+        final JsonbConfig config;
+
+        final AnnotationIntrospector annotationIntrospector;
+
+        final boolean strictInternetJson;
+
+        final PropertyNamingStrategy customNamingStrategy;
+
+        final boolean caseInsensitive;
+
+        final PropertyVisibilityStrategy customVisibilityStrategy;
+
+        final Map<Type, Pair<JsonbAdapter<?, ?>, Type>> adapters;
+
+        final String customBinaryDataStrategy;
+
+        final String dateFormat;
+
+        final Locale locale;
+
+        final boolean writeNull;
+
+        final Charset encoding;
+
+        final String customOrderStrategy;
+
+        final Map<Type, JsonbSerializer<?>> serializers; // global serializers
+
+        final Map<Type, JsonbDeserializer> deserializers; // global deserializers
+
+        final Map<Type, JsonbSerializer> rootSerializerCache; // BindingProvider.JSONB_SERIALIZER_CACHE
+
+        final Map<Type, JsonbDeserializer> rootDeserializerCache; // BindingProvider.JSONB_DESERIALIZER_CACHE
+
+        final Map<Class<?>, GeneratedBinding<?>> generatedBindings; // 编译期生成，配置不影响其输出时优先于反射
+
+        final BindingCache<JsonbSerializer<?>> serializerCache = new BindingCache<>();
+
+        final BindingCache<JsonbDeserializer<?>> deserializerCache = new BindingCache<>();
+
+        final BindingCache<JsonbDeserializer<?>> projectionCache; // 投影由调用方构造，数量不可控，条目数有上限
+
+        JsonbSettings(JsonbConfig jsonbConfig) {
+            this.config = jsonbConfig;
+            this.annotationIntrospector = (AnnotationIntrospector) jsonbConfig.getProperty(BindingProvider.JSONB_ANNOTATION_INTROSPECTOR)
+                    .orElse(new AnnotationIntrospector());
+            this.strictInternetJson = (boolean) jsonbConfig.getProperty(JsonbConfig.STRICT_IJSON).orElse(false);
+            Optional<Object> customNamingStrategy = jsonbConfig.getProperty(JsonbConfig.PROPERTY_NAMING_STRATEGY);
+            if (customNamingStrategy.isPresent()) {
+                this.caseInsensitive = PropertyNamingStrategy.CASE_INSENSITIVE.equals(customNamingStrategy.get());
+                Object configuredNamingStrategy = customNamingStrategy.get();
+                if (PropertyNamingStrategy.IDENTITY.equals(configuredNamingStrategy)) {
+                    this.customNamingStrategy = null;
+                } else if (configuredNamingStrategy instanceof PropertyNamingStrategy) {
+                    this.customNamingStrategy = (PropertyNamingStrategy) configuredNamingStrategy;
+                } else {
+                    this.customNamingStrategy = PropertyNamingStrategyFactory.getObject(configuredNamingStrategy);
+                }
+            } else {
+                this.caseInsensitive = false;
+                this.customNamingStrategy = null;
+            }
+            this.customVisibilityStrategy = (PropertyVisibilityStrategy) jsonbConfig.getProperty(JsonbConfig.PROPERTY_VISIBILITY_STRATEGY)
+                    .orElse(null);
+            JsonbAdapter<?, ?>[] adapters = (JsonbAdapter[]) jsonbConfig.getProperty(JsonbConfig.ADAPTERS).orElse(null);
+            if (adapters != null && adapters.length > 0) {
+                Map<Type, Pair<JsonbAdapter<?, ?>, Type>> globalAdapters = new HashMap<>(adapters.length);
+                for (JsonbAdapter<?, ?> adapter : adapters) {
+                    Type[] ss = Reflections.findActualTypes(adapter.getClass(), JsonbAdapter.class);
+                    assert ss.length == 2;
+                    globalAdapters.put(ss[0], new Pair<>(adapter, ss[1]));
+                }
+                this.adapters = Collections.unmodifiableMap(globalAdapters);
+            } else {
+                this.adapters = Collections.emptyMap();
+            }
+            this.customBinaryDataStrategy = strictInternetJson ?
+                    BinaryDataStrategy.BASE_64_URL :
+                    (String) jsonbConfig.getProperty(JsonbConfig.BINARY_DATA_STRATEGY).orElse(null);
+            String dateFormat = (String) jsonbConfig.getProperty(JsonbConfig.DATE_FORMAT).orElse(null);
+            if (strictInternetJson && dateFormat != null) {
+                log.log(Level.WARNING, "DO NOT configure 'jsonb.strict-ijson' and 'jsonb.date-format' at same time");
+                this.dateFormat = null;
+            } else {
+                this.dateFormat = dateFormat;
+            }
+            this.locale = (Locale) jsonbConfig.getProperty(JsonbConfig.LOCALE).orElse(Locale.getDefault());
+            this.writeNull = (boolean) jsonbConfig.getProperty(JsonbConfig.NULL_VALUES).orElse(false);
+            this.encoding = jsonbConfig.getProperty(JsonbConfig.ENCODING).map(t -> Charset.forName((String) t))
+                    .orElse(StandardCharsets.UTF_8);
+            this.customOrderStrategy = (String) jsonbConfig.getProperty(JsonbConfig.PROPERTY_ORDER_STRATEGY)
+                    .orElse(PropertyOrderStrategy.LEXICOGRAPHICAL); // java类先序列化父类，同一个类的属性之间默认按字母排序
+            JsonbSerializer<?>[] serializers = (JsonbSerializer<?>[]) jsonbConfig.getProperty(JsonbConfig.SERIALIZERS)
+                    .orElse(null);
+            Map<Type, JsonbSerializer<?>> globalSerializers = new HashMap<>(serializers != null ? serializers.length + 1 : 1);
+            if (serializers != null) {
+                for (JsonbSerializer<?> serializer : serializers) {
+                    Type[] types = Reflections.findActualTypes(serializer.getClass(), JsonbSerializer.class);
+                    globalSerializers.put(types[0], serializer);
+                }
+            }
+            globalSerializers.put(JsonValue.class, new JsonValueSerializer());
+            this.serializers = Collections.unmodifiableMap(globalSerializers);
+            JsonbDeserializer[] deserializers = (JsonbDeserializer[]) jsonbConfig.getProperty(JsonbConfig.DESERIALIZERS)
+                    .orElse(null);
+            Map<Type, JsonbDeserializer> globalDeserializers = new HashMap<>(deserializers != null ? deserializers.length + 1 : 1);
+            if (deserializers != null) {
+                for (JsonbDeserializer dser : deserializers) {
+                    Type[] handles = Reflections.findActualTypes(dser.getClass(), JsonbDeserializer.class);
+                    globalDeserializers.put(handles[0], dser);
+                }
+            }
+            globalDeserializers.put(JsonValue.class, new JsonValueDeserializer());
+            this.deserializers = Collections.unmodifiableMap(globalDeserializers);
+            this.rootSerializerCache = (Map<Type, JsonbSerializer>) jsonbConfig.getProperty(BindingProvider.JSONB_SERIALIZER_CACHE)
+                    .orElse(null);
+            this.rootDeserializerCache = (Map<Type, JsonbDeserializer>) jsonbConfig.getProperty(BindingProvider.JSONB_DESERIALIZER_CACHE)
+                    .orElse(null);
+            this.generatedBindings = loadGeneratedBindings(jsonbConfig);
+            this.projectionCache = new BindingCache<>((int) jsonbConfig.getProperty(BindingProvider.JSONB_PROJECTION_CACHE_SIZE)
+                    .orElse(BindingCache.DEFAULT_PROJECTION_CACHE_SIZE));
+        }
+
+        /**
+         * 生成代码只实现默认映射规则：自定义命名、可见性、排序策略，I-JSON，全局序列化器/反序列化器/适配器，
+         * 自定义注解解析都会改变映射结果，此时不使用生成的绑定
+         */
+        private Map<Class<?>, GeneratedBinding<?>> loadGeneratedBindings(JsonbConfig jsonbConfig) {
+            boolean enabled = (boolean) jsonbConfig.getProperty(BindingProvider.JSONB_GENERATED_BINDINGS).orElse(true);
+            boolean defaultMapping = customNamingStrategy == null && !caseInsensitive && customVisibilityStrategy == null &&
+                    PropertyOrderStrategy.LEXICOGRAPHICAL.equals(customOrderStrategy) && !strictInternetJson &&
+                    adapters.isEmpty() && serializers.size() == 1 && deserializers.size() == 1 &&
+                    annotationIntrospector.getClass() == AnnotationIntrospector.class;
+            if (!enabled || !defaultMapping) {
+                return Collections.emptyMap();
+            }
+            ClassLoader classLoader = Optional.ofNullable(Thread.currentThread().getContextClassLoader())
+                    .orElse(ObjectJsonMapper.class.getClassLoader());
+            Map<Class<?>, GeneratedBinding<?>> bindings = new HashMap<>();
+            Iterator<GeneratedBinding> iterator = ServiceLoader.load(GeneratedBinding.class, classLoader).iterator();
+            while (true) {
+                try {
+                    if (!iterator.hasNext()) {
+                        break;
+                    }
+                    GeneratedBinding<?> binding = iterator.next();
+                    bindings.put(binding.type(), binding);
+                } catch (ServiceConfigurationError sce) {
+                    log.log(Level.WARNING, "skip generated binding: " + sce.getMessage(), sce);
+                }
+            }
+            return bindings.isEmpty() ? Collections.emptyMap() : Collections.unmodifiableMap(bindings);
+        }
+    }
+
+    /**
+     * 按类型及格式变体(是否输出null、数字格式、日期格式、区域)缓存已构建完成的序列化器/反序列化器，可并发访问。
+     * 含类型变量、通配符的类型依赖构建时的上下文，不缓存。
+     *
+     * @param <V> JsonbSerializer or JsonbDeserializer
+     */
+    static final class BindingCache<V> {
+
+        static final int DEFAULT_PROJECTION_CACHE_SIZE = 256;
+
+        private final ConcurrentMap<Key, V> cache = new ConcurrentHashMap<>();
+
+        private final int maximumSize;
+
+        private final LongAdder hits = new LongAdder();
+
+        private final LongAdder misses = new LongAdder();
+
+        BindingCache() {
+            this(Integer.MAX_VALUE);
+        }
+
+        BindingCache(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        V get(Key key) {
+            V value = cache.get(key);
+            if (value != null) {
+                hits.increment();
+            } else {
+                misses.increment();
+            }
+            return value;
+        }
+
+        /**
+         * 同一构建过程中产生的全部结果一起发布，避免其他线程看到引用了未完成java bean序列化器的条目。
+         * 达到条目数上限后不再缓存新条目(并发时可能略超出)，已缓存的条目不淘汰
+         */
+        void publish(Map<Key, ? extends V> built) {
+            for (Map.Entry<Key, ? extends V> entry : built.entrySet()) {
+                if (cache.size() >= maximumSize) {
+                    return;
+                }
+                cache.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+
+        long getHitCount() {
+            return hits.sum();
+        }
+
+        long getMissCount() {
+            return misses.sum();
+        }
+
+        int size() {
+            return cache.size();
+        }
+
+        CacheStatistics snapshot() {
+            return new CacheStatistics(getHitCount(), getMissCount(), size());
+        }
+
+        /**
+         * @return 类型中不含类型变量、通配符，构建结果与上下文无关
+         */
+        static boolean isCacheable(Type type) {
+            if (type instanceof Class) {
+                return true;
+            } else if (type instanceof ParameterizedType) {
+                ParameterizedType pt = (ParameterizedType) type;
+                if (pt.getOwnerType() != null && !isCacheable(pt.getOwnerType())) {
+                    return false;
+                }
+                for (Type arg : pt.getActualTypeArguments()) {
+                    if (!isCacheable(arg)) {
+                        return false;
+                    }
+                }
+                return true;
+            } else if (type instanceof GenericArrayType) {
+                return isCacheable(((GenericArrayType) type).getGenericComponentType());
+            }
+            return false;
+        }
+
+        static final class Key {
+
+            private final Type type;
+
+            private final boolean writeNull;
+
+            private final NumberFormat numberFormat;
+
+            private final String dateFormat;
+
+            private final Object locale;
+
+            private final Projection projection; // null: 未受投影限制
+
+            Key(Type type, boolean writeNull, NumberFormat numberFormat, String dateFormat, Object locale) {
+                this(type, writeNull, numberFormat, dateFormat, locale, null);
+            }
+
+            Key(Type type, boolean writeNull, NumberFormat numberFormat, String dateFormat, Object locale, Projection projection) {
+                this.type = type;
+                this.writeNull = writeNull;
+                this.numberFormat = numberFormat;
+                this.dateFormat = dateFormat;
+                this.locale = locale;
+                this.projection = projection;
+            }
 
-        @Override
-        public JsonArray getArray() { return delegate.getArray(); }
+            @Override
+            public boolean equals(Object o) {
+                if (this == o) {
+                    return true;
+                }
+                if (!(o instanceof Key)) {
+                    return false;
+                }
+                Key that = (Key) o;
+                return writeNull == that.writeNull && type.equals(that.type) && Objects.equals(numberFormat, that.numberFormat) &&
+                        Objects.equals(dateFormat, that.dateFormat) && Objects.equals(locale, that.locale) &&
+                        Objects.equals(projection, that.projection);
+            }
 
-        @Override
-        public Stream<JsonValue> getArrayStream() { return delegate.getArrayStream(); }
+            @Override
+            public int hashCode() {
+                return Objects.hash(type, writeNull, numberFormat, dateFormat, locale, projection);
+            }
+        }
+    }
 
-        @Override
-        public Stream<Map.Entry<String, JsonValue>> getObjectStream() { return delegate.getObjectStream(); }
+    /**
+     * 缓存命中、未命中次数及缓存条目数的快照
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class CacheStatistics {
 
-        @Override
-        public Stream<JsonValue> getValueStream() { return delegate.getValueStream(); }
+        private final long hitCount;
 
-        @Override
-        public void skipArray() { delegate.skipArray(); }
+        private final long missCount;
 
-        @Override
-        public void skipObject() { delegate.skipObject(); }
+        private final int size;
 
         @Override
-        public void close() { delegate.close(); }
+        public String toString() {
+            return "CacheStatistics{hits=" + hitCount + ", misses=" + missCount + ", size=" + size + "}";
+        }
     }
 
     private static class JsonbContext {
@@ -727,50 +1972,20 @@ public class ObjectJsonMapper implements Jsonb {
 
         protected final Locale locale;
 
-        JsonbContext(JsonbConfig jsonbConfig) {
-            this.jsonbConfig = jsonbConfig;
-            this.annotationIntrospector = (AnnotationIntrospector) jsonbConfig.getProperty(BindingProvider.JSONB_ANNOTATION_INTROSPECTOR)
-                    .orElse(new AnnotationIntrospector());
-            this.strictInternetJson = (boolean) jsonbConfig.getProperty(JsonbConfig.STRICT_IJSON).orElse(false);
-            Optional<Object> customNamingStrategy = jsonbConfig.getProperty(JsonbConfig.PROPERTY_NAMING_STRATEGY);
-            if (customNamingStrategy.isPresent()) {
-                this.caseInsensitive = PropertyNamingStrategy.CASE_INSENSITIVE.equals(customNamingStrategy.get());
-                Object configuredNamingStrategy = customNamingStrategy.get();
-                if (PropertyNamingStrategy.IDENTITY.equals(configuredNamingStrategy)) {
-                    this.customNamingStrategy = null;
-                } else if (configuredNamingStrategy instanceof PropertyNamingStrategy) {
-                    this.customNamingStrategy = (PropertyNamingStrategy) configuredNamingStrategy;
-                } else {
-                    this.customNamingStrategy = PropertyNamingStrategyFactory.getObject(configuredNamingStrategy);
-                }
-            } else {
-                this.caseInsensitive = false;
-                this.customNamingStrategy = null;
-            }
-            this.customVisibilityStrategy = (PropertyVisibilityStrategy) jsonbConfig.getProperty(JsonbConfig.PROPERTY_VISIBILITY_STRATEGY)
-                    .orElse(null);
-            JsonbAdapter<?, ?>[] adapters = (JsonbAdapter[]) jsonbConfig.getProperty(JsonbConfig.ADAPTERS).orElse(null);
-            if (adapters != null && adapters.length > 0) {
-                this.adapters = new HashMap<>(adapters.length);
-                for (JsonbAdapter<?, ?> adapter : adapters) {
-                    Type[] ss = Reflections.findActualTypes(adapter.getClass(), JsonbAdapter.class);
-                    assert ss.length == 2;
-                    this.adapters.put(ss[0], new Pair<>(adapter, ss[1]));
-                }
-            } else {
-                this.adapters = Collections.emptyMap();
-            }
-            this.customBinaryDataStrategy = strictInternetJson ?
-                    BinaryDataStrategy.BASE_64_URL :
-                    (String) jsonbConfig.getProperty(JsonbConfig.BINARY_DATA_STRATEGY).orElse(null);
-            String dateFormat = (String) jsonbConfig.getProperty(JsonbConfig.DATE_FORMAT).orElse(null);
-            if (strictInternetJson && dateFormat != null) {
-                log.log(Level.WARNING, "DO NOT configure 'jsonb.strict-ijson' and 'jsonb.date-format' at same time");
-                this.dateFormat = null;
-            } else {
-                this.dateFormat = dateFormat;
-            }
-            this.locale = (Locale) jsonbConfig.getProperty(JsonbConfig.LOCALE).orElse(Locale.getDefault());
+        protected final Map<Class<?>, GeneratedBinding<?>> generatedBindings;
+
+        JsonbContext(JsonbSettings settings) {
+            this.jsonbConfig = settings.config;
+            this.annotationIntrospector = settings.annotationIntrospector;
+            this.strictInternetJson = settings.strictInternetJson;
+            this.customNamingStrategy = settings.customNamingStrategy;
+            this.caseInsensitive = settings.caseInsensitive;
+            this.customVisibilityStrategy = settings.customVisibilityStrategy;
+            this.adapters = settings.adapters;
+            this.customBinaryDataStrategy = settings.customBinaryDataStrategy;
+            this.dateFormat = settings.dateFormat;
+            this.locale = settings.locale;
+            this.generatedBindings = settings.generatedBindings;
         }
 
         static Object newInstance(Class<?> klazz) {
@@ -850,46 +2065,47 @@ public class ObjectJsonMapper implements Jsonb {
 
         private final Map<Type, JsonbSerializer> serializerCache;
 
+        private final BindingCache<JsonbSerializer<?>> typeCache;
+
+        private final Map<BindingCache.Key, JsonbSerializer<?>> built = new HashMap<>(); // 构建完成但未发布的序列化器
+
+        private int building;
+
         private final Stack<Type> hints = new Stack<>();
 
         private final Map<Type, JsonbSerializer> inCreation;
 
         private final Set<Object> recursionReference = new HashSet<>(32);
 
-        JsonbSerializationContext(JsonbConfig jsonbConfig, Map<Class<?>, JsonbSerializer<?>> builtIn) {
-            this(jsonbConfig, builtIn, null, true);
+        JsonbSerializationContext(JsonbSettings settings, Map<Class<?>, JsonbSerializer<?>> builtIn) {
+            this(settings, builtIn, null, true);
         }
 
-        JsonbSerializationContext(JsonbConfig jsonbConfig, Map<Class<?>, JsonbSerializer<?>> builtIn, Type runtimeType) {
-            this(jsonbConfig, builtIn, runtimeType, true);
+        JsonbSerializationContext(JsonbSettings settings, Map<Class<?>, JsonbSerializer<?>> builtIn, Type runtimeType) {
+            this(settings, builtIn, runtimeType, true);
         }
 
-        JsonbSerializationContext(JsonbConfig jsonbConfig, Map<Class<?>, JsonbSerializer<?>> builtIn,
+        JsonbSerializationContext(JsonbSettings settings, Map<Class<?>, JsonbSerializer<?>> builtIn,
                                   Type runtimeType, boolean root) {
-            super(jsonbConfig);
+            this(settings, builtIn, runtimeType, root, true);
+        }
+
+        /**
+         * @param shareCache false if used concurrently with other contexts: the configured cache may not be thread-safe
+         */
+        JsonbSerializationContext(JsonbSettings settings, Map<Class<?>, JsonbSerializer<?>> builtIn,
+                                  Type runtimeType, boolean root, boolean shareCache) {
+            super(settings);
             this.builtIn = builtIn;
             this.runtimeType = runtimeType;
             this.root = root;
-            this.writeNull = (boolean) jsonbConfig.getProperty(JsonbConfig.NULL_VALUES).orElse(false);
-            this.encoding = jsonbConfig.getProperty(JsonbConfig.ENCODING).map(t -> Charset.forName((String) t))
-                    .orElse(StandardCharsets.UTF_8);
-            this.customOrderStrategy = (String) jsonbConfig.getProperty(JsonbConfig.PROPERTY_ORDER_STRATEGY)
-                    .orElse(PropertyOrderStrategy.LEXICOGRAPHICAL); // java类先序列化父类，同一个类的属性之间默认按字母排序
+            this.writeNull = settings.writeNull;
+            this.encoding = settings.encoding;
+            this.customOrderStrategy = settings.customOrderStrategy;
             this.numberFormat = null;
-            JsonbSerializer<?>[] serializers = (JsonbSerializer<?>[]) jsonbConfig.getProperty(JsonbConfig.SERIALIZERS)
-                    .orElse(null);
-            if (serializers != null && serializers.length > 0) {
-                this.serializers = new HashMap<>(serializers.length + 1);
-                for (JsonbSerializer<?> serializer : serializers) {
-                    Type[] types = Reflections.findActualTypes(serializer.getClass(), JsonbSerializer.class);
-                    this.serializers.put(types[0], serializer);
-                }
-            } else {
-                this.serializers = new HashMap<>(1);
-            }
-            this.serializers.put(JsonValue.class, new JsonValueSerializer());
-            this.serializerCache = (Map<Type, JsonbSerializer>) jsonbConfig.getProperty(BindingProvider.JSONB_SERIALIZER_CACHE)
-                    .orElse(null);
+            this.serializers = settings.serializers;
+            this.serializerCache = shareCache ? settings.rootSerializerCache : null;
+            this.typeCache = settings.serializerCache;
             this.inCreation = new HashMap<>();
         }
 
@@ -1004,7 +2220,37 @@ public class ObjectJsonMapper implements Jsonb {
             return null;
         }
 
-        protected <A, T> JsonbSerializer<T> findTypeSerializer(Type runtimeType, boolean writeNull, NumberFormat numberFormat,
+        protected <T> JsonbSerializer<T> findTypeSerializer(Type runtimeType, boolean writeNull, NumberFormat numberFormat,
+                                                            String dateFormat, String locale) {
+            if (!BindingCache.isCacheable(runtimeType)) {
+                return createTypeSerializer(runtimeType, writeNull, numberFormat, dateFormat, locale);
+            }
+            BindingCache.Key key = new BindingCache.Key(runtimeType, writeNull, numberFormat, dateFormat, locale);
+            JsonbSerializer<T> serializer = (JsonbSerializer<T>) typeCache.get(key);
+            if (serializer == null) {
+                serializer = (JsonbSerializer<T>) built.get(key);
+            }
+            if (serializer != null) {
+                return serializer;
+            }
+            building++;
+            boolean completed = false;
+            try {
+                serializer = createTypeSerializer(runtimeType, writeNull, numberFormat, dateFormat, locale);
+                built.put(key, serializer);
+                completed = true;
+            } finally {
+                if (--building == 0) {
+                    if (completed) {
+                        typeCache.publish(built);
+                    }
+                    built.clear();
+                }
+            }
+            return serializer;
+        }
+
+        private <A, T> JsonbSerializer<T> createTypeSerializer(Type runtimeType, boolean writeNull, NumberFormat numberFormat,
                                                                String dateFormat, String locale) {
             Optional<Type> componentType = Optional.empty();
             if (runtimeType instanceof GenericArrayType) {
@@ -1067,17 +2313,22 @@ public class ObjectJsonMapper implements Jsonb {
                         ((ParameterizedType) runtimeType).getActualTypeArguments()[1] :
                         Object.class;
                 JsonbSerializer<?> secondarySerializer = findTypeSerializer(at1, writeNull, numberFormat, dateFormat, locale);
-                candidate = new MapSerializer(recursionReference, customOrderStrategy, writeNull, secondarySerializer);
+                candidate = new MapSerializer(customOrderStrategy, writeNull, secondarySerializer);
             } else if (Collection.class.isAssignableFrom(klazz)) {
                 JsonbSerializer<?> secondarySerializer = findTypeSerializer(at0, writeNull, numberFormat, dateFormat, locale);
-                candidate = new CollectionSerializer(recursionReference, secondarySerializer);
+                candidate = new CollectionSerializer(secondarySerializer);
             } else if (klazz.isArray()) {
                 JsonbSerializer<?> secondarySerializer = findTypeSerializer(componentType.orElse(klazz.getComponentType()), writeNull, numberFormat, dateFormat, locale);
-                candidate = new ArraySerializer(recursionReference, secondarySerializer);
+                candidate = new ArraySerializer(secondarySerializer);
             } else if (Enum.class.isAssignableFrom(klazz)) {
                 candidate = new EnumMapping(hints.toArray(new Type[0]), annotationIntrospector.findEnumValues(klazz), caseInsensitive);
             } else {
-                candidate = createBeanSerializer(runtimeType, klazz, writeNull, numberFormat, dateFormat, locale);
+                GeneratedBinding<T> generated = (GeneratedBinding<T>) generatedBindings.get(klazz);
+                boolean defaultFormat = writeNull == this.writeNull && numberFormat == null && Objects.equals(dateFormat, this.dateFormat) &&
+                        Objects.equals(locale, Optional.ofNullable(this.locale).map(Locale::getLanguage).orElse(null)); // 外层属性指定的格式需继承
+                candidate = generated != null && defaultFormat ?
+                        generated :
+                        createBeanSerializer(runtimeType, klazz, writeNull, numberFormat, dateFormat, locale);
             }
             hints.pop();
             return candidate;
@@ -1095,7 +2346,7 @@ public class ObjectJsonMapper implements Jsonb {
                 // 如果类型在循环中，序列化时需检查是否存在循环引用
                 return zygote;
             }
-            JavaBeanSerializer<T> beanSerializer = new JavaBeanSerializer<>(recursionReference);
+            JavaBeanSerializer<T> beanSerializer = new JavaBeanSerializer<>();
             inCreation.put(runtimeType, beanSerializer);
 
             JavaBeanPropertySerializer<T, Object>[] serializers = null;
@@ -1253,7 +2504,7 @@ public class ObjectJsonMapper implements Jsonb {
             }
             Type propertyType;
             JsonbDateFormat jsonbDateFormat = null;
-            Function<D, T> getter = x -> property.get(x, useGetter, !useGetter);
+            Function<D, T> getter = property.reader(useGetter); // 编译后的访问器，避免逐次反射调用
             if (useGetter) {
                 nameToSerialize = Optional.ofNullable(annotationIntrospector.findNameForSerialization(ann))
                         .orElse(nameToSerialize);
@@ -1279,7 +2530,21 @@ public class ObjectJsonMapper implements Jsonb {
                 // 属性类型为GenericArrayType时，从参数runtimeType可能可以获取到泛型信息(ParameterizedType::getActualTypeArguments)，但是无法知晓是第几个
                 serializer = findTypeSerializer(propertyType, writeNull, numberFormat, dateFormat, locale);
             }
-            JavaBeanPropertySerializer<D, T> ser = new JavaBeanPropertySerializer<>(nameToSerialize, writeNull, getter, serializer);
+            JsonFactoryAdapter.PreEncodedName encodedName = new JsonFactoryAdapter.PreEncodedName(nameToSerialize);
+            if (serializer != null && serializer.getClass() == NumberSerializer.class &&
+                    ((NumberSerializer) serializer).format == null && ((NumberSerializer) serializer).converter == null) { // 默认数值格式的int/long/double属性免装箱读取
+                if (Integer.TYPE.equals(propertyType)) {
+                    return Optional.of(new PrimitivePropertySerializer<>(nameToSerialize, writeNull, getter, serializer, encodedName,
+                            property.intReader(useGetter), null, null));
+                } else if (Long.TYPE.equals(propertyType)) {
+                    return Optional.of(new PrimitivePropertySerializer<>(nameToSerialize, writeNull, getter, serializer, encodedName,
+                            null, property.longReader(useGetter), null));
+                } else if (Double.TYPE.equals(propertyType)) {
+                    return Optional.of(new PrimitivePropertySerializer<>(nameToSerialize, writeNull, getter, serializer, encodedName,
+                            null, null, property.doubleReader(useGetter)));
+                }
+            }
+            JavaBeanPropertySerializer<D, T> ser = new JavaBeanPropertySerializer<>(nameToSerialize, writeNull, getter, serializer, encodedName);
             return Optional.of(ser);
         }
 
@@ -1298,6 +2563,12 @@ public class ObjectJsonMapper implements Jsonb {
 
         private final Map<Type, JsonbDeserializer> cache;
 
+        private final BindingCache<JsonbDeserializer<?>> typeCache;
+
+        private final Map<BindingCache.Key, JsonbDeserializer<?>> built = new HashMap<>(); // 构建完成但未发布的反序列化器
+
+        private int building;
+
         private final boolean root;
 
         private final NumberFormat numberFormat;
@@ -1306,28 +2577,30 @@ public class ObjectJsonMapper implements Jsonb {
 
         private final Map<Type, JsonbDeserializer> inCreation;
 
-        JsonbDeserializationContext(JsonbConfig jsonbConfig, JsonBuilderFactory jsonBuilderFactory,
+        private final BindingCache<JsonbDeserializer<?>> projectionCache;
+
+        private Projection projection; // 构建反序列化器时当前层级的投影，null表示不限制
+
+        JsonbDeserializationContext(JsonbSettings settings, JsonBuilderFactory jsonBuilderFactory,
                                     Map<Class<?>, JsonbDeserializer<?>> builtIn) {
-            super(jsonbConfig);
+            this(settings, jsonBuilderFactory, builtIn, true);
+        }
+
+        /**
+         * @param shareCache false if used concurrently with other contexts: the configured cache may not be thread-safe
+         */
+        JsonbDeserializationContext(JsonbSettings settings, JsonBuilderFactory jsonBuilderFactory,
+                                    Map<Class<?>, JsonbDeserializer<?>> builtIn, boolean shareCache) {
+            super(settings);
             this.jsonBuilderFactory = jsonBuilderFactory;
-            JsonbDeserializer[] deserializers = (JsonbDeserializer[]) jsonbConfig.getProperty(JsonbConfig.DESERIALIZERS)
-                    .orElse(null);
-            if (deserializers == null || deserializers.length == 0) {
-                this.deserializers = new HashMap<>(1);
-            } else {
-                this.deserializers = new HashMap<>(deserializers.length + 1);
-                for (JsonbDeserializer dser : deserializers) {
-                    Type[] handles = Reflections.findActualTypes(dser.getClass(), JsonbDeserializer.class);
-                    this.deserializers.put(handles[0], dser);
-                }
-            }
-            this.deserializers.put(JsonValue.class, new JsonValueDeserializer());
+            this.deserializers = settings.deserializers;
             this.builtIn = builtIn;
-            this.cache = (Map<Type, JsonbDeserializer>) jsonbConfig.getProperty(BindingProvider.JSONB_DESERIALIZER_CACHE)
-                    .orElse(null);
+            this.cache = shareCache ? settings.rootDeserializerCache : null;
+            this.typeCache = settings.deserializerCache;
             this.root = true;
             this.numberFormat = null;
             this.inCreation = new HashMap<>();
+            this.projectionCache = settings.projectionCache;
         }
 
         @Override
@@ -1352,6 +2625,32 @@ public class ObjectJsonMapper implements Jsonb {
             }
         }
 
+        /**
+         * 按投影反序列化顶层值：受限层级的反序列化器不进入按类型共享的缓存，而是按投影和类型缓存
+         */
+        <T> T deserialize(Type type, JsonParser parser, Projection projection) {
+            if (projection.isAll()) {
+                return deserialize(type, parser);
+            }
+            JsonParser.Event current = parser.next();
+            checkStructure(current);
+            boolean cacheable = BindingCache.isCacheable(type);
+            BindingCache.Key key = cacheable ? new BindingCache.Key(type, false, numberFormat, dateFormat, locale, projection) : null;
+            JsonbDeserializer<T> deserializer = cacheable ? (JsonbDeserializer<T>) projectionCache.get(key) : null;
+            if (deserializer == null) {
+                this.projection = projection;
+                try {
+                    deserializer = findTypeDeserializer(type, numberFormat, dateFormat, locale);
+                } finally {
+                    this.projection = null;
+                }
+                if (cacheable) {
+                    projectionCache.publish(Collections.singletonMap(key, deserializer));
+                }
+            }
+            return deserializer.deserialize(new PrefetchEventJsonParser(jsonBuilderFactory, parser, current), this, type);
+        }
+
         private void checkStructure(JsonParser.Event top) {
             if (strictInternetJson) {
                 if (top != JsonParser.Event.START_OBJECT && top != JsonParser.Event.START_ARRAY) {
@@ -1378,25 +2677,25 @@ public class ObjectJsonMapper implements Jsonb {
         private <T> JsonbDeserializer findBuiltInOrCreate(Class<T> klazz, NumberFormat numberFormat, String dateFormat, Locale locale) {
             if (!Objects.equals(numberFormat, this.numberFormat) && isNumber(klazz)) {
                 if (OptionalInt.class.equals(klazz)) {
-                    return new NumberDeserializer<>(numberFormat, Conventions.S2I.andThen(Conventions.I2O), OptionalInt::empty);
+                    return new NumberDeserializer<>(numberFormat, Conventions.S2I.andThen(Conventions.I2O), NumberDeserializer.P2I.andThen(Conventions.I2O), OptionalInt::empty);
                 } else if (OptionalLong.class.equals(klazz)) {
-                    return new NumberDeserializer<>(numberFormat, Conventions.S2J.andThen(Conventions.J2O), OptionalLong::empty);
+                    return new NumberDeserializer<>(numberFormat, Conventions.S2J.andThen(Conventions.J2O), NumberDeserializer.P2J.andThen(Conventions.J2O), OptionalLong::empty);
                 } else if (OptionalDouble.class.equals(klazz)) {
-                    return new NumberDeserializer<>(numberFormat, Conventions.S2D.andThen(Conventions.D2O), OptionalDouble::empty);
+                    return new NumberDeserializer<>(numberFormat, Conventions.S2D.andThen(Conventions.D2O), NumberDeserializer.P2D.andThen(Conventions.D2O), OptionalDouble::empty);
                 } else if (Byte.TYPE.equals(klazz)) {
-                    return new NumberDeserializer<>(numberFormat, Conventions.S2B, Conventions.B);
+                    return new NumberDeserializer<>(numberFormat, Conventions.S2B, NumberDeserializer.P2B, Conventions.B);
                 } else if (Short.TYPE.equals(klazz)) {
-                    return new NumberDeserializer<>(numberFormat, Conventions.S2S, Conventions.S);
+                    return new NumberDeserializer<>(numberFormat, Conventions.S2S, NumberDeserializer.P2S, Conventions.S);
                 } else if (Integer.TYPE.equals(klazz)) {
-                    return new NumberDeserializer<>(numberFormat, Conventions.S2I, Conventions.I);
+                    return new NumberDeserializer<>(numberFormat, Conventions.S2I, NumberDeserializer.P2I, Conventions.I);
                 } else if (Long.TYPE.equals(klazz)) {
-                    return new NumberDeserializer<>(numberFormat, Conventions.S2J, Conventions.J);
+                    return new NumberDeserializer<>(numberFormat, Conventions.S2J, NumberDeserializer.P2J, Conventions.J);
                 } else if (Float.TYPE.equals(klazz)) {
-                    return new NumberDeserializer<>(numberFormat, Conventions.S2F, Conventions.F);
+                    return new NumberDeserializer<>(numberFormat, Conventions.S2F, NumberDeserializer.P2F, Conventions.F);
                 } else if (Double.TYPE.equals(klazz)) {
-                    return new NumberDeserializer<>(numberFormat, Conventions.S2D, Conventions.D);
+                    return new NumberDeserializer<>(numberFormat, Conventions.S2D, NumberDeserializer.P2D, Conventions.D);
                 }
-                return new NumberDeserializer<>(numberFormat, null, null);
+                return new NumberDeserializer<>(numberFormat, null, null, null);
             }
             boolean same = (strictInternetJson && dateFormat == null) || (!strictInternetJson && Objects.equals(dateFormat, this.dateFormat)) ;
             Optional<DateTimeFormatter> formatter = Optional.empty();
@@ -1433,7 +2732,36 @@ public class ObjectJsonMapper implements Jsonb {
             return builtIn.get(klazz); // JsonbDeserializer<java.util.Date> --> java.sql.Date, klazz == java.sql.Timestamp, type incompatible!
         }
 
-        <T, A> JsonbDeserializer<T> findTypeDeserializer(Type type, NumberFormat numberFormat, String dateFormat, Locale locale) {
+        <T> JsonbDeserializer<T> findTypeDeserializer(Type type, NumberFormat numberFormat, String dateFormat, Locale locale) {
+            if (projection != null || !BindingCache.isCacheable(type)) { // 投影限制下构建的反序列化器不能与其他调用共享
+                return createTypeDeserializer(type, numberFormat, dateFormat, locale);
+            }
+            BindingCache.Key key = new BindingCache.Key(type, false, numberFormat, dateFormat, locale);
+            JsonbDeserializer<T> deserializer = (JsonbDeserializer<T>) typeCache.get(key);
+            if (deserializer == null) {
+                deserializer = (JsonbDeserializer<T>) built.get(key);
+            }
+            if (deserializer != null) {
+                return deserializer;
+            }
+            building++;
+            boolean completed = false;
+            try {
+                deserializer = createTypeDeserializer(type, numberFormat, dateFormat, locale);
+                built.put(key, deserializer);
+                completed = true;
+            } finally {
+                if (--building == 0) {
+                    if (completed) {
+                        typeCache.publish(built);
+                    }
+                    built.clear();
+                }
+            }
+            return deserializer;
+        }
+
+        private <T, A> JsonbDeserializer<T> createTypeDeserializer(Type type, NumberFormat numberFormat, String dateFormat, Locale locale) {
             Optional<Type> componentType = Optional.empty();
             if (type instanceof GenericArrayType) {
                 componentType = Optional.of(Reflections.searchComponentType((GenericArrayType) type, hints));
@@ -1504,14 +2832,16 @@ public class ObjectJsonMapper implements Jsonb {
             } else if (Enum.class.isAssignableFrom(klazz)){
                 deserializer = new EnumMapping(usefulHints, annotationIntrospector.findEnumValues(klazz), caseInsensitive);
             } else {
-                deserializer = createBeanDeserializer(type, klazz);
+                GeneratedBinding<T> generated = (GeneratedBinding<T>) generatedBindings.get(klazz);
+                boolean defaultFormat = numberFormat == null && Objects.equals(dateFormat, this.dateFormat) && Objects.equals(locale, this.locale);
+                deserializer = generated != null && defaultFormat && projection == null ? generated : createBeanDeserializer(type, klazz);
             }
             hints.pop();
             return deserializer;
         }
 
         <T> JsonbDeserializer<T> createBeanDeserializer(Type runtimeType, Class<T> klazz) {
-            JsonbDeserializer beanDeser = inCreation.get(runtimeType);
+            JsonbDeserializer beanDeser = projection == null ? inCreation.get(runtimeType) : null; // 投影路径有限，不会无限递归
             if (beanDeser != null) {
                 return beanDeser;
             }
@@ -1524,7 +2854,10 @@ public class ObjectJsonMapper implements Jsonb {
             }
 
             JavaBeanDeserializer beanDeserializer = new JavaBeanDeserializer(hints.toArray(new Type[0]), caseInsensitive);
-            inCreation.put(runtimeType, beanDeserializer);
+            Projection projected = projection;
+            if (projected == null) {
+                inCreation.put(runtimeType, beanDeserializer);
+            }
 
             JavaBean<T> beanInfo = JavaBean.introspect(klazz);
             Map<String, JavaProperty> propertyMappings = Arrays.stream(beanInfo.getProperties())
@@ -1568,7 +2901,13 @@ public class ObjectJsonMapper implements Jsonb {
                         dateFormat = argDateFormat.value();
                         locale = JsonbDateFormat.DEFAULT_LOCALE.equals(argDateFormat.locale()) ? this.locale : new Locale(argDateFormat.locale());
                     }
-                    JsonbDeserializer<?> argDeserializer = findTypeDeserializer(parameters[i].getParameterizedType(), argNumberFormat, dateFormat, locale);
+                    projection = null; // 构造参数总是完整反序列化
+                    JsonbDeserializer<?> argDeserializer;
+                    try {
+                        argDeserializer = findTypeDeserializer(parameters[i].getParameterizedType(), argNumberFormat, dateFormat, locale);
+                    } finally {
+                        projection = projected;
+                    }
                     if (!argName.equals(annotatedName)) {
                         argName = customNamingStrategy != null ? customNamingStrategy.translateName(argName) : argName;
                     }
@@ -1629,7 +2968,9 @@ public class ObjectJsonMapper implements Jsonb {
                 current = current.getSuperclass();
             }
             beanDeserializer.setPropertyDeserializers(deserializers);
-            inCreation.remove(runtimeType);
+            if (projected == null) {
+                inCreation.remove(runtimeType);
+            }
             return beanDeserializer;
         }
 
@@ -1661,7 +3002,7 @@ public class ObjectJsonMapper implements Jsonb {
             if (annotationIntrospector.hasIgnoreMarker(ann)) {
                 return Optional.empty();
             }
-            BiConsumer<D, T> setter = (d, t) -> property.set(d, t, useSetter, !useSetter);
+            BiConsumer<D, T> setter = property.writer(useSetter);
             if (useSetter) {
                 nameToDeserialize = Optional.ofNullable(annotationIntrospector.findNameForSerialization(ann))
                         .orElse(nameToDeserialize);
@@ -1670,18 +3011,42 @@ public class ObjectJsonMapper implements Jsonb {
                 adapter = Optional.ofNullable(annotationIntrospector.findAdapter(ann)).orElse(adapter);
                 deserializer = Optional.ofNullable(annotationIntrospector.findDeserializer(ann)).orElse(deserializer);
             }
+            // 4. 不在投影中的属性不创建反序列化器，按未知属性跳过
+            Projection projected = this.projection;
+            Projection child = projected == null ? null : projected.child(nameToDeserialize, property.getName());
+            if (projected != null && child == null) {
+                return Optional.empty();
+            }
             String df = this.dateFormat;
             Locale locale = this.locale;
             if (dateFormat != null) {
                 df = dateFormat.value();
                 locale = JsonbDateFormat.DEFAULT_LOCALE.equals(dateFormat.locale()) ? this.locale : new Locale(dateFormat.locale());
             }
-            if (deserializer == null && adapter != null) {
-                Type adaptedType = Reflections.findActualTypes(adapter.getClass(), JsonbAdapter.class)[1];
-                deserializer = findTypeDeserializer(adaptedType, numberFormat, df, locale);
-                deserializer = new AdapterDeserializer<T, A>(adapter, deserializer, adaptedType);
-            } else if (deserializer == null) {
-                deserializer = findTypeDeserializer(propertyType, numberFormat, df, locale);
+            this.projection = child == null || child.isAll() ? null : child;
+            try {
+                if (deserializer == null && adapter != null) {
+                    Type adaptedType = Reflections.findActualTypes(adapter.getClass(), JsonbAdapter.class)[1];
+                    deserializer = findTypeDeserializer(adaptedType, numberFormat, df, locale);
+                    deserializer = new AdapterDeserializer<T, A>(adapter, deserializer, adaptedType);
+                } else if (deserializer == null) {
+                    deserializer = findTypeDeserializer(propertyType, numberFormat, df, locale);
+                }
+            } finally {
+                this.projection = projected;
+            }
+            if (deserializer != null && deserializer.getClass() == NumberDeserializer.class) { // 默认的int/long/double数值免装箱写入
+                Function<JsonParser, ?> readFunc = ((NumberDeserializer<?>) deserializer).readFunc;
+                if (Integer.TYPE.equals(propertyType) && readFunc == NumberDeserializer.P2I) {
+                    return Optional.of(new PrimitivePropertyDeserializer<>(nameToDeserialize, caseInsensitive, propertyType, setter, deserializer,
+                            property.intWriter(useSetter), null, null));
+                } else if (Long.TYPE.equals(propertyType) && readFunc == NumberDeserializer.P2J) {
+                    return Optional.of(new PrimitivePropertyDeserializer<>(nameToDeserialize, caseInsensitive, propertyType, setter, deserializer,
+                            null, property.longWriter(useSetter), null));
+                } else if (Double.TYPE.equals(propertyType) && readFunc == NumberDeserializer.P2D) {
+                    return Optional.of(new PrimitivePropertyDeserializer<>(nameToDeserialize, caseInsensitive, propertyType, setter, deserializer,
+                            null, null, property.doubleWriter(useSetter)));
+                }
             }
             return Optional.of(new JavaBeanPropertyDeserializer<D, T>(nameToDeserialize, caseInsensitive, propertyType, setter, deserializer));
         }
@@ -1748,10 +3113,10 @@ public class ObjectJsonMapper implements Jsonb {
     @RequiredArgsConstructor
     static abstract class AbstractSerializer<T> implements JsonbSerializer<T> {
 
-        protected final Set<Object> recursionReference;
+        protected final boolean detectCircularReference; // 引用记录在每次序列化的上下文中，序列化器可被缓存共享
 
         AbstractSerializer() {
-            this.recursionReference = null;
+            this.detectCircularReference = false;
         }
 
         protected boolean isNullOrEmpty(Object obj) {
@@ -1766,6 +3131,8 @@ public class ObjectJsonMapper implements Jsonb {
 
         @Override
         public void serialize(T obj, JsonGenerator generator, SerializationContext ctx) {
+            Set<Object> recursionReference = detectCircularReference && ctx instanceof JsonbSerializationContext ?
+                    ((JsonbSerializationContext) ctx).recursionReference : null;
             if (recursionReference != null && !recursionReference.add(obj)) { // 对象引用，可以为自身引用或引用其他对象；层级上可以为同层级引用相同对象，或跨层级引用相同对象。循环引用将导致序列化将无法正常结束
                 throw new JsonbException("circular reference detected!");
             }
@@ -1782,6 +3149,20 @@ public class ObjectJsonMapper implements Jsonb {
         protected void writeEnd(JsonGenerator generator) {}
     }
 
+    /**
+     * 解析类型变量时会临时出入栈hints，缓存的反序列化器被并发使用时需互斥
+     */
+    static Class<?> rawClass(Type type, Stack<Type> hints) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        synchronized (hints) {
+            return Reflections.typeToClass(type, hints);
+        }
+    }
+
     static abstract class AbstractDeserializer<T> implements JsonbDeserializer<T> {
 
         protected final Stack<Type> hints;
@@ -1797,15 +3178,13 @@ public class ObjectJsonMapper implements Jsonb {
             }
         }
 
-        protected JsonParser.Event last;
-
         protected abstract JsonParser.Event getExpected();
 
         protected T handleNull() {
             return null;
         }
 
-        protected void check() {
+        protected void check(JsonParser.Event last) {
             if (last != getExpected()) {
                 throw new JsonbException("expected json event [" + getExpected() + "], but actual is [" + last + "]");
             }
@@ -1813,16 +3192,16 @@ public class ObjectJsonMapper implements Jsonb {
 
         @Override
         public T deserialize(JsonParser parser, DeserializationContext ctx, Type rtType) {
-            last = parser.next();
+            JsonParser.Event last = parser.next();
             if (last == JsonParser.Event.VALUE_NULL) {
                 return handleNull();
             }
-            check();
+            check(last);
 
-            return unmarshal(parser, ctx, rtType);
+            return unmarshal(last, parser, ctx, rtType);
         }
 
-        protected abstract T unmarshal(JsonParser parser, DeserializationContext ctx, Type rtType);
+        protected abstract T unmarshal(JsonParser.Event last, JsonParser parser, DeserializationContext ctx, Type rtType);
 
     }
 
@@ -1852,11 +3231,16 @@ public class ObjectJsonMapper implements Jsonb {
         }
 
         @Override
-        protected T unmarshal(JsonParser parser, DeserializationContext ctx, Type rtType) {
+        protected T unmarshal(JsonParser.Event last, JsonParser parser, DeserializationContext ctx, Type rtType) {
             int size = 0, len = 10;
-            Class<?> componentType = rtType instanceof GenericArrayType ?
-                    Reflections.searchComponentType((GenericArrayType) rtType, hints) :
-                    ((Class<?>) rtType).getComponentType();
+            Class<?> componentType;
+            if (rtType instanceof GenericArrayType) {
+                synchronized (hints) {
+                    componentType = Reflections.searchComponentType((GenericArrayType) rtType, hints);
+                }
+            } else {
+                componentType = ((Class<?>) rtType).getComponentType();
+            }
             T array = newArray(componentType, len);
             int deep = 1;
             while (parser.hasNext()) {
@@ -1870,7 +3254,7 @@ public class ObjectJsonMapper implements Jsonb {
                 if (deep == 0) {
                     break;
                 }
-                fill(parser, ctx, array, componentType, size);
+                fill(last, parser, ctx, array, componentType, size);
                 size++;
                 if (size == len - 1) {
                     len = (int) (1.5 *  len);
@@ -1888,11 +3272,11 @@ public class ObjectJsonMapper implements Jsonb {
             }
         }
 
-        protected void fill(JsonParser parser, DeserializationContext ctx, T array, Class<?> componentType, int index) {
-            fill(parser, array, index);
+        protected void fill(JsonParser.Event last, JsonParser parser, DeserializationContext ctx, T array, Class<?> componentType, int index) {
+            fill(last, parser, array, index);
         }
 
-        protected void fill(JsonParser parser, T array, int index) {
+        protected void fill(JsonParser.Event last, JsonParser parser, T array, int index) {
             throw new AbstractMethodError();
 //            Array.set(array, index, parser::get);
         }
@@ -1974,7 +3358,7 @@ public class ObjectJsonMapper implements Jsonb {
     static class BooleanArrayDeserializer extends BaseArrayDeserializer<boolean[]> {
 
         @Override
-        protected void fill(JsonParser parser, boolean[] array, int index) {
+        protected void fill(JsonParser.Event last, JsonParser parser, boolean[] array, int index) {
             if (last == JsonParser.Event.VALUE_FALSE) {
                 array[index] = false;
             } else if (last == JsonParser.Event.VALUE_TRUE) {
@@ -2016,14 +3400,14 @@ public class ObjectJsonMapper implements Jsonb {
             this.decoder = decoder;
         }
 
-        protected void check() {
+        protected void check(JsonParser.Event last) {
             if (last != JsonParser.Event.START_ARRAY && (last == JsonParser.Event.VALUE_STRING && decoder == null)) {
                 throw new JsonbException("expect START_ARRAY for byte array, or configure BinaryDataStrategy to accept VALUE_STRING");
             }
         }
 
         @Override
-        protected void fill(JsonParser parser, byte[] array, int index) {
+        protected void fill(JsonParser.Event last, JsonParser parser, byte[] array, int index) {
             if (last == JsonParser.Event.VALUE_NUMBER) {
                 array[index] = (byte) parser.getInt();
             } else {
@@ -2032,11 +3416,11 @@ public class ObjectJsonMapper implements Jsonb {
         }
 
         @Override
-        protected byte[] unmarshal(JsonParser parser, DeserializationContext ctx, Type rtType) {
+        protected byte[] unmarshal(JsonParser.Event last, JsonParser parser, DeserializationContext ctx, Type rtType) {
             if (last == JsonParser.Event.VALUE_STRING) {
                 return decoder.decode(parser.getString());
             }
-            return super.unmarshal(parser, ctx, rtType);
+            return super.unmarshal(last, parser, ctx, rtType);
         }
     }
 
@@ -2053,7 +3437,7 @@ public class ObjectJsonMapper implements Jsonb {
     static class CharArrayDeserializer extends BaseArrayDeserializer<char[]> {
 
         @Override
-        protected void fill(JsonParser parser, char[] array, int index) {
+        protected void fill(JsonParser.Event last, JsonParser parser, char[] array, int index) {
             if (last == JsonParser.Event.VALUE_NUMBER) {
                 array[index] = (char) parser.getInt();
             } else if (last == JsonParser.Event.VALUE_STRING) {
@@ -2078,7 +3462,7 @@ public class ObjectJsonMapper implements Jsonb {
     static class ShortArrayDeserializer extends BaseArrayDeserializer<short[]> {
 
         @Override
-        protected void fill(JsonParser parser, short[] array, int index) {
+        protected void fill(JsonParser.Event last, JsonParser parser, short[] array, int index) {
             if (last == JsonParser.Event.VALUE_NUMBER) {
                 array[index] = (short) parser.getInt();
             } else if (last == JsonParser.Event.VALUE_STRING) {
@@ -2103,7 +3487,7 @@ public class ObjectJsonMapper implements Jsonb {
     static class IntArrayDeserializer extends BaseArrayDeserializer<int[]> {
 
         @Override
-        protected void fill(JsonParser parser, int[] array, int index) {
+        protected void fill(JsonParser.Event last, JsonParser parser, int[] array, int index) {
             if (last == JsonParser.Event.VALUE_NUMBER) {
                 array[index] = parser.getInt();
             } else if (last == JsonParser.Event.VALUE_STRING) {
@@ -2128,7 +3512,7 @@ public class ObjectJsonMapper implements Jsonb {
     static class LongArrayDeserializer extends BaseArrayDeserializer<long[]> {
 
         @Override
-        protected void fill(JsonParser parser, long[] array, int index) {
+        protected void fill(JsonParser.Event last, JsonParser parser, long[] array, int index) {
             if (last == JsonParser.Event.VALUE_NUMBER) {
                 array[index] = parser.getLong();
             } else if (last == JsonParser.Event.VALUE_STRING) {
@@ -2153,9 +3537,9 @@ public class ObjectJsonMapper implements Jsonb {
     static class FloatArrayDeserializer extends BaseArrayDeserializer<float[]> {
 
         @Override
-        protected void fill(JsonParser parser, float[] array, int index) {
+        protected void fill(JsonParser.Event last, JsonParser parser, float[] array, int index) {
             if (last == JsonParser.Event.VALUE_NUMBER) {
-                array[index] = parser.getBigDecimal().floatValue();
+                array[index] = NumberDeserializer.floatValue(parser);
             } else if (last == JsonParser.Event.VALUE_STRING) {
                 array[index] = Float.parseFloat(parser.getString());
             } else {
@@ -2178,9 +3562,9 @@ public class ObjectJsonMapper implements Jsonb {
     static class DoubleArrayDeserializer extends BaseArrayDeserializer<double[]> {
 
         @Override
-        protected void fill(JsonParser parser, double[] array, int index) {
+        protected void fill(JsonParser.Event last, JsonParser parser, double[] array, int index) {
             if (last == JsonParser.Event.VALUE_NUMBER) {
-                array[index] = parser.getBigDecimal().doubleValue();
+                array[index] = NumberDeserializer.doubleValue(parser);
             } else if (last == JsonParser.Event.VALUE_STRING) {
                 array[index] = Double.parseDouble(parser.getString());
             } else {
@@ -2259,7 +3643,11 @@ public class ObjectJsonMapper implements Jsonb {
         public void serialize(T original, JsonGenerator generator, SerializationContext ctx) {
             Number obj = converter != null ? converter.apply(original) : (Number) original;
             if (format != null) {
-                generator.write(format.format(obj));
+                String formatted;
+                synchronized (format) { // NumberFormat is not thread-safe, serializer may be cached
+                    formatted = format.format(obj);
+                }
+                generator.write(formatted);
                 return;
             }
             if (obj instanceof Byte) {
@@ -2283,31 +3671,86 @@ public class ObjectJsonMapper implements Jsonb {
     @RequiredArgsConstructor
     static class NumberDeserializer<T> implements JsonbDeserializer<T> {
 
+        static final Function<JsonParser, Byte> P2B = p -> (byte) intValue(p, Byte.MIN_VALUE, Byte.MAX_VALUE);
+
+        static final Function<JsonParser, Short> P2S = p -> (short) intValue(p, Short.MIN_VALUE, Short.MAX_VALUE);
+
+        static final Function<JsonParser, Integer> P2I = p -> intValue(p, Integer.MIN_VALUE, Integer.MAX_VALUE);
+
+        static final Function<JsonParser, Long> P2J = NumberDeserializer::longValue;
+
+        static final Function<JsonParser, Float> P2F = NumberDeserializer::floatValue;
+
+        static final Function<JsonParser, Double> P2D = NumberDeserializer::doubleValue;
+
         private final NumberFormat format;
 
         private final Function<String, T> convertFunc;
 
+        private final Function<JsonParser, T> readFunc; // VALUE_NUMBER直接使用解析器的数值访问方法，避免中间String
+
         private final Supplier<T> nullSupplier;
 
-        NumberDeserializer(Function<String, T> convertFunc) {
-            this(null, convertFunc, null);
+        NumberDeserializer(Function<String, T> convertFunc, Function<JsonParser, T> readFunc) {
+            this(null, convertFunc, readFunc, null);
+        }
+
+        NumberDeserializer(Function<String, T> convertFunc, Function<JsonParser, T> readFunc, Supplier<T> nullSupplier) {
+            this(null, convertFunc, readFunc, nullSupplier);
+        }
+
+        static int intValue(JsonParser parser, int min, int max) {
+            long value = longValue(parser);
+            if (value < min || value > max) {
+                throw new JsonbException("json number " + value + " out of range [" + min + ", " + max + "]");
+            }
+            return (int) value;
+        }
+
+        static long longValue(JsonParser parser) {
+            if (parser instanceof JsonFactoryAdapter.NumberAccessor && ((JsonFactoryAdapter.NumberAccessor) parser).isDefinitelyLong()) {
+                return parser.getLong();
+            }
+            try {
+                return parser.getBigDecimal().longValueExact();
+            } catch (ArithmeticException ae) {
+                throw new JsonbException("json number [" + parser.getString() + "] is not integer or out of range", ae);
+            }
+        }
+
+        static double doubleValue(JsonParser parser) {
+            if (parser instanceof JsonFactoryAdapter.NumberAccessor) {
+                return ((JsonFactoryAdapter.NumberAccessor) parser).getDouble();
+            }
+            return parser.getBigDecimal().doubleValue();
         }
 
-        NumberDeserializer(Function<String, T> convertFunc, Supplier<T> nullSupplier) {
-            this(null, convertFunc, nullSupplier);
+        static float floatValue(JsonParser parser) {
+            if (parser instanceof JsonFactoryAdapter.NumberAccessor) {
+                return ((JsonFactoryAdapter.NumberAccessor) parser).getFloat();
+            }
+            return parser.getBigDecimal().floatValue();
         }
 
         @Override
         public T deserialize(JsonParser parser, DeserializationContext ctx, Type rtType) {
-            JsonParser.Event current = parser.next();
+            return read(parser.next(), parser, rtType);
+        }
+
+        T read(JsonParser.Event current, JsonParser parser, Type rtType) {
             if (current == JsonParser.Event.VALUE_NULL) {
                 return Optional.ofNullable(nullSupplier).map(Supplier::get).orElse(null);
             } else if (current == JsonParser.Event.VALUE_NUMBER) {
-                return convert(parser.getString(), rtType, convertFunc);
+                return readFunc != null ? readFunc.apply(parser) : convert(parser.getString(), rtType, convertFunc);
             } else  if (current == JsonParser.Event.VALUE_STRING) {
                 String s = parser.getString();
                 try {
-                    return format != null ? (T) format.parse(s) : convert(s, rtType, convertFunc);
+                    if (format != null) {
+                        synchronized (format) { // NumberFormat is not thread-safe, deserializer may be cached
+                            return (T) format.parse(s);
+                        }
+                    }
+                    return convert(s, rtType, convertFunc);
                 } catch (ParseException pe) {
                     log.log(Level.WARNING, "bind json value[{0}] with format[{1}] to number fail", new Object[] {s, format});
                     return convert(s, rtType, convertFunc); // have a try
@@ -2511,14 +3954,14 @@ public class ObjectJsonMapper implements Jsonb {
             throw new AbstractMethodError();
         }
 
-        protected void check() {}
+        protected void check(JsonParser.Event last) {}
 
         protected Optional<T> handleNull() {
             return Optional.empty();
         }
 
         @Override
-        public Optional<T> unmarshal(JsonParser parser, DeserializationContext ctx, Type rtType) {
+        public Optional<T> unmarshal(JsonParser.Event last, JsonParser parser, DeserializationContext ctx, Type rtType) {
             Type actual = rtType instanceof ParameterizedType ? ((ParameterizedType) rtType).getActualTypeArguments()[0] : Object.class;
             return Optional.of(delegate.deserialize(new PrefetchEventJsonParser(jsonBuilderFactory, parser, last), ctx, actual));
         }
@@ -2534,8 +3977,8 @@ public class ObjectJsonMapper implements Jsonb {
 
         private final JsonbSerializer<T> valueSerializer;
 
-        MapSerializer(Set<Object> recursionReference, String orderStrategy, boolean writeNull,  JsonbSerializer<T> valueSerializer) {
-            super(recursionReference);
+        MapSerializer(String orderStrategy, boolean writeNull,  JsonbSerializer<T> valueSerializer) {
+            super(true);
             this.orderStrategy = orderStrategy;
             this.writeNull = writeNull;
             this.valueSerializer = valueSerializer;
@@ -2599,7 +4042,7 @@ public class ObjectJsonMapper implements Jsonb {
                 throw new JsonbException("Map context, expect event START_OBJECT");
             }
 
-            Map<String, T> container = newMap(Reflections.typeToClass(rtType, hints));
+            Map<String, T> container = newMap(rawClass(rtType, hints));
             while (parser.hasNext()) {
                 current = parser.next();
                 if (current == JsonParser.Event.END_OBJECT) {
@@ -2632,8 +4075,8 @@ public class ObjectJsonMapper implements Jsonb {
 
         private final JsonbSerializer<E> elementSerializer;
 
-        CollectionSerializer(Set<Object> recursionReference, JsonbSerializer<E> elementSerializer) {
-            super(recursionReference);
+        CollectionSerializer(JsonbSerializer<E> elementSerializer) {
+            super(true);
             this.elementSerializer = elementSerializer;
         }
 
@@ -2675,8 +4118,8 @@ public class ObjectJsonMapper implements Jsonb {
         }
 
         @Override
-        public T unmarshal(JsonParser parser, DeserializationContext ctx, Type rtType) {
-            Collection<E> container = newCollection((Class<E>) Reflections.typeToClass(rtType, hints));
+        public T unmarshal(JsonParser.Event last, JsonParser parser, DeserializationContext ctx, Type rtType) {
+            Collection<E> container = newCollection((Class<E>) rawClass(rtType, hints));
             Type elementType = rtType instanceof ParameterizedType ?
                     ((ParameterizedType) rtType).getActualTypeArguments()[0] : Object.class;
             int deep = 1;
@@ -2722,8 +4165,8 @@ public class ObjectJsonMapper implements Jsonb {
 
         private final JsonbSerializer<T> elementSerializer;
 
-        ArraySerializer(Set<Object> recursionReference, JsonbSerializer<T> elementSerializer) {
-            super(recursionReference);
+        ArraySerializer(JsonbSerializer<T> elementSerializer) {
+            super(true);
             this.elementSerializer = elementSerializer;
         }
 
@@ -2761,7 +4204,7 @@ public class ObjectJsonMapper implements Jsonb {
         }
 
         @Override
-        protected void fill(JsonParser parser, DeserializationContext ctx, T[] array, Class<?> componentType, int index) {
+        protected void fill(JsonParser.Event last, JsonParser parser, DeserializationContext ctx, T[] array, Class<?> componentType, int index) {
             array[index] = elementDeserializer.deserialize(new PrefetchEventJsonParser(jsonBuilderFactory, parser, last), ctx, componentType);
         }
     }
@@ -2911,9 +4354,9 @@ public class ObjectJsonMapper implements Jsonb {
         }
 
         @Override
-        public T unmarshal(JsonParser parser, DeserializationContext ctx, Type rtType) {
+        public T unmarshal(JsonParser.Event last, JsonParser parser, DeserializationContext ctx, Type rtType) {
             String name = parser.getString();
-            Class<T> klazz = (Class<T>) Reflections.typeToClass(rtType, hints);
+            Class<T> klazz = (Class<T>) rawClass(rtType, hints);
             T[] constants = klazz.getEnumConstants();
             for (int i = 0; i < alias.length; i++) {
                 if (caseInsensitive) {
@@ -2933,7 +4376,6 @@ public class ObjectJsonMapper implements Jsonb {
         }
     }
 
-    @RequiredArgsConstructor
     private static class JavaBeanInstantiator<T> {
 
         private final Executable executable;
@@ -2944,7 +4386,45 @@ public class ObjectJsonMapper implements Jsonb {
         @Getter
         private final boolean parametersRequired;
 
+        private final MethodHandle invoker; // (Object[])Object，展开参数调用构造函数或静态工厂方法；不可用时为null，退回反射
+
+        JavaBeanInstantiator(Executable executable, Map<String, Integer> argNameIndexPairs, boolean parametersRequired) {
+            this.executable = executable;
+            this.argNameIndexPairs = argNameIndexPairs;
+            this.parametersRequired = parametersRequired;
+            this.invoker = compile(executable);
+        }
+
+        private static MethodHandle compile(Executable executable) {
+            if (executable instanceof Method && !Modifier.isStatic(executable.getModifiers())) {
+                return null;
+            }
+            try {
+                executable.setAccessible(true);
+                MethodHandle handle = executable instanceof Constructor ?
+                        MethodHandles.lookup().unreflectConstructor((Constructor<?>) executable) :
+                        MethodHandles.lookup().unreflect((Method) executable);
+                return handle.asFixedArity()
+                        .asSpreader(Object[].class, executable.getParameterCount())
+                        .asType(MethodType.methodType(Object.class, Object[].class));
+            } catch (IllegalAccessException | RuntimeException e) {
+                log.log(Level.FINE, "fallback to reflection for creator: " + executable, e);
+                return null;
+            }
+        }
+
         public T instantiate(Object[] args) {
+            if (invoker != null) {
+                Object bean;
+                try {
+                    bean = invoker.invokeExact(args);
+                } catch (Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new JsonbException(e.getMessage(), e);
+                }
+                return (T) bean;
+            }
             executable.setAccessible(true);
             if (executable instanceof Constructor) {
                 try {
@@ -2972,10 +4452,16 @@ public class ObjectJsonMapper implements Jsonb {
 
         private final JsonbSerializer<T> delegate;
 
+        private final JsonFactoryAdapter.PreEncodedName encodedName; // escaped once, written by copy
+
         public T get(D obj) {
             return getter.apply(obj);
         }
 
+        void write(D obj, JsonGenerator generator, SerializationContext ctx) {
+            serialize(get(obj), generator, ctx);
+        }
+
         private boolean isOptionalEmpty(T obj) {
             return OptionalInt.empty().equals(obj) ||
                     OptionalLong.empty().equals(obj) ||
@@ -2988,11 +4474,11 @@ public class ObjectJsonMapper implements Jsonb {
             log.log(Level.FINE, "serialize property['{0}']", propertyName);
             if (obj == null || isOptionalEmpty(obj)) {
                 if (writeNull) {
-                    generator.writeNull(propertyName);
+                    JsonFactoryAdapter.writeKey(generator, encodedName).writeNull();
                 }
                 return;
             }
-            generator.writeKey(propertyName);
+            JsonFactoryAdapter.writeKey(generator, encodedName);
             delegate.serialize(obj, generator, ctx);
         }
 
@@ -3002,6 +4488,40 @@ public class ObjectJsonMapper implements Jsonb {
         }
     }
 
+    /**
+     * 默认数值格式的int/long/double属性，通过免装箱的访问器读取后直接写出，输出与NumberSerializer一致
+     */
+    private static class PrimitivePropertySerializer<D, T> extends JavaBeanPropertySerializer<D, T> {
+
+        private final ToIntFunction<D> intReader;
+
+        private final ToLongFunction<D> longReader;
+
+        private final ToDoubleFunction<D> doubleReader;
+
+        PrimitivePropertySerializer(String propertyName, boolean writeNull, Function<D, T> getter, JsonbSerializer<T> delegate,
+                                    JsonFactoryAdapter.PreEncodedName encodedName,
+                                    ToIntFunction<D> intReader, ToLongFunction<D> longReader, ToDoubleFunction<D> doubleReader) {
+            super(propertyName, writeNull, getter, delegate, encodedName);
+            this.intReader = intReader;
+            this.longReader = longReader;
+            this.doubleReader = doubleReader;
+        }
+
+        @Override
+        void write(D obj, JsonGenerator generator, SerializationContext ctx) {
+            log.log(Level.FINE, "serialize property['{0}']", super.propertyName);
+            JsonFactoryAdapter.writeKey(generator, super.encodedName);
+            if (intReader != null) {
+                generator.write(intReader.applyAsInt(obj));
+            } else if (longReader != null) {
+                generator.write(longReader.applyAsLong(obj));
+            } else {
+                generator.write(new BigDecimal(String.valueOf(doubleReader.applyAsDouble(obj))));
+            }
+        }
+    }
+
     @RequiredArgsConstructor
     private static class JavaBeanPropertyDeserializer<D, T> implements JsonbDeserializer<T> {
 
@@ -3023,6 +4543,44 @@ public class ObjectJsonMapper implements Jsonb {
         public T deserialize(JsonParser parser, DeserializationContext ctx, Type rtType) {
             return delegate.deserialize(parser, ctx, rtType);
         }
+
+        void read(D obj, JsonParser parser, DeserializationContext ctx) {
+            setter.accept(obj, deserialize(parser, ctx, type));
+        }
+    }
+
+    /**
+     * 默认的int/long/double属性：json数值直接以原生类型写入对象，null、字符串等仍由NumberDeserializer处理
+     */
+    private static class PrimitivePropertyDeserializer<D, T> extends JavaBeanPropertyDeserializer<D, T> {
+
+        private final ObjIntConsumer<D> intWriter;
+
+        private final ObjLongConsumer<D> longWriter;
+
+        private final ObjDoubleConsumer<D> doubleWriter;
+
+        PrimitivePropertyDeserializer(String name, boolean caseInsensitive, Type type, BiConsumer<D, T> setter, JsonbDeserializer<T> delegate,
+                                      ObjIntConsumer<D> intWriter, ObjLongConsumer<D> longWriter, ObjDoubleConsumer<D> doubleWriter) {
+            super(name, caseInsensitive, type, setter, delegate);
+            this.intWriter = intWriter;
+            this.longWriter = longWriter;
+            this.doubleWriter = doubleWriter;
+        }
+
+        @Override
+        void read(D obj, JsonParser parser, DeserializationContext ctx) {
+            JsonParser.Event event = parser.next();
+            if (event != JsonParser.Event.VALUE_NUMBER) {
+                getSetter().accept(obj, ((NumberDeserializer<T>) super.delegate).read(event, parser, getType()));
+            } else if (intWriter != null) {
+                intWriter.accept(obj, NumberDeserializer.intValue(parser, Integer.MIN_VALUE, Integer.MAX_VALUE));
+            } else if (longWriter != null) {
+                longWriter.accept(obj, NumberDeserializer.longValue(parser));
+            } else {
+                doubleWriter.accept(obj, NumberDeserializer.doubleValue(parser));
+            }
+        }
     }
 
     private static class JavaBeanSerializer<T> extends AbstractSerializer<T> {
@@ -3030,8 +4588,8 @@ public class ObjectJsonMapper implements Jsonb {
         @Setter
         private JavaBeanPropertySerializer<T, Object>[] propertySerializers;
 
-        JavaBeanSerializer(Set<Object> recursionReference) {
-            super(recursionReference);
+        JavaBeanSerializer() {
+            super(true);
         }
 
         @Override protected void writeStart(JsonGenerator generator) {
@@ -3041,7 +4599,7 @@ public class ObjectJsonMapper implements Jsonb {
         @Override
         public void marshall(T obj, JsonGenerator generator, SerializationContext ctx) {
             for (JavaBeanPropertySerializer<T, Object> serializer : propertySerializers) {
-                serializer.serialize(serializer.get(obj), generator, ctx); // JavaBeanPropertySerializer handle null
+                serializer.write(obj, generator, ctx); // JavaBeanPropertySerializer handle null
             }
         }
 
@@ -3051,17 +4609,30 @@ public class ObjectJsonMapper implements Jsonb {
 
     }
 
+    /**
+     * 反序列化计划：构建完成后不再修改，可被缓存并由多个线程同时使用。
+     * 每次调用的可变状态(构造参数、待赋值属性)从模板复制到栈上，不写回实例字段。
+     * 因递归类型需先登记再补全属性，构建分withInstantiator、setPropertyDeserializers两步，各只允许调用一次
+     */
     private static class JavaBeanDeserializer<T> extends AbstractDeserializer<T> {
 
         private JavaBeanInstantiator<T> instantiator;
 
-        private Map<String, JavaBeanPropertyDeserializer<T, ?>> propertyDeserializers; // 反序列化时按流先后顺序进行
+        private JavaBeanPropertyDeserializer<T, ?>[] slots; // 反序列化时按流先后顺序进行
+
+        private int[] argIndexes; // 与slots一一对应，构造参数下标，setter属性为-1
+
+        private int lazyProperties; // 需在实例化后调用setter的属性数
+
+        private JsonFactoryAdapter.PropertyNameMatcher propertyNames; // json属性名 -> 槽位，含大小写不敏感匹配
 
         private final boolean caseInsensitive;
 
-        private Set<String> requiredParameters;
+        private Object[] argsTemplate; // 只读模板，构造参数默认值；无参构造时直接使用
+
+        private String[] requiredNames = new String[0];
 
-        private Object[] args;
+        private int[] requiredIndexes = new int[0]; // 与requiredNames一一对应，调用结束时仍为UNSET即缺失
 
         private static final Object UNSET = new Object();
 
@@ -3071,21 +4642,42 @@ public class ObjectJsonMapper implements Jsonb {
         }
 
         JavaBeanDeserializer withInstantiator(boolean nonStaticMember, JavaBeanInstantiator<T> instantiator) {
+            if (this.instantiator != null) {
+                throw new IllegalStateException("instantiator already assigned");
+            }
             this.instantiator = instantiator;
             int preserve = nonStaticMember ? 1 : 0;
-            this.args =  new Object[preserve + instantiator.argNameIndexPairs.size()]; // 原生类型使用默认值，Optional*类型使用空值Optional*.empty()，其他的则为null
+            this.argsTemplate =  new Object[preserve + instantiator.argNameIndexPairs.size()]; // 原生类型使用默认值，Optional*类型使用空值Optional*.empty()，其他的则为null
             return this;
         }
 
         void setPropertyDeserializers(List<JavaBeanPropertyDeserializer<T, ?>> deserializers) {
-            this.propertyDeserializers = new HashMap<>(deserializers.size());
-            this.requiredParameters = new HashSet<>();
+            if (this.slots != null) {
+                throw new IllegalStateException("property deserializers already assigned");
+            }
+            Map<String, JavaBeanPropertyDeserializer<T, ?>> propertyDeserializers = new LinkedHashMap<>(deserializers.size());
             for (JavaBeanPropertyDeserializer<T, ?> deserializer : deserializers) {
-                propertyDeserializers.put(deserializer.getName(), deserializer);
+                propertyDeserializers.put(deserializer.getName(), deserializer); // 同名时后者覆盖前者
+            }
+            Object[] args = this.argsTemplate;
+            if (instantiator.parametersRequired) {
+                Arrays.fill(args, UNSET);
+            }
+            JavaBeanPropertyDeserializer<T, ?>[] slots = propertyDeserializers.values().toArray(new JavaBeanPropertyDeserializer[0]);
+            int[] argIndexes = new int[slots.length];
+            int lazyProperties = 0;
+            List<String> requiredNames = new ArrayList<>();
+            List<Integer> requiredIndexes = new ArrayList<>();
+            for (int slot = 0; slot < slots.length; slot++) {
+                JavaBeanPropertyDeserializer<T, ?> deserializer = slots[slot];
                 Integer index = instantiator.argNameIndexPairs.get(deserializer.name);
-                if (index != null) {
+                argIndexes[slot] = index == null ? -1 : index;
+                if (index == null) {
+                    lazyProperties++;
+                } else {
                     if (instantiator.parametersRequired) {
-                        requiredParameters.add(deserializer.getName());
+                        requiredNames.add(deserializer.getName());
+                        requiredIndexes.add(index);
                     } else if (Boolean.TYPE.equals(deserializer.type)){
                         args[index] = false;
                     } else if (Byte.TYPE.equals(deserializer.type)){
@@ -3113,6 +4705,12 @@ public class ObjectJsonMapper implements Jsonb {
                     } // else set to null
                 }
             }
+            this.requiredNames = requiredNames.toArray(new String[0]);
+            this.requiredIndexes = requiredIndexes.stream().mapToInt(Integer::intValue).toArray();
+            this.argIndexes = argIndexes;
+            this.lazyProperties = lazyProperties;
+            this.propertyNames = new JsonFactoryAdapter.PropertyNameMatcher(propertyDeserializers.keySet().toArray(new String[0]), caseInsensitive);
+            this.slots = slots;
         }
 
 
@@ -3126,15 +4724,14 @@ public class ObjectJsonMapper implements Jsonb {
         }
 
         @Override
-        protected T unmarshal(JsonParser parser, DeserializationContext ctx, Type rtType) {
+        protected T unmarshal(JsonParser.Event last, JsonParser parser, DeserializationContext ctx, Type rtType) {
             Optional<T> obj = instantiator.argNameIndexPairs.isEmpty() ? // 非静态内部类，无需设置声明类型：O.I = o.new I()
-                    Optional.of(instantiator.instantiate(this.args)) : Optional.empty();
+                    Optional.of(instantiator.instantiate(argsTemplate)) : Optional.empty();
             List<Pair<BiConsumer, Object>> lazyProperties = null;
+            Object[] args = null;
             if (!obj.isPresent()) {
-                if (instantiator.parametersRequired) {
-                    Arrays.fill(args, UNSET);
-                }
-                lazyProperties = new ArrayList<>(propertyDeserializers.size() - instantiator.argNameIndexPairs.size());
+                args = argsTemplate.clone(); // 每次调用独立的参数数组，模板保持不变
+                lazyProperties = new ArrayList<>(this.lazyProperties);
             }
             while (parser.hasNext()) {
                 last = parser.next();
@@ -3143,40 +4740,37 @@ public class ObjectJsonMapper implements Jsonb {
                 } else if (last != JsonParser.Event.KEY_NAME) {
                     throw new JsonbException("expect json key, but " + last);
                 }
-                String jsonPropertyName = parser.getString();
-
-                JavaBeanPropertyDeserializer deserializer = propertyDeserializers.get(jsonPropertyName); // 当反序列化时属性不存在时需保持默认值
-                if (deserializer == null && caseInsensitive) {
-                    deserializer = findCaseInsensitiveDeserializer(jsonPropertyName);
+                int slot = parser instanceof JsonFactoryAdapter.KeyAccessor ? // 直接以解析器缓冲区中的属性名查表
+                        ((JsonFactoryAdapter.KeyAccessor) parser).matchKey(propertyNames) :
+                        propertyNames.match(parser.getString());
+                if (slot == JsonFactoryAdapter.PropertyNameMatcher.AMBIGUOUS) {
+                    throw new JsonbException("multiply property has same name as case-insensitive");
                 }
-                if (deserializer == null) {
-                    handleUnknownProperty(jsonPropertyName, rtType, parser); // 当json中存在java对象不存在的属性时，直接忽略，而不能视为错误
+                if (slot == JsonFactoryAdapter.PropertyNameMatcher.UNKNOWN) {
+                    handleUnknownProperty(log.isLoggable(Level.FINE) ? parser.getString() : null, rtType, parser); // 当json中存在java对象不存在的属性时，直接忽略，而不能视为错误
                     continue;
-                } else {
-                    requiredParameters.remove(deserializer.getName());
                 }
+                JavaBeanPropertyDeserializer deserializer = slots[slot]; // 当反序列化时属性不存在时需保持默认值
 //                if (deserializer.delegate instanceof JavaBeanDeserializer &&
 //                        ((JavaBeanDeserializer) deserializer.delegate).isInnerNonStatic()) {
 //                    ((JavaBeanDeserializer) deserializer.delegate).setDeclaringObject(obj.get());
 //                }
-                Object value = deserializer.deserialize(parser, ctx, deserializer.type);
                 if (obj.isPresent()) {
-                    deserializer.setter.accept(obj.get(), value);
+                    deserializer.read(obj.get(), parser, ctx);
                     continue;
                 }
-                Integer index = instantiator.argNameIndexPairs.get(jsonPropertyName);
-                if (index == null) {
+                Object value = deserializer.deserialize(parser, ctx, deserializer.type);
+                int index = argIndexes[slot];
+                if (index < 0) {
                     lazyProperties.add(new Pair<>(deserializer.setter, value));
                 } else {
                     args[index] = value;
                 }
             }
-            if (!requiredParameters.isEmpty()) {
-                throw new JsonbException(instantiator.executable.getDeclaringClass() + " missing required properties: " + requiredParameters);
-            }
             if (obj.isPresent()) {
                 return obj.get();
             }
+            checkRequiredParametersAssigned(args);
             checkRequiredParametersValueAssigned(args);
             T bean = instantiator.instantiate(args);
             for (Pair<BiConsumer, Object> lazySetter : lazyProperties) {
@@ -3185,18 +4779,19 @@ public class ObjectJsonMapper implements Jsonb {
             return bean;
         }
 
-        private JavaBeanPropertyDeserializer<T, ?> findCaseInsensitiveDeserializer(String jsonPropertyName) {
-            JavaBeanPropertyDeserializer<T, ?> candidate = null;
-            for (JavaBeanPropertyDeserializer<T, ?> caseInsensitiveDeserializer : propertyDeserializers.values()) {
-                if (caseInsensitiveDeserializer.getName().equalsIgnoreCase(jsonPropertyName)) {
-                    if (candidate == null) {
-                        candidate = caseInsensitiveDeserializer;
-                    } else {
-                        throw new JsonbException("multiply property has same name as case-insensitive");
+        private void checkRequiredParametersAssigned(Object[] args) {
+            List<String> missing = null;
+            for (int i = 0; i < requiredIndexes.length; i++) {
+                if (args[requiredIndexes[i]] == UNSET) {
+                    if (missing == null) {
+                        missing = new ArrayList<>(requiredIndexes.length - i);
                     }
+                    missing.add(requiredNames[i]);
                 }
             }
-            return candidate;
+            if (missing != null) {
+                throw new JsonbException(instantiator.executable.getDeclaringClass() + " missing required properties: " + missing);
+            }
         }
 
         private void checkRequiredParametersValueAssigned(Object[] args) {
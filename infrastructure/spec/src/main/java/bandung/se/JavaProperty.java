@@ -1,11 +1,30 @@
 package bandung.se;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 @RequiredArgsConstructor
 @Getter
@@ -19,6 +38,397 @@ public class JavaProperty<D, T> {
 
     protected final Method setter;
 
+    private static final Logger log = Logger.getLogger(JavaProperty.class.getName());
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final int OBJECT = 0, INT = 1, LONG = 2, DOUBLE = 3;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicReferenceArray<Object> accessors = new AtomicReferenceArray<>(16); // 槽位：值类型 << 2 | 写 << 1 | 字段
+
+    /**
+     * 编译后的读访问器，首次调用时生成并缓存在属性上(JavaBean.introspect缓存属性，故每个属性只编译一次)。
+     * 可链接的public getter使用LambdaMetafactory生成实现类，其余getter及字段使用MethodHandle，均不可用时退回反射。
+     * 对象为null或类型不符时交由反射处理，getter抛出的异常与反射一样包装为InvocationTargetException
+     * @param useGetter true则通过getter读取，否则读取字段
+     * @return 读访问器
+     */
+    public Function<D, T> reader(boolean useGetter) {
+        return cached(OBJECT, true, useGetter, () -> {
+            Member member = useGetter ? getter : property;
+            Function<D, T> fallback = x -> get(x, useGetter, !useGetter);
+            Function<D, T> compiled = compile(member, true, Function.class, "apply", Object.class);
+            if (compiled == null) {
+                return fallback;
+            }
+            Class<?> declaring = member.getDeclaringClass();
+            return x -> {
+                if (!declaring.isInstance(x)) {
+                    return fallback.apply(x);
+                }
+                try {
+                    return compiled.apply(x);
+                } catch (Throwable e) {
+                    throw failure(e, useGetter);
+                }
+            };
+        });
+    }
+
+    /**
+     * 编译后的写访问器，规则同{@link #reader(boolean)}；值为null(原生类型)或类型不符(含需拓宽的原生类型)时交由反射处理
+     * @param useSetter true则通过setter写入，否则写字段
+     * @return 写访问器
+     */
+    public BiConsumer<D, T> writer(boolean useSetter) {
+        return cached(OBJECT, false, useSetter, () -> {
+            Member member = useSetter ? setter : property;
+            BiConsumer<D, T> fallback = (x, v) -> set(x, v, useSetter, !useSetter);
+            BiConsumer<D, T> compiled = compile(member, false, BiConsumer.class, "accept", Object.class);
+            if (compiled == null) {
+                return fallback;
+            }
+            Class<?> declaring = member.getDeclaringClass();
+            Class<?> type = valueType(member, false);
+            Class<?> accepted = type.isPrimitive() ? Reflections.asWrapperClass(type) : type;
+            boolean nullable = !type.isPrimitive();
+            return (x, v) -> {
+                if (!declaring.isInstance(x) || (v == null ? !nullable : !accepted.isInstance(v))) {
+                    fallback.accept(x, v);
+                    return;
+                }
+                try {
+                    compiled.accept(x, v);
+                } catch (Throwable e) {
+                    throw failure(e, useSetter);
+                }
+            };
+        });
+    }
+
+    /**
+     * int类型属性的免装箱读访问器，缓存规则同{@link #reader(boolean)}
+     */
+    public ToIntFunction<D> intReader(boolean useGetter) {
+        return cached(INT, true, useGetter, () -> {
+            Member member = primitive(useGetter ? getter : property, true, int.class);
+            ToIntFunction<D> fallback = x -> (Integer) get(x, useGetter, !useGetter);
+            ToIntFunction<D> compiled = compile(member, true, ToIntFunction.class, "applyAsInt", int.class);
+            if (compiled == null) {
+                return fallback;
+            }
+            Class<?> declaring = member.getDeclaringClass();
+            return x -> {
+                if (!declaring.isInstance(x)) {
+                    return fallback.applyAsInt(x);
+                }
+                try {
+                    return compiled.applyAsInt(x);
+                } catch (Throwable e) {
+                    throw failure(e, useGetter);
+                }
+            };
+        });
+    }
+
+    /**
+     * long类型属性的免装箱读访问器，缓存规则同{@link #reader(boolean)}
+     */
+    public ToLongFunction<D> longReader(boolean useGetter) {
+        return cached(LONG, true, useGetter, () -> {
+            Member member = primitive(useGetter ? getter : property, true, long.class);
+            ToLongFunction<D> fallback = x -> (Long) get(x, useGetter, !useGetter);
+            ToLongFunction<D> compiled = compile(member, true, ToLongFunction.class, "applyAsLong", long.class);
+            if (compiled == null) {
+                return fallback;
+            }
+            Class<?> declaring = member.getDeclaringClass();
+            return x -> {
+                if (!declaring.isInstance(x)) {
+                    return fallback.applyAsLong(x);
+                }
+                try {
+                    return compiled.applyAsLong(x);
+                } catch (Throwable e) {
+                    throw failure(e, useGetter);
+                }
+            };
+        });
+    }
+
+    /**
+     * double类型属性的免装箱读访问器，缓存规则同{@link #reader(boolean)}
+     */
+    public ToDoubleFunction<D> doubleReader(boolean useGetter) {
+        return cached(DOUBLE, true, useGetter, () -> {
+            Member member = primitive(useGetter ? getter : property, true, double.class);
+            ToDoubleFunction<D> fallback = x -> (Double) get(x, useGetter, !useGetter);
+            ToDoubleFunction<D> compiled = compile(member, true, ToDoubleFunction.class, "applyAsDouble", double.class);
+            if (compiled == null) {
+                return fallback;
+            }
+            Class<?> declaring = member.getDeclaringClass();
+            return x -> {
+                if (!declaring.isInstance(x)) {
+                    return fallback.applyAsDouble(x);
+                }
+                try {
+                    return compiled.applyAsDouble(x);
+                } catch (Throwable e) {
+                    throw failure(e, useGetter);
+                }
+            };
+        });
+    }
+
+    /**
+     * int类型属性的免装箱写访问器，缓存规则同{@link #writer(boolean)}
+     */
+    public ObjIntConsumer<D> intWriter(boolean useSetter) {
+        return cached(INT, false, useSetter, () -> {
+            Member member = primitive(useSetter ? setter : property, false, int.class);
+            ObjIntConsumer<D> fallback = (x, v) -> set(x, (T) Integer.valueOf(v), useSetter, !useSetter);
+            ObjIntConsumer<D> compiled = compile(member, false, ObjIntConsumer.class, "accept", int.class);
+            if (compiled == null) {
+                return fallback;
+            }
+            Class<?> declaring = member.getDeclaringClass();
+            return (x, v) -> {
+                if (!declaring.isInstance(x)) {
+                    fallback.accept(x, v);
+                    return;
+                }
+                try {
+                    compiled.accept(x, v);
+                } catch (Throwable e) {
+                    throw failure(e, useSetter);
+                }
+            };
+        });
+    }
+
+    /**
+     * long类型属性的免装箱写访问器，缓存规则同{@link #writer(boolean)}
+     */
+    public ObjLongConsumer<D> longWriter(boolean useSetter) {
+        return cached(LONG, false, useSetter, () -> {
+            Member member = primitive(useSetter ? setter : property, false, long.class);
+            ObjLongConsumer<D> fallback = (x, v) -> set(x, (T) Long.valueOf(v), useSetter, !useSetter);
+            ObjLongConsumer<D> compiled = compile(member, false, ObjLongConsumer.class, "accept", long.class);
+            if (compiled == null) {
+                return fallback;
+            }
+            Class<?> declaring = member.getDeclaringClass();
+            return (x, v) -> {
+                if (!declaring.isInstance(x)) {
+                    fallback.accept(x, v);
+                    return;
+                }
+                try {
+                    compiled.accept(x, v);
+                } catch (Throwable e) {
+                    throw failure(e, useSetter);
+                }
+            };
+        });
+    }
+
+    /**
+     * double类型属性的免装箱写访问器，缓存规则同{@link #writer(boolean)}
+     */
+    public ObjDoubleConsumer<D> doubleWriter(boolean useSetter) {
+        return cached(DOUBLE, false, useSetter, () -> {
+            Member member = primitive(useSetter ? setter : property, false, double.class);
+            ObjDoubleConsumer<D> fallback = (x, v) -> set(x, (T) Double.valueOf(v), useSetter, !useSetter);
+            ObjDoubleConsumer<D> compiled = compile(member, false, ObjDoubleConsumer.class, "accept", double.class);
+            if (compiled == null) {
+                return fallback;
+            }
+            Class<?> declaring = member.getDeclaringClass();
+            return (x, v) -> {
+                if (!declaring.isInstance(x)) {
+                    fallback.accept(x, v);
+                    return;
+                }
+                try {
+                    compiled.accept(x, v);
+                } catch (Throwable e) {
+                    throw failure(e, useSetter);
+                }
+            };
+        });
+    }
+
+    private <F> F cached(int kind, boolean read, boolean viaMethod, Supplier<F> factory) {
+        int slot = kind << 2 | (read ? 0 : 2) | (viaMethod ? 0 : 1);
+        Object accessor = accessors.get(slot);
+        if (accessor == null) {
+            accessor = factory.get(); // 并发时可能重复编译，结果等价，后写者覆盖
+            accessors.set(slot, accessor);
+        }
+        return (F) accessor;
+    }
+
+    private static Member primitive(Member member, boolean read, Class<?> expected) {
+        Class<?> actual = member == null ? null : valueType(member, read);
+        if (actual != expected) {
+            throw new IllegalArgumentException("property type is " + actual + ", not " + expected);
+        }
+        return member;
+    }
+
+    private static Class<?> valueType(Member member, boolean read) {
+        if (member instanceof Field) {
+            return ((Field) member).getType();
+        }
+        return read ? ((Method) member).getReturnType() : ((Method) member).getParameterTypes()[0];
+    }
+
+    /**
+     * 把getter/setter/字段编译为函数式接口实例
+     * @param member 方法或字段，为null时返回null
+     * @param read true为读(单参数，返回值)，false为写(对象、值两个参数，无返回值)
+     * @param functionalInterface 目标接口
+     * @param sam 接口方法名
+     * @param valueType 接口方法上值的类型：Object或原生类型
+     * @return 无法编译(不可访问等)时返回null，由调用方退回反射
+     */
+    private static <F> F compile(Member member, boolean read, Class<?> functionalInterface, String sam, Class<?> valueType) {
+        if (member == null) {
+            return null;
+        }
+        MethodType samType = read ?
+                MethodType.methodType(valueType, Object.class) :
+                MethodType.methodType(void.class, Object.class, valueType);
+        try {
+            MethodHandle handle;
+            if (member instanceof Method) {
+                handle = LOOKUP.unreflect((Method) member);
+                if (linkable(member)) {
+                    Class<?> type = valueType(member, read);
+                    Class<?> boxed = type.isPrimitive() && !valueType.isPrimitive() ? Reflections.asWrapperClass(type) : type;
+                    MethodType instantiatedType = read ?
+                            MethodType.methodType(boxed, member.getDeclaringClass()) :
+                            MethodType.methodType(void.class, member.getDeclaringClass(), boxed);
+                    return (F) LambdaMetafactory.metafactory(LOOKUP, sam, MethodType.methodType(functionalInterface),
+                            samType, handle, instantiatedType).getTarget().invoke();
+                }
+            } else {
+                handle = read ? LOOKUP.unreflectGetter((Field) member) : LOOKUP.unreflectSetter((Field) member);
+            }
+            return (F) adapt(handle.asType(samType), functionalInterface);
+        } catch (Throwable e) { // 不可访问、类加载器不可见等情况，由调用方退回反射
+            log.log(Level.FINE, "fallback to reflection for property accessor: " + member, e);
+            return null;
+        }
+    }
+
+    /**
+     * 生成的实现类与本类同包同类加载器，只有公开可见、且能从本类加载器解析到的类型才能直接链接
+     */
+    private static boolean linkable(Member member) {
+        if (!Modifier.isPublic(member.getModifiers())) {
+            return false;
+        }
+        Class<?> declaring = member.getDeclaringClass();
+        for (Class<?> c = declaring; c != null; c = c.getDeclaringClass()) {
+            boolean outer = c.getDeclaringClass() == null;
+            if (!Modifier.isPublic(c.getModifiers()) && (outer || !Modifier.isProtected(c.getModifiers()))) { // protected内部类在类文件中为public
+                return false;
+            }
+        }
+        try {
+            return Class.forName(declaring.getName(), false, JavaProperty.class.getClassLoader()) == declaring;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    private static Object adapt(MethodHandle handle, Class<?> functionalInterface) {
+        if (functionalInterface == Function.class) {
+            return (Function<Object, Object>) x -> {
+                try {
+                    return handle.invokeExact(x);
+                } catch (Throwable e) {
+                    throw sneaky(e);
+                }
+            };
+        } else if (functionalInterface == BiConsumer.class) {
+            return (BiConsumer<Object, Object>) (x, v) -> {
+                try {
+                    handle.invokeExact(x, v);
+                } catch (Throwable e) {
+                    throw sneaky(e);
+                }
+            };
+        } else if (functionalInterface == ToIntFunction.class) {
+            return (ToIntFunction<Object>) x -> {
+                try {
+                    return (int) handle.invokeExact(x);
+                } catch (Throwable e) {
+                    throw sneaky(e);
+                }
+            };
+        } else if (functionalInterface == ToLongFunction.class) {
+            return (ToLongFunction<Object>) x -> {
+                try {
+                    return (long) handle.invokeExact(x);
+                } catch (Throwable e) {
+                    throw sneaky(e);
+                }
+            };
+        } else if (functionalInterface == ToDoubleFunction.class) {
+            return (ToDoubleFunction<Object>) x -> {
+                try {
+                    return (double) handle.invokeExact(x);
+                } catch (Throwable e) {
+                    throw sneaky(e);
+                }
+            };
+        } else if (functionalInterface == ObjIntConsumer.class) {
+            return (ObjIntConsumer<Object>) (x, v) -> {
+                try {
+                    handle.invokeExact(x, v);
+                } catch (Throwable e) {
+                    throw sneaky(e);
+                }
+            };
+        } else if (functionalInterface == ObjLongConsumer.class) {
+            return (ObjLongConsumer<Object>) (x, v) -> {
+                try {
+                    handle.invokeExact(x, v);
+                } catch (Throwable e) {
+                    throw sneaky(e);
+                }
+            };
+        } else if (functionalInterface == ObjDoubleConsumer.class) {
+            return (ObjDoubleConsumer<Object>) (x, v) -> {
+                try {
+                    handle.invokeExact(x, v);
+                } catch (Throwable e) {
+                    throw sneaky(e);
+                }
+            };
+        }
+        throw new IllegalArgumentException("unsupported functional interface: " + functionalInterface);
+    }
+
+    /**
+     * 与反射保持一致：getter/setter抛出的异常包装为InvocationTargetException，字段读写的异常原样抛出
+     */
+    private static RuntimeException failure(Throwable e, boolean invoked) {
+        if (invoked) {
+            InvocationTargetException ite = new InvocationTargetException(e);
+            return new RuntimeException(ite.getMessage(), ite);
+        }
+        throw sneaky(e);
+    }
+
+    private static <E extends Throwable> RuntimeException sneaky(Throwable e) throws E {
+        throw (E) e; // 原样传递，由访问器统一包装
+    }
+
     public T get(D obj, boolean onlyGetter, boolean onlyField) {
         if (onlyGetter) {
             return invokeGetter(obj);
@@ -85,7 +85,7 @@ public class UnicodeDetectingInputStream extends FilterInputStream {
                 throw new IndexOutOfBoundsException();
             }
             int start;
-            for (start = off; start < len && pos < buffer.length; start++) {
+            for (start = off; start < off + len && pos < buffer.length; start++) {
                 b[start] = buffer[pos++];
             }
             return start - off;
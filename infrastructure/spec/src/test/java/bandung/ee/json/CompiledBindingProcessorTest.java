@@ -0,0 +1,235 @@
+package bandung.ee.json;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.json.bind.Jsonb;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.JsonbConfig;
+import javax.json.bind.annotation.JsonbProperty;
+import javax.json.bind.serializer.JsonbSerializer;
+import javax.json.stream.JsonParser;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class CompiledBindingProcessorTest {
+
+    private static final String ORDER = "package demo;\n" +
+            "import java.util.*;\n" +
+            "@bandung.ee.json.CompiledBinding\n" +
+            "@javax.json.bind.annotation.JsonbPropertyOrder({\"id\"})\n" +
+            "public class Order extends Base {\n" +
+            "    public static String caller;\n" +
+            "    private int id;\n" +
+            "    private long amount;\n" +
+            "    private boolean paid;\n" +
+            "    private String note;\n" +
+            "    private double rate;\n" +
+            "    private List<Line> lines;\n" +
+            "    private Map<String, Integer> counts;\n" +
+            "    private Optional<String> coupon = Optional.empty();\n" +
+            "    private Status status;\n" +
+            "    public String[] tags;\n" +
+            "    @javax.json.bind.annotation.JsonbProperty(nillable = true)\n" +
+            "    public Integer level;\n" +
+            "    public char grade = 'A';\n" +
+            "    @javax.json.bind.annotation.JsonbTransient\n" +
+            "    public String secret;\n" +
+            "    public int getId() { caller = Thread.currentThread().getStackTrace()[2].getClassName(); return id; }\n" +
+            "    public void setId(int id) { this.id = id; }\n" +
+            "    public long getAmount() { return amount; }\n" +
+            "    public void setAmount(long amount) { this.amount = amount; }\n" +
+            "    public boolean isPaid() { return paid; }\n" +
+            "    public void setPaid(boolean paid) { this.paid = paid; }\n" +
+            "    @javax.json.bind.annotation.JsonbProperty(\"remark\")\n" +
+            "    public String getNote() { return note; }\n" +
+            "    @javax.json.bind.annotation.JsonbProperty(\"remark\")\n" +
+            "    public void setNote(String note) { this.note = note; }\n" +
+            "    public double getRate() { return rate; }\n" +
+            "    public void setRate(double rate) { this.rate = rate; }\n" +
+            "    public List<Line> getLines() { return lines; }\n" +
+            "    public void setLines(List<Line> lines) { this.lines = lines; }\n" +
+            "    public Map<String, Integer> getCounts() { return counts; }\n" +
+            "    public void setCounts(Map<String, Integer> counts) { this.counts = counts; }\n" +
+            "    public Optional<String> getCoupon() { return coupon; }\n" +
+            "    public void setCoupon(Optional<String> coupon) { this.coupon = coupon; }\n" +
+            "    public Status getStatus() { return status; }\n" +
+            "    public void setStatus(Status status) { this.status = status; }\n" +
+            "    public enum Status { NEW, DONE }\n" +
+            "    @bandung.ee.json.CompiledBinding\n" +
+            "    public static class Line {\n" +
+            "        public String sku;\n" +
+            "        public int quantity;\n" +
+            "        public Line next;\n" +
+            "    }\n" +
+            "}\n";
+
+    private static final String BASE = "package demo;\n" +
+            "public class Base {\n" +
+            "    private String tenant;\n" +
+            "    public String getTenant() { return tenant; }\n" +
+            "    public void setTenant(String tenant) { this.tenant = tenant; }\n" +
+            "}\n";
+
+    private static final String JSON = "{\"tenant\":\"t1\",\"id\":7,\"amount\":1234567890123,\"counts\":{\"a\":1},\"coupon\":\"c\",\"grade\":\"A\",\"level\":null," +
+            "\"lines\":[{\"next\":{\"quantity\":1,\"sku\":\"n\"},\"quantity\":2,\"sku\":\"s\"}]," +
+            "\"paid\":true,\"rate\":0.5,\"remark\":\"memo\",\"status\":\"DONE\",\"tags\":[\"x\",\"y\"]}";
+
+    private static URLClassLoader loader;
+
+    @BeforeAll
+    public static void compile(@TempDir Path output) throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Assertions.assertTrue(compile(output, diagnostics, ORDER, BASE), diagnostics.getDiagnostics().toString());
+        Assertions.assertTrue(Files.exists(output.resolve("demo/Order_CompiledBinding.class")));
+        Assertions.assertTrue(Files.exists(output.resolve("demo/Order_Line_CompiledBinding.class")));
+        List<String> services = Files.readAllLines(output.resolve("META-INF/services/" + GeneratedBinding.class.getName()));
+        Assertions.assertEquals(Arrays.asList("demo.Order_CompiledBinding", "demo.Order_Line_CompiledBinding"), services);
+        loader = new URLClassLoader(new URL[] {output.toUri().toURL()}, CompiledBindingProcessorTest.class.getClassLoader());
+    }
+
+    private static boolean compile(Path output, DiagnosticCollector<JavaFileObject> diagnostics, String... sources) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            List<File> classpath = Stream.of(CompiledBinding.class, JsonbSerializer.class, JsonbProperty.class, JsonParser.class)
+                    .map(klazz -> new File(URI.create(klazz.getProtectionDomain().getCodeSource().getLocation().toString())))
+                    .distinct().collect(Collectors.toList());
+            fileManager.setLocation(StandardLocation.CLASS_PATH, classpath);
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(output.toFile()));
+            fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(output.toFile()));
+            List<JavaFileObject> units = Arrays.stream(sources).map(source -> new SimpleJavaFileObject(
+                    URI.create("string:///" + source.substring(source.indexOf("class ") + 6).split("[ {<]")[0] + ".java"),
+                    JavaFileObject.Kind.SOURCE) {
+                @Override
+                public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                    return source;
+                }
+            }).collect(Collectors.toList());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+                    Arrays.asList("-processor", CompiledBindingProcessor.class.getName()),
+                    null, units);
+            return task.call();
+        }
+    }
+
+    private static <T> T withLoader(Callable<T> callable) throws Exception {
+        Thread current = Thread.currentThread();
+        ClassLoader original = current.getContextClassLoader();
+        current.setContextClassLoader(loader);
+        try {
+            return callable.call();
+        } finally {
+            current.setContextClassLoader(original);
+        }
+    }
+
+    private static Jsonb mapper(JsonbConfig config) throws Exception {
+        return withLoader(() -> JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(config).build());
+    }
+
+    @Test
+    @DisplayName("生成的绑定优先于反射，且结果与反射一致")
+    public void testGeneratedBindingMatchesReflection() throws Exception {
+        Class<?> type = loader.loadClass("demo.Order");
+        Jsonb generated = mapper(new JsonbConfig());
+        Jsonb reflective = mapper(new JsonbConfig().setProperty(BindingProvider.JSONB_GENERATED_BINDINGS, false));
+
+        Object fromGenerated = generated.fromJson(JSON, type);
+        Object fromReflection = reflective.fromJson(JSON, type);
+        Assertions.assertEquals(JSON, generated.toJson(fromGenerated));
+        Assertions.assertEquals("demo.Order_CompiledBinding", type.getField("caller").get(null));
+        Assertions.assertEquals(JSON, reflective.toJson(fromReflection));
+        Assertions.assertNotEquals("demo.Order_CompiledBinding", type.getField("caller").get(null));
+        Assertions.assertEquals(reflective.toJson(fromGenerated), generated.toJson(fromReflection));
+
+        Object empty = type.getConstructor().newInstance();
+        Assertions.assertEquals(reflective.toJson(empty), generated.toJson(empty));
+        Jsonb nullValues = mapper(new JsonbConfig().withNullValues(true));
+        Jsonb reflectiveNullValues = mapper(new JsonbConfig().withNullValues(true).setProperty(BindingProvider.JSONB_GENERATED_BINDINGS, false));
+        Assertions.assertEquals(reflectiveNullValues.toJson(empty), nullValues.toJson(empty));
+        Assertions.assertEquals("demo.Order_CompiledBinding", type.getField("caller").get(null));
+
+        Object unknown = generated.fromJson("{\"x\":{\"y\":[1,{}]},\"id\":3,\"z\":null}", type);
+        Assertions.assertEquals(3, type.getMethod("getId").invoke(unknown));
+        Assertions.assertNull(generated.fromJson("null", type));
+        Assertions.assertThrows(javax.json.bind.JsonbException.class, () -> generated.fromJson("{\"remark\":1}", type));
+    }
+
+    @Test
+    @DisplayName("自定义映射规则时退回反射")
+    public void testFallbackToReflection() throws Exception {
+        Class<?> type = loader.loadClass("demo.Order");
+        Jsonb upper = mapper(new JsonbConfig().withPropertyNamingStrategy(javax.json.bind.config.PropertyNamingStrategy.UPPER_CAMEL_CASE));
+        String json = upper.toJson(upper.fromJson(JSON.replace("\"id\"", "\"Id\""), type));
+        Assertions.assertTrue(json.contains("\"Id\":7"), json);
+        Assertions.assertNotEquals("demo.Order_CompiledBinding", type.getField("caller").get(null));
+    }
+
+    @Test
+    @DisplayName("子类重写父类getter时合并为一个属性，沿用父类位置")
+    public void testOverriddenProperty(@TempDir Path output) throws Exception {
+        String child = "package demo;\n" +
+                "@bandung.ee.json.CompiledBinding\n" +
+                "public class Child extends Base {\n" +
+                "    public String code;\n" +
+                "    @Override public String getTenant() { return \"child-\" + super.getTenant(); }\n" +
+                "}\n";
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        Assertions.assertTrue(compile(output, diagnostics, child, BASE), diagnostics.getDiagnostics().toString());
+        try (URLClassLoader childLoader = new URLClassLoader(new URL[] {output.toUri().toURL()}, CompiledBindingProcessorTest.class.getClassLoader())) {
+            Class<?> type = childLoader.loadClass("demo.Child");
+            Assertions.assertNotNull(childLoader.loadClass("demo.Child_CompiledBinding"));
+            Thread current = Thread.currentThread();
+            ClassLoader original = current.getContextClassLoader();
+            current.setContextClassLoader(childLoader);
+            try {
+                Jsonb jsonb = JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(new JsonbConfig()).build();
+                Object bean = jsonb.fromJson("{\"code\":\"c\",\"tenant\":\"t1\"}", type);
+                Assertions.assertEquals("child-t1", type.getMethod("getTenant").invoke(bean));
+                Assertions.assertEquals("{\"tenant\":\"child-t1\",\"code\":\"c\"}", jsonb.toJson(bean));
+            } finally {
+                current.setContextClassLoader(original);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("不支持的用法编译报错")
+    public void testUnsupported(@TempDir Path output) throws Exception {
+        String[][] cases = {
+                {"package demo;\n@bandung.ee.json.CompiledBinding\npublic class A { @javax.json.bind.annotation.JsonbDateFormat(\"yyyy\") public java.util.Date d; }\n", "JsonbDateFormat"},
+                {"package demo;\n@bandung.ee.json.CompiledBinding\npublic class B<T> { public T t; }\n", "generic"},
+                {"package demo;\n@bandung.ee.json.CompiledBinding\npublic class C { private C(int i) {} }\n", "no-args constructor"},
+                {"package demo;\n@bandung.ee.json.CompiledBinding\npublic class D { public boolean getFlag() { return true; } }\n", "'is' prefix"},
+        };
+        for (String[] unsupported : cases) {
+            DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+            Assertions.assertFalse(compile(output, diagnostics, unsupported[0]));
+            Assertions.assertTrue(diagnostics.getDiagnostics().stream()
+                    .anyMatch(d -> d.getKind() == Diagnostic.Kind.ERROR && d.getMessage(null).contains(unsupported[1])),
+                    diagnostics.getDiagnostics().toString());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package bandung.ee.json;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonBuilderFactory;
+import javax.json.JsonReader;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JsonBuilderFactory及JsonReader构建大量小对象(5个成员)的吞吐量，
+ * 配合{@link GCProfiler}的gc.alloc.rate.norm观察每次操作分配的字节数
+ *
+ * @author iMinusMinus
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBuilderBenchmark {
+
+    @Param({"1000"})
+    private int records;
+
+    private JsonBuilderFactory factory;
+
+    private JsonFactoryAdapter adapter;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        adapter = new JsonFactoryAdapter(Collections.emptyMap());
+        factory = adapter;
+        bytes = build().toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public JsonArray build() {
+        JsonArrayBuilder array = factory.createArrayBuilder();
+        for (int i = 0; i < records; i++) {
+            array.add(factory.createObjectBuilder()
+                    .add("id", i)
+                    .add("name", "item-" + i)
+                    .add("price", i * 0.25)
+                    .add("active", (i & 1) == 0)
+                    .add("point", factory.createArrayBuilder().add(i * 1.5).add(-i * 0.5)));
+        }
+        return array.build();
+    }
+
+    @Benchmark
+    public JsonArray read() {
+        try (JsonReader reader = adapter.createReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+            return reader.readArray();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonBuilderBenchmark.class.getSimpleName()).addProfiler(GCProfiler.class).build()).run();
+    }
+}
@@ -14,8 +14,10 @@ import java.io.StringWriter;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class JsonFactoryAdapterTest {
@@ -349,7 +351,7 @@ public class JsonFactoryAdapterTest {
     public void testNumberTooLong() {
         String pi = "3.14159265358979323846264338327950288419716939937510582097494459230781640628620899862803482534211706798214808651328230664709384460955058223172535940812848111745028410270193852110555964462294895493038196442881097566593344612847564823378678316527120190914564856692346034861045432664821339360726024914127372458700660631558817488152092096282925409171536436789259036001133053054882046652138414695194151160943305727036575959195309218611738193261179310511854807446237996274956735188575272489122793818301194912";
         Map<String, Integer> map = new HashMap<>();
-        map.put(JsonFactoryAdapter.JSONP_CONFIG_PREFIX + "parser.maxNumberLength", 512);
+        map.put(JsonFactoryAdapter.JSONP_CONFIG_PREFIX + "parser.maxNumberLength", 256);
         JsonFactoryAdapter adapter = new JsonFactoryAdapter(map);
         javax.json.JsonException e = Assertions.assertThrows(javax.json.JsonException.class, () -> {
             javax.json.stream.JsonParser parser = adapter.createParser(new ByteArrayInputStream(pi.getBytes(StandardCharsets.UTF_8)));
@@ -360,4 +362,722 @@ public class JsonFactoryAdapterTest {
         });
         System.out.println(e.getMessage());
     }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"oio\":{\"bn\":true,\"na\":null,\"sn\":\"汉A\\u6f22\\n\",\"on\":{\"nest\":-2.7e-3}},\"aio\":[0,-1,12345678901,\"a😈\"]}",
+            "[\"桃花坞里桃花庵，桃花庵里桃花仙。桃花仙人种桃树，又折花枝当酒钱。酒醒只在花前坐，酒醉还须花下眠。花前花后日复日，酒醉酒醒年复年。不愿鞠躬车马前，但愿老死花酒间。\", \"\\t😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈😈\"]",
+            "12345", "-0.5E+10"
+    })
+    public void testUtf8ParserConsistentWithReader(String str) {
+        JsonFactoryAdapter adapter = new JsonFactoryAdapter(Collections.emptyMap());
+        try (javax.json.stream.JsonParser bytes = adapter.createParser(new ByteArrayInputStream(str.getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+             javax.json.stream.JsonParser chars = adapter.createParser(new java.io.StringReader(str + " "))) {
+            Assertions.assertTrue(bytes.hasNext());
+            Assertions.assertTrue(chars.hasNext());
+            Assertions.assertEquals(chars.next(), bytes.next());
+            Assertions.assertEquals(chars.getValue(), bytes.getValue());
+            Assertions.assertFalse(bytes.hasNext());
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"01", "-", "1.5.", "\"\\x\"", "\"\\u12G4\"", "\"unclosed", "[1,"})
+    public void testUtf8ParserRejectBadInput(String bad) {
+        JsonFactoryAdapter adapter = new JsonFactoryAdapter(Collections.emptyMap());
+        javax.json.stream.JsonParser parser = adapter.createParser(new ByteArrayInputStream(bad.getBytes(StandardCharsets.UTF_8)));
+        Assertions.assertThrows(javax.json.stream.JsonParsingException.class, () -> {
+            while (parser.hasNext()) {
+                parser.next();
+                parser.getValue();
+            }
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "-0", "7", "-2147483648", "2147483647", "9007199254740993", "-9223372036854775808",
+            "9223372036854775808", "0.1", "-0.000125", "3.14159265358", "1.5e1", "1e2", "2.5E-3", "1.7976931348623157E308",
+            "4.9e-324", "123456789012345678901234567890", "0.30000000000000004", "1.0", "-12.5e+10",
+            "1.000000178813934326171874999", "16777217", "9999999e10", "-1234567e-10", "3.4028235e38", "1.4e-45", "0.3"})
+    public void testNumberAccessor(String number) {
+        JsonFactoryAdapter adapter = new JsonFactoryAdapter(Collections.emptyMap());
+        BigDecimal expected = new BigDecimal(number);
+        try (javax.json.stream.JsonParser bytes = adapter.createParser(new ByteArrayInputStream(("[" + number + "]").getBytes(StandardCharsets.UTF_8)));
+             javax.json.stream.JsonParser chars = adapter.createParser(new java.io.StringReader("[" + number + "]"))) {
+            for (javax.json.stream.JsonParser parser : new javax.json.stream.JsonParser[] {bytes, chars}) {
+                parser.next();
+                Assertions.assertEquals(javax.json.stream.JsonParser.Event.VALUE_NUMBER, parser.next());
+                Assertions.assertEquals(0, expected.compareTo(parser.getBigDecimal()));
+                Assertions.assertEquals(expected.scale() == 0, parser.isIntegralNumber());
+                Assertions.assertEquals(expected.intValue(), parser.getInt());
+                Assertions.assertEquals(expected.longValue(), parser.getLong());
+                Assertions.assertEquals(Double.parseDouble(number), ((JsonFactoryAdapter.NumberAccessor) parser).getDouble());
+                Assertions.assertEquals(Float.parseFloat(number), ((JsonFactoryAdapter.NumberAccessor) parser).getFloat());
+            }
+        }
+    }
+
+    @Test
+    public void testSymbolTable() {
+        JsonFactoryAdapter adapter = new JsonFactoryAdapter(Collections.emptyMap());
+        String json = "{\"name\":\"name\",\"名字\":1}";
+        String[] keys = new String[4];
+        int i = 0;
+        for (int round = 0; round < 2; round++) {
+            try (javax.json.stream.JsonParser bytes = adapter.createParser(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+                 javax.json.stream.JsonParser chars = adapter.createParser(new java.io.StringReader(json))) {
+                for (javax.json.stream.JsonParser parser : new javax.json.stream.JsonParser[] {bytes, chars}) {
+                    parser.next();
+                    parser.next();
+                    keys[i] = parser.getString();
+                    parser.next();
+                    Assertions.assertNotSame(keys[i], parser.getString());
+                    parser.next();
+                    Assertions.assertEquals("名字", parser.getString());
+                    i = (i + 1) % keys.length;
+                }
+            }
+        }
+        Assertions.assertSame("name", keys[0]);
+        Assertions.assertSame(keys[0], keys[1]);
+        Assertions.assertSame(keys[1], keys[2]);
+
+        Map<String, Object> map = new HashMap<>();
+        map.put(JsonFactoryAdapter.SYMBOL_TABLE_SIZE_KEY, 0);
+        javax.json.stream.JsonParser parser = new JsonFactoryAdapter(map).createParser(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        parser.next();
+        parser.next();
+        Assertions.assertNotSame("name", parser.getString());
+    }
+
+    @Test
+    public void testPropertyNameMatcher() {
+        String[] names = {"id", "name", "名字", "Name", "userId", "ſign"};
+        JsonFactoryAdapter.PropertyNameMatcher exact = new JsonFactoryAdapter.PropertyNameMatcher(names, false);
+        JsonFactoryAdapter.PropertyNameMatcher folded = new JsonFactoryAdapter.PropertyNameMatcher(names, true);
+        String json = "{\"userId\":0,\"名字\":1,\"\\u0069d\":2,\"USERID\":3,\"NAME\":4,\"SIGN\":5,\"名\":6,\"\":7,\"Name\":8}";
+        int[] expectedExact = {4, 2, 0, -1, -1, -1, -1, -1, 3};
+        int[] expectedFolded = {4, 2, 0, 4, JsonFactoryAdapter.PropertyNameMatcher.AMBIGUOUS, 5, -1, -1, 3};
+        JsonFactoryAdapter adapter = new JsonFactoryAdapter(Collections.emptyMap());
+        for (JsonFactoryAdapter.PropertyNameMatcher matcher : new JsonFactoryAdapter.PropertyNameMatcher[] {exact, folded}) {
+            int[] expected = matcher == exact ? expectedExact : expectedFolded;
+            try (javax.json.stream.JsonParser bytes = adapter.createParser(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+                 javax.json.stream.JsonParser chars = adapter.createParser(new java.io.StringReader(json))) {
+                for (javax.json.stream.JsonParser parser : new javax.json.stream.JsonParser[] {bytes, chars}) {
+                    parser.next();
+                    for (int i = 0; i < expected.length; i++) {
+                        parser.next();
+                        Assertions.assertEquals(expected[i], ((JsonFactoryAdapter.KeyAccessor) parser).matchKey(matcher), parser.getString());
+                        Assertions.assertEquals(expected[i], matcher.match(parser.getString()), parser.getString());
+                        parser.next();
+                    }
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"a\":[1,2147483648,3.14,\"x\",true,false,null,{}],\"b\":{\"c\":[]}}",
+            "[[],{\"k\":\"v\"},-1e3]",
+    })
+    public void testParseJsonStructureTree(String str) {
+        JsonFactoryAdapter adapter = new JsonFactoryAdapter(Collections.emptyMap());
+        javax.json.JsonStructure tree = adapter.createReader(new java.io.StringReader(str)).read();
+        javax.json.stream.JsonParser events = tree instanceof javax.json.JsonObject ?
+                adapter.createParser((javax.json.JsonObject) tree) :
+                adapter.createParser((javax.json.JsonArray) tree);
+        try (javax.json.stream.JsonParser text = adapter.createParser(new java.io.StringReader(str))) {
+            while (text.hasNext()) {
+                Assertions.assertTrue(events.hasNext());
+                javax.json.stream.JsonParser.Event event = text.next();
+                Assertions.assertEquals(event, events.next());
+                if (event == javax.json.stream.JsonParser.Event.KEY_NAME || event == javax.json.stream.JsonParser.Event.VALUE_STRING) {
+                    Assertions.assertEquals(text.getString(), events.getString());
+                } else if (event == javax.json.stream.JsonParser.Event.VALUE_NUMBER) {
+                    Assertions.assertEquals(text.isIntegralNumber(), events.isIntegralNumber());
+                    Assertions.assertEquals(0, text.getBigDecimal().compareTo(events.getBigDecimal()));
+                }
+            }
+            Assertions.assertFalse(events.hasNext());
+        }
+
+        javax.json.stream.JsonParser parser = adapter.createParser((javax.json.JsonArray) adapter.createReader(new java.io.StringReader("[{\"x\":[1]},2]")).read());
+        parser.next();
+        parser.next();
+        Assertions.assertEquals("{\"x\":[1]}", parser.getObject().toString());
+        Assertions.assertEquals(javax.json.stream.JsonParser.Event.VALUE_NUMBER, parser.next());
+        Assertions.assertEquals(javax.json.stream.JsonParser.Event.END_ARRAY, parser.next());
+        Assertions.assertFalse(parser.hasNext());
+    }
+
+    @Test
+    public void testJsonPointer() {
+        JsonFactoryAdapter adapter = new JsonFactoryAdapter(Collections.emptyMap());
+        String json = "{\"a/b\":1,\"m~n\":2,\"items\":[{\"id\":\"x\"},{\"id\":\"y\",\"tags\":[]}],\"sub\":{\"k\":true}}";
+        javax.json.JsonObject tree = adapter.createReader(new java.io.StringReader(json)).readObject();
+        Assertions.assertEquals(tree, adapter.createPointer("").getValue(tree));
+        Assertions.assertEquals(1, ((javax.json.JsonNumber) adapter.createPointer("/a~1b").getValue(tree)).intValue());
+        Assertions.assertEquals(2, ((javax.json.JsonNumber) adapter.createPointer("/m~0n").getValue(tree)).intValue());
+        Assertions.assertEquals("y", ((javax.json.JsonString) adapter.createPointer("/items/1/id").getValue(tree)).getString());
+        Assertions.assertTrue(adapter.createPointer("/items/1/tags").containsValue(tree));
+        Assertions.assertFalse(adapter.createPointer("/items/2").containsValue(tree));
+        Assertions.assertFalse(adapter.createPointer("/items/01").containsValue(tree));
+        Assertions.assertThrows(javax.json.JsonException.class, () -> adapter.createPointer("/sub/none").getValue(tree));
+        Assertions.assertThrows(javax.json.JsonException.class, () -> adapter.createPointer("sub"));
+        Assertions.assertThrows(javax.json.JsonException.class, () -> adapter.createPointer("/~2"));
+
+        javax.json.JsonObject added = adapter.createPointer("/items/-").add(tree, adapter.createValue(3));
+        Assertions.assertEquals(3, added.getJsonArray("items").size());
+        Assertions.assertEquals(2, tree.getJsonArray("items").size());
+        javax.json.JsonObject replaced = adapter.createPointer("/sub/k").replace(tree, javax.json.JsonValue.FALSE);
+        Assertions.assertFalse(replaced.getJsonObject("sub").getBoolean("k"));
+        javax.json.JsonObject removed = adapter.createPointer("/items/0").remove(tree);
+        Assertions.assertEquals("y", removed.getJsonArray("items").getJsonObject(0).getString("id"));
+        Assertions.assertThrows(javax.json.JsonException.class, () -> adapter.createPointer("/none").replace(tree, javax.json.JsonValue.NULL));
+
+        // streaming: stop once target produced, broken tail never tokenized
+        String broken = json.substring(0, json.length() - 1) + ",\"tail\": [}";
+        for (int i = 0; i < 2; i++) {
+            try (javax.json.stream.JsonParser parser = i == 0 ?
+                    adapter.createParser(new ByteArrayInputStream(broken.getBytes(StandardCharsets.UTF_8))) :
+                    adapter.createParser(new java.io.StringReader(broken))) {
+                Assertions.assertEquals(tree.get("sub"), ((JsonFactoryAdapter.TokenPointer) adapter.createPointer("/sub")).getValue(parser));
+            }
+            try (javax.json.stream.JsonParser parser = adapter.createParser(new java.io.StringReader(json))) {
+                Assertions.assertEquals("y", ((javax.json.JsonString) ((JsonFactoryAdapter.TokenPointer) adapter.createPointer("/items/1/id")).getValue(parser)).getString());
+            }
+            try (javax.json.stream.JsonParser parser = adapter.createParser(new java.io.StringReader(json))) {
+                Assertions.assertNull(((JsonFactoryAdapter.TokenPointer) adapter.createPointer("/items/5")).seek(parser));
+            }
+        }
+    }
+
+    @Test
+    public void testSkipStructure() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 64; i++) { // larger than parser buffer
+            sb.append("{\"skip\":{\"s\":\"}]\\\"[{\",\"a\":[1,[{}],{\"b\":null}]},\"arr\":[\"\\\\\",{\"x\":\"]\"}],\"id\":").append(i).append("},");
+        }
+        String json = sb.append("true]").toString();
+        JsonFactoryAdapter adapter = new JsonFactoryAdapter(Collections.emptyMap());
+        for (int round = 0; round < 2; round++) {
+            try (javax.json.stream.JsonParser fast = round == 0 ?
+                    adapter.createParser(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))) :
+                    adapter.createParser(new java.io.StringReader(json));
+                 javax.json.stream.JsonParser slow = adapter.createParser(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))) {
+                fast.next();
+                slow.next();
+                for (int i = 0; i < 64; i++) {
+                    Assertions.assertEquals(javax.json.stream.JsonParser.Event.START_OBJECT, fast.next());
+                    slow.next();
+                    Assertions.assertEquals(javax.json.stream.JsonParser.Event.KEY_NAME, fast.next());
+                    slow.next();
+                    Assertions.assertEquals(javax.json.stream.JsonParser.Event.START_OBJECT, fast.next());
+                    fast.skipObject();
+                    slow.next();
+                    Assertions.assertEquals(javax.json.stream.JsonParser.Event.END_OBJECT, walkOver(slow));
+                    Assertions.assertEquals(slow.getLocation().getStreamOffset(), fast.getLocation().getStreamOffset());
+                    fast.next();
+                    Assertions.assertEquals("arr", fast.getString());
+                    slow.next();
+                    Assertions.assertEquals(javax.json.stream.JsonParser.Event.START_ARRAY, fast.next());
+                    fast.skipArray();
+                    slow.next();
+                    Assertions.assertEquals(javax.json.stream.JsonParser.Event.END_ARRAY, walkOver(slow));
+                    Assertions.assertEquals(slow.getLocation().getStreamOffset(), fast.getLocation().getStreamOffset());
+                    fast.next();
+                    Assertions.assertEquals("id", fast.getString());
+                    slow.next();
+                    Assertions.assertEquals(javax.json.stream.JsonParser.Event.VALUE_NUMBER, fast.next());
+                    Assertions.assertEquals(i, fast.getInt());
+                    slow.next();
+                    Assertions.assertEquals(javax.json.stream.JsonParser.Event.END_OBJECT, fast.next());
+                    slow.next();
+                }
+                Assertions.assertEquals(javax.json.stream.JsonParser.Event.VALUE_TRUE, fast.next());
+                Assertions.assertEquals(javax.json.stream.JsonParser.Event.END_ARRAY, fast.next());
+                Assertions.assertFalse(fast.hasNext());
+            }
+
+            try (javax.json.stream.JsonParser parser = round == 0 ?
+                    adapter.createParser(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))) :
+                    adapter.createParser(new java.io.StringReader(json))) {
+                parser.next();
+                parser.skipArray();
+                Assertions.assertEquals(json.length(), parser.getLocation().getStreamOffset());
+                Assertions.assertFalse(parser.hasNext());
+            }
+            try (javax.json.stream.JsonParser parser = round == 0 ?
+                    adapter.createParser(new ByteArrayInputStream("[{\"a\":\"]\"}".getBytes(StandardCharsets.UTF_8))) :
+                    adapter.createParser(new java.io.StringReader("[{\"a\":\"]\"}"))) {
+                parser.next();
+                Assertions.assertThrows(javax.json.stream.JsonParsingException.class, parser::skipArray);
+            }
+        }
+    }
+
+    @Test
+    public void testParseByteBufferAndPath() throws Exception {
+        JsonFactoryAdapter adapter = new JsonFactoryAdapter(Collections.emptyMap());
+        StringBuilder sb = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < 1000; i++) {
+            sb.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"名\":\"中").append(i).append("\"}");
+        }
+        String json = sb.append("]}").toString();
+        byte[] raw = json.getBytes(StandardCharsets.UTF_8);
+        javax.json.JsonObject expected;
+        try (javax.json.stream.JsonParser parser = adapter.createParser(new ByteArrayInputStream(raw), StandardCharsets.UTF_8)) {
+            parser.next();
+            expected = parser.getObject();
+        }
+
+        byte[] padded = new byte[raw.length + 8];
+        System.arraycopy(raw, 0, padded, 4, raw.length);
+        java.nio.ByteBuffer heap = java.nio.ByteBuffer.wrap(padded, 4, raw.length).slice();
+        java.nio.ByteBuffer direct = java.nio.ByteBuffer.allocateDirect(raw.length);
+        direct.put(raw).flip();
+        for (java.nio.ByteBuffer buffer : new java.nio.ByteBuffer[] {heap, direct}) {
+            try (javax.json.stream.JsonParser parser = adapter.createParser(buffer, StandardCharsets.UTF_8)) {
+                parser.next();
+                Assertions.assertEquals(expected, parser.getObject());
+            }
+            Assertions.assertEquals(0, buffer.position());
+        }
+        java.nio.ByteBuffer utf16 = java.nio.ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_16LE));
+        try (javax.json.stream.JsonParser parser = adapter.createParser(utf16, StandardCharsets.UTF_16LE)) {
+            parser.next();
+            Assertions.assertEquals(expected, parser.getObject());
+        }
+
+        java.nio.file.Path path = java.nio.file.Files.createTempFile("json", ".json");
+        try {
+            java.nio.file.Files.write(path, raw);
+            try (javax.json.stream.JsonParser parser = adapter.createParser(path, StandardCharsets.UTF_8)) {
+                parser.next();
+                Assertions.assertEquals(expected, parser.getObject());
+            }
+        } finally {
+            java.nio.file.Files.deleteIfExists(path);
+        }
+
+        Map<String, Object> config = new HashMap<>();
+        config.put("jsonp.parser.maxTokenCount", 64);
+        Assertions.assertThrows(javax.json.JsonException.class, () -> new JsonFactoryAdapter(config).createParser(heap, StandardCharsets.UTF_8));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 7, 64})
+    public void testNonBlockingParser(int chunkSize) {
+        String json = "\uFEFF{\"name\":\"\u6843\u82b1\\u5e84\\n\",\"n\":[-12.5e3,0,123456789012,true,false,null],\"o\":{\"\\\"\":{}},\"last\":3}";
+        JsonFactoryAdapter adapter = new JsonFactoryAdapter(Collections.emptyMap());
+        byte[] raw = json.getBytes(StandardCharsets.UTF_8);
+        List<String> expected = new java.util.ArrayList<>();
+        try (javax.json.stream.JsonParser parser = adapter.createParser(new ByteArrayInputStream(raw), StandardCharsets.UTF_8)) {
+            while (parser.hasNext()) {
+                expected.add(describe(parser.next(), parser));
+            }
+        }
+        List<String> actual = new java.util.ArrayList<>();
+        NonBlockingJsonParser parser = adapter.createNonBlockingParser();
+        for (int from = 0; from < raw.length; from += chunkSize) {
+            parser.feedInput(java.nio.ByteBuffer.wrap(raw, from, Math.min(chunkSize, raw.length - from)));
+            javax.json.stream.JsonParser.Event event;
+            while ((event = parser.nextAvailable()) != NonBlockingJsonParser.NOT_AVAILABLE) {
+                actual.add(describe(event, parser));
+            }
+        }
+        Assertions.assertFalse(parser.isFinished());
+        Assertions.assertThrows(IllegalStateException.class, parser::next);
+        parser.endOfInput();
+        Assertions.assertNull(parser.nextAvailable());
+        Assertions.assertTrue(parser.isFinished());
+        Assertions.assertEquals(expected, actual);
+
+        NonBlockingJsonParser bad = adapter.createNonBlockingParser();
+        bad.feedInput(java.nio.ByteBuffer.wrap("[1,]".getBytes(StandardCharsets.UTF_8)));
+        bad.nextAvailable();
+        bad.nextAvailable();
+        Assertions.assertThrows(javax.json.stream.JsonParsingException.class, bad::nextAvailable);
+    }
+
+    @Test
+    public void testNonBlockingLongToken() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(JsonFactoryAdapter.JSONP_CONFIG_PREFIX + "parser.maxStringLength", 1 << 21);
+        config.put(JsonFactoryAdapter.JSONP_CONFIG_PREFIX + "parser.maxTokenCount", 1 << 23);
+        JsonFactoryAdapter adapter = new JsonFactoryAdapter(config);
+        char[] chars = new char[1 << 20];
+        Arrays.fill(chars, 'a');
+        chars[chars.length / 2] = '\\';
+        String text = new String(chars);
+        char[] spaces = new char[1 << 20];
+        Arrays.fill(spaces, ' ');
+        StringBuilder skipped = new StringBuilder("[");
+        while (skipped.length() < 1 << 20) {
+            skipped.append("{\"k\":[\"]}\\\"\",1]},");
+        }
+        byte[] raw = ("[" + new String(spaces) + "\"" + text.replace("\\", "\\\\") + "\"," + skipped + "null],1]").getBytes(StandardCharsets.UTF_8);
+        NonBlockingJsonParser parser = adapter.createNonBlockingParser();
+        List<javax.json.stream.JsonParser.Event> events = new java.util.ArrayList<>();
+        // rescanning from the start of the token on every 16-byte chunk takes minutes here
+        Assertions.assertTimeout(java.time.Duration.ofSeconds(10), () -> {
+            boolean skipping = false;
+            for (int from = 0; from < raw.length; from += 16) {
+                parser.feedInput(java.nio.ByteBuffer.wrap(raw, from, Math.min(16, raw.length - from)));
+                if (skipping) {
+                    try {
+                        parser.skipArray();
+                        skipping = false;
+                    } catch (IllegalStateException more) {
+                        continue;
+                    }
+                }
+                javax.json.stream.JsonParser.Event event;
+                while ((event = parser.nextAvailable()) != NonBlockingJsonParser.NOT_AVAILABLE) {
+                    events.add(event);
+                    if (event == javax.json.stream.JsonParser.Event.VALUE_STRING) {
+                        Assertions.assertEquals(text, parser.getString());
+                    } else if (event == javax.json.stream.JsonParser.Event.START_ARRAY && events.size() == 3) {
+                        try {
+                            parser.skipArray();
+                        } catch (IllegalStateException more) {
+                            skipping = true;
+                            break;
+                        }
+                    }
+                }
+            }
+            parser.endOfInput();
+            Assertions.assertNull(parser.nextAvailable());
+        });
+        Assertions.assertEquals(Arrays.asList(javax.json.stream.JsonParser.Event.START_ARRAY, javax.json.stream.JsonParser.Event.VALUE_STRING,
+                javax.json.stream.JsonParser.Event.START_ARRAY, javax.json.stream.JsonParser.Event.VALUE_NUMBER,
+                javax.json.stream.JsonParser.Event.END_ARRAY), events);
+        Assertions.assertTrue(parser.isFinished());
+    }
+
+    @Test
+    public void testBufferRecycler() {
+        JsonFactoryAdapter adapter = new JsonFactoryAdapter(Collections.emptyMap());
+        JsonFactoryAdapter.BufferRecycler recycler = adapter.getBufferRecycler();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 4000; i++) {
+            sb.append(i % 7 == 0 ? "\uD83D\uDE00" : "\u6843a"); // surrogate pairs and CJK across encoder chunks
+        }
+        String text = sb.toString();
+        for (int round = 0; round < 3; round++) {
+            java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
+            try (javax.json.stream.JsonGenerator generator = adapter.createGenerator(baos, StandardCharsets.UTF_8)) {
+                generator.writeStartArray().write(text).write(round).writeEnd();
+            }
+            byte[] raw = baos.toByteArray();
+            Assertions.assertEquals("[\"" + text + "\"," + round + "]", new String(raw, StandardCharsets.UTF_8));
+            try (javax.json.stream.JsonParser parser = adapter.createParser(new ByteArrayInputStream(raw), StandardCharsets.UTF_8)) {
+                parser.next();
+                parser.next();
+                Assertions.assertEquals(text, parser.getString());
+            }
+            try (javax.json.stream.JsonParser parser = adapter.createParser(new java.io.StringReader("[1,2,3]"))) {
+                parser.next();
+                parser.next();
+                Assertions.assertEquals(1, parser.getInt());
+            }
+        }
+        Assertions.assertTrue(recycler.getHitCount() > 0, recycler.toString());
+        Assertions.assertTrue(recycler.getRetainedBytes() <= JsonFactoryAdapter.BufferRecycler.DEFAULT_MAX_RETAINED);
+
+        JsonFactoryAdapter disabled = new JsonFactoryAdapter(Collections.singletonMap(JsonFactoryAdapter.BUFFER_RECYCLER_SIZE_KEY, 0));
+        for (int round = 0; round < 2; round++) {
+            disabled.createParser(new java.io.StringReader("{}")).close();
+        }
+        Assertions.assertEquals(0, disabled.getBufferRecycler().getHitCount());
+        Assertions.assertEquals(0, disabled.getBufferRecycler().getRetainedBytes());
+    }
+
+    @Test
+    public void testLazyReader() {
+        StringBuilder sb = new StringBuilder("{\"header\":{\"alg\":\"RS256\",\"kid\":\"k\\u0031\"},\"dup\":1,\"dup\":2,\"many\":{");
+        for (int i = 0; i < 20; i++) {
+            sb.append(i == 0 ? "" : ",").append("\"k").append(i).append("\":").append(i % 2 == 0 ? String.valueOf(i * 1.5) : "[" + i + ",null,true]");
+        }
+        String json = sb.append("},\"list\":[{\"a\":\"\u6843\"},[],12345678901234567890,-1e-3,false]}").toString();
+        byte[] raw = json.getBytes(StandardCharsets.UTF_8);
+        JsonFactoryAdapter eager = new JsonFactoryAdapter(Collections.emptyMap());
+        JsonFactoryAdapter lazy = new JsonFactoryAdapter(Collections.singletonMap(JsonFactoryAdapter.LAZY_READER_KEY, true));
+        javax.json.JsonObject expected;
+        try (javax.json.JsonReader reader = eager.createReader(new ByteArrayInputStream(raw))) {
+            expected = reader.readObject();
+        }
+        javax.json.JsonObject actual;
+        try (javax.json.JsonReader reader = lazy.createReader(new ByteArrayInputStream(raw))) {
+            actual = reader.readObject();
+        }
+        // views stay usable after reader closed
+        Assertions.assertEquals("k1", actual.getJsonObject("header").getString("kid"));
+        Assertions.assertEquals(2, actual.getInt("dup"));
+        Assertions.assertSame(actual.get("header"), actual.get("header"));
+        Assertions.assertEquals(3, actual.getJsonObject("many").getJsonArray("k3").getInt(0));
+        Assertions.assertTrue(actual.getJsonObject("many").getJsonArray("k3").isNull(1));
+        Assertions.assertNull(actual.get("absent"));
+        Assertions.assertEquals("\u6843", actual.getJsonArray("list").getJsonObject(0).getString("a"));
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(actual, expected);
+        Assertions.assertEquals(expected.hashCode(), actual.hashCode());
+        Assertions.assertTrue(actual.toString().contains("\"list\":[{\"a\":\"\u6843\"},[],"));
+
+        Assertions.assertThrows(javax.json.stream.JsonParsingException.class,
+                () -> lazy.createReader(new ByteArrayInputStream("[1,2]".getBytes(StandardCharsets.UTF_8))).readObject());
+        Assertions.assertThrows(javax.json.stream.JsonParsingException.class,
+                () -> lazy.createReader(new ByteArrayInputStream("{\"a\":[1,}".getBytes(StandardCharsets.UTF_8))).readObject());
+        Assertions.assertEquals(Arrays.asList(1, 2), lazy.createReader(new ByteArrayInputStream(" [1,2] ".getBytes(StandardCharsets.UTF_8)))
+                .readArray().getValuesAs(javax.json.JsonNumber.class).stream().map(javax.json.JsonNumber::intValue).collect(java.util.stream.Collectors.toList()));
+        for (String trailing : new String[] {"{} e", "[][ ", "\"x\"+", "{\"a\":[1]} {\"b\":"}) {
+            byte[] bytes = trailing.getBytes(StandardCharsets.UTF_8);
+            javax.json.JsonValue value = eager.createReader(new ByteArrayInputStream(bytes)).readValue();
+            Assertions.assertEquals(value, lazy.createReader(new ByteArrayInputStream(bytes)).readValue(), trailing);
+        }
+        Assertions.assertEquals(javax.json.JsonValue.EMPTY_JSON_OBJECT,
+                lazy.createReader(new ByteArrayInputStream("{} e".getBytes(StandardCharsets.UTF_8))).readObject());
+    }
+
+    @Test
+    public void testCompactValues() {
+        JsonFactoryAdapter adapter = new JsonFactoryAdapter(Collections.emptyMap());
+        javax.json.JsonObject small = adapter.createObjectBuilder()
+                .add("z", 1).add("a", 2.5).add("m", "x").add("z", 3)
+                .build();
+        Assertions.assertEquals(Arrays.asList("z", "a", "m"), new java.util.ArrayList<>(small.keySet()));
+        Assertions.assertEquals(3, small.getInt("z"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> small.put("b", javax.json.JsonValue.NULL));
+        Assertions.assertSame(javax.json.JsonValue.EMPTY_JSON_OBJECT, adapter.createObjectBuilder().build());
+
+        javax.json.JsonObjectBuilder builder = adapter.createObjectBuilder(small);
+        Map<String, Object> plain = new java.util.LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            builder.add("k" + i, i);
+            plain.put("k" + i, i);
+        }
+        builder.add("k0", "replaced");
+        javax.json.JsonObject large = builder.build();
+        Assertions.assertEquals(23, large.size());
+        Assertions.assertEquals("replaced", large.getString("k0"));
+        Assertions.assertEquals(2.5, large.getJsonNumber("a").doubleValue());
+        Assertions.assertEquals(adapter.createObjectBuilder(plain).build(), adapter.createObjectBuilder(plain).build());
+
+        javax.json.JsonObject parsed;
+        try (javax.json.JsonReader reader = adapter.createReader(new java.io.StringReader("{\"z\":3,\"a\":2.5,\"m\":\"x\"}"))) {
+            parsed = reader.readObject();
+        }
+        Assertions.assertEquals(parsed, small);
+        Assertions.assertEquals(small, parsed);
+        Assertions.assertEquals(parsed.hashCode(), small.hashCode());
+
+        javax.json.JsonNumber d = adapter.createValue(0.1);
+        Assertions.assertEquals(0.1, d.doubleValue());
+        Assertions.assertEquals(new BigDecimal("0.1"), d.bigDecimalValue());
+        Assertions.assertFalse(d.isIntegral());
+        Assertions.assertThrows(NumberFormatException.class, () -> adapter.createValue(Double.NaN));
+        for (double value : new double[] {3e9, -3e9, -2.5, 1e19, -1e19, 1e300, 0x1p53 + 2}) { // 与BigDecimal一样取低位，而不是饱和
+            javax.json.JsonNumber number = adapter.createValue(value);
+            Assertions.assertEquals(number.bigDecimalValue().intValue(), number.intValue());
+            Assertions.assertEquals(number.bigDecimalValue().longValue(), number.longValue());
+        }
+        Assertions.assertSame(adapter.createValue(7), adapter.createValue(7));
+        Assertions.assertEquals(adapter.createValue(70000), adapter.createValue(70000));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 2})
+    public void testUtf8Generator(int indent) {
+        JsonFactoryAdapter adapter = new JsonFactoryAdapter(Collections.singletonMap("javax.json.stream.JsonGenerator.prettyPrinting", indent));
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; i++) { // cross buffer boundary
+            sb.append("Āƀ࿽\"\\\t\n").append(Character.toChars(0x1fa60 + i % 16)).append(i);
+        }
+        String longText = sb.toString();
+        java.util.function.Consumer<javax.json.stream.JsonGenerator> content = generator -> generator
+                .writeStartObject()
+                    .write("ascii", "plain text")
+                    .write("桃\"key", longText)
+                    .write("lone", "\ud800x")
+                    .writeStartArray("numbers")
+                        .write(1).write(-1L << 60).write(3.14).write(BigDecimal.TEN).write(true).writeNull()
+                    .writeEnd()
+                .writeEnd();
+        StringWriter expected = new StringWriter();
+        try (javax.json.stream.JsonGenerator generator = adapter.createGenerator(expected)) {
+            content.accept(generator);
+        }
+        java.io.ByteArrayOutputStream actual = new java.io.ByteArrayOutputStream();
+        try (javax.json.stream.JsonGenerator generator = adapter.createGenerator(actual, StandardCharsets.UTF_8)) {
+            content.accept(generator);
+        }
+        Assertions.assertEquals(expected.toString().replace('\ud800', '?'), new String(actual.toByteArray(), StandardCharsets.UTF_8));
+
+        java.io.ByteArrayOutputStream flushed = new java.io.ByteArrayOutputStream();
+        javax.json.stream.JsonGenerator generator = adapter.createGenerator(flushed);
+        generator.writeStartArray().write("a");
+        Assertions.assertEquals(0, flushed.size());
+        generator.flush();
+        Assertions.assertEquals("[\"a\"", new String(flushed.toByteArray(), StandardCharsets.UTF_8).replaceAll("\\s", ""));
+        generator.writeEnd().close();
+        Assertions.assertThrows(javax.json.JsonException.class, generator::flush);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    public void testNumberAndEscapeOutput(boolean utf8) {
+        JsonFactoryAdapter adapter = new JsonFactoryAdapter(Collections.emptyMap());
+        java.util.Random random = new java.util.Random(42);
+        double[] doubles = new double[2000];
+        for (int i = 0; i < doubles.length; i++) {
+            switch (i % 4) {
+                case 0:
+                    doubles[i] = random.nextInt(1_000_000) / 100.0; // price like
+                    break;
+                case 1:
+                    doubles[i] = random.nextDouble() * 1e4;
+                    break;
+                case 2:
+                    doubles[i] = Double.longBitsToDouble(random.nextLong() & ~(0x7FFL << 52) | (random.nextInt(2046) + 1L) << 52);
+                    break;
+                default:
+                    doubles[i] = (random.nextInt(2000) - 1000) / 8.0;
+            }
+        }
+        long[] longs = {0, 1, -1, 9, 10, -10, Integer.MAX_VALUE, Integer.MIN_VALUE, (1L << 53) - 1, -(1L << 53) + 1, Long.MAX_VALUE, Long.MIN_VALUE};
+        String text = "tab\tquote\"slash\\ctrl\u0001\u001f\u007f桃";
+        java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+        StringWriter chars = new StringWriter();
+        try (javax.json.stream.JsonGenerator generator = utf8 ? adapter.createGenerator(bytes) : adapter.createGenerator(chars)) {
+            generator.writeStartArray().write(text).write(0.0).write(-0.0).write(1e7).write(1e-3).write(9.999e-4).write(100.0).write(-0.25);
+            for (long l : longs) {
+                generator.write(l);
+            }
+            for (double d : doubles) {
+                generator.write(d);
+            }
+            generator.writeEnd();
+        }
+        String json = utf8 ? new String(bytes.toByteArray(), StandardCharsets.UTF_8) : chars.toString();
+        Assertions.assertTrue(json.startsWith("[\"tab\\tquote\\\"slash\\\\ctrl\\u0001\\u001F\u007f桃\",0.0,-0.0,1.0E7,0.001,9.999E-4,100.0,-0.25,0,1,-1,"), json);
+        StringWriter decimals = new StringWriter();
+        try (javax.json.stream.JsonGenerator generator = adapter.createGenerator(decimals)) {
+            generator.writeStartArray().write(new java.math.BigDecimal("-1.5")).write(new java.math.BigDecimal("0.0")).writeEnd();
+        }
+        Assertions.assertEquals("[-1.5,0.0]", decimals.toString());
+        javax.json.JsonArray array;
+        try (javax.json.JsonReader reader = adapter.createReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)))) {
+            array = reader.readArray();
+        }
+        Assertions.assertEquals(text, array.getString(0));
+        for (int i = 0; i < longs.length; i++) {
+            javax.json.JsonValue value = array.get(8 + i);
+            String expected = String.valueOf(longs[i]);
+            Assertions.assertEquals(expected, value instanceof javax.json.JsonString ? ((javax.json.JsonString) value).getString() : expected);
+            Assertions.assertEquals(longs[i], value instanceof javax.json.JsonString ?
+                    Long.parseLong(((javax.json.JsonString) value).getString()) : ((javax.json.JsonNumber) value).longValueExact());
+        }
+        for (int i = 0; i < doubles.length; i++) {
+            javax.json.JsonValue value = array.get(8 + longs.length + i);
+            double actual = value instanceof javax.json.JsonString ?
+                    Double.parseDouble(((javax.json.JsonString) value).getString()) : ((javax.json.JsonNumber) value).doubleValue();
+            Assertions.assertEquals(doubles[i], actual, () -> "round trip " + value);
+            if (i % 4 == 0 || i % 4 == 3) {
+                Assertions.assertEquals(Double.toString(doubles[i]), value instanceof javax.json.JsonString ?
+                        ((javax.json.JsonString) value).getString() : value.toString().replace("\"", ""));
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"}", "]]", "[1,]", "nul", "{\"k\" 1}", "[1 2]"})
+    public void testUntrackedLocation(String error) {
+        StringBuilder sb = new StringBuilder("[\n");
+        for (int i = 0; i < 200; i++) {
+            sb.append("  {\"id\": ").append(i).append(",\t\"name\": \"item ").append(i).append("\"},\r\n");
+        }
+        String json = sb.append("  ").append(error).append("\n]").toString();
+        JsonFactoryAdapter tracked = new JsonFactoryAdapter(Collections.emptyMap());
+        JsonFactoryAdapter untracked = new JsonFactoryAdapter(Collections.singletonMap(JsonFactoryAdapter.TRACK_LOCATION_KEY, false));
+        for (boolean utf8 : new boolean[] {true, false}) {
+            javax.json.stream.JsonLocation[] locations = new javax.json.stream.JsonLocation[2];
+            JsonFactoryAdapter[] adapters = {tracked, untracked};
+            for (int i = 0; i < adapters.length; i++) {
+                javax.json.stream.JsonParser parser = utf8 ?
+                        adapters[i].createParser(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))) :
+                        adapters[i].createParser(new java.io.StringReader(json));
+                javax.json.stream.JsonParsingException e = Assertions.assertThrows(javax.json.stream.JsonParsingException.class, () -> {
+                    while (parser.hasNext()) {
+                        parser.next();
+                    }
+                });
+                locations[i] = e.getLocation();
+            }
+            Assertions.assertEquals(201, locations[0].getLineNumber());
+            Assertions.assertEquals(locations[0].getLineNumber(), locations[1].getLineNumber(), error);
+            Assertions.assertEquals(locations[0].getColumnNumber(), locations[1].getColumnNumber(), error);
+            Assertions.assertEquals(locations[0].getStreamOffset(), locations[1].getStreamOffset(), error);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 4})
+    public void testPreEncodedName(int indent) {
+        JsonFactoryAdapter adapter = new JsonFactoryAdapter(Collections.singletonMap("javax.json.stream.JsonGenerator.prettyPrinting", indent));
+        String[] names = {"id", "with \"quote\"\\\t", "桃" + new String(Character.toChars(0x1fa60))};
+        JsonFactoryAdapter.PreEncodedName[] encoded = Arrays.stream(names).map(JsonFactoryAdapter.PreEncodedName::new)
+                .toArray(JsonFactoryAdapter.PreEncodedName[]::new);
+        StringWriter expected = new StringWriter();
+        try (javax.json.stream.JsonGenerator generator = adapter.createGenerator(expected)) {
+            generator.writeStartArray().writeStartObject();
+            for (String name : names) {
+                generator.writeKey(name).writeStartArray().write(name).writeEnd();
+            }
+            generator.writeEnd().writeStartObject().writeKey(names[0]).writeNull().writeEnd().writeEnd();
+        }
+        for (boolean utf8 : new boolean[] {true, false}) {
+            java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+            StringWriter chars = new StringWriter();
+            try (javax.json.stream.JsonGenerator generator = utf8 ? adapter.createGenerator(bytes) : adapter.createGenerator(chars)) {
+                generator.writeStartArray().writeStartObject();
+                for (int i = 0; i < names.length; i++) {
+                    JsonFactoryAdapter.writeKey(generator, encoded[i]).writeStartArray().write(names[i]).writeEnd();
+                }
+                generator.writeEnd().writeStartObject();
+                JsonFactoryAdapter.writeKey(generator, encoded[0]).writeNull().writeEnd().writeEnd();
+            }
+            Assertions.assertEquals(expected.toString(), utf8 ? new String(bytes.toByteArray(), StandardCharsets.UTF_8) : chars.toString());
+        }
+        StringWriter sw = new StringWriter();
+        Assertions.assertThrows(javax.json.stream.JsonGenerationException.class,
+                () -> JsonFactoryAdapter.writeKey(adapter.createGenerator(sw).writeStartArray(), encoded[0]));
+    }
+
+    private static String describe(javax.json.stream.JsonParser.Event event, javax.json.stream.JsonParser parser) {
+        switch (event) {
+            case KEY_NAME: // pass through
+            case VALUE_STRING: // pass through
+                return event + ":" + parser.getString();
+            case VALUE_NUMBER:
+                return event + ":" + parser.getBigDecimal();
+            default:
+                return event.name();
+        }
+    }
+
+    private static javax.json.stream.JsonParser.Event walkOver(javax.json.stream.JsonParser parser) {
+        int depth = 1;
+        javax.json.stream.JsonParser.Event event;
+        do {
+            event = parser.next();
+            if (event == javax.json.stream.JsonParser.Event.START_OBJECT || event == javax.json.stream.JsonParser.Event.START_ARRAY) {
+                depth++;
+            } else if (event == javax.json.stream.JsonParser.Event.END_OBJECT || event == javax.json.stream.JsonParser.Event.END_ARRAY) {
+                depth--;
+            }
+        } while (depth > 0);
+        return event;
+    }
 }
@@ -0,0 +1,131 @@
+package bandung.ee.json;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.json.stream.JsonGenerator;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 经Writer(字符)与直接编码UTF-8字节两种生成器输出相同内容的吞吐量，及使用预编码属性名称的吞吐量
+ *
+ * @author iMinusMinus
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonGeneratorBenchmark {
+
+    @Param({"1000"})
+    private int records;
+
+    private JsonFactoryAdapter adapter;
+
+    private ByteArrayOutputStream out;
+
+    private final JsonFactoryAdapter.PreEncodedName[] names = {
+            new JsonFactoryAdapter.PreEncodedName("id"),
+            new JsonFactoryAdapter.PreEncodedName("sku"),
+            new JsonFactoryAdapter.PreEncodedName("name"),
+            new JsonFactoryAdapter.PreEncodedName("description"),
+            new JsonFactoryAdapter.PreEncodedName("price"),
+            new JsonFactoryAdapter.PreEncodedName("active"),
+            new JsonFactoryAdapter.PreEncodedName("owner"),
+    };
+
+    @Setup
+    public void setUp() {
+        adapter = new JsonFactoryAdapter(Collections.emptyMap());
+        out = new ByteArrayOutputStream(records << 8);
+    }
+
+    private int write(JsonGenerator generator) {
+        generator.writeStartArray();
+        for (int i = 0; i < records; i++) {
+            generator.writeStartObject()
+                    .write("id", i)
+                    .write("sku", 1_000_000_000_000L + i)
+                    .write("name", "item-" + i)
+                    .write("description", "a fairly long description of the item, 带有中文")
+                    .write("price", i * 0.25)
+                    .write("active", (i & 1) == 0)
+                    .writeNull("owner")
+                    .writeEnd();
+        }
+        generator.writeEnd();
+        generator.close();
+        return out.size();
+    }
+
+    private JsonGenerator key(JsonGenerator generator, int index, boolean encoded) {
+        return encoded ?
+                JsonFactoryAdapter.writeKey(generator, names[index]) :
+                generator.writeKey(names[index].getValue()); // same as JavaBeanPropertySerializer before
+    }
+
+    private int writeKeys(JsonGenerator generator, boolean encoded) {
+        generator.writeStartArray();
+        for (int i = 0; i < records; i++) {
+            generator.writeStartObject();
+            key(generator, 0, encoded).write(i);
+            key(generator, 1, encoded).write(1_000_000_000_000L + i);
+            key(generator, 2, encoded).write("item-" + i);
+            key(generator, 3, encoded).write("a fairly long description of the item, 带有中文");
+            key(generator, 4, encoded).write(i * 0.25);
+            key(generator, 5, encoded).write((i & 1) == 0);
+            key(generator, 6, encoded).writeNull();
+            generator.writeEnd();
+        }
+        generator.writeEnd();
+        generator.close();
+        return out.size();
+    }
+
+    @Benchmark
+    public int writer() {
+        out.reset();
+        return write(adapter.createGenerator(new OutputStreamWriter(out, StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public int utf8() {
+        out.reset();
+        return write(adapter.createGenerator(out, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public int utf8Key() {
+        out.reset();
+        return writeKeys(adapter.createGenerator(out, StandardCharsets.UTF_8), false);
+    }
+
+    @Benchmark
+    public int utf8PreEncoded() {
+        out.reset();
+        return writeKeys(adapter.createGenerator(out, StandardCharsets.UTF_8), true);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JsonGeneratorBenchmark.class.getSimpleName()).build()).run();
+    }
+}
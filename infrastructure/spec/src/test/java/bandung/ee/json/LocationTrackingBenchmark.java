@@ -0,0 +1,104 @@
+package bandung.ee.json;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.json.stream.JsonGenerator;
+import javax.json.stream.JsonParser;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 跟踪与不跟踪行列号两种模式下，解析压缩及格式化(缩进)json的吞吐量
+ *
+ * @author iMinusMinus
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LocationTrackingBenchmark {
+
+    @Param({"1000"})
+    private int records;
+
+    @Param({"false", "true"})
+    private boolean pretty;
+
+    @Param({"utf8", "reader"})
+    private String source;
+
+    private JsonFactoryAdapter tracked;
+
+    private JsonFactoryAdapter untracked;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        tracked = new JsonFactoryAdapter(Collections.emptyMap());
+        untracked = new JsonFactoryAdapter(Collections.singletonMap(JsonFactoryAdapter.TRACK_LOCATION_KEY, false));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonFactoryAdapter generatorFactory = new JsonFactoryAdapter(Collections.singletonMap(JsonGenerator.PRETTY_PRINTING, pretty ? 4 : 0));
+        try (JsonGenerator generator = generatorFactory.createGenerator(out)) {
+            generator.writeStartArray();
+            for (int i = 0; i < records; i++) {
+                generator.writeStartObject()
+                        .write("id", i)
+                        .write("name", "item-" + i)
+                        .write("price", i * 0.25)
+                        .writeStartArray("tags").write("a").write("b").writeEnd()
+                        .write("active", (i & 1) == 0)
+                        .writeEnd();
+            }
+            generator.writeEnd();
+        }
+        bytes = out.toByteArray();
+    }
+
+    private int walk(JsonFactoryAdapter adapter) {
+        int events = 0;
+        try (JsonParser parser = "utf8".equals(source) ?
+                adapter.createParser(new ByteArrayInputStream(bytes)) :
+                adapter.createParser(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8))) {
+            while (parser.hasNext()) {
+                parser.next();
+                events++;
+            }
+        }
+        return events;
+    }
+
+    @Benchmark
+    public int tracked() {
+        return walk(tracked);
+    }
+
+    @Benchmark
+    public int untracked() {
+        return walk(untracked);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LocationTrackingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
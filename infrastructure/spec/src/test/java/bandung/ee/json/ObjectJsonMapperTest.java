@@ -279,6 +279,426 @@ public class ObjectJsonMapperTest {
         Assertions.assertTrue(base.getDecimal().compareTo(struct.getDecimal()) == 0);
     }
 
+    @Test
+    @DisplayName("按json pointer仅反序列化部分文档")
+    public void testFromJsonWithPointer() {
+        String json = "{\"meta\":{\"skipped\":[1,{\"deep\":[]}]},\"items\":[{\"name\":\"a\"},{\"name\":\"b\"}],\"broken\":";
+        ObjectJsonMapper jsonb = (ObjectJsonMapper) JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(new JsonbConfig()).build();
+        Map<String, String> item = jsonb.fromJson(new java.io.ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "/items/1",
+                new TypeLiteral<Map<String, String>>() {}.getType());
+        Assertions.assertEquals("b", item.get("name"));
+        Assertions.assertNull(jsonb.fromJson(new java.io.ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), "/meta/none", String.class));
+    }
+
+    @Test
+    @DisplayName("按投影部分反序列化，未投影的属性不被转换")
+    public void testFromJsonWithProjection() {
+        String json = "{\"id\":\"o-1\",\"createdAt\":\"not a date\",\"attrs\":{\"x\":[1,{\"y\":2}]}," +
+                "\"customer\":{\"name\":\"alice\",\"email\":\"a@b.c\",\"tags\":[\"vip\"]}," +
+                "\"lines\":[{\"sku\":\"s1\",\"qty\":1},{\"sku\":\"s2\",\"qty\":\"bad\"}]}";
+        ObjectJsonMapper jsonb = (ObjectJsonMapper) JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(new JsonbConfig()).build();
+        ObjectJsonMapper.Projection projection = ObjectJsonMapper.Projection.of("/id", "/customer/name", "/lines/sku");
+        for (int i = 0; i < 2; i++) {
+            ProjectedOrder order = i == 0 ?
+                    jsonb.fromJson(json, ProjectedOrder.class, projection) :
+                    jsonb.fromJson(new java.io.ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), ProjectedOrder.class, projection);
+            Assertions.assertEquals("o-1", order.id);
+            Assertions.assertNull(order.createdAt);
+            Assertions.assertNull(order.attrs);
+            Assertions.assertEquals("alice", order.customer.name);
+            Assertions.assertNull(order.customer.email);
+            Assertions.assertNull(order.customer.tags);
+            Assertions.assertEquals(2, order.lines.size());
+            Assertions.assertEquals("s2", order.lines.get(1).sku);
+            Assertions.assertEquals(0, order.lines.get(1).qty);
+        }
+
+        ProjectedOrder viewed = jsonb.fromJson(json, ProjectedOrder.class, ObjectJsonMapper.Projection.of(OrderView.class));
+        Assertions.assertEquals("o-1", viewed.id);
+        Assertions.assertEquals("a@b.c", viewed.customer.email);
+        Assertions.assertNull(viewed.customer.name);
+        Assertions.assertNull(viewed.lines);
+
+        ProjectedOrder whole = jsonb.fromJson(json, ProjectedOrder.class, ObjectJsonMapper.Projection.of("/id", "/customer"));
+        Assertions.assertEquals(Collections.singletonList("vip"), whole.customer.tags);
+        Assertions.assertEquals(ObjectJsonMapper.Projection.of("/customer"), ObjectJsonMapper.Projection.of("/customer/name", "/customer"));
+        Assertions.assertEquals(projection, ObjectJsonMapper.Projection.of("/lines/sku", "/customer/name", "/id"));
+
+        String valid = json.replace("not a date", "2025-01-01T12:00:00").replace("\"bad\"", "2");
+        ProjectedOrder full = jsonb.fromJson(valid, ProjectedOrder.class); // 投影构建的反序列化器不影响完整反序列化
+        Assertions.assertEquals(LocalDateTime.of(2025, 1, 1, 12, 0), full.createdAt);
+        Assertions.assertEquals("a@b.c", full.customer.email);
+        Assertions.assertEquals(2, full.lines.get(1).qty);
+        ProjectedOrder unrestricted = jsonb.fromJson(valid, ProjectedOrder.class, ObjectJsonMapper.Projection.of(""));
+        Assertions.assertEquals(full.customer.tags, unrestricted.customer.tags);
+    }
+
+    @Test
+    @DisplayName("按投影缓存的反序列化器有条目数上限，并计入缓存统计")
+    public void testProjectionCacheBounded() {
+        String json = "{\"id\":\"o-1\",\"customer\":{\"name\":\"alice\",\"email\":\"a@b.c\"}}";
+        ObjectJsonMapper jsonb = (ObjectJsonMapper) JsonbBuilder.newBuilder(BindingProvider.class.getName())
+                .withConfig(new JsonbConfig().setProperty(BindingProvider.JSONB_PROJECTION_CACHE_SIZE, 2)).build();
+        String[] pointers = {"/id", "/customer", "/customer/name", "/customer/email"};
+        for (int round = 0; round < 2; round++) {
+            for (String pointer : pointers) {
+                ProjectedOrder order = jsonb.fromJson(json, ProjectedOrder.class, ObjectJsonMapper.Projection.of(pointer));
+                Assertions.assertEquals(pointer.equals("/id"), order.id != null);
+            }
+        }
+        ObjectJsonMapper.CacheStatistics statistics = jsonb.getProjectionCacheStatistics();
+        Assertions.assertEquals(2, statistics.getSize());
+        Assertions.assertEquals(2, statistics.getHitCount());
+        Assertions.assertEquals(6, statistics.getMissCount());
+    }
+
+    @Test
+    @DisplayName("float直接正确舍入，不先舍入为double")
+    public void testFloatRounding() {
+        Jsonb jsonb = JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(new JsonbConfig()).build();
+        String number = "1.000000178813934326171874999"; // 略小于两个相邻float的中点，经double舍入后恰为中点
+        float expected = Float.parseFloat(number);
+        Assertions.assertNotEquals(expected, (float) Double.parseDouble(number));
+        Assertions.assertEquals(expected, jsonb.fromJson("[" + number + "]", Float[].class)[0]);
+        Assertions.assertEquals(expected, jsonb.fromJson("[" + number + "," + number + "]", float[].class)[1]);
+        Assertions.assertEquals(0.3f, jsonb.fromJson("[0.3]", float[].class)[0]);
+    }
+
+    public static class PrimitiveHolder {
+        public int count;
+        public long total;
+        public double ratio;
+        private int score;
+
+        public int getScore() {
+            return score;
+        }
+
+        public void setScore(int score) {
+            this.score = score;
+        }
+    }
+
+    @Test
+    @DisplayName("int/long/double属性免装箱读写；null、字符串数值、越界仍按数值反序列化器处理")
+    public void testPrimitiveProperties() {
+        Jsonb jsonb = JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(new JsonbConfig()).build();
+        PrimitiveHolder holder = new PrimitiveHolder();
+        holder.count = -7;
+        holder.total = Long.MAX_VALUE;
+        holder.ratio = 0.1;
+        holder.setScore(3);
+        PrimitiveHolder copy = jsonb.fromJson(jsonb.toJson(holder), PrimitiveHolder.class);
+        Assertions.assertEquals(-7, copy.count);
+        Assertions.assertEquals(Long.MAX_VALUE, copy.total);
+        Assertions.assertEquals(0.1, copy.ratio);
+        Assertions.assertEquals(3, copy.getScore());
+        Assertions.assertEquals(jsonb.toJson(Collections.singletonMap("ratio", 0.1)), jsonb.toJson(Collections.singletonMap("ratio", copy.ratio)));
+
+        copy = jsonb.fromJson("{\"count\":\"12\",\"total\":null,\"ratio\":1e2,\"score\":\"5\"}", PrimitiveHolder.class);
+        Assertions.assertEquals(12, copy.count);
+        Assertions.assertEquals(0L, copy.total);
+        Assertions.assertEquals(100.0, copy.ratio);
+        Assertions.assertEquals(5, copy.getScore());
+        Assertions.assertThrows(JsonbException.class, () -> jsonb.fromJson("{\"count\":3000000000}", PrimitiveHolder.class));
+        Assertions.assertThrows(JsonbException.class, () -> jsonb.fromJson("{\"total\":1.5}", PrimitiveHolder.class));
+    }
+
+    public static class ProjectedOrder {
+        public String id;
+        public LocalDateTime createdAt;
+        public Map<String, Object> attrs;
+        public ProjectedCustomer customer;
+        public List<ProjectedLine> lines;
+    }
+
+    public static class ProjectedCustomer {
+        public String name;
+        public String email;
+        public List<String> tags;
+    }
+
+    public static class ProjectedLine {
+        public String sku;
+        public int qty;
+    }
+
+    public static class OrderView {
+        public String id;
+        public CustomerView customer;
+    }
+
+    public static class CustomerView {
+        public String email;
+    }
+
+    @Test
+    @DisplayName("从文件反序列化")
+    public void testFromJsonPath() throws Exception {
+        Jsonb jsonb = JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(new JsonbConfig()).build();
+        String json = jsonb.toJson(base);
+        java.nio.file.Path path = java.nio.file.Files.createTempFile("base", ".json");
+        try {
+            java.nio.file.Files.write(path, json.getBytes(StandardCharsets.UTF_8));
+            JavaSEDataStructure struct = ((ObjectJsonMapper) jsonb).fromJson(path, JavaSEDataStructure.class);
+            Assertions.assertEquals(base.getStr(), struct.getStr());
+            Assertions.assertArrayEquals(base.getBa(), struct.getBa());
+        } finally {
+            java.nio.file.Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    @DisplayName("NDJSON及顶层数组逐个元素读写")
+    public void testJsonLinesAndArrayStream() throws Exception {
+        ObjectJsonMapper jsonb = (ObjectJsonMapper) JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(new JsonbConfig()).build();
+        Type type = new TypeLiteral<Map<String, Integer>>() {}.getType();
+        int count = 2000;
+
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        jsonb.toJsonLines(java.util.stream.IntStream.range(0, count).mapToObj(i -> Collections.singletonMap("seq", i)), lines, 100);
+        String text = new String(lines.toByteArray(), StandardCharsets.UTF_8);
+        Assertions.assertTrue(text.startsWith("{\"seq\":0}\n{\"seq\":1}\n"));
+        try (java.util.stream.Stream<Map<String, Integer>> stream = jsonb.fromJsonLines(new java.io.ByteArrayInputStream(lines.toByteArray()), type)) {
+            Assertions.assertEquals((count - 1) * count / 2, stream.mapToInt(m -> m.get("seq")).sum());
+        }
+
+        ObjectJsonMapper pretty = (ObjectJsonMapper) JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(new JsonbConfig().withFormatting(true)).build();
+        ByteArrayOutputStream prettyLines = new ByteArrayOutputStream();
+        pretty.toJsonLines(java.util.stream.Stream.of(Collections.singletonMap("seq", 0), Collections.singletonMap("seq", 1)), prettyLines, 0);
+        Assertions.assertEquals("{\"seq\":0}\n{\"seq\":1}\n", new String(prettyLines.toByteArray(), StandardCharsets.UTF_8));
+        Assertions.assertTrue(pretty.toJson(Collections.singletonMap("seq", 0)).contains("\n")); // formatting still applies elsewhere
+
+        ByteArrayOutputStream array = new ByteArrayOutputStream();
+        jsonb.toJsonArray(java.util.stream.IntStream.range(0, count).mapToObj(i -> Collections.singletonMap("seq", i)), array, 100);
+        Assertions.assertTrue(new String(array.toByteArray(), StandardCharsets.UTF_8).startsWith("[{\"seq\":0},{\"seq\":1}"));
+        try (java.util.stream.Stream<Map<String, Integer>> stream = jsonb.fromJsonArray(new java.io.ByteArrayInputStream(array.toByteArray()), type)) {
+            Assertions.assertEquals(count, stream.count());
+        }
+
+        // elements are read lazily: broken tail is not touched
+        byte[] broken = "[{\"seq\":7},{\"seq\":8},{\"seq\"".getBytes(StandardCharsets.UTF_8);
+        try (java.util.stream.Stream<Map<String, Integer>> stream = jsonb.fromJsonArray(new java.io.ByteArrayInputStream(broken), type)) {
+            Assertions.assertEquals(Integer.valueOf(8), stream.skip(1).findFirst().get().get("seq"));
+        }
+        Assertions.assertThrows(JsonbException.class, () -> jsonb.fromJsonArray(new java.io.ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)), type));
+        Assertions.assertThrows(JsonbException.class, () -> {
+            try (java.util.stream.Stream<Map<String, Integer>> stream = jsonb.fromJsonArray(new java.io.ByteArrayInputStream("[{\"seq\":1}] {}".getBytes(StandardCharsets.UTF_8)), type)) {
+                stream.count();
+            }
+        });
+
+        // token limit applies to each element, not to the whole array
+        ObjectJsonMapper limited = (ObjectJsonMapper) JsonbBuilder.newBuilder(BindingProvider.class.getName())
+                .withConfig(new JsonbConfig().setProperty("jsonp.parser.maxTokenCount", 4096)).build();
+        Assertions.assertTrue(array.size() > 4096);
+        try (java.util.stream.Stream<Map<String, Integer>> stream = limited.fromJsonArray(new java.io.ByteArrayInputStream(array.toByteArray()), type)) {
+            Assertions.assertEquals(count, stream.count());
+        }
+        StringBuilder huge = new StringBuilder("[{\"seq\":1},{\"text\":\"");
+        for (int i = 0; i < 8192; i++) {
+            huge.append('x');
+        }
+        byte[] oversized = huge.append("\"}]").toString().getBytes(StandardCharsets.UTF_8);
+        Assertions.assertThrows(javax.json.JsonException.class, () -> {
+            try (java.util.stream.Stream<Map<String, Object>> stream = limited.fromJsonArray(new java.io.ByteArrayInputStream(oversized), Map.class)) {
+                stream.count();
+            }
+        });
+    }
+
+    @Test
+    @DisplayName("并行反序列化顶层数组")
+    public void testParallelArrayDeserialization() throws Exception {
+        ObjectJsonMapper jsonb = (ObjectJsonMapper) JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(new JsonbConfig()).build();
+        Type type = new java.util.ArrayList<Map<String, Object>>() {}.getClass().getGenericSuperclass();
+        Type elementType = ((java.lang.reflect.ParameterizedType) type).getActualTypeArguments()[0];
+        StringBuilder sb = new StringBuilder("﻿ [");
+        for (int i = 0; i < 5000; i++) {
+            sb.append(i == 0 ? "" : " ,\n").append("{\"seq\":").append(i)
+                    .append(",\"text\":\"a, [b] {c} \\\"d,\\\\\",\"nested\":[[1,2],{\"k\":\",\"}]}");
+        }
+        byte[] raw = sb.append("]\n").toString().getBytes(StandardCharsets.UTF_8);
+        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newFixedThreadPool(4);
+        try {
+            List<Map<String, Object>> expected = jsonb.fromJson(new java.io.ByteArrayInputStream(raw), type);
+            List<Map<String, Object>> actual = jsonb.fromJsonArrayInParallel(new java.io.ByteArrayInputStream(raw), elementType, executor);
+            Assertions.assertEquals(expected, actual);
+            Assertions.assertEquals(4999, ((Number) actual.get(4999).get("seq")).intValue());
+            Assertions.assertEquals("a, [b] {c} \"d,\\", actual.get(0).get("text"));
+
+            byte[] beans = jsonb.toJson(Arrays.asList(base, base, base)).getBytes(StandardCharsets.UTF_8);
+            List<JavaSEDataStructure> structs = jsonb.fromJsonArrayInParallel(new java.io.ByteArrayInputStream(beans), JavaSEDataStructure.class, executor);
+            Assertions.assertEquals(3, structs.size());
+            Assertions.assertArrayEquals(base.getBa(), structs.get(2).getBa());
+
+            Assertions.assertEquals(Collections.emptyList(), jsonb.fromJsonArrayInParallel(new java.io.ByteArrayInputStream(" [ ] ".getBytes(StandardCharsets.UTF_8)), Integer.class));
+            Assertions.assertEquals(Arrays.asList(1, null, 3), jsonb.fromJsonArrayInParallel(new java.io.ByteArrayInputStream("[1,null,3]".getBytes(StandardCharsets.UTF_8)), Integer.class));
+            boolean[] closed = new boolean[1];
+            java.io.InputStream tracked = new java.io.ByteArrayInputStream("[4,5]".getBytes(StandardCharsets.UTF_8)) {
+                @Override
+                public void close() {
+                    closed[0] = true;
+                }
+            };
+            Assertions.assertEquals(Arrays.asList(4, 5), jsonb.fromJsonArrayInParallel(tracked, Integer.class, executor));
+            Assertions.assertTrue(closed[0]);
+            for (String malformed : new String[] {"{}", "[1 2]", "[1,]", "[1,2", "[1] 2", "[1,,2 3]", "[1 2,,3]", "[,1 2]", "[,]", "[1,{\"a\":1} {}]"}) {
+                Assertions.assertThrows(JsonbException.class,
+                        () -> jsonb.fromJsonArrayInParallel(new java.io.ByteArrayInputStream(malformed.getBytes(StandardCharsets.UTF_8)), Integer.class, executor),
+                        malformed);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("分块并行序列化集合")
+    public void testParallelSerialization() throws Exception {
+        List<Object> values = new java.util.ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            values.add(i % 7 == 0 ? null : i % 3 == 0 ? Collections.singletonMap("k" + i, Arrays.asList(i, null, "v")) : base);
+        }
+        JsonbConfig[] configs = {
+                new JsonbConfig(),
+                new JsonbConfig().withFormatting(true).withNullValues(true).withPropertyOrderStrategy(PropertyOrderStrategy.REVERSE),
+        };
+        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newFixedThreadPool(4);
+        try {
+            for (JsonbConfig config : configs) {
+                ObjectJsonMapper jsonb = (ObjectJsonMapper) JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(config).build();
+                for (Object value : new Object[] {values, values.toArray(), new java.util.LinkedList<>(values), values.subList(0, 10)}) {
+                    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+                    jsonb.toJson(value, expected);
+                    ByteArrayOutputStream actual = new ByteArrayOutputStream();
+                    jsonb.toJsonInParallel(value, actual, executor);
+                    Assertions.assertEquals(expected.toString("UTF-8"), actual.toString("UTF-8"));
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("实例级序列化器/反序列化器缓存")
+    public void testBindingCache() throws Exception {
+        ObjectJsonMapper jsonb = (ObjectJsonMapper) JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(new JsonbConfig()).build();
+        String json = jsonb.toJson(base);
+        ObjectJsonMapper.CacheStatistics first = jsonb.getSerializerCacheStatistics();
+        Assertions.assertTrue(first.getSize() > 1); // nested types cached too
+        Assertions.assertEquals(json, jsonb.toJson(base));
+        ObjectJsonMapper.CacheStatistics second = jsonb.getSerializerCacheStatistics();
+        Assertions.assertEquals(first.getSize(), second.getSize());
+        Assertions.assertEquals(first.getMissCount(), second.getMissCount());
+        Assertions.assertTrue(second.getHitCount() > first.getHitCount());
+
+        String expected = jsonb.fromJson(json, JavaSEDataStructure.class).toString();
+        ObjectJsonMapper.CacheStatistics before = jsonb.getDeserializerCacheStatistics();
+        Assertions.assertTrue(before.getSize() > 1);
+        Assertions.assertEquals(expected, jsonb.fromJson(json, JavaSEDataStructure.class).toString());
+        ObjectJsonMapper.CacheStatistics after = jsonb.getDeserializerCacheStatistics();
+        Assertions.assertEquals(before.getSize(), after.getSize());
+        Assertions.assertEquals(before.getMissCount(), after.getMissCount());
+
+        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newFixedThreadPool(4);
+        try {
+            ObjectJsonMapper fresh = (ObjectJsonMapper) JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(new JsonbConfig()).build();
+            String roundTrip = jsonb.toJson(jsonb.fromJson(json, JavaSEDataStructure.class)); // Set<Number> not in original order
+            List<java.util.concurrent.Future<String>> results = new java.util.ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                results.add(executor.submit(() -> fresh.toJson(fresh.fromJson(json, JavaSEDataStructure.class))));
+            }
+            for (java.util.concurrent.Future<String> result : results) {
+                Assertions.assertEquals(roundTrip, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("同一反序列化器被多线程并发使用，构造参数与属性互不串扰")
+    public void testConcurrentBeanDeserialization() throws Exception {
+        ObjectJsonMapper jsonb = (ObjectJsonMapper) JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(new JsonbConfig()).build();
+        jsonb.fromJson("[{\"data\":\"warm\"}]", AnnotatedDTO[].class);
+        long misses = jsonb.getDeserializerCacheStatistics().getMissCount();
+        int threads = 8, rounds = 500;
+        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newFixedThreadPool(threads);
+        java.util.concurrent.CountDownLatch start = new java.util.concurrent.CountDownLatch(1);
+        try {
+            List<java.util.concurrent.Future<Integer>> results = new java.util.ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int checked = 0;
+                    for (int i = 0; i < rounds; i++) {
+                        String data = i % 3 == 0 ? null : "d-" + thread + "-" + i; // 缺省的构造参数必须是模板默认值，而非其他线程的值
+                        String timestamp = String.format("2025-01-%02d 12:%02d:%02d", 1 + thread, i % 60, (i / 60) % 60);
+                        String json = "{\"timestamp\":\"" + timestamp + "\"" +
+                                (data == null ? "" : ",\"data\":\"" + data + "\"") + ",\"nonce\":\"ignored\"}";
+                        AnnotatedDTO dto = jsonb.fromJson(json, AnnotatedDTO.class);
+                        Assertions.assertEquals(data, dto.getData());
+                        Assertions.assertEquals(LocalDateTime.parse(timestamp.replace(' ', 'T')), dto.getTimestamp());
+                        Assertions.assertNull(dto.getNonce());
+                        AnnotatedDTO[] array = jsonb.fromJson("[" + json + "," + json + "]", AnnotatedDTO[].class);
+                        Assertions.assertEquals(data, array[1].getData());
+                        checked++;
+                    }
+                    return checked;
+                }));
+            }
+            start.countDown();
+            for (java.util.concurrent.Future<Integer> result : results) {
+                Assertions.assertEquals(rounds, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assertions.assertEquals(misses, jsonb.getDeserializerCacheStatistics().getMissCount()); // 所有线程共用同一份已构建的反序列化器
+    }
+
+    @Test
+    @DisplayName("推送字节块的可恢复反序列化")
+    public void testResumableDeserialization() {
+        ObjectJsonMapper jsonb = (ObjectJsonMapper) JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(new JsonbConfig()).build();
+        byte[] raw = jsonb.toJson(base).getBytes(StandardCharsets.UTF_8);
+        ObjectJsonMapper.ResumableDeserialization<JavaSEDataStructure> deserialization = jsonb.fromJsonIncrementally(JavaSEDataStructure.class);
+        java.util.Random random = new java.util.Random(42);
+        int from = 0;
+        while (from < raw.length) {
+            Assertions.assertFalse(deserialization.isDone());
+            Assertions.assertThrows(IllegalStateException.class, deserialization::getResult);
+            int size = Math.min(1 + random.nextInt(17), raw.length - from);
+            deserialization.feed(java.nio.ByteBuffer.wrap(raw, from, size));
+            from += size;
+        }
+        Assertions.assertTrue(deserialization.isDone());
+        JavaSEDataStructure struct = deserialization.getResult();
+        Assertions.assertEquals(base.getStr(), struct.getStr());
+        Assertions.assertArrayEquals(base.getBa(), struct.getBa());
+
+        ObjectJsonMapper.ResumableDeserialization<Integer> number = jsonb.fromJsonIncrementally(Integer.class);
+        Assertions.assertFalse(number.feed(java.nio.ByteBuffer.wrap("12".getBytes(StandardCharsets.UTF_8))));
+        Assertions.assertFalse(number.feed(java.nio.ByteBuffer.wrap("3".getBytes(StandardCharsets.UTF_8))));
+        Assertions.assertTrue(number.endOfInput());
+        Assertions.assertEquals(123, number.getResult());
+    }
+
+    @Test
+    @DisplayName("json树直接转换为java对象")
+    public void testFromJsonValue() {
+        Jsonb jsonb = JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(new JsonbConfig()).build();
+        String json = jsonb.toJson(base);
+        javax.json.JsonStructure tree = new JsonFactoryAdapter(Collections.emptyMap()).createReader(new java.io.StringReader(json)).read();
+        JavaSEDataStructure struct = ((ObjectJsonMapper) jsonb).fromJsonValue(tree, JavaSEDataStructure.class);
+        Assertions.assertEquals(jsonb.fromJson(json, JavaSEDataStructure.class).toString(), struct.toString());
+        Assertions.assertArrayEquals(base.getBa(), struct.getBa());
+        Assertions.assertEquals(base.getStr(), ((ObjectJsonMapper) jsonb).fromJsonValue(new JsonFactoryAdapter(Collections.emptyMap()).createValue(base.getStr()), String.class));
+    }
+
     @Test
     @DisplayName("指定命名策略、指定日期格式化、指定排序、指定可见性、指定写null值、指定byte[]数组格式化方式，基础数据结构")
     public void testDefaultMappingWithConfig() {
@@ -480,6 +900,29 @@ public class ObjectJsonMapperTest {
         Assertions.assertNotEquals(0.0d, struct.getD());
     }
 
+    @Test
+    @DisplayName("大小写不敏感时构造参数和setter属性均按槽位匹配")
+    public void testCaseInsensitiveBeanDeserialization() throws Exception {
+        Jsonb jsonb = JsonbBuilder.newBuilder(BindingProvider.class.getName())
+                .withConfig(new JsonbConfig().withPropertyNamingStrategy(PropertyNamingStrategy.CASE_INSENSITIVE)).build();
+        String json = "{\"DATA\":\"d\",\"TimeStamp\":\"2025-01-01 12:00:00\",\"Tenant-ID\":\"1,0000.00\",\"mark\":true,\"unknown\":{\"data\":1}}";
+        AnnotatedDTO fromChars = jsonb.fromJson(json, AnnotatedDTO.class);
+        AnnotatedDTO fromBytes = jsonb.fromJson(new java.io.ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), AnnotatedDTO.class);
+        for (AnnotatedDTO dto : new AnnotatedDTO[] {fromChars, fromBytes}) {
+            Assertions.assertEquals("d", dto.getData());
+            Assertions.assertEquals(LocalDateTime.of(2025, 1, 1, 12, 0, 0), dto.getTimestamp());
+            Assertions.assertEquals(10000L, dto.getTenantId());
+            Assertions.assertFalse(dto.isMark()); // 不可见属性
+        }
+        Assertions.assertThrows(JsonbException.class, () -> jsonb.fromJson("{\"VALUE\":1}", CaseConflict.class));
+        Assertions.assertEquals(2, jsonb.fromJson("{\"Value\":2}", CaseConflict.class).Value);
+    }
+
+    public static class CaseConflict {
+        public int value;
+        public int Value;
+    }
+
     @ToString
     @JsonbPropertyOrder(value = {"tenantId", "timestamp", "data", "signature"})
     @JsonbVisibility(value = CustomVisibilityStrategy.class)
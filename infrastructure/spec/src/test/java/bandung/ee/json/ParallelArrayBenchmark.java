@@ -0,0 +1,96 @@
+package bandung.ee.json;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.JsonbConfig;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 顺序与切片并行两种方式反序列化大型顶层数组、序列化大型集合的吞吐量，并行收益取决于可用核数
+ *
+ * @author iMinusMinus
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelArrayBenchmark {
+
+    @Param({"5000"})
+    private int records;
+
+    private ObjectJsonMapper jsonb;
+
+    private byte[] bytes;
+
+    private List<Map<String, Object>> values;
+
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() {
+        jsonb = (ObjectJsonMapper) JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(new JsonbConfig()).build();
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < records; i++) {
+            sb.append(i == 0 ? "" : ",").append("{\"id\":").append(i)
+                    .append(",\"name\":\"item-").append(i)
+                    .append("\",\"price\":").append(i * 0.25)
+                    .append(",\"tags\":[\"a\",\"b\"],\"active\":").append((i & 1) == 0).append('}');
+        }
+        bytes = sb.append(']').toString().getBytes(StandardCharsets.UTF_8);
+        values = sequential();
+        out = new ByteArrayOutputStream(bytes.length);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> sequential() {
+        return jsonb.<Map<String, Object>>fromJsonArray(new ByteArrayInputStream(bytes), Map.class)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> parallel() {
+        return jsonb.fromJsonArrayInParallel(new ByteArrayInputStream(bytes), Map.class);
+    }
+
+    @Benchmark
+    public int writeSequential() {
+        out.reset();
+        jsonb.toJson(values, out);
+        return out.size();
+    }
+
+    @Benchmark
+    public int writeParallel() {
+        out.reset();
+        jsonb.toJsonInParallel(values, out);
+        return out.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ParallelArrayBenchmark.class.getSimpleName()).build()).run();
+    }
+}
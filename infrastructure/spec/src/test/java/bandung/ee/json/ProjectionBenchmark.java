@@ -0,0 +1,110 @@
+package bandung.ee.json;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.JsonbConfig;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 完整反序列化与按投影只取少量属性的耗时：未投影的嵌套对象、日期、集合直接跳过
+ *
+ * @author iMinusMinus
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    private static final ObjectJsonMapper.Projection PROJECTION = ObjectJsonMapper.Projection.of("/id", "/status", "/customer/name");
+
+    private ObjectJsonMapper jsonb;
+
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        jsonb = (ObjectJsonMapper) JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(new JsonbConfig()).build();
+        Order order = new Order();
+        order.id = "o-1";
+        order.status = "PAID";
+        order.createdAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        order.updatedAt = order.createdAt.plusHours(1);
+        order.customer = new Customer();
+        order.customer.name = "alice";
+        order.customer.email = "alice@example.com";
+        order.customer.addresses = new ArrayList<>();
+        order.lines = new ArrayList<>();
+        order.attrs = new HashMap<>();
+        for (int i = 0; i < 50; i++) {
+            Line line = new Line();
+            line.sku = "sku-" + i;
+            line.quantity = i;
+            line.price = i * 1.5;
+            line.shippedAt = order.createdAt.plusDays(i);
+            order.lines.add(line);
+            order.attrs.put("k" + i, "v" + i);
+            order.customer.addresses.add("street " + i);
+        }
+        json = jsonb.toJson(order).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Order full() {
+        return jsonb.fromJson(new java.io.ByteArrayInputStream(json), Order.class);
+    }
+
+    @Benchmark
+    public Order projected() {
+        return jsonb.fromJson(new java.io.ByteArrayInputStream(json), Order.class, PROJECTION);
+    }
+
+    public static class Order {
+        public String id;
+        public String status;
+        public LocalDateTime createdAt;
+        public LocalDateTime updatedAt;
+        public Customer customer;
+        public List<Line> lines;
+        public Map<String, String> attrs;
+    }
+
+    public static class Customer {
+        public String name;
+        public String email;
+        public List<String> addresses;
+    }
+
+    public static class Line {
+        public String sku;
+        public int quantity;
+        public double price;
+        public LocalDateTime shippedAt;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProjectionBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,119 @@
+package bandung.ee.json;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * java bean属性名查找：解码为String后查HashMap(大小写不敏感时逐个equalsIgnoreCase)，与预编译的槽位表直接匹配UTF-8字节
+ *
+ * @author iMinusMinus
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropertyNameBenchmark {
+
+    private static final String[] NAMES = {"id", "userId", "userName", "email", "phoneNumber", "createdAt",
+            "updatedAt", "status", "roles", "address", "tenantId", "version"};
+
+    private final Map<String, Integer> map = new HashMap<>();
+
+    private JsonFactoryAdapter.PropertyNameMatcher exact;
+
+    private JsonFactoryAdapter.PropertyNameMatcher caseInsensitive;
+
+    private byte[] keys;
+
+    private int[] offsets;
+
+    private byte[] upperKeys;
+
+    private int[] upperOffsets;
+
+    @Setup
+    public void setUp() {
+        for (int i = 0; i < NAMES.length; i++) {
+            map.put(NAMES[i], i);
+        }
+        exact = new JsonFactoryAdapter.PropertyNameMatcher(NAMES, false);
+        caseInsensitive = new JsonFactoryAdapter.PropertyNameMatcher(NAMES, true);
+        keys = String.join("", NAMES).getBytes(StandardCharsets.UTF_8);
+        upperKeys = String.join("", NAMES).toUpperCase().getBytes(StandardCharsets.UTF_8);
+        offsets = new int[NAMES.length + 1];
+        for (int i = 0; i < NAMES.length; i++) {
+            offsets[i + 1] = offsets[i] + NAMES[i].length();
+        }
+        upperOffsets = offsets;
+    }
+
+    @Benchmark
+    public int decodeAndHashMap() {
+        int sum = 0;
+        for (int i = 0; i < NAMES.length; i++) {
+            String key = new String(keys, offsets[i], offsets[i + 1] - offsets[i], StandardCharsets.UTF_8);
+            sum += map.get(key);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int matcher() {
+        int sum = 0;
+        for (int i = 0; i < NAMES.length; i++) {
+            sum += exact.matchUtf8(keys, offsets[i], offsets[i + 1] - offsets[i]);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int decodeAndScanIgnoreCase() {
+        int sum = 0;
+        for (int i = 0; i < NAMES.length; i++) {
+            String key = new String(upperKeys, upperOffsets[i], upperOffsets[i + 1] - upperOffsets[i], StandardCharsets.UTF_8);
+            Integer slot = map.get(key);
+            if (slot == null) {
+                for (int j = 0; j < NAMES.length; j++) {
+                    if (NAMES[j].equalsIgnoreCase(key)) {
+                        slot = j;
+                        break;
+                    }
+                }
+            }
+            sum += slot;
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int foldedMatcher() {
+        int sum = 0;
+        for (int i = 0; i < NAMES.length; i++) {
+            sum += caseInsensitive.matchUtf8(upperKeys, upperOffsets[i], upperOffsets[i + 1] - upperOffsets[i]);
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PropertyNameBenchmark.class.getSimpleName()).build()).run();
+    }
+}
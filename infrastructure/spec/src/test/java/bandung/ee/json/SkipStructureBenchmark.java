@@ -0,0 +1,146 @@
+package bandung.ee.json;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.enterprise.util.TypeLiteral;
+import javax.json.bind.JsonbBuilder;
+import javax.json.bind.JsonbConfig;
+import javax.json.stream.JsonParser;
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 跳过未映射子树的吞吐量：每条记录约80%的字节位于未映射的属性中。
+ * 对比缓冲区内直接扫描括号(skipObject/skipArray)与逐个事件遍历。
+ *
+ * @author iMinusMinus
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SkipStructureBenchmark {
+
+    private static final Type ITEMS = new TypeLiteral<List<Item>>() {}.getType();
+
+    @Param({"1000"})
+    private int records;
+
+    private byte[] bytes;
+
+    private String text;
+
+    private JsonFactoryAdapter adapter;
+
+    private ObjectJsonMapper mapper;
+
+    @Getter
+    @Setter
+    public static class Item {
+
+        private long id;
+
+        private String name;
+    }
+
+    @Setup
+    public void setUp() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < records; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i).append(",\"name\":\"item-").append(i).append("\",")
+                    .append("\"metadata\":{\"owner\":{\"name\":\"third party\",\"tags\":[\"a\",\"b\",\"c\"]},")
+                    .append("\"history\":[{\"at\":1700000000,\"note\":\"created \\\"draft\\\"\"},{\"at\":1700000100,\"note\":\"[updated]\"}],")
+                    .append("\"extra\":{\"x\":1.5,\"y\":-2e3,\"z\":null,\"flag\":true}},")
+                    .append("\"links\":[\"https://example.com/").append(i).append("\",{\"rel\":\"self\"}]}");
+        }
+        text = sb.append(']').toString();
+        bytes = text.getBytes(StandardCharsets.UTF_8);
+        adapter = new JsonFactoryAdapter(Collections.emptyMap());
+        mapper = (ObjectJsonMapper) JsonbBuilder.newBuilder(BindingProvider.class.getName()).withConfig(new JsonbConfig()).build();
+    }
+
+    @Benchmark
+    public long skipUtf8() {
+        try (JsonParser parser = adapter.createParser(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+            return consume(parser, true);
+        }
+    }
+
+    @Benchmark
+    public long skipReader() {
+        try (JsonParser parser = adapter.createParser(new StringReader(text))) {
+            return consume(parser, true);
+        }
+    }
+
+    @Benchmark
+    public long walkEvents() {
+        try (JsonParser parser = adapter.createParser(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+            return consume(parser, false);
+        }
+    }
+
+    @Benchmark
+    public List<Item> bindIgnoringUnknown() {
+        return mapper.fromJson(new ByteArrayInputStream(bytes), ITEMS);
+    }
+
+    private static long consume(JsonParser parser, boolean fastSkip) {
+        long sum = 0;
+        while (parser.hasNext()) {
+            JsonParser.Event event = parser.next();
+            if (event == JsonParser.Event.VALUE_NUMBER) {
+                sum += parser.getLong();
+            } else if (event == JsonParser.Event.KEY_NAME && parser.getString().length() > 4) { // metadata, links
+                event = parser.next();
+                if (fastSkip) {
+                    if (event == JsonParser.Event.START_OBJECT) {
+                        parser.skipObject();
+                    } else {
+                        parser.skipArray();
+                    }
+                } else {
+                    for (int depth = 1; depth > 0; ) {
+                        event = parser.next();
+                        if (event == JsonParser.Event.START_OBJECT || event == JsonParser.Event.START_ARRAY) {
+                            depth++;
+                        } else if (event == JsonParser.Event.END_OBJECT || event == JsonParser.Event.END_ARRAY) {
+                            depth--;
+                        }
+                    }
+                }
+            }
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SkipStructureBenchmark.class.getSimpleName()).build()).run();
+    }
+}
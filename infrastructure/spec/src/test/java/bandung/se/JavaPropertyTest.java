@@ -0,0 +1,150 @@
+package bandung.se;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class JavaPropertyTest {
+
+    public static class Bean {
+
+        public String label;
+
+        private int count;
+
+        private long total;
+
+        private double ratio;
+
+        private String name;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public void setTotal(long total) {
+            this.total = total;
+        }
+
+        public double getRatio() {
+            return ratio;
+        }
+
+        public void setRatio(double ratio) {
+            this.ratio = ratio;
+        }
+
+        public String getName() {
+            if ("boom".equals(name)) {
+                throw new IllegalStateException(name);
+            }
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    private static class Hidden {
+
+        private String value;
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(String value) {
+            this.value = value;
+        }
+    }
+
+    private static <T> Map<String, JavaProperty<T, Object>> properties(Class<T> klazz) {
+        return Arrays.stream(JavaBean.introspect(klazz).getProperties())
+                .map(p -> (JavaProperty<T, Object>) p)
+                .collect(Collectors.toMap(JavaProperty::getName, p -> p));
+    }
+
+    @Test
+    @DisplayName("编译后的访问器与反射读写结果一致，且每个属性只编译一次")
+    public void testCompiledAccessors() {
+        Map<String, JavaProperty<Bean, Object>> properties = properties(Bean.class);
+        Bean bean = new Bean();
+
+        JavaProperty<Bean, Object> name = properties.get("name");
+        name.writer(true).accept(bean, "cafe");
+        Assertions.assertEquals("cafe", name.reader(true).apply(bean));
+        Assertions.assertEquals(name.get(bean, true, false), name.reader(true).apply(bean));
+        Assertions.assertSame(name.reader(true), name.reader(true));
+        Assertions.assertSame(name.writer(true), name.writer(true));
+
+        JavaProperty<Bean, Object> count = properties.get("count");
+        count.writer(true).accept(bean, 42); // 装箱值写入原生类型setter
+        Assertions.assertEquals(42, count.reader(true).apply(bean));
+        count.intWriter(true).accept(bean, 7);
+        Assertions.assertEquals(7, count.intReader(true).applyAsInt(bean));
+        Assertions.assertSame(count.intReader(true), count.intReader(true));
+
+        properties.get("total").longWriter(true).accept(bean, Long.MAX_VALUE);
+        Assertions.assertEquals(Long.MAX_VALUE, properties.get("total").longReader(true).applyAsLong(bean));
+        properties.get("ratio").doubleWriter(true).accept(bean, 0.5);
+        Assertions.assertEquals(0.5, properties.get("ratio").doubleReader(true).applyAsDouble(bean));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> properties.get("ratio").intReader(true));
+
+        JavaProperty<Bean, Object> label = properties.get("label"); // 仅有public字段
+        label.writer(false).accept(bean, "field");
+        Assertions.assertEquals("field", bean.label);
+        Assertions.assertEquals("field", label.reader(false).apply(bean));
+    }
+
+    @Test
+    @DisplayName("访问器的异常与反射一致：方法抛出的异常经InvocationTargetException包装；不可链接的类型退回反射")
+    public void testFallback() {
+        Bean bean = new Bean();
+        bean.setName("boom");
+        JavaProperty<Bean, Object> name = properties(Bean.class).get("name");
+        RuntimeException thrown = Assertions.assertThrows(RuntimeException.class, () -> name.reader(true).apply(bean));
+        RuntimeException reflected = Assertions.assertThrows(RuntimeException.class, () -> name.get(bean, true, false));
+        Assertions.assertEquals(reflected.getClass(), thrown.getClass());
+        Assertions.assertTrue(thrown.getCause() instanceof InvocationTargetException);
+        Assertions.assertTrue(((InvocationTargetException) thrown.getCause()).getTargetException() instanceof IllegalStateException);
+
+        JavaProperty<Bean, Object> count = properties(Bean.class).get("count");
+        for (Object illegal : new Object[] {null, "1", 1L}) { // null、类型不符、需收窄的值
+            RuntimeException compiled = Assertions.assertThrows(RuntimeException.class, () -> count.writer(true).accept(bean, illegal));
+            RuntimeException reflection = Assertions.assertThrows(RuntimeException.class, () -> count.set(bean, illegal, true, false));
+            Assertions.assertEquals(reflection.getClass(), compiled.getClass());
+            Assertions.assertTrue(compiled.getCause() instanceof IllegalArgumentException);
+        }
+        properties(Bean.class).get("total").writer(true).accept(bean, 3); // 与反射一样允许拓宽
+        Assertions.assertEquals(3L, bean.getTotal());
+        Assertions.assertThrows(NullPointerException.class, () -> count.reader(true).apply(null));
+        JavaProperty<Bean, Object> label = properties(Bean.class).get("label"); // 字段读写与Field一样直接抛出IllegalArgumentException
+        Assertions.assertThrows(IllegalArgumentException.class, () -> label.writer(false).accept(bean, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ((Function) label.reader(false)).apply("bean"));
+
+        JavaProperty<Hidden, Object> value = properties(Hidden.class).get("value");
+        Hidden hidden = new Hidden();
+        BiConsumer<Hidden, Object> writer = value.writer(true); // 同包可访问，但生成类无法链接非公开类型，使用MethodHandle
+        writer.accept(hidden, "x");
+        Assertions.assertEquals("x", value.reader(true).apply(hidden));
+        Function<Hidden, Object> field = value.reader(false); // 私有字段不可访问，退回反射并与反射一样报错
+        Assertions.assertThrows(RuntimeException.class, () -> field.apply(hidden));
+        Assertions.assertThrows(RuntimeException.class, () -> value.get(hidden, false, true));
+    }
+}
@@ -0,0 +1,135 @@
+package bandung.se;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * 反射与编译后访问器(LambdaMetafactory/MethodHandle)读写bean属性、调用构造函数的耗时
+ *
+ * @author iMinusMinus
+ * @date 2026-10-18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropertyAccessBenchmark {
+
+    private JavaPropertyTest.Bean bean;
+
+    private JavaProperty<JavaPropertyTest.Bean, Object> name;
+
+    private JavaProperty<JavaPropertyTest.Bean, Object> count;
+
+    private Function<JavaPropertyTest.Bean, Object> nameReader;
+
+    private BiConsumer<JavaPropertyTest.Bean, Object> nameWriter;
+
+    private ToIntFunction<JavaPropertyTest.Bean> countReader;
+
+    private ObjIntConsumer<JavaPropertyTest.Bean> countWriter;
+
+    private Constructor<JavaPropertyTest.Bean> constructor;
+
+    private MethodHandle instantiator;
+
+    private final Object[] noArgs = new Object[0];
+
+    @Setup
+    public void setUp() throws Exception {
+        JavaBean<JavaPropertyTest.Bean> beanInfo = JavaBean.introspect(JavaPropertyTest.Bean.class);
+        name = (JavaProperty<JavaPropertyTest.Bean, Object>) Arrays.stream(beanInfo.getProperties())
+                .filter(p -> "name".equals(p.getName())).findFirst().get();
+        count = (JavaProperty<JavaPropertyTest.Bean, Object>) Arrays.stream(beanInfo.getProperties())
+                .filter(p -> "count".equals(p.getName())).findFirst().get();
+        nameReader = name.reader(true);
+        nameWriter = name.writer(true);
+        countReader = count.intReader(true);
+        countWriter = count.intWriter(true);
+        constructor = JavaPropertyTest.Bean.class.getConstructor();
+        instantiator = MethodHandles.lookup().unreflectConstructor(constructor)
+                .asSpreader(Object[].class, 0)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        bean = new JavaPropertyTest.Bean();
+        bean.setName("cafe");
+        bean.setCount(42);
+    }
+
+    @Benchmark
+    public Object reflectiveGet() {
+        return name.get(bean, true, false);
+    }
+
+    @Benchmark
+    public Object compiledGet() {
+        return nameReader.apply(bean);
+    }
+
+    @Benchmark
+    public void reflectiveSet() {
+        name.set(bean, "babe", true, false);
+    }
+
+    @Benchmark
+    public void compiledSet() {
+        nameWriter.accept(bean, "babe");
+    }
+
+    @Benchmark
+    public Object reflectiveGetInt() {
+        return count.get(bean, true, false);
+    }
+
+    @Benchmark
+    public int compiledGetInt() {
+        return countReader.applyAsInt(bean);
+    }
+
+    @Benchmark
+    public void reflectiveSetInt() {
+        count.set(bean, 7, true, false);
+    }
+
+    @Benchmark
+    public void compiledSetInt() {
+        countWriter.accept(bean, 7);
+    }
+
+    @Benchmark
+    public Object reflectiveNew() throws Exception {
+        return constructor.newInstance(noArgs);
+    }
+
+    @Benchmark
+    public Object methodHandleNew() throws Throwable {
+        return instantiator.invokeExact(noArgs);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(PropertyAccessBenchmark.class.getSimpleName()).build()).run();
+    }
+}